@@ -0,0 +1,210 @@
+package com.example.cache.benchmark;
+
+import com.example.cache.config.MetricsCacheManager;
+import com.example.cache.config.RedisConfig;
+import com.example.cache.monitor.CacheMetrics;
+import com.example.cache.monitor.CacheTraceRecorder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 벤치마크 대상 캐시 백엔드
+ *
+ * 백엔드마다 하나의 구현만 로드되도록 포크 단위로 생성하므로 인터페이스 호출은 단형(monomorphic)으로 인라인됨
+ * 스프링 캐시 기반 백엔드는 CacheConfig와 같은 설정으로 구성
+ */
+interface CacheBackend {
+    
+    String CACHE_NAME = "products";
+    String CAFFEINE_SPEC = "maximumSize=1000,expireAfterWrite=10m";
+    
+    Object get(Long key);
+    
+    void put(Long key, Object value);
+    
+    default void close() {
+    }
+    
+    static CacheBackend create(String name) {
+        switch (name) {
+            case "caffeine":
+                return new CaffeineBackend();
+            case "caffeine-spring":
+                return new SpringCacheBackend(caffeineCacheManager());
+            case "caffeine-metrics":
+                return new SpringCacheBackend(new MetricsCacheManager(caffeineCacheManager(), new CacheMetrics(),
+                    new CacheTraceRecorder()));
+            case "caffeine-metrics-trace":
+                return new TracingCacheBackend();
+            case "concurrent-hash-map":
+                return new ConcurrentHashMapBackend();
+            case "redis":
+                return new RedisBackend();
+            default:
+                throw new IllegalArgumentException("알 수 없는 백엔드: " + name);
+        }
+    }
+    
+    private static CacheManager caffeineCacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CACHE_NAME);
+        cacheManager.setCaffeine(Caffeine.from(CAFFEINE_SPEC));
+        return cacheManager;
+    }
+    
+    /**
+     * Caffeine 직접 사용 (스프링 캐시 추상화 없음)
+     */
+    class CaffeineBackend implements CacheBackend {
+        
+        private final Cache<Long, Object> cache = Caffeine.from(CAFFEINE_SPEC).build();
+        
+        @Override
+        public Object get(Long key) {
+            return cache.getIfPresent(key);
+        }
+        
+        @Override
+        public void put(Long key, Object value) {
+            cache.put(key, value);
+        }
+    }
+    
+    /**
+     * ConcurrentHashMap 직접 사용 (만료/축출 없음, 하한 기준선)
+     */
+    class ConcurrentHashMapBackend implements CacheBackend {
+        
+        private final ConcurrentHashMap<Long, Object> map = new ConcurrentHashMap<>();
+        
+        @Override
+        public Object get(Long key) {
+            return map.get(key);
+        }
+        
+        @Override
+        public void put(Long key, Object value) {
+            map.put(key, value);
+        }
+    }
+    
+    /**
+     * 스프링 Cache 추상화를 통한 접근 (MetricsCacheManager 래핑 여부는 CacheManager로 결정)
+     */
+    class SpringCacheBackend implements CacheBackend {
+        
+        private final org.springframework.cache.Cache cache;
+        
+        SpringCacheBackend(CacheManager cacheManager) {
+            this.cache = cacheManager.getCache(CACHE_NAME);
+        }
+        
+        @Override
+        public Object get(Long key) {
+            return cache.get(key);
+        }
+        
+        @Override
+        public void put(Long key, Object value) {
+            cache.put(key, value);
+        }
+    }
+    
+    /**
+     * MetricsCacheManager + 트레이스 기록 활성화 (임시 파일에 기록)
+     */
+    class TracingCacheBackend implements CacheBackend {
+        
+        private final CacheTraceRecorder traceRecorder = new CacheTraceRecorder();
+        private final org.springframework.cache.Cache cache;
+        
+        TracingCacheBackend() {
+            try {
+                traceRecorder.start(Files.createTempFile("cache-trace", ".bin"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.cache = new MetricsCacheManager(caffeineCacheManager(), new CacheMetrics(), traceRecorder)
+                .getCache(CACHE_NAME);
+        }
+        
+        @Override
+        public Object get(Long key) {
+            return cache.get(key);
+        }
+        
+        @Override
+        public void put(Long key, Object value) {
+            cache.put(key, value);
+        }
+        
+        @Override
+        public void close() {
+            traceRecorder.stop();
+        }
+    }
+    
+    /**
+     * 로컬 Redis에 대한 RedisCacheManager (JSON 직렬화 + 네트워크 왕복 포함)
+     * 접속 정보는 시스템 프로퍼티 bench.redis.host / bench.redis.port 로 변경 가능
+     */
+    class RedisBackend implements CacheBackend {
+        
+        private final LettuceConnectionFactory connectionFactory;
+        private final org.springframework.cache.Cache cache;
+        
+        RedisBackend() {
+            RedisStandaloneConfiguration standalone = new RedisStandaloneConfiguration(
+                System.getProperty("bench.redis.host", "localhost"),
+                Integer.getInteger("bench.redis.port", 6379));
+            this.connectionFactory = new LettuceConnectionFactory(standalone);
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            
+            RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(10))
+                .serializeKeysWith(RedisSerializationContext.SerializationPair
+                    .fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                    .fromSerializer(RedisConfig.jsonSerializer()))
+                .disableCachingNullValues();
+            RedisCacheManager cacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(config)
+                .withCacheConfiguration(CACHE_NAME, config)
+                .build();
+            cacheManager.afterPropertiesSet();
+            
+            this.cache = cacheManager.getCache(CACHE_NAME);
+            cache.clear();
+        }
+        
+        @Override
+        public Object get(Long key) {
+            return cache.get(key);
+        }
+        
+        @Override
+        public void put(Long key, Object value) {
+            cache.put(key, value);
+        }
+        
+        @Override
+        public void close() {
+            cache.clear();
+            connectionFactory.destroy();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.cache.benchmark;
+
+import com.example.cache.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시 백엔드별 get-hit / get-miss / put 비용 측정
+ *
+ * 백엔드 비교:
+ * - caffeine: Caffeine 직접 사용
+ * - caffeine-spring: 스프링 CaffeineCache (추상화 비용)
+ * - caffeine-metrics: MetricsCacheManager로 래핑한 CaffeineCache (메트릭 수집 비용)
+ * - caffeine-metrics-trace: 위 구성 + 접근 트레이스 기록 (트레이스 기록 비용, 버퍼 초과분은 드롭)
+ * - concurrent-hash-map: 기준선
+ * - redis: 로컬 Redis에 대한 RedisCacheManager (직렬화 + 네트워크 비용)
+ *
+ * 스레드 수별 결과는 하위 클래스(Threads1/Threads4/Threads8)로 구분
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public abstract class CacheBackendBenchmark {
+    
+    static final int KEY_COUNT = 512;
+    private static final int KEY_MASK = KEY_COUNT - 1;
+    
+    @Param({"caffeine", "caffeine-spring", "caffeine-metrics", "caffeine-metrics-trace", "concurrent-hash-map", "redis"})
+    public String backend;
+    
+    private CacheBackend cache;
+    private Product value;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = CacheBackend.create(backend);
+        value = sampleProduct(1L);
+        for (long key = 0; key < KEY_COUNT; key++) {
+            cache.put(key, sampleProduct(key));
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cache.close();
+    }
+    
+    /**
+     * 스레드별 키 시퀀스 (히트 키는 [0, KEY_COUNT), 미스 키는 그 밖의 범위)
+     * Long 박싱 비용이 측정에 섞이지 않도록 키 객체를 미리 생성
+     */
+    @State(Scope.Thread)
+    public static class Keys {
+        
+        private final Long[] hitKeys = new Long[KEY_COUNT];
+        private final Long[] missKeys = new Long[KEY_COUNT];
+        private int index;
+        
+        @Setup(Level.Trial)
+        public void setUp() {
+            SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+            for (int i = 0; i < KEY_COUNT; i++) {
+                hitKeys[i] = (long) random.nextInt(KEY_COUNT);
+                missKeys[i] = (long) (KEY_COUNT + random.nextInt(1_000_000));
+            }
+        }
+        
+        Long nextHit() {
+            return hitKeys[index++ & KEY_MASK];
+        }
+        
+        Long nextMiss() {
+            return missKeys[index++ & KEY_MASK];
+        }
+    }
+    
+    @Benchmark
+    public Object getHit(Keys keys) {
+        return cache.get(keys.nextHit());
+    }
+    
+    @Benchmark
+    public Object getMiss(Keys keys) {
+        return cache.get(keys.nextMiss());
+    }
+    
+    @Benchmark
+    public void put(Keys keys) {
+        cache.put(keys.nextHit(), value);
+    }
+    
+    static Product sampleProduct(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("benchmark-product-" + id);
+        product.setPrice(10_000.0 + id);
+        product.setDescription("JMH 벤치마크용 상품 " + id);
+        return product;
+    }
+    
+    @Threads(1)
+    public static class Threads1 extends CacheBackendBenchmark {
+    }
+    
+    @Threads(4)
+    public static class Threads4 extends CacheBackendBenchmark {
+    }
+    
+    @Threads(8)
+    public static class Threads8 extends CacheBackendBenchmark {
+    }
+}
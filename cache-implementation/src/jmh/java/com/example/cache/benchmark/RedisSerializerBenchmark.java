@@ -0,0 +1,52 @@
+package com.example.cache.benchmark;
+
+import com.example.cache.config.RedisConfig;
+import com.example.cache.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 캐시 값 직렬화 비용 측정 (네트워크 제외)
+ *
+ * CacheBackendBenchmark의 redis 결과에서 직렬화가 차지하는 몫을 분리하기 위한 벤치마크
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisSerializerBenchmark {
+    
+    private GenericJackson2JsonRedisSerializer serializer;
+    private Product product;
+    private byte[] serialized;
+    
+    @Setup
+    public void setUp() {
+        serializer = RedisConfig.jsonSerializer();
+        product = CacheBackendBenchmark.sampleProduct(1L);
+        serialized = serializer.serialize(product);
+    }
+    
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(product);
+    }
+    
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+}
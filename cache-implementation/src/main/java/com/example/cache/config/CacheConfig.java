@@ -1,6 +1,9 @@
 package com.example.cache.config;
 
+import com.example.cache.monitor.AdaptiveExpiryTracker;
+import com.example.cache.monitor.CacheMemoryEstimator;
 import com.example.cache.monitor.CacheMetrics;
+import com.example.cache.monitor.CacheTraceRecorder;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
@@ -12,11 +15,12 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 @EnableCaching
@@ -25,6 +29,9 @@ public class CacheConfig {
     @Value("${cache.caffeine.spec:maximumSize=1000,expireAfterWrite=10m}")
     private String caffeineSpec;
 
+    @Value("${cache.caffeine.maximum-weight-bytes:0}")
+    private long maximumWeightBytes;
+
     @Value("${cache.redis.time-to-live:600000}")
     private long redisTtl;
 
@@ -32,10 +39,16 @@ public class CacheConfig {
      * Caffeine 로컬 캐시 설정
      * 로컬 메모리 기반 캐시로 빠른 접근이 가능
      * MetricsCacheManager로 래핑하여 캐시 메트릭 수집
+     * maximum-weight-bytes가 설정되면 항목 수 대신 추정 바이트 크기로 축출
+     * cache.adaptive-expiry.caches에 지정된 캐시는 키별 갱신 빈도에 따라 TTL을 달리 적용
+     * cache.partition.enabled이면 지정된 캐시의 키를 클러스터 노드별로 나누어 보관
      */
     @Bean
     @Primary
-    public CacheManager caffeineCacheManager(CacheMetrics cacheMetrics) {
+    public CacheManager caffeineCacheManager(CacheMetrics cacheMetrics, CacheTraceRecorder traceRecorder,
+                                             CacheMemoryEstimator memoryEstimator,
+                                             AdaptiveExpiryTracker adaptiveExpiryTracker,
+                                             CachePartitionRouter partitionRouter) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager(
             "products",           // 제품 정보 캐시
             "categories",         // 카테고리 정보 캐시
@@ -48,10 +61,24 @@ public class CacheConfig {
             "refreshAheadProducts"   // Refresh-Ahead 패턴 캐시
         );
         
-        cacheManager.setCaffeine(Caffeine.from(caffeineSpec));
+        cacheManager.setCaffeine(newCaffeine(caffeineSpec, memoryEstimator));
         
-        // 메트릭 수집을 위해 래핑
-        return new MetricsCacheManager(cacheManager, cacheMetrics);
+        // 갱신 빈도에 따라 키별 TTL을 정하는 캐시는 고정 expireAfterWrite 대신 Expiry 정책으로 따로 생성
+        for (String cacheName : List.copyOf(cacheManager.getCacheNames())) {
+            if (adaptiveExpiryTracker.isEnabledFor(cacheName)) {
+                cacheManager.registerCustomCache(cacheName,
+                    newCaffeine(withoutExpiry(caffeineSpec), memoryEstimator)
+                        .expireAfter(adaptiveExpiryTracker.expiryFor(cacheName))
+                        .removalListener(adaptiveExpiryTracker.removalListenerFor(cacheName))
+                        .build());
+            }
+        }
+        
+        // 메트릭 수집을 위해 래핑 (파티셔닝 시 원격 조회까지 포함한 요청 노드 기준으로 집계)
+        CacheManager target = partitionRouter.isEnabled()
+            ? new PartitionedCacheManager(cacheManager, partitionRouter)
+            : cacheManager;
+        return new MetricsCacheManager(target, cacheMetrics, traceRecorder);
     }
 
     /**
@@ -60,13 +87,14 @@ public class CacheConfig {
      * MetricsCacheManager로 래핑하여 캐시 메트릭 수집
      */
     @Bean
-    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory, CacheMetrics cacheMetrics) {
+    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory, CacheMetrics cacheMetrics,
+                                          CacheTraceRecorder traceRecorder) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
             .entryTtl(Duration.ofMillis(redisTtl))
             .serializeKeysWith(RedisSerializationContext.SerializationPair
                 .fromSerializer(new StringRedisSerializer()))
             .serializeValuesWith(RedisSerializationContext.SerializationPair
-                .fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                .fromSerializer(RedisConfig.jsonSerializer()))
             .disableCachingNullValues();
 
         RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
@@ -84,7 +112,44 @@ public class CacheConfig {
             .build();
         
         // 메트릭 수집을 위해 래핑
-        return new MetricsCacheManager(redisCacheManager, cacheMetrics);
+        return new MetricsCacheManager(redisCacheManager, cacheMetrics, traceRecorder);
+    }
+
+    /**
+     * 스펙 기반 Caffeine 빌더 생성
+     * 용량/만료에 의한 축출 수를 이벤트 스트림에서 집계하기 위해 통계 기록 활성화
+     * 항목 크기가 제각각인 캐시(목록/단건)를 같은 메모리 예산으로 관리하도록 weigher 설정
+     */
+    private Caffeine<Object, Object> newCaffeine(String baseSpec, CacheMemoryEstimator memoryEstimator) {
+        String spec = maximumWeightBytes > 0 ? withoutMaximumSize(baseSpec) : baseSpec;
+        Caffeine<Object, Object> caffeine = Caffeine.from(spec);
+        if (!spec.contains("recordStats")) {
+            caffeine.recordStats();
+        }
+        if (maximumWeightBytes > 0) {
+            caffeine.maximumWeight(maximumWeightBytes).weigher(memoryEstimator::weigh);
+        }
+        return caffeine;
+    }
+
+    /**
+     * Expiry 정책과 함께 쓸 수 없는 고정 만료 옵션 제거
+     */
+    private static String withoutExpiry(String spec) {
+        return String.join(",", Arrays.stream(spec.split(","))
+            .map(String::trim)
+            .filter(option -> !option.startsWith("expireAfterWrite") && !option.startsWith("expireAfterAccess"))
+            .toList());
+    }
+
+    /**
+     * maximumSize와 maximumWeight는 함께 쓸 수 없으므로 스펙에서 maximumSize 제거
+     */
+    private static String withoutMaximumSize(String spec) {
+        return String.join(",", Arrays.stream(spec.split(","))
+            .map(String::trim)
+            .filter(option -> !option.startsWith("maximumSize") && !option.startsWith("maximumWeight"))
+            .toList());
     }
 }
 
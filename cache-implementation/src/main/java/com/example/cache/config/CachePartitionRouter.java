@@ -0,0 +1,760 @@
+package com.example.cache.config;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 클러스터 노드 간 Caffeine 캐시 파티셔닝 라우터
+ *
+ * 노드마다 같은 핫셋을 복제하는 대신 일관된 해시 링으로 키마다 소유 노드를 하나 정하고,
+ * 소유하지 않은 키는 소유 노드의 내부 HTTP 엔드포인트(/internal/cache)로 조회/저장을 전달
+ * 노드를 늘리면 전체 캐시 용량도 함께 늘어남
+ *
+ * - 원격 조회 결과는 짧은 TTL의 니어 캐시에 보관하여 핫키의 반복 원격 호출을 줄임
+ * - 원격 호출 실패/타임아웃은 미스로 처리하고, 연결 실패/타임아웃이 난 노드는 retry-after 동안 호출하지 않음 (DB로 대체 조회)
+ *   (응답을 받은 경우는 상태 코드가 2xx가 아니어도 노드가 살아 있으므로 down으로 표시하지 않음)
+ * - 제거(evict/clear)는 버리지 않음: 전달하지 못한 무효화는 노드별로 모아 두었다가 재전송하고,
+ *   재전송이 끝나기 전까지는 그 노드의 값을 읽지 않음 (오래된 값을 보지 않도록)
+ *   모아 둔 키가 max-pending-invalidations를 넘으면 해당 캐시 전체 삭제 한 번으로 대체
+ * - 값은 Redis 캐시와 같은 타입 정보 포함 JSON으로 직렬화하되, 역직렬화 가능한 타입은 캐시 값 타입
+ *   (엔티티, 기본 값 타입, JDK 컬렉션/시간 타입)으로 제한
+ * - 내부 엔드포인트 호출에는 공유 비밀(cache.partition.secret)을 헤더로 함께 보냄
+ */
+@Component
+@Slf4j
+public class CachePartitionRouter {
+    
+    @Value("${cache.partition.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${cache.partition.self:http://localhost:${server.port:8080}}")
+    private String self;
+    
+    @Value("${cache.partition.nodes:}")
+    private String nodes;
+    
+    @Value("${cache.partition.caches:products}")
+    private String cacheNames;
+    
+    @Value("${cache.partition.virtual-nodes:160}")
+    private int virtualNodes;
+    
+    @Value("${cache.partition.near-cache.size:1000}")
+    private long nearCacheSize;
+    
+    @Value("${cache.partition.near-cache.ttl:5s}")
+    private Duration nearCacheTtl;
+    
+    @Value("${cache.partition.timeout-ms:500}")
+    private long timeoutMs;
+    
+    @Value("${cache.partition.retry-after-ms:5000}")
+    private long retryAfterMs;
+    
+    @Value("${cache.partition.secret:}")
+    private String secret;
+    
+    @Value("${cache.partition.max-pending-invalidations:10000}")
+    private int maxPendingInvalidations;
+    
+    public static final String SECRET_HEADER = "X-Cache-Partition-Secret";
+    
+    private final GenericJackson2JsonRedisSerializer serializer = cacheValueSerializer();
+    private final Map<String, com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper>> nearCaches =
+        new ConcurrentHashMap<>();
+    private final Map<String, Long> downUntilNanos = new ConcurrentHashMap<>();
+    private final Map<String, PendingInvalidations> pendingInvalidations = new ConcurrentHashMap<>();
+    
+    private final LongAdder localOps = new LongAdder();
+    private final LongAdder unroutableKeys = new LongAdder();
+    private final LongAdder nearHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+    private final LongAdder remoteWrites = new LongAdder();
+    private final LongAdder remoteFailures = new LongAdder();
+    private final LongAdder skippedDownNode = new LongAdder();
+    private final LongAdder replayedInvalidations = new LongAdder();
+    
+    private volatile ConsistentHashRing ring;
+    private volatile CacheManager localCacheManager;
+    private HttpClient httpClient;
+    
+    private final ScheduledExecutorService replayer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-partition-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @PostConstruct
+    public void init() {
+        self = normalize(self);
+        List<String> members = Arrays.stream(nodes.split(","))
+            .map(String::trim)
+            .filter(node -> !node.isEmpty())
+            .map(CachePartitionRouter::normalize)
+            .distinct()
+            .collect(Collectors.toCollection(ArrayList::new));
+        if (members.isEmpty()) {
+            members.add(self);
+        }
+        ring = new ConsistentHashRing(members, virtualNodes);
+        httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(timeoutMs))
+            .executor(Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "cache-partition-client");
+                thread.setDaemon(true);
+                return thread;
+            }))
+            .build();
+        if (enabled) {
+            if (secret == null || secret.isBlank()) {
+                throw new IllegalStateException("cache.partition.enabled이면 cache.partition.secret을 설정해야 합니다");
+            }
+            if (!members.contains(self)) {
+                log.warn("cache.partition.self({})가 노드 목록에 없어 모든 키를 원격 노드로 전달합니다", self);
+            }
+            long replayIntervalMs = Math.max(100, Math.min(retryAfterMs, 1000));
+            replayer.scheduleWithFixedDelay(this::replayInvalidations, replayIntervalMs, replayIntervalMs, TimeUnit.MILLISECONDS);
+            log.info("캐시 파티셔닝 활성화: self={}, nodes={}, caches={}", self, members, partitionedCacheNames());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        replayer.shutdownNow();
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 내부 엔드포인트 호출의 공유 비밀 확인 (파티셔닝이 꺼져 있으면 항상 거부)
+     */
+    public boolean isAuthorized(String presentedSecret) {
+        return enabled && presentedSecret != null
+            && MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8), presentedSecret.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 파티셔닝할 캐시인지 여부
+     */
+    public boolean isPartitioned(String cacheName) {
+        return enabled && partitionedCacheNames().contains(cacheName);
+    }
+    
+    /**
+     * 내부 엔드포인트에서 사용할 이 노드의 로컬 캐시 매니저 등록
+     */
+    void attach(CacheManager cacheManager) {
+        this.localCacheManager = cacheManager;
+    }
+    
+    /**
+     * 이 노드가 소유한 파티션 (내부 엔드포인트 전용, 다시 라우팅하지 않음)
+     */
+    public Cache localCache(String cacheName) {
+        CacheManager cacheManager = localCacheManager;
+        return cacheManager != null && isPartitioned(cacheName) ? cacheManager.getCache(cacheName) : null;
+    }
+    
+    /**
+     * 키의 소유 노드 (라우팅할 수 없는 키 타입이면 null)
+     */
+    String ownerOf(String encodedKey) {
+        return encodedKey == null ? null : ring.ownerOf(encodedKey);
+    }
+    
+    boolean isSelf(String node) {
+        return node == null || node.equals(self);
+    }
+    
+    void recordLocal(boolean routable) {
+        localOps.increment();
+        if (!routable) {
+            unroutableKeys.increment();
+        }
+    }
+    
+    // ========== 키 인코딩 ==========
+    
+    /**
+     * 모든 노드에서 같은 해시가 나오도록 키를 타입 접두사가 붙은 문자열로 변환
+     * 지원하지 않는 키 타입(SimpleKey 등 복합 키)은 null을 반환하여 로컬 캐시에 보관
+     */
+    static String encodeKey(Object key) {
+        if (key instanceof Long) {
+            return "L:" + key;
+        }
+        if (key instanceof Integer) {
+            return "I:" + key;
+        }
+        if (key instanceof String) {
+            return "S:" + key;
+        }
+        return null;
+    }
+    
+    public static Object decodeKey(String encodedKey) {
+        if (encodedKey == null || encodedKey.length() < 2 || encodedKey.charAt(1) != ':') {
+            throw new IllegalArgumentException("잘못된 파티션 키: " + encodedKey);
+        }
+        String value = encodedKey.substring(2);
+        switch (encodedKey.charAt(0)) {
+            case 'L':
+                return Long.valueOf(value);
+            case 'I':
+                return Integer.valueOf(value);
+            case 'S':
+                return value;
+            default:
+                throw new IllegalArgumentException("잘못된 파티션 키: " + encodedKey);
+        }
+    }
+    
+    // ========== 값 직렬화 ==========
+    
+    /**
+     * 캐시 값 타입만 역직렬화하는 타입 정보 포함 JSON 직렬화기
+     * RedisConfig.jsonSerializer()는 모든 클래스를 허용하므로 네트워크로 받은 값에는 사용하지 않음
+     */
+    private static GenericJackson2JsonRedisSerializer cacheValueSerializer() {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(new CacheValueTypeValidator(), ObjectMapper.DefaultTyping.EVERYTHING,
+            JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+    
+    public byte[] serialize(Object value) {
+        return value == null ? new byte[0] : serializer.serialize(value);
+    }
+    
+    public Object deserialize(byte[] bytes) {
+        return bytes == null || bytes.length == 0 ? null : serializer.deserialize(bytes);
+    }
+    
+    // ========== 니어 캐시 ==========
+    
+    Cache.ValueWrapper nearGet(String cacheName, String encodedKey) {
+        Cache.ValueWrapper value = nearCache(cacheName).getIfPresent(encodedKey);
+        if (value != null) {
+            nearHits.increment();
+        }
+        return value;
+    }
+    
+    void nearPut(String cacheName, String encodedKey, Object value) {
+        nearCache(cacheName).put(encodedKey, new SimpleValueWrapper(value));
+    }
+    
+    public void nearInvalidate(String cacheName, String encodedKey) {
+        nearCache(cacheName).invalidate(encodedKey);
+    }
+    
+    public void nearClear(String cacheName) {
+        nearCache(cacheName).invalidateAll();
+    }
+    
+    private com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> nearCache(String cacheName) {
+        return nearCaches.computeIfAbsent(cacheName, name -> Caffeine.newBuilder()
+            .maximumSize(nearCacheSize)
+            .expireAfterWrite(nearCacheTtl)
+            .build());
+    }
+    
+    // ========== 원격 호출 ==========
+    
+    /**
+     * 소유 노드에서 조회 (미스, 실패, 타임아웃이면 null)
+     */
+    Cache.ValueWrapper remoteGet(String node, String cacheName, String encodedKey) {
+        if (!isAvailable(node)) {
+            return null;
+        }
+        try {
+            HttpResponse<byte[]> response = httpClient.send(
+                request(node, cacheName, encodedKey).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 404) {
+                remoteMisses.increment();
+                return null;
+            }
+            if (response.statusCode() != 200) {
+                throw new RemoteStatusException(response.statusCode());
+            }
+            remoteHits.increment();
+            return new SimpleValueWrapper(deserialize(response.body()));
+        } catch (Exception e) {
+            recordFailure(node, "조회", e);
+            return null;
+        }
+    }
+    
+    /**
+     * 소유 노드에 저장 (실패하면 저장하지 않은 것으로 보고 무시)
+     */
+    void remotePut(String node, String cacheName, String encodedKey, Object value) {
+        if (!isAvailable(node)) {
+            return;
+        }
+        try {
+            send(request(node, cacheName, encodedKey).PUT(HttpRequest.BodyPublishers.ofByteArray(serialize(value))));
+            remoteWrites.increment();
+        } catch (Exception e) {
+            recordFailure(node, "저장", e);
+        }
+    }
+    
+    /**
+     * 소유 노드에서 제거 (노드가 down이거나 전달에 실패하면 재전송 대기열에 추가)
+     */
+    void remoteEvict(String node, String cacheName, String encodedKey) {
+        if (!isAvailable(node)) {
+            queueInvalidation(node, cacheName, encodedKey);
+            return;
+        }
+        try {
+            send(request(node, cacheName, encodedKey).DELETE());
+            remoteWrites.increment();
+        } catch (Exception e) {
+            recordFailure(node, "제거", e);
+            if (isRetryable(e)) {
+                queueInvalidation(node, cacheName, encodedKey);
+            }
+        }
+    }
+    
+    /**
+     * 다른 모든 노드의 니어 캐시에서 키 제거 (응답을 기다리지 않음)
+     * 무효화가 유실되더라도 니어 캐시 TTL 이후에는 소유 노드의 값을 다시 읽음
+     */
+    void broadcastNearInvalidate(String cacheName, String encodedKey) {
+        for (String node : ring.getNodes()) {
+            if (isSelf(node) || isDown(node)) {
+                continue;
+            }
+            HttpRequest request = newRequest(uri(node, cacheName, "/near", encodedKey))
+                .DELETE()
+                .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .exceptionally(e -> {
+                    recordFailure(node, "니어 캐시 무효화", e);
+                    return null;
+                });
+        }
+    }
+    
+    /**
+     * 다른 모든 노드의 파티션과 니어 캐시 비우기 (모든 노드의 응답을 기다림, 실패한 노드는 재전송 대기열에 추가)
+     */
+    void broadcastClear(String cacheName) {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (String node : ring.getNodes()) {
+            if (isSelf(node)) {
+                continue;
+            }
+            if (!isAvailable(node)) {
+                queueClear(node, cacheName);
+                continue;
+            }
+            HttpRequest request = newRequest(uri(node, cacheName, "", null))
+                .DELETE()
+                .build();
+            futures.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenAccept(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new RemoteStatusException(response.statusCode());
+                    }
+                })
+                .exceptionally(e -> {
+                    recordFailure(node, "전체 삭제", e);
+                    if (isRetryable(e)) {
+                        queueClear(node, cacheName);
+                    }
+                    return null;
+                }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+    }
+    
+    private void send(HttpRequest.Builder builder) throws Exception {
+        HttpResponse<Void> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new RemoteStatusException(response.statusCode());
+        }
+    }
+    
+    private HttpRequest.Builder request(String node, String cacheName, String encodedKey) {
+        return newRequest(uri(node, cacheName, "", encodedKey))
+            .header("Content-Type", "application/octet-stream");
+    }
+    
+    private HttpRequest.Builder newRequest(URI uri) {
+        return HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofMillis(timeoutMs))
+            .header(SECRET_HEADER, secret);
+    }
+    
+    private static URI uri(String node, String cacheName, String suffix, String encodedKey) {
+        String path = node + "/internal/cache/" + URLEncoder.encode(cacheName, StandardCharsets.UTF_8) + suffix;
+        return URI.create(encodedKey == null ? path : path + "?key=" + URLEncoder.encode(encodedKey, StandardCharsets.UTF_8));
+    }
+    
+    // ========== 무효화 재전송 ==========
+    
+    private void queueInvalidation(String node, String cacheName, String encodedKey) {
+        PendingInvalidations pending = pendingInvalidations.computeIfAbsent(node, n -> new PendingInvalidations());
+        synchronized (pending) {
+            if (pending.clears.contains(cacheName)) {
+                return;  // 캐시 전체 삭제가 이미 대기 중
+            }
+            pending.keys.computeIfAbsent(cacheName, name -> new LinkedHashSet<>()).add(encodedKey);
+            if (++pending.keyCount > maxPendingInvalidations) {
+                // 대기 키가 너무 많으면 키 단위 재전송 대신 캐시 전체 삭제
+                pending.keyCount -= pending.keys.remove(cacheName).size();
+                pending.clears.add(cacheName);
+            }
+        }
+    }
+    
+    private void queueClear(String node, String cacheName) {
+        PendingInvalidations pending = pendingInvalidations.computeIfAbsent(node, n -> new PendingInvalidations());
+        synchronized (pending) {
+            Set<String> keys = pending.keys.remove(cacheName);
+            if (keys != null) {
+                pending.keyCount -= keys.size();
+            }
+            pending.clears.add(cacheName);
+        }
+    }
+    
+    /**
+     * down이 아닌 노드에 대기 중인 무효화 재전송 (전체 삭제 먼저, 실패하면 남은 것은 다음 주기에)
+     */
+    private void replayInvalidations() {
+        for (Map.Entry<String, PendingInvalidations> entry : pendingInvalidations.entrySet()) {
+            String node = entry.getKey();
+            PendingInvalidations pending = entry.getValue();
+            if (isDown(node)) {
+                continue;
+            }
+            try {
+                String cacheName;
+                while ((cacheName = pending.nextClear()) != null) {
+                    send(newRequest(uri(node, cacheName, "", null)).DELETE());
+                    pending.clearSent(cacheName);
+                    replayedInvalidations.increment();
+                }
+                String[] next;
+                while ((next = pending.nextKey()) != null) {
+                    send(request(node, next[0], next[1]).DELETE());
+                    pending.keySent(next[0], next[1]);
+                    replayedInvalidations.increment();
+                }
+            } catch (Exception e) {
+                recordFailure(node, "무효화 재전송", e);
+                if (!isRetryable(e)) {
+                    // 요청 자체가 거부됨 (비밀 불일치 등): 재전송해도 같은 결과이므로 버리고 기록
+                    log.error("캐시 파티션 노드 {} 무효화 재전송 거부, 대기 중인 무효화를 버림: {}", node, e.toString());
+                    pendingInvalidations.remove(node, pending);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 조회/저장해도 되는 노드: down이 아니고 재전송할 무효화가 없음
+     */
+    private boolean isAvailable(String node) {
+        if (isDown(node)) {
+            return false;
+        }
+        PendingInvalidations pending = pendingInvalidations.get(node);
+        if (pending != null && !pending.isEmpty()) {
+            skippedDownNode.increment();
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * 실패한 노드는 retry-after 동안 호출하지 않음 (매 요청마다 타임아웃을 기다리지 않도록)
+     */
+    private boolean isDown(String node) {
+        Long until = downUntilNanos.get(node);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until >= 0) {
+            downUntilNanos.remove(node, until);
+            return false;
+        }
+        skippedDownNode.increment();
+        return true;
+    }
+    
+    /**
+     * 원격 호출 실패 집계, 연결 실패/타임아웃일 때만 노드를 down으로 표시
+     */
+    private void recordFailure(String node, String operation, Throwable e) {
+        Throwable cause = unwrap(e);
+        if (cause instanceof ConnectException || cause instanceof HttpTimeoutException) {
+            markDown(node, operation, cause);
+            return;
+        }
+        remoteFailures.increment();
+        log.warn("캐시 파티션 노드 {} {} 실패: {}", node, operation, cause.toString());
+    }
+    
+    /**
+     * 응답 상태가 4xx(요청 거부)가 아니면 다시 보내면 성공할 수 있는 실패
+     */
+    private static boolean isRetryable(Throwable e) {
+        Throwable cause = unwrap(e);
+        return !(cause instanceof RemoteStatusException status) || status.statusCode / 100 != 4;
+    }
+    
+    private static Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+    
+    private void markDown(String node, String operation, Throwable e) {
+        remoteFailures.increment();
+        if (downUntilNanos.put(node, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryAfterMs)) == null) {
+            log.warn("캐시 파티션 노드 {} {} 실패, {}ms 동안 미스로 처리: {}", node, operation, retryAfterMs, e.toString());
+        }
+    }
+    
+    private Set<String> partitionedCacheNames() {
+        return Arrays.stream(cacheNames.split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+    
+    private static String normalize(String node) {
+        String trimmed = node.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+    
+    /**
+     * 파티셔닝 상태 조회
+     */
+    public PartitionStatus getStatus() {
+        Map<String, String> nodeStates = new LinkedHashMap<>();
+        long now = System.nanoTime();
+        for (String node : ring.getNodes()) {
+            Long until = downUntilNanos.get(node);
+            nodeStates.put(node, isSelf(node) ? "self" : until != null && now - until < 0 ? "down" : "up");
+        }
+        Map<String, Long> nearCacheSizes = new LinkedHashMap<>();
+        nearCaches.forEach((name, cache) -> nearCacheSizes.put(name, cache.estimatedSize()));
+        Map<String, Integer> pendingCounts = new LinkedHashMap<>();
+        pendingInvalidations.forEach((node, pending) -> {
+            int size = pending.size();
+            if (size > 0) {
+                pendingCounts.put(node, size);
+            }
+        });
+        return new PartitionStatus(enabled, self, List.copyOf(partitionedCacheNames()), ring.getVirtualNodes(),
+            nodeStates, ring.ownershipRatio(), nearCacheSizes, localOps.sum(), unroutableKeys.sum(), nearHits.sum(),
+            remoteHits.sum(), remoteMisses.sum(), remoteWrites.sum(), remoteFailures.sum(), skippedDownNode.sum(),
+            pendingCounts, replayedInvalidations.sum());
+    }
+    
+    /**
+     * 파티셔닝 상태 DTO
+     */
+    public static class PartitionStatus {
+        private final boolean enabled;
+        private final String self;
+        private final List<String> caches;
+        private final int virtualNodes;
+        private final Map<String, String> nodes;
+        private final Map<String, Double> ownership;
+        private final Map<String, Long> nearCacheSizes;
+        private final long localOps;
+        private final long unroutableKeys;
+        private final long nearHits;
+        private final long remoteHits;
+        private final long remoteMisses;
+        private final long remoteWrites;
+        private final long remoteFailures;
+        private final long skippedDownNode;
+        private final Map<String, Integer> pendingInvalidations;
+        private final long replayedInvalidations;
+        
+        public PartitionStatus(boolean enabled, String self, List<String> caches, int virtualNodes,
+                               Map<String, String> nodes, Map<String, Double> ownership,
+                               Map<String, Long> nearCacheSizes, long localOps, long unroutableKeys, long nearHits,
+                               long remoteHits, long remoteMisses, long remoteWrites, long remoteFailures,
+                               long skippedDownNode, Map<String, Integer> pendingInvalidations,
+                               long replayedInvalidations) {
+            this.enabled = enabled;
+            this.self = self;
+            this.caches = caches;
+            this.virtualNodes = virtualNodes;
+            this.nodes = nodes;
+            this.ownership = ownership;
+            this.nearCacheSizes = nearCacheSizes;
+            this.localOps = localOps;
+            this.unroutableKeys = unroutableKeys;
+            this.nearHits = nearHits;
+            this.remoteHits = remoteHits;
+            this.remoteMisses = remoteMisses;
+            this.remoteWrites = remoteWrites;
+            this.remoteFailures = remoteFailures;
+            this.skippedDownNode = skippedDownNode;
+            this.pendingInvalidations = pendingInvalidations;
+            this.replayedInvalidations = replayedInvalidations;
+        }
+        
+        public boolean isEnabled() { return enabled; }
+        public String getSelf() { return self; }
+        public List<String> getCaches() { return caches; }
+        public int getVirtualNodes() { return virtualNodes; }
+        public Map<String, String> getNodes() { return nodes; }
+        public Map<String, Double> getOwnership() { return ownership; }
+        public Map<String, Long> getNearCacheSizes() { return nearCacheSizes; }
+        public long getLocalOps() { return localOps; }
+        public long getUnroutableKeys() { return unroutableKeys; }
+        public long getNearHits() { return nearHits; }
+        public long getRemoteHits() { return remoteHits; }
+        public long getRemoteMisses() { return remoteMisses; }
+        public long getRemoteWrites() { return remoteWrites; }
+        public long getRemoteFailures() { return remoteFailures; }
+        public long getSkippedDownNode() { return skippedDownNode; }
+        public Map<String, Integer> getPendingInvalidations() { return pendingInvalidations; }
+        public long getReplayedInvalidations() { return replayedInvalidations; }
+    }
+    
+    /**
+     * 노드 하나에 재전송할 무효화 (캐시별 키, 전체 삭제할 캐시), 인스턴스로 동기화
+     */
+    private static class PendingInvalidations {
+        private final Map<String, Set<String>> keys = new LinkedHashMap<>();
+        private final Set<String> clears = new LinkedHashSet<>();
+        private int keyCount;
+        
+        synchronized String nextClear() {
+            return clears.isEmpty() ? null : clears.iterator().next();
+        }
+        
+        synchronized void clearSent(String cacheName) {
+            clears.remove(cacheName);
+        }
+        
+        synchronized String[] nextKey() {
+            for (Map.Entry<String, Set<String>> entry : keys.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    return new String[] {entry.getKey(), entry.getValue().iterator().next()};
+                }
+            }
+            return null;
+        }
+        
+        synchronized void keySent(String cacheName, String encodedKey) {
+            Set<String> cacheKeys = keys.get(cacheName);
+            if (cacheKeys != null && cacheKeys.remove(encodedKey)) {
+                keyCount--;
+                if (cacheKeys.isEmpty()) {
+                    keys.remove(cacheName);
+                }
+            }
+        }
+        
+        synchronized int size() {
+            return keyCount + clears.size();
+        }
+        
+        synchronized boolean isEmpty() {
+            return keyCount == 0 && clears.isEmpty();
+        }
+    }
+    
+    /**
+     * 원격 노드가 응답했지만 2xx가 아닌 경우 (노드는 살아 있으므로 down으로 표시하지 않음)
+     */
+    private static class RemoteStatusException extends RuntimeException {
+        private final int statusCode;
+        
+        RemoteStatusException(int statusCode) {
+            super("HTTP " + statusCode);
+            this.statusCode = statusCode;
+        }
+    }
+    
+    /**
+     * 역직렬화 허용 타입: 애플리케이션 엔티티, 기본 값 타입, JDK 컬렉션/Map, java.time 타입과 그 배열
+     */
+    static final class CacheValueTypeValidator extends PolymorphicTypeValidator.Base {
+        
+        private static final long serialVersionUID = 1L;
+        
+        @Override
+        public Validity validateSubType(MapperConfig<?> config, JavaType baseType, JavaType subType) {
+            return isCacheValueType(subType.getRawClass()) ? Validity.ALLOWED : Validity.DENIED;
+        }
+        
+        static boolean isCacheValueType(Class<?> type) {
+            if (type.isArray()) {
+                return isCacheValueType(type.getComponentType());
+            }
+            String name = type.getName();
+            if (type.isPrimitive() || type == String.class || type == Boolean.class || type == Character.class) {
+                return true;
+            }
+            if (Number.class.isAssignableFrom(type)) {
+                return name.startsWith("java.lang.") || name.startsWith("java.math.");
+            }
+            if (name.startsWith("java.util.")) {
+                return Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+            }
+            return name.startsWith("java.time.") || name.startsWith("com.example.cache.entity.");
+        }
+    }
+}
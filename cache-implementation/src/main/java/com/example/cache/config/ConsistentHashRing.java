@@ -0,0 +1,93 @@
+package com.example.cache.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 가상 노드 기반 일관된 해시 링 (불변)
+ *
+ * 노드마다 virtualNodes개의 지점을 링에 배치하고, 키 해시 이후 처음 만나는 지점의 노드가 키를 소유
+ * 노드가 추가/제거되어도 해당 노드 구간의 키만 이동하므로 나머지 노드의 캐시는 그대로 유지됨
+ * 모든 인스턴스가 같은 소유 노드를 계산해야 하므로 String.hashCode 대신 고정된 64비트 해시(FNV-1a + fmix64)를 사용
+ */
+public final class ConsistentHashRing {
+    
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final List<String> nodes;
+    private final int virtualNodes;
+    
+    public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("해시 링에는 최소 1개의 노드가 필요합니다");
+        }
+        this.nodes = List.copyOf(nodes);
+        this.virtualNodes = Math.max(1, virtualNodes);
+        for (String node : this.nodes) {
+            for (int i = 0; i < this.virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+    
+    /**
+     * 키를 소유한 노드
+     */
+    public String ownerOf(String key) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+    
+    public List<String> getNodes() {
+        return nodes;
+    }
+    
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+    
+    /**
+     * 노드별로 소유한 해시 공간 비율 (가상 노드 수에 따른 분산 편차 확인용)
+     */
+    public Map<String, Double> ownershipRatio() {
+        Map<String, Double> ratio = new LinkedHashMap<>();
+        for (String node : nodes) {
+            ratio.put(node, 0.0);
+        }
+        List<Map.Entry<Long, String>> points = new ArrayList<>(ring.entrySet());
+        for (int i = 0; i < points.size(); i++) {
+            // 이전 지점 다음부터 현재 지점까지의 구간을 현재 지점의 노드가 소유 (첫 지점은 링을 한 바퀴 감아서 계산)
+            long previous = points.get(i == 0 ? points.size() - 1 : i - 1).getKey();
+            long span = points.get(i).getKey() - previous;
+            double fraction = points.size() == 1 ? 1.0 : unsignedToDouble(span) / 0x1p64;
+            ratio.merge(points.get(i).getValue(), fraction, Double::sum);
+        }
+        return ratio;
+    }
+    
+    /**
+     * 64비트 FNV-1a 해시 후 MurmurHash3 fmix64로 비트를 섞음
+     * FNV-1a만으로는 "node#1", "node#2"처럼 끝자리만 다른 문자열의 해시가 링 위에서 고르게 퍼지지 않음
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+    
+    private static double unsignedToDouble(long value) {
+        return value >= 0 ? value : (value >>> 1) * 2.0 + (value & 1);
+    }
+}
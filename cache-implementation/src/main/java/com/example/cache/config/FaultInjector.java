@@ -0,0 +1,320 @@
+package com.example.cache.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 리포지토리와 Redis 호출에 지연/오류/멈춤을 주입하는 장애 주입기
+ *
+ * 로컬 H2는 항상 빠르므로 DB가 느려졌을 때 캐싱 패턴(stale 응답, 타임아웃, 벌크헤드 등)이
+ * 어떻게 동작하는지 확인하기 위해 Spring Data 리포지토리와 RedisConnectionFactory를 프록시로 감쌈
+ * - 대상 "db": 모든 리포지토리 (리포지토리 이름, 예: "ProductRepository"로 개별 설정하면 그 설정이 우선)
+ * - 대상 "redis": RedisConnectionFactory의 커넥션 획득 (Redis 명령마다 커넥션을 얻으므로 명령당 한 번 주입)
+ *
+ * 프로파일은 /api/cache/admin/faults로 실행 중에 바꾸며, 비활성 상태의 비용은 맵 조회 한 번
+ * 관리 엔드포인트에 인증이 없으므로 기본은 꺼져 있음 (cache.fault-injection.enabled=true로 켤 때만 프록시 설치)
+ */
+@Component
+@Slf4j
+public class FaultInjector implements BeanPostProcessor {
+    
+    public static final String TARGET_DB = "db";
+    public static final String TARGET_REDIS = "redis";
+    
+    @Value("${cache.fault-injection.enabled:false}")
+    private boolean enabled;
+    
+    // 프로파일을 설정할 수 있는 대상 (db + 프록시를 설치한 리포지토리 이름, redis)
+    private final Set<String> knownTargets = ConcurrentHashMap.newKeySet();
+    
+    private final Map<String, FaultProfile> profiles = new ConcurrentHashMap<>();
+    private final Map<String, TargetStats> stats = new ConcurrentHashMap<>();
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled) {
+            return bean;
+        }
+        if (bean instanceof Repository<?, ?>) {
+            String repositoryName = repositoryNameOf(bean);
+            log.debug("리포지토리 장애 주입 프록시 적용: {}", repositoryName);
+            knownTargets.add(TARGET_DB);
+            knownTargets.add(repositoryName);
+            return proxy(bean, repositoryName, TARGET_DB);
+        }
+        if (bean instanceof RedisConnectionFactory) {
+            log.debug("Redis 장애 주입 프록시 적용: {}", beanName);
+            knownTargets.add(TARGET_REDIS);
+            return proxy(bean, TARGET_REDIS, TARGET_REDIS);
+        }
+        return bean;
+    }
+    
+    /**
+     * 호출 전에 대상의 프로파일에 따라 지연/멈춤/오류 주입
+     * 리포지토리는 이미 AOP 프록시이므로 트랜잭션 어드바이스보다 앞에 추가하고, 그 외에는 새 프록시로 감쌈
+     * Redis는 커넥션 획득(getConnection, getReactiveConnection 등) 시점에만 주입
+     */
+    private Object proxy(Object bean, String target, String fallbackTarget) {
+        MethodInterceptor interceptor = invocation -> {
+            String method = invocation.getMethod().getName();
+            if (invocation.getMethod().getDeclaringClass() != Object.class
+                    && (!TARGET_REDIS.equals(target) || isConnectionAcquire(method))) {
+                inject(target, fallbackTarget, method);
+            }
+            return invocation.proceed();
+        };
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+    
+    private static boolean isConnectionAcquire(String method) {
+        return method.startsWith("get") && method.endsWith("Connection");
+    }
+    
+    /**
+     * 개별 대상(리포지토리 이름) 프로파일이 메서드에 적용되지 않으면 상위 대상(db) 프로파일 사용
+     */
+    private void inject(String target, String fallbackTarget, String method) {
+        String profileName = target;
+        FaultProfile profile = profiles.get(target);
+        if ((profile == null || !profile.appliesTo(method)) && !target.equals(fallbackTarget)) {
+            profileName = fallbackTarget;
+            profile = profiles.get(fallbackTarget);
+        }
+        if (profile == null || !profile.appliesTo(method)) {
+            return;
+        }
+        TargetStats targetStats = stats.computeIfAbsent(profileName, name -> new TargetStats());
+        targetStats.invocations.increment();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        
+        long delayMs = profile.sampleLatencyMs(random);
+        if (profile.getStallRate() > 0 && random.nextDouble() < profile.getStallRate()) {
+            delayMs += profile.getStallMs();
+            targetStats.stalls.increment();
+        }
+        if (delayMs > 0) {
+            targetStats.delayedMs.add(delayMs);
+            sleep(delayMs, target);
+        }
+        if (profile.getErrorRate() > 0 && random.nextDouble() < profile.getErrorRate()) {
+            targetStats.errors.increment();
+            String message = "주입된 장애: " + target + "." + method;
+            if (TARGET_REDIS.equals(fallbackTarget)) {
+                throw new RedisConnectionFailureException(message);
+            }
+            throw profile.isTimeoutErrors()
+                ? new QueryTimeoutException(message)
+                : new DataAccessResourceFailureException(message);
+        }
+    }
+    
+    private static void sleep(long delayMs, String target) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("주입된 지연 대기 중 인터럽트: " + target);
+        }
+    }
+    
+    private static String repositoryNameOf(Object bean) {
+        return Arrays.stream(ClassUtils.getAllInterfaces(bean))
+            .filter(Repository.class::isAssignableFrom)
+            .filter(type -> type.getName().startsWith("com.example"))
+            .map(Class::getSimpleName)
+            .findFirst()
+            .orElse(TARGET_DB);
+    }
+    
+    // ========== 프로파일 관리 ==========
+    
+    /**
+     * 대상의 장애 프로파일 설정 (db, redis 또는 리포지토리 이름)
+     * 장애 주입이 꺼져 있으면 IllegalStateException, 프록시가 없는 대상이면 IllegalArgumentException
+     */
+    public void setProfile(String target, FaultProfile profile) {
+        if (!enabled) {
+            throw new IllegalStateException("장애 주입이 비활성화되어 있습니다 (cache.fault-injection.enabled=true로 기동)");
+        }
+        if (!knownTargets.contains(target)) {
+            throw new IllegalArgumentException("알 수 없는 장애 주입 대상: " + target + " (가능한 대상: "
+                + knownTargets.stream().sorted().collect(Collectors.joining(", ")) + ")");
+        }
+        profile.validate();
+        profiles.put(target, profile);
+        log.info("장애 주입 프로파일 설정: {} -> {}", target, profile);
+    }
+    
+    public void clearProfile(String target) {
+        profiles.remove(target);
+    }
+    
+    public void clearAll() {
+        profiles.clear();
+        stats.clear();
+    }
+    
+    /**
+     * 장애 주입 상태 조회
+     */
+    public FaultStatus getStatus() {
+        Map<String, FaultTargetStatus> targets = new LinkedHashMap<>();
+        profiles.forEach((target, profile) -> targets.put(target, toStatus(profile, stats.get(target))));
+        stats.forEach((target, targetStats) -> targets.computeIfAbsent(target, name -> toStatus(null, targetStats)));
+        return new FaultStatus(enabled, targets);
+    }
+    
+    private static FaultTargetStatus toStatus(FaultProfile profile, TargetStats targetStats) {
+        if (targetStats == null) {
+            return new FaultTargetStatus(profile, 0, 0, 0, 0);
+        }
+        return new FaultTargetStatus(profile, targetStats.invocations.sum(), targetStats.delayedMs.sum(),
+            targetStats.stalls.sum(), targetStats.errors.sum());
+    }
+    
+    private static class TargetStats {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder delayedMs = new LongAdder();
+        private final LongAdder stalls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+    
+    /**
+     * 장애 프로파일
+     * - distribution: fixed(latencyMs), uniform(latencyMs~maxLatencyMs),
+     *   exponential(평균 latencyMs), lognormal(중앙값 latencyMs, 분산 sigma)
+     * - maxLatencyMs: uniform의 상한, 그 외 분포에서는 0보다 크면 지연 상한
+     * - stallRate/stallMs: 낮은 확률로 긴 멈춤 (락 대기, GC, 커넥션 고갈 흉내)
+     * - errorRate: 지연 후 예외 발생 확률 (timeoutErrors면 QueryTimeoutException)
+     * - methods: 주입할 메서드 이름 (비어 있으면 전체)
+     */
+    @Getter
+    @Setter
+    public static class FaultProfile {
+        private String distribution = "fixed";
+        private long latencyMs;
+        private long maxLatencyMs;
+        private double sigma = 0.5;
+        private double errorRate;
+        private boolean timeoutErrors;
+        private double stallRate;
+        private long stallMs = 5000;
+        private Set<String> methods = Set.of();
+        
+        long sampleLatencyMs(ThreadLocalRandom random) {
+            double latency;
+            switch (distribution) {
+                case "uniform":
+                    latency = latencyMs + random.nextDouble() * Math.max(0, maxLatencyMs - latencyMs);
+                    break;
+                case "exponential":
+                    latency = -latencyMs * Math.log(1 - random.nextDouble());
+                    break;
+                case "lognormal":
+                    latency = latencyMs * Math.exp(sigma * random.nextGaussian());
+                    break;
+                default:
+                    latency = latencyMs;
+                    break;
+            }
+            if (maxLatencyMs > 0) {
+                latency = Math.min(latency, maxLatencyMs);
+            }
+            return Math.round(latency);
+        }
+        
+        boolean appliesTo(String method) {
+            return methods == null || methods.isEmpty() || methods.contains(method);
+        }
+        
+        void validate() {
+            if (!Set.of("fixed", "uniform", "exponential", "lognormal").contains(distribution)) {
+                throw new IllegalArgumentException("지원하지 않는 지연 분포: " + distribution);
+            }
+            if (latencyMs < 0 || maxLatencyMs < 0 || stallMs < 0 || sigma < 0) {
+                throw new IllegalArgumentException("지연 값은 0 이상이어야 합니다");
+            }
+            if (errorRate < 0 || errorRate > 1 || stallRate < 0 || stallRate > 1) {
+                throw new IllegalArgumentException("errorRate/stallRate는 0~1 사이여야 합니다");
+            }
+        }
+        
+        @Override
+        public String toString() {
+            return distribution + "(latency=" + latencyMs + "ms, max=" + maxLatencyMs + "ms, sigma=" + sigma
+                + ", errorRate=" + errorRate + ", stallRate=" + stallRate + ", stall=" + stallMs + "ms"
+                + (methods == null || methods.isEmpty() ? "" : ", methods=" + methods.stream().sorted().collect(Collectors.joining(","))) + ")";
+        }
+    }
+    
+    /**
+     * 대상별 프로파일과 주입 통계 DTO
+     */
+    public static class FaultTargetStatus {
+        private final FaultProfile profile;
+        private final long invocations;
+        private final long delayedMs;
+        private final long stalls;
+        private final long errors;
+        
+        public FaultTargetStatus(FaultProfile profile, long invocations, long delayedMs, long stalls, long errors) {
+            this.profile = profile;
+            this.invocations = invocations;
+            this.delayedMs = delayedMs;
+            this.stalls = stalls;
+            this.errors = errors;
+        }
+        
+        public FaultProfile getProfile() { return profile; }
+        public long getInvocations() { return invocations; }
+        public long getDelayedMs() { return delayedMs; }
+        public long getStalls() { return stalls; }
+        public long getErrors() { return errors; }
+    }
+    
+    /**
+     * 장애 주입 상태 DTO
+     */
+    public static class FaultStatus {
+        private final boolean enabled;
+        private final Map<String, FaultTargetStatus> targets;
+        
+        public FaultStatus(boolean enabled, Map<String, FaultTargetStatus> targets) {
+            this.enabled = enabled;
+            this.targets = targets;
+        }
+        
+        public boolean isEnabled() { return enabled; }
+        public Map<String, FaultTargetStatus> getTargets() { return targets; }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.cache.config;
 
 import com.example.cache.monitor.CacheMetrics;
+import com.example.cache.monitor.CacheTraceRecorder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
@@ -8,15 +9,18 @@ import org.springframework.cache.CacheManager;
 import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 캐시 메트릭을 수집하는 CacheManager 래퍼
+ * 트레이스 기록이 켜져 있으면 접근 이력을 CacheTraceRecorder로 전달
  */
 @RequiredArgsConstructor
 public class MetricsCacheManager implements CacheManager {
     
     private final CacheManager delegate;
     private final CacheMetrics cacheMetrics;
+    private final CacheTraceRecorder traceRecorder;
     private final ConcurrentMap<String, Cache> cacheMap = new ConcurrentHashMap<>();
     
     @Override
@@ -24,7 +28,7 @@ public class MetricsCacheManager implements CacheManager {
         return cacheMap.computeIfAbsent(name, cacheName -> {
             Cache cache = delegate.getCache(cacheName);
             if (cache != null) {
-                return new MetricsCache(cache, cacheName, cacheMetrics);
+                return new MetricsCache(cache, cacheName, cacheMetrics, traceRecorder);
             }
             return null;
         });
@@ -37,13 +41,21 @@ public class MetricsCacheManager implements CacheManager {
     
     /**
      * 캐시 메트릭을 수집하는 Cache 래퍼
+     * 미스 후 같은 스레드에서 같은 키를 put하면 그 사이 시간을 미스 처리 시간(원본 조회 비용)으로 기록
+     * 로더가 예외로 끝나 put이 오지 않는 경우도 있으므로 MAX_PENDING_NANOS가 지난 미스는 무시
      */
     @RequiredArgsConstructor
     private static class MetricsCache implements Cache {
         
+        private static final ThreadLocal<PendingMiss> PENDING_MISS = ThreadLocal.withInitial(PendingMiss::new);
+        
+        // 미스와 put 사이가 이보다 길면 같은 조회의 적재로 보지 않음 (나중에 같은 스레드에서 우연히 같은 키를 put한 경우)
+        private static final long MAX_PENDING_NANOS = TimeUnit.SECONDS.toNanos(10);
+        
         private final Cache delegate;
         private final String cacheName;
         private final CacheMetrics cacheMetrics;
+        private final CacheTraceRecorder traceRecorder;
         
         @Override
         public String getName() {
@@ -57,22 +69,40 @@ public class MetricsCacheManager implements CacheManager {
         
         @Override
         public ValueWrapper get(Object key) {
-            ValueWrapper value = delegate.get(key);
+            ValueWrapper value;
+            try {
+                value = delegate.get(key);
+            } catch (RuntimeException e) {
+                PENDING_MISS.get().clear();
+                throw e;
+            }
             if (value != null) {
                 cacheMetrics.recordHit(cacheName);
+                traceRecorder.record(cacheName, key, CacheTraceRecorder.OP_HIT);
             } else {
                 cacheMetrics.recordMiss(cacheName);
+                traceRecorder.record(cacheName, key, CacheTraceRecorder.OP_MISS);
+                PENDING_MISS.get().start(cacheName, key);
             }
             return value;
         }
         
         @Override
         public <T> T get(Object key, Class<T> type) {
-            T value = delegate.get(key, type);
+            T value;
+            try {
+                value = delegate.get(key, type);
+            } catch (RuntimeException e) {
+                PENDING_MISS.get().clear();
+                throw e;
+            }
             if (value != null) {
                 cacheMetrics.recordHit(cacheName);
+                traceRecorder.record(cacheName, key, CacheTraceRecorder.OP_HIT);
             } else {
                 cacheMetrics.recordMiss(cacheName);
+                traceRecorder.record(cacheName, key, CacheTraceRecorder.OP_MISS);
+                PENDING_MISS.get().start(cacheName, key);
             }
             return value;
         }
@@ -80,15 +110,30 @@ public class MetricsCacheManager implements CacheManager {
         @Override
         public <T> T get(Object key, java.util.concurrent.Callable<T> valueLoader) {
             try {
-                T value = delegate.get(key, valueLoader);
-                if (value != null) {
+                // 로더가 호출되었으면 미스로 보고 로딩 시간을 미스 처리 시간으로 기록
+                long[] loadNanos = {-1};
+                T value = delegate.get(key, () -> {
+                    long start = System.nanoTime();
+                    try {
+                        return valueLoader.call();
+                    } finally {
+                        loadNanos[0] = System.nanoTime() - start;
+                    }
+                });
+                if (loadNanos[0] < 0) {
                     cacheMetrics.recordHit(cacheName);
+                    traceRecorder.record(cacheName, key, CacheTraceRecorder.OP_HIT);
                 } else {
                     cacheMetrics.recordMiss(cacheName);
+                    cacheMetrics.recordMissLatency(cacheName, loadNanos[0]);
+                    traceRecorder.record(cacheName, key, CacheTraceRecorder.OP_MISS);
                 }
                 return value;
             } catch (Exception e) {
+                // 이전 get 미스가 남아 있으면 이 키로 put이 오지 않으므로 정리 (스레드 로컬에 키가 남지 않도록 함)
+                PENDING_MISS.get().clear();
                 cacheMetrics.recordMiss(cacheName);
+                traceRecorder.record(cacheName, key, CacheTraceRecorder.OP_MISS);
                 throw new RuntimeException(e);
             }
         }
@@ -96,17 +141,54 @@ public class MetricsCacheManager implements CacheManager {
         @Override
         public void put(Object key, Object value) {
             delegate.put(key, value);
+            traceRecorder.record(cacheName, key, CacheTraceRecorder.OP_PUT);
+            PendingMiss pending = PENDING_MISS.get();
+            if (pending.matches(cacheName, key)) {
+                long elapsed = System.nanoTime() - pending.startNanos;
+                if (elapsed <= MAX_PENDING_NANOS) {
+                    cacheMetrics.recordMissLatency(cacheName, elapsed);
+                }
+                pending.clear();
+            }
         }
         
         @Override
         public void evict(Object key) {
             delegate.evict(key);
+            cacheMetrics.recordInvalidation(cacheName);
+            traceRecorder.record(cacheName, key, CacheTraceRecorder.OP_EVICT);
         }
         
         @Override
         public void clear() {
             delegate.clear();
+            cacheMetrics.recordInvalidation(cacheName);
+            traceRecorder.record(cacheName, null, CacheTraceRecorder.OP_CLEAR);
+        }
+    }
+    
+    /**
+     * 스레드별 마지막 미스 (캐시 이름, 키, 시작 시각)
+     */
+    private static class PendingMiss {
+        
+        private String cacheName;
+        private Object key;
+        private long startNanos;
+        
+        void start(String cacheName, Object key) {
+            this.cacheName = cacheName;
+            this.key = key;
+            this.startNanos = System.nanoTime();
+        }
+        
+        boolean matches(String cacheName, Object key) {
+            return this.key != null && this.cacheName.equals(cacheName) && this.key.equals(key);
+        }
+        
+        void clear() {
+            this.cacheName = null;
+            this.key = null;
         }
     }
 }
-
@@ -0,0 +1,164 @@
+package com.example.cache.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 일관된 해시로 키를 노드별로 나누어 보관하는 CacheManager 래퍼
+ * cache.partition.caches에 지정된 캐시만 파티셔닝하고 나머지는 로컬 캐시를 그대로 반환
+ *
+ * 주의: 네이티브 Caffeine 캐시를 직접 조회하는 캐시(orders 등)는 로컬 파티션만 보게 되므로 파티셔닝 대상에서 제외
+ */
+public class PartitionedCacheManager implements CacheManager {
+    
+    private final CacheManager delegate;
+    private final CachePartitionRouter router;
+    private final ConcurrentMap<String, Cache> cacheMap = new ConcurrentHashMap<>();
+    
+    public PartitionedCacheManager(CacheManager delegate, CachePartitionRouter router) {
+        this.delegate = delegate;
+        this.router = router;
+        router.attach(delegate);
+    }
+    
+    @Override
+    public Cache getCache(String name) {
+        return cacheMap.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            if (cache != null && router.isPartitioned(cacheName)) {
+                return new PartitionedCache(cache, router);
+            }
+            return cache;
+        });
+    }
+    
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+    
+    /**
+     * 소유 노드가 자신이면 로컬 캐시, 아니면 니어 캐시 → 소유 노드 순으로 접근하는 Cache
+     * getNativeCache는 이 노드가 소유한 파티션(로컬 Caffeine)을 반환
+     */
+    private static class PartitionedCache implements Cache {
+        
+        private final Cache local;
+        private final CachePartitionRouter router;
+        
+        PartitionedCache(Cache local, CachePartitionRouter router) {
+            this.local = local;
+            this.router = router;
+        }
+        
+        @Override
+        public String getName() {
+            return local.getName();
+        }
+        
+        @Override
+        public Object getNativeCache() {
+            return local.getNativeCache();
+        }
+        
+        @Override
+        public ValueWrapper get(Object key) {
+            String encodedKey = CachePartitionRouter.encodeKey(key);
+            String owner = router.ownerOf(encodedKey);
+            if (router.isSelf(owner)) {
+                router.recordLocal(encodedKey != null);
+                return local.get(key);
+            }
+            ValueWrapper near = router.nearGet(getName(), encodedKey);
+            if (near != null) {
+                return near;
+            }
+            ValueWrapper remote = router.remoteGet(owner, getName(), encodedKey);
+            if (remote != null) {
+                router.nearPut(getName(), encodedKey, remote.get());
+            }
+            return remote;
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Class<T> type) {
+            ValueWrapper wrapper = get(key);
+            Object value = wrapper != null ? wrapper.get() : null;
+            if (value != null && type != null && !type.isInstance(value)) {
+                throw new IllegalStateException("캐시 값이 요청한 타입 [" + type.getName() + "]이 아닙니다: " + value);
+            }
+            return (T) value;
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            String encodedKey = CachePartitionRouter.encodeKey(key);
+            if (router.isSelf(router.ownerOf(encodedKey))) {
+                router.recordLocal(encodedKey != null);
+                return local.get(key, valueLoader);
+            }
+            // 원격 키는 노드 간 로딩 동기화가 없으므로 조회 → 로드 → 저장 순으로 처리
+            ValueWrapper wrapper = get(key);
+            if (wrapper != null) {
+                return (T) wrapper.get();
+            }
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            put(key, value);
+            return value;
+        }
+        
+        @Override
+        public void put(Object key, Object value) {
+            String encodedKey = CachePartitionRouter.encodeKey(key);
+            String owner = router.ownerOf(encodedKey);
+            if (router.isSelf(owner)) {
+                router.recordLocal(encodedKey != null);
+                local.put(key, value);
+                return;
+            }
+            router.remotePut(owner, getName(), encodedKey, value);
+            router.nearPut(getName(), encodedKey, value);
+        }
+        
+        /**
+         * 소유 노드에서 제거하고 다른 노드의 니어 캐시 사본도 무효화
+         */
+        @Override
+        public void evict(Object key) {
+            String encodedKey = CachePartitionRouter.encodeKey(key);
+            String owner = router.ownerOf(encodedKey);
+            if (router.isSelf(owner)) {
+                router.recordLocal(encodedKey != null);
+                local.evict(key);
+            } else {
+                router.nearInvalidate(getName(), encodedKey);
+                router.remoteEvict(owner, getName(), encodedKey);
+            }
+            if (encodedKey != null) {
+                router.broadcastNearInvalidate(getName(), encodedKey);
+            }
+        }
+        
+        /**
+         * 모든 노드의 파티션과 니어 캐시를 비움
+         */
+        @Override
+        public void clear() {
+            local.clear();
+            router.nearClear(getName());
+            router.broadcastClear(getName());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.cache.config;
 
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,11 +27,20 @@ public class RedisConfig {
         template.setHashKeySerializer(new StringRedisSerializer());
         
         // Value는 JSON으로 직렬화
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setValueSerializer(jsonSerializer());
+        template.setHashValueSerializer(jsonSerializer());
         
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * 타입 정보를 포함하는 JSON 값 직렬화기
+     * 엔티티의 LocalDateTime 필드(주문 일시, 카테고리 수정 시각)를 직렬화할 수 있도록 JavaTimeModule 등록
+     */
+    public static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        return new GenericJackson2JsonRedisSerializer()
+            .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+    }
 }
 
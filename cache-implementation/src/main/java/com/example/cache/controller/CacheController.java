@@ -1,16 +1,26 @@
 package com.example.cache.controller;
 
+import com.example.cache.config.CachePartitionRouter;
 import com.example.cache.entity.Category;
 import com.example.cache.entity.Order;
 import com.example.cache.entity.Product;
 import com.example.cache.entity.User;
+import com.example.cache.monitor.AdaptiveExpiryTracker;
+import com.example.cache.monitor.CacheEventStream;
 import com.example.cache.monitor.CacheMetrics;
+import com.example.cache.monitor.CacheTraceRecorder;
 import com.example.cache.service.*;
+import com.example.cache.service.optimization.CacheTraceSimulator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +37,11 @@ public class CacheController {
     private final OrderService orderService;
     private final CacheComparisonService cacheComparisonService;
     private final CacheMetrics cacheMetrics;
+    private final CacheTraceRecorder cacheTraceRecorder;
+    private final CacheTraceSimulator cacheTraceSimulator;
+    private final CacheEventStream cacheEventStream;
+    private final AdaptiveExpiryTracker adaptiveExpiryTracker;
+    private final CachePartitionRouter cachePartitionRouter;
     
     // ========== 제품 관련 API ==========
     
@@ -66,6 +81,21 @@ public class CacheController {
         return ResponseEntity.ok(products);
     }
     
+    /**
+     * 제품 가격 변경 (캐시 무효화 + 갱신 간격 기록)
+     */
+    @PutMapping("/products/{id}/price")
+    public ResponseEntity<Product> updateProductPrice(
+            @PathVariable Long id,
+            @RequestParam Double price) {
+        Product product = productService.findByIdWithoutCache(id);
+        if (product == null) {
+            return ResponseEntity.notFound().build();
+        }
+        product.setPrice(price);
+        return ResponseEntity.ok(productService.update(product));
+    }
+    
     // ========== 카테고리 관련 API ==========
     
     /**
@@ -86,6 +116,24 @@ public class CacheController {
         return ResponseEntity.ok(categories);
     }
     
+    /**
+     * 카테고리 이름 변경 (커밋 후 레플리카에 반영)
+     */
+    @PutMapping("/categories/{id}/name")
+    public ResponseEntity<Category> updateCategoryName(
+            @PathVariable Long id,
+            @RequestParam String name) {
+        return ResponseEntity.ok(categoryService.updateName(id, name));
+    }
+    
+    /**
+     * 카테고리 레플리카 상태 조회
+     */
+    @GetMapping("/categories/replica/status")
+    public ResponseEntity<CategoryReplica.ReplicaStatus> getCategoryReplicaStatus() {
+        return ResponseEntity.ok(categoryService.getReplicaStatus());
+    }
+    
     // ========== 사용자 관련 API ==========
     
     /**
@@ -135,6 +183,50 @@ public class CacheController {
         return ResponseEntity.ok(orders);
     }
     
+    /**
+     * 사용자별 주문 목록 페이지 조회
+     */
+    @GetMapping("/orders/user/{userId}/page/{page}")
+    public ResponseEntity<OrderService.UserOrderPage> getOrdersByUserPage(
+            @PathVariable Long userId,
+            @PathVariable int page) {
+        return ResponseEntity.ok(orderService.findPageByUserId(userId, page));
+    }
+    
+    /**
+     * 주문 생성 (해당 사용자의 주문 목록 캐시에 추가)
+     */
+    @PostMapping("/orders")
+    public ResponseEntity<Order> createOrder(
+            @RequestParam Long userId,
+            @RequestParam Double totalAmount) {
+        Order order = new Order();
+        order.setOrderNumber("ORD-" + System.currentTimeMillis() + "-" + userId);
+        order.setUser(userService.findById(userId));
+        order.setTotalAmount(totalAmount);
+        order.setOrderDate(LocalDateTime.now());
+        return ResponseEntity.ok(orderService.create(order));
+    }
+    
+    /**
+     * 주문 금액 변경 (해당 사용자의 주문 목록 캐시에서 교체)
+     */
+    @PutMapping("/orders/{id}/amount")
+    public ResponseEntity<Order> updateOrderAmount(
+            @PathVariable Long id,
+            @RequestParam Double totalAmount) {
+        return ResponseEntity.ok(orderService.updateTotalAmount(id, totalAmount));
+    }
+    
+    /**
+     * 주문 삭제 (해당 사용자의 주문 목록 캐시에서 제거)
+     */
+    @DeleteMapping("/orders/{id}")
+    public ResponseEntity<String> deleteOrder(@PathVariable Long id) {
+        orderService.delete(id);
+        return ResponseEntity.ok("주문이 삭제되었습니다: " + id);
+    }
+    
     // ========== 성능 측정 API ==========
     
     /**
@@ -250,6 +342,99 @@ public class CacheController {
         return ResponseEntity.ok("캐시 메트릭이 초기화되었습니다: " + cacheName);
     }
     
+    // ========== 캐시 이벤트 스트림 API ==========
+    
+    /**
+     * 초 단위 캐시 이벤트 스트림 (Server-Sent Events)
+     * replay=true면 버퍼에 남은 최근 프레임부터 전송
+     * 구독자 수가 최대치면 503 반환
+     */
+    @GetMapping(value = "/events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCacheEvents(@RequestParam(defaultValue = "false") boolean replay) {
+        SseEmitter emitter = cacheEventStream.subscribe(replay);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+    
+    /**
+     * 이벤트 스트림 상태 조회
+     */
+    @GetMapping("/events/status")
+    public ResponseEntity<CacheEventStream.StreamStatus> getCacheEventStreamStatus() {
+        return ResponseEntity.ok(cacheEventStream.getStatus());
+    }
+    
+    // ========== 캐시 트레이스 API ==========
+    
+    /**
+     * 캐시 접근 트레이스 기록 시작
+     */
+    @PostMapping("/trace/start")
+    public ResponseEntity<?> startTrace(
+            @RequestParam(defaultValue = "cache-trace.bin") String file) {
+        try {
+            cacheTraceRecorder.start(file);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+        return ResponseEntity.ok(cacheTraceRecorder.getStatus());
+    }
+    
+    /**
+     * 캐시 접근 트레이스 기록 중지
+     */
+    @PostMapping("/trace/stop")
+    public ResponseEntity<CacheTraceRecorder.TraceStatus> stopTrace() {
+        cacheTraceRecorder.stop();
+        return ResponseEntity.ok(cacheTraceRecorder.getStatus());
+    }
+    
+    /**
+     * 트레이스 기록 상태 조회
+     */
+    @GetMapping("/trace/status")
+    public ResponseEntity<CacheTraceRecorder.TraceStatus> getTraceStatus() {
+        return ResponseEntity.ok(cacheTraceRecorder.getStatus());
+    }
+    
+    /**
+     * 적응형 만료 정책 리포트 (고정 TTL 대비 히트율/stale 노출 시간 비교)
+     */
+    @GetMapping("/expiry/adaptive")
+    public ResponseEntity<Map<String, AdaptiveExpiryTracker.ExpiryReport>> getAdaptiveExpiryReport() {
+        return ResponseEntity.ok(adaptiveExpiryTracker.getReport());
+    }
+    
+    /**
+     * 캐시 파티셔닝 상태 (노드별 해시 공간 비율, 니어 캐시/원격 호출 통계)
+     */
+    @GetMapping("/partition/status")
+    public ResponseEntity<CachePartitionRouter.PartitionStatus> getPartitionStatus() {
+        return ResponseEntity.ok(cachePartitionRouter.getStatus());
+    }
+    
+    /**
+     * 기록된 트레이스를 후보 정책/크기/TTL에 재생하여 히트율 비교
+     */
+    @PostMapping("/trace/simulate")
+    public ResponseEntity<?> simulateTrace(
+            @RequestBody(required = false) CacheTraceSimulator.SimulationRequest request) {
+        if (request == null) {
+            request = new CacheTraceSimulator.SimulationRequest();
+        }
+        try {
+            return ResponseEntity.ok(cacheTraceSimulator.simulate(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     // ========== 캐시 관리 API ==========
     
     /**
@@ -0,0 +1,117 @@
+package com.example.cache.controller;
+
+import com.example.cache.config.CachePartitionRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 캐시 파티셔닝 노드 간 내부 엔드포인트
+ *
+ * 다른 노드가 이 노드가 소유한 키를 조회/저장/제거할 때 호출하며 로컬 파티션에만 접근 (다시 라우팅하지 않음)
+ * 값은 타입 정보가 포함된 JSON 바이트 (빈 본문은 null 값), 키는 CachePartitionRouter의 인코딩 형식(L:1, S:abc)
+ * 요청 헤더의 공유 비밀(cache.partition.secret)이 맞지 않거나 파티셔닝이 꺼져 있으면 403
+ * 키 형식이 잘못되었으면(접두사 없음, 숫자가 아닌 L:/I: 값) 400
+ * 클러스터 내부망에서만 접근 가능하도록 배포해야 함
+ */
+@RestController
+@RequestMapping("/internal/cache")
+@RequiredArgsConstructor
+public class CachePartitionController {
+    
+    private final CachePartitionRouter router;
+    
+    /**
+     * 소유 키 조회 (없으면 404)
+     */
+    @GetMapping(value = "/{cacheName}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> get(@PathVariable String cacheName, @RequestParam String key,
+                                      @RequestHeader(value = CachePartitionRouter.SECRET_HEADER, required = false) String secret) {
+        if (!router.isAuthorized(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Cache cache = router.localCache(cacheName);
+        if (cache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Cache.ValueWrapper value = cache.get(CachePartitionRouter.decodeKey(key));
+        if (value == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(router.serialize(value.get()));
+    }
+    
+    /**
+     * 소유 키 저장
+     */
+    @PutMapping(value = "/{cacheName}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> put(@PathVariable String cacheName, @RequestParam String key,
+                                    @RequestBody(required = false) byte[] body,
+                                    @RequestHeader(value = CachePartitionRouter.SECRET_HEADER, required = false) String secret) {
+        if (!router.isAuthorized(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Cache cache = router.localCache(cacheName);
+        if (cache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Object value;
+        try {
+            value = router.deserialize(body);
+        } catch (SerializationException e) {
+            // 허용되지 않은 타입이거나 형식이 잘못된 값
+            return ResponseEntity.badRequest().build();
+        }
+        cache.put(CachePartitionRouter.decodeKey(key), value);
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * 소유 키 제거
+     */
+    @DeleteMapping("/{cacheName}")
+    public ResponseEntity<Void> evict(@PathVariable String cacheName,
+                                      @RequestParam(required = false) String key,
+                                      @RequestHeader(value = CachePartitionRouter.SECRET_HEADER, required = false) String secret) {
+        if (!router.isAuthorized(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Cache cache = router.localCache(cacheName);
+        if (cache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (key == null) {
+            // 키 없이 호출하면 파티션 전체 삭제 (다른 노드의 clear 전파)
+            cache.clear();
+            router.nearClear(cacheName);
+        } else {
+            cache.evict(CachePartitionRouter.decodeKey(key));
+        }
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * 니어 캐시 사본 무효화 (다른 노드에서 키가 제거되었을 때)
+     */
+    @DeleteMapping("/{cacheName}/near")
+    public ResponseEntity<Void> invalidateNear(@PathVariable String cacheName, @RequestParam String key,
+                                               @RequestHeader(value = CachePartitionRouter.SECRET_HEADER, required = false) String secret) {
+        if (!router.isAuthorized(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        router.nearInvalidate(cacheName, key);
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * 잘못된 파티션 키 (decodeKey의 IllegalArgumentException / NumberFormatException)
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badKey(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.cache.controller;
 
 import com.example.cache.entity.Product;
+import com.example.cache.service.optimization.CacheConsistencySampler;
 import com.example.cache.service.optimization.CacheOptimizationService;
 import com.example.cache.service.pattern.*;
+import com.example.cache.service.strategy.CacheStrategyEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +30,8 @@ public class CachePatternController {
     private final WriteBackService writeBackService;
     private final RefreshAheadService refreshAheadService;
     private final CacheOptimizationService cacheOptimizationService;
+    private final CacheStrategyEngine cacheStrategyEngine;
+    private final CacheConsistencySampler cacheConsistencySampler;
     
     // ========== Cache-Aside 패턴 ==========
     
@@ -102,6 +106,14 @@ public class CachePatternController {
         return ResponseEntity.ok("Write-Through 캐시가 초기화되었습니다.");
     }
     
+    /**
+     * Write-Through: 그룹 커밋 통계 조회
+     */
+    @GetMapping("/write-through/group-commit/statistics")
+    public ResponseEntity<WriteThroughGroupCommitter.GroupCommitStatistics> getGroupCommitStatistics() {
+        return ResponseEntity.ok(writeThroughService.getGroupCommitStatistics());
+    }
+    
     // ========== Write-Back 패턴 ==========
     
     /**
@@ -194,6 +206,93 @@ public class CachePatternController {
         return ResponseEntity.ok("Refresh-Ahead 캐시가 초기화되었습니다.");
     }
     
+    // ========== 캐싱 전략 A/B 실험 ==========
+    
+    /**
+     * 전략 엔진: 제품 조회 (키별로 배정된 패턴 사용)
+     */
+    @GetMapping("/strategy/products/{id}")
+    public ResponseEntity<Product> getProductByStrategy(@PathVariable Long id) {
+        Product product = cacheStrategyEngine.findById(id);
+        return ResponseEntity.ok(product);
+    }
+    
+    /**
+     * 전략 엔진: 제품 업데이트 (키별로 배정된 패턴 사용)
+     */
+    @PutMapping("/strategy/products/{id}")
+    public ResponseEntity<Product> updateProductByStrategy(
+            @PathVariable Long id,
+            @RequestBody Product product) {
+        product.setId(id);
+        Product updated = cacheStrategyEngine.update(product);
+        return ResponseEntity.ok(updated);
+    }
+    
+    /**
+     * 전략 엔진: 키에 배정된 패턴 조회
+     */
+    @GetMapping("/strategy/products/{id}/arm")
+    public ResponseEntity<Map<String, Object>> getStrategyArm(@PathVariable Long id) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("productId", id);
+        result.put("pattern", cacheStrategyEngine.armFor(id));
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * 전략 엔진: 트래픽 비율 조회
+     */
+    @GetMapping("/strategy/split")
+    public ResponseEntity<Map<String, Integer>> getStrategySplit() {
+        return ResponseEntity.ok(cacheStrategyEngine.getSplit());
+    }
+    
+    /**
+     * 전략 엔진: 트래픽 비율 변경 (합계 100)
+     */
+    @PutMapping("/strategy/split")
+    public ResponseEntity<Map<String, Integer>> updateStrategySplit(@RequestBody Map<String, Integer> split) {
+        cacheStrategyEngine.updateSplit(split);
+        return ResponseEntity.ok(cacheStrategyEngine.getSplit());
+    }
+    
+    /**
+     * 전략 엔진: 패턴별 성능 리포트
+     */
+    @GetMapping("/strategy/report")
+    public ResponseEntity<CacheStrategyEngine.StrategyReport> getStrategyReport() {
+        return ResponseEntity.ok(cacheStrategyEngine.getReport());
+    }
+    
+    /**
+     * 전략 엔진: 통계 초기화
+     */
+    @PostMapping("/strategy/reset")
+    public ResponseEntity<String> resetStrategyStatistics() {
+        cacheStrategyEngine.resetStatistics();
+        return ResponseEntity.ok("캐싱 전략 통계가 초기화되었습니다.");
+    }
+    
+    // ========== 캐시-DB 일관성 ==========
+    
+    /**
+     * 패턴별 캐시-DB 불일치 비율 및 불일치 항목 나이 조회
+     */
+    @GetMapping("/consistency")
+    public ResponseEntity<Map<String, CacheConsistencySampler.ConsistencyReport>> getConsistencyReport() {
+        return ResponseEntity.ok(cacheConsistencySampler.getReport());
+    }
+    
+    /**
+     * 일관성 샘플 통계 초기화
+     */
+    @PostMapping("/consistency/reset")
+    public ResponseEntity<String> resetConsistencyStatistics() {
+        cacheConsistencySampler.reset();
+        return ResponseEntity.ok("캐시 일관성 통계가 초기화되었습니다.");
+    }
+    
     // ========== 캐싱 최적화 ==========
     
     /**
@@ -0,0 +1,67 @@
+package com.example.cache.controller;
+
+import com.example.cache.config.FaultInjector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 장애/지연 주입 관리 컨트롤러
+ *
+ * 대상: db(모든 리포지토리), 리포지토리 이름(예: ProductRepository), redis
+ * cache.fault-injection.enabled=true로 기동한 경우에만 프로파일을 설정할 수 있음 (개발/실습 환경 전용)
+ * 예) PUT /api/cache/admin/faults/db {"distribution":"lognormal","latencyMs":50,"sigma":1.0,"errorRate":0.01}
+ */
+@RestController
+@RequestMapping("/api/cache/admin/faults")
+@RequiredArgsConstructor
+@Slf4j
+public class FaultInjectionController {
+    
+    private final FaultInjector faultInjector;
+    
+    /**
+     * 대상별 프로파일과 주입 통계 조회
+     */
+    @GetMapping
+    public ResponseEntity<FaultInjector.FaultStatus> getStatus() {
+        return ResponseEntity.ok(faultInjector.getStatus());
+    }
+    
+    /**
+     * 대상의 장애 프로파일 설정 (잘못된 값이나 알 수 없는 대상이면 400, 장애 주입이 꺼져 있으면 409)
+     */
+    @PutMapping("/{target}")
+    public ResponseEntity<?> setProfile(@PathVariable String target,
+                                        @RequestBody FaultInjector.FaultProfile profile) {
+        try {
+            faultInjector.setProfile(target, profile);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+        return ResponseEntity.ok(faultInjector.getStatus());
+    }
+    
+    /**
+     * 대상의 장애 주입 해제
+     */
+    @DeleteMapping("/{target}")
+    public ResponseEntity<FaultInjector.FaultStatus> clearProfile(@PathVariable String target) {
+        faultInjector.clearProfile(target);
+        return ResponseEntity.ok(faultInjector.getStatus());
+    }
+    
+    /**
+     * 모든 장애 주입 해제 및 통계 초기화
+     */
+    @DeleteMapping
+    public ResponseEntity<FaultInjector.FaultStatus> clearAll() {
+        faultInjector.clearAll();
+        log.info("모든 장애 주입 해제");
+        return ResponseEntity.ok(faultInjector.getStatus());
+    }
+}
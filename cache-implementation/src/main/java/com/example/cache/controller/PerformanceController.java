@@ -22,6 +22,7 @@ public class PerformanceController {
     private final PerformanceAnalysisService performanceAnalysisService;
     private final PerformanceMetricsService performanceMetricsService;
     private final OptimizationReportService optimizationReportService;
+    private final WorkloadBenchmarkService workloadBenchmarkService;
     
     // ========== 성능 측정 및 분석 ==========
     
@@ -67,6 +68,40 @@ public class PerformanceController {
         return ResponseEntity.ok(analysis);
     }
     
+    /**
+     * Write-Through 핫키 쓰기 처리량 측정 (threads / writesPerThread가 범위 밖이면 400)
+     */
+    @GetMapping("/write-through/hot-key/{productId}")
+    public ResponseEntity<?> measureHotKeyWrites(
+            @PathVariable Long productId,
+            @RequestParam(defaultValue = "16") int threads,
+            @RequestParam(defaultValue = "50") int writesPerThread) {
+        
+        try {
+            PerformanceAnalysisService.HotKeyWriteBenchmark benchmark = 
+                performanceAnalysisService.measureHotKeyWriteThroughput(productId, threads, writesPerThread);
+            return ResponseEntity.ok(benchmark);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    /**
+     * Zipf 분포 워크로드 벤치마크 (패턴별 처리량, 지연 시간 백분위수, DB 접근, staleness)
+     */
+    @PostMapping("/workload")
+    public ResponseEntity<?> runWorkload(
+            @RequestBody(required = false) WorkloadBenchmarkService.WorkloadConfig config) {
+        
+        try {
+            WorkloadBenchmarkService.WorkloadReport report = workloadBenchmarkService.run(
+                config != null ? config : new WorkloadBenchmarkService.WorkloadConfig());
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     // ========== 성능 메트릭 수집 ==========
     
     /**
@@ -115,6 +150,14 @@ public class PerformanceController {
         return ResponseEntity.ok(systemMetrics.getMemoryMetrics());
     }
     
+    /**
+     * 캐시별 메모리 사용량 추정 조회
+     */
+    @GetMapping("/metrics/cache-memory")
+    public ResponseEntity<Map<String, PerformanceMetricsService.CacheMemoryEstimate>> getCacheMemory() {
+        return ResponseEntity.ok(performanceMetricsService.getCacheMemoryEstimates());
+    }
+    
     // ========== 최적화 리포트 ==========
     
     /**
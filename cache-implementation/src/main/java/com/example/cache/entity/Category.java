@@ -7,6 +7,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
 @Entity
 @Table(name = "categories")
 @Getter
@@ -24,5 +27,15 @@ public class Category {
     private String name;
     
     private String description;
+    
+    // 카테고리 레플리카가 변경분만 폴링하기 위한 수정 시각
+    private LocalDateTime updatedAt;
+    
+    // DB 타임스탬프 정밀도(마이크로초)에 맞춰 저장 전후 값이 같도록 함
+    @PrePersist
+    @PreUpdate
+    void touchUpdatedAt() {
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
 
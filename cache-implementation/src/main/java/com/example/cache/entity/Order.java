@@ -38,6 +38,7 @@ public class Order {
     private LocalDateTime orderDate;
     
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnoreProperties({"order", "hibernateLazyInitializer", "handler"})
     private List<OrderItem> items = new ArrayList<>();
 }
 
@@ -0,0 +1,427 @@
+package com.example.cache.monitor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 키별 갱신 주기를 학습하여 만료 시간을 정하는 Caffeine Expiry 정책
+ *
+ * 쓰기 경로(ProductService.update 등)에서 recordUpdate로 키의 갱신 간격을 지수 이동 평균으로 기록하고
+ * 예상 갱신 간격 × ttl-factor를 [min-ttl, max-ttl] 범위로 잘라 항목의 TTL로 사용
+ * - 자주 바뀌는 키: 짧은 TTL → 무효화가 누락되었을 때 오래된 값이 남는 시간 단축
+ * - 거의 바뀌지 않는 키: 긴 TTL → 불필요한 만료 미스 감소
+ *
+ * recordUpdate를 호출하지 않는 쓰기 경로(패턴 서비스, 워크로드 벤치마크, 직접 SQL 등)도 같은 테이블을 바꾸므로
+ * 기본적으로 TTL 상한을 고정 TTL로 제한하여 오래된 값이 남는 시간이 고정 TTL보다 길어지지 않도록 함
+ * (extend-beyond-fixed를 켜면 max-ttl까지 늘림 - 모든 쓰기 경로가 recordUpdate를 호출할 때만 사용)
+ *
+ * 고정 TTL(cache.caffeine.spec의 expireAfterWrite)과 비교하기 위해 다음을 함께 집계
+ * - 고정 TTL이었다면 이미 만료되었을 항목의 히트 수
+ * - 고정 TTL이었다면 아직 살아 있었을 항목이 먼저 만료되어 생긴 미스 수
+ * - 갱신 시점에 캐시에 있던 항목의 남은 수명 (무효화 누락 시 최대 stale 노출 시간)
+ */
+@Component
+public class AdaptiveExpiryTracker {
+    
+    // 지수 이동 평균 가중치 (최근 간격 비중)
+    private static final double EWMA_ALPHA = 0.3;
+    
+    @Value("${cache.adaptive-expiry.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${cache.adaptive-expiry.caches:products,users}")
+    private String cacheNames;
+    
+    @Value("${cache.adaptive-expiry.min-ttl:30s}")
+    private Duration minTtl;
+    
+    @Value("${cache.adaptive-expiry.max-ttl:1h}")
+    private Duration maxTtl;
+    
+    @Value("${cache.adaptive-expiry.extend-beyond-fixed:false}")
+    private boolean extendBeyondFixed;
+    
+    @Value("${cache.adaptive-expiry.ttl-factor:0.5}")
+    private double ttlFactor;
+    
+    @Value("${cache.adaptive-expiry.max-tracked-keys:10000}")
+    private int maxTrackedKeys;
+    
+    @Value("${cache.caffeine.spec:maximumSize=1000,expireAfterWrite=10m}")
+    private String caffeineSpec;
+    
+    private final long startNanos = System.nanoTime();
+    private final Map<String, CacheState> states = new ConcurrentHashMap<>();
+    
+    /**
+     * 적응형 만료를 적용할 캐시인지 여부
+     */
+    public boolean isEnabledFor(String cacheName) {
+        return enabled && adaptiveCacheNames().contains(cacheName);
+    }
+    
+    /**
+     * 캐시별 Expiry 정책
+     */
+    public Expiry<Object, Object> expiryFor(String cacheName) {
+        CacheState state = stateOf(cacheName);
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Object key, Object value, long currentTime) {
+                return state.onLoad(key, value, currentTime);
+            }
+            
+            @Override
+            public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                return state.onLoad(key, value, currentTime);
+            }
+            
+            @Override
+            public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                state.onRead(key, currentTime);
+                return currentDuration;
+            }
+        };
+    }
+    
+    /**
+     * 제거된 항목 표시
+     * 만료로 제거된 경우 다음 적재가 고정 TTL이었다면 피할 수 있던 미스인지 판단하는 데 사용
+     */
+    public RemovalListener<Object, Object> removalListenerFor(String cacheName) {
+        CacheState state = stateOf(cacheName);
+        return (key, value, cause) -> {
+            if (key != null) {
+                state.onRemoved(key, value, cause);
+            }
+        };
+    }
+    
+    /**
+     * 쓰기 경로에서 키 갱신 기록
+     */
+    public void recordUpdate(String cacheName, Object key) {
+        if (isEnabledFor(cacheName)) {
+            stateOf(cacheName).onUpdate(key, System.nanoTime());
+        }
+    }
+    
+    /**
+     * 고정 TTL 대비 리포트
+     */
+    public Map<String, ExpiryReport> getReport() {
+        Map<String, ExpiryReport> report = new LinkedHashMap<>();
+        for (String cacheName : adaptiveCacheNames()) {
+            if (enabled) {
+                report.put(cacheName, stateOf(cacheName).toReport());
+            }
+        }
+        return report;
+    }
+    
+    /**
+     * 고정 TTL (expireAfterWrite) - 비교 기준
+     */
+    public Duration getFixedTtl() {
+        return fixedTtlOf(caffeineSpec);
+    }
+    
+    /**
+     * 실제로 적용되는 TTL 상한 (extend-beyond-fixed가 아니면 고정 TTL을 넘지 않음)
+     */
+    private Duration effectiveMaxTtl() {
+        Duration fixedTtl = getFixedTtl();
+        return extendBeyondFixed || maxTtl.compareTo(fixedTtl) <= 0 ? maxTtl : fixedTtl;
+    }
+    
+    private Set<String> adaptiveCacheNames() {
+        return Arrays.stream(cacheNames.split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+    
+    private CacheState stateOf(String cacheName) {
+        return states.computeIfAbsent(cacheName, name -> new CacheState(getFixedTtl().toNanos()));
+    }
+    
+    /**
+     * 스펙의 expireAfterWrite 값 파싱 (예: 10m, 30s, 1h, 2d 또는 ISO-8601)
+     * 설정이 없으면 10분으로 간주
+     */
+    static Duration fixedTtlOf(String spec) {
+        for (String option : spec.split(",")) {
+            String[] pair = option.trim().split("=", 2);
+            if (pair.length == 2 && pair[0].trim().equals("expireAfterWrite")) {
+                String value = pair[1].trim();
+                if (Character.isLetter(value.charAt(0))) {
+                    return Duration.parse(value);
+                }
+                char unit = Character.toLowerCase(value.charAt(value.length() - 1));
+                long amount = Long.parseLong(value.substring(0, value.length() - 1));
+                switch (unit) {
+                    case 'd':
+                        return Duration.ofDays(amount);
+                    case 'h':
+                        return Duration.ofHours(amount);
+                    case 'm':
+                        return Duration.ofMinutes(amount);
+                    case 's':
+                        return Duration.ofSeconds(amount);
+                    default:
+                        throw new IllegalArgumentException("알 수 없는 시간 단위: " + value);
+                }
+            }
+        }
+        return Duration.ofMinutes(10);
+    }
+    
+    /**
+     * 캐시별 키 상태와 집계
+     */
+    private final class CacheState {
+        private final long fixedTtlNanos;
+        // 추적 키 수를 넘으면 오래 쓰이지 않은 키의 상태부터 버림 (새 키도 계속 추적되도록 함)
+        // 무효화로 캐시에서 빠진 키도 갱신 이력은 유지해야 하므로 제거 리스너에서는 지우지 않음
+        private final Cache<Object, KeyState> keys = Caffeine.newBuilder()
+            .maximumSize(maxTrackedKeys)
+            .build();
+        
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder hitsBeyondFixedTtl = new LongAdder();
+        private final LongAdder missesAfterEarlyExpiry = new LongAdder();
+        private final LongAdder shorterThanFixed = new LongAdder();
+        private final LongAdder longerThanFixed = new LongAdder();
+        private final LongAdder assignedTtlNanos = new LongAdder();
+        private final LongAdder updates = new LongAdder();
+        private final LongAdder cachedAtUpdate = new LongAdder();
+        private final LongAdder staleWindowNanos = new LongAdder();
+        private final LongAdder fixedStaleWindowNanos = new LongAdder();
+        
+        private final long maxTtlNanos;
+        
+        private CacheState(long fixedTtlNanos) {
+            this.fixedTtlNanos = fixedTtlNanos;
+            this.maxTtlNanos = effectiveMaxTtl().toNanos();
+        }
+        
+        private KeyState keyState(Object key) {
+            return keys.get(key, k -> new KeyState());
+        }
+        
+        long onLoad(Object key, Object value, long now) {
+            loads.increment();
+            KeyState state = keyState(key);
+            long ttl = ttlOf(state, now);
+            synchronized (state) {
+                // 직전 항목이 고정 TTL보다 먼저 만료되어 다시 적재되는 경우
+                // (그 사이 갱신이 있었다면 쓰기 경로의 무효화로 고정 TTL에서도 미스가 나므로 제외)
+                if (state.expired && state.lastUpdate < state.loadedAt && now - state.loadedAt < fixedTtlNanos) {
+                    missesAfterEarlyExpiry.increment();
+                }
+                state.expired = false;
+                state.cached = true;
+                state.valueHash = System.identityHashCode(value);
+                state.loadedAt = now;
+                state.assignedTtl = ttl;
+            }
+            assignedTtlNanos.add(ttl);
+            if (ttl < fixedTtlNanos) {
+                shorterThanFixed.increment();
+            } else if (ttl > fixedTtlNanos) {
+                longerThanFixed.increment();
+            }
+            return ttl;
+        }
+        
+        void onRead(Object key, long now) {
+            hits.increment();
+            KeyState state = keys.getIfPresent(key);
+            if (state != null && state.loadedAt >= 0 && now - state.loadedAt > fixedTtlNanos) {
+                hitsBeyondFixedTtl.increment();
+            }
+        }
+        
+        /**
+         * 제거 리스너는 비동기로 호출되므로 이미 새 값이 적재된 뒤일 수 있음
+         * 제거된 값이 현재 기록된 값과 같을 때만 상태 변경
+         */
+        void onRemoved(Object key, Object value, RemovalCause cause) {
+            KeyState state = keys.getIfPresent(key);
+            if (state == null) {
+                return;
+            }
+            synchronized (state) {
+                if (state.cached && state.valueHash == System.identityHashCode(value)) {
+                    state.cached = false;
+                    state.expired = cause == RemovalCause.EXPIRED;
+                }
+            }
+        }
+        
+        void onUpdate(Object key, long now) {
+            updates.increment();
+            KeyState state = keyState(key);
+            synchronized (state) {
+                // 갱신 시점에 캐시에 남아 있던 항목이 무효화되지 않았다면 stale로 남았을 시간
+                if (state.cached && now < state.loadedAt + state.assignedTtl) {
+                    cachedAtUpdate.increment();
+                    staleWindowNanos.add(state.loadedAt + state.assignedTtl - now);
+                    fixedStaleWindowNanos.add(Math.max(0, state.loadedAt + fixedTtlNanos - now));
+                }
+                if (state.lastUpdate >= 0) {
+                    double interval = now - state.lastUpdate;
+                    state.ewmaInterval = state.ewmaInterval < 0
+                        ? interval
+                        : EWMA_ALPHA * interval + (1 - EWMA_ALPHA) * state.ewmaInterval;
+                }
+                state.lastUpdate = now;
+            }
+        }
+        
+        /**
+         * 예상 갱신 간격 × ttl-factor를 [min, 실제 상한]으로 제한
+         * - 갱신 이력 없음: 기동 후 한 번도 바뀌지 않았으므로 고정 TTL 이상 (가동 시간이 길수록 늘어남)
+         * - 갱신 이력 있음: max(평균 간격, 마지막 갱신 후 경과 시간) (오래 안 바뀌면 안정 키로 전환)
+         */
+        private long ttlOf(KeyState state, long now) {
+            long ttl;
+            synchronized (state) {
+                if (state.lastUpdate < 0) {
+                    ttl = Math.max(fixedTtlNanos, (long) ((now - startNanos) * ttlFactor));
+                } else {
+                    ttl = (long) (Math.max(state.ewmaInterval, now - state.lastUpdate) * ttlFactor);
+                }
+            }
+            return Math.min(maxTtlNanos, Math.max(minTtl.toNanos(), ttl));
+        }
+        
+        ExpiryReport toReport() {
+            long hitCount = hits.sum();
+            long loadCount = loads.sum();
+            long requests = hitCount + loadCount;
+            long fixedHits = hitCount - hitsBeyondFixedTtl.sum() + missesAfterEarlyExpiry.sum();
+            long staleSamples = cachedAtUpdate.sum();
+            return new ExpiryReport(
+                toSeconds(fixedTtlNanos),
+                minTtl.getSeconds(),
+                TimeUnit.NANOSECONDS.toSeconds(maxTtlNanos),
+                (int) keys.estimatedSize(),
+                loadCount == 0 ? 0.0 : toSeconds(assignedTtlNanos.sum() / loadCount),
+                shorterThanFixed.sum(),
+                longerThanFixed.sum(),
+                hitCount,
+                loadCount,
+                requests == 0 ? 0.0 : (double) hitCount / requests * 100,
+                requests == 0 ? 0.0 : (double) fixedHits / requests * 100,
+                hitsBeyondFixedTtl.sum(),
+                missesAfterEarlyExpiry.sum(),
+                updates.sum(),
+                staleSamples,
+                staleSamples == 0 ? 0.0 : toSeconds(staleWindowNanos.sum() / staleSamples),
+                staleSamples == 0 ? 0.0 : toSeconds(fixedStaleWindowNanos.sum() / staleSamples)
+            );
+        }
+    }
+    
+    private static double toSeconds(long nanos) {
+        return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+    
+    /**
+     * 키별 갱신/적재 상태 (필드 접근은 인스턴스 락으로 보호, 읽기 경로의 loadedAt 조회만 락 없이 수행)
+     */
+    private static final class KeyState {
+        private long lastUpdate = -1;
+        private double ewmaInterval = -1;
+        private volatile long loadedAt = -1;
+        private long assignedTtl;
+        private int valueHash;
+        private boolean cached;
+        private boolean expired;
+    }
+    
+    /**
+     * 적응형 만료 리포트 DTO
+     * estimatedFixedHitRate는 같은 요청 흐름에 고정 TTL을 적용했을 때의 추정 히트율
+     * avgStaleWindowSeconds는 갱신 시점에 캐시에 있던 항목의 남은 수명 평균 (무효화 누락 시 stale 노출 상한)
+     */
+    public static class ExpiryReport {
+        private final double fixedTtlSeconds;
+        private final long minTtlSeconds;
+        private final long maxTtlSeconds;
+        private final int trackedKeys;
+        private final double avgAssignedTtlSeconds;
+        private final long shorterThanFixed;
+        private final long longerThanFixed;
+        private final long hits;
+        private final long loads;
+        private final double adaptiveHitRate;
+        private final double estimatedFixedHitRate;
+        private final long hitsBeyondFixedTtl;
+        private final long missesAfterEarlyExpiry;
+        private final long updatesObserved;
+        private final long cachedAtUpdate;
+        private final double avgStaleWindowSeconds;
+        private final double fixedAvgStaleWindowSeconds;
+        
+        public ExpiryReport(double fixedTtlSeconds, long minTtlSeconds, long maxTtlSeconds, int trackedKeys,
+                            double avgAssignedTtlSeconds, long shorterThanFixed, long longerThanFixed,
+                            long hits, long loads, double adaptiveHitRate, double estimatedFixedHitRate,
+                            long hitsBeyondFixedTtl, long missesAfterEarlyExpiry, long updatesObserved,
+                            long cachedAtUpdate, double avgStaleWindowSeconds, double fixedAvgStaleWindowSeconds) {
+            this.fixedTtlSeconds = fixedTtlSeconds;
+            this.minTtlSeconds = minTtlSeconds;
+            this.maxTtlSeconds = maxTtlSeconds;
+            this.trackedKeys = trackedKeys;
+            this.avgAssignedTtlSeconds = avgAssignedTtlSeconds;
+            this.shorterThanFixed = shorterThanFixed;
+            this.longerThanFixed = longerThanFixed;
+            this.hits = hits;
+            this.loads = loads;
+            this.adaptiveHitRate = adaptiveHitRate;
+            this.estimatedFixedHitRate = estimatedFixedHitRate;
+            this.hitsBeyondFixedTtl = hitsBeyondFixedTtl;
+            this.missesAfterEarlyExpiry = missesAfterEarlyExpiry;
+            this.updatesObserved = updatesObserved;
+            this.cachedAtUpdate = cachedAtUpdate;
+            this.avgStaleWindowSeconds = avgStaleWindowSeconds;
+            this.fixedAvgStaleWindowSeconds = fixedAvgStaleWindowSeconds;
+        }
+        
+        public double getFixedTtlSeconds() { return fixedTtlSeconds; }
+        public long getMinTtlSeconds() { return minTtlSeconds; }
+        public long getMaxTtlSeconds() { return maxTtlSeconds; }
+        public int getTrackedKeys() { return trackedKeys; }
+        public double getAvgAssignedTtlSeconds() { return avgAssignedTtlSeconds; }
+        public long getShorterThanFixed() { return shorterThanFixed; }
+        public long getLongerThanFixed() { return longerThanFixed; }
+        public long getHits() { return hits; }
+        public long getLoads() { return loads; }
+        public double getAdaptiveHitRate() { return adaptiveHitRate; }
+        public double getEstimatedFixedHitRate() { return estimatedFixedHitRate; }
+        public long getHitsBeyondFixedTtl() { return hitsBeyondFixedTtl; }
+        public long getMissesAfterEarlyExpiry() { return missesAfterEarlyExpiry; }
+        public long getUpdatesObserved() { return updatesObserved; }
+        public long getCachedAtUpdate() { return cachedAtUpdate; }
+        public double getAvgStaleWindowSeconds() { return avgStaleWindowSeconds; }
+        public double getFixedAvgStaleWindowSeconds() { return fixedAvgStaleWindowSeconds; }
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.cache.monitor;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 초 단위로 집계한 캐시 이벤트를 SSE로 스트리밍
+ *
+ * 캐시 경로에는 별도 기록을 추가하지 않고, 매초 직전 1초의 값을 모아 프레임 하나를 만듦
+ * - 히트/미스/적재/무효화: CacheMetrics의 초 단위 버킷
+ * - 축출(용량/만료): Caffeine 통계의 evictionCount 증가분
+ * - Write-Back 플러시, Refresh-Ahead 갱신: 각 서비스가 기록한 카운터
+ *
+ * 프레임은 고정 크기 링 버퍼(replay용)와 구독자별 bounded 큐에 함께 쌓임
+ * - 전송은 구독자마다 별도 작업으로 진행되어, 전송이 막힌 구독자가 다른 구독자의 전송을 지연시키지 않음
+ * - 큐가 가득 찬 구독자(따라오지 못하는 느린 구독자)는 연결을 끊고, 큐에 넣지 못한 프레임은 버림
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheEventStream {
+    
+    private final CacheManager cacheManager;
+    private final CacheMetrics cacheMetrics;
+    
+    @Value("${cache.events.buffer-size:120}")
+    private int bufferSize;
+    
+    @Value("${cache.events.max-subscribers:16}")
+    private int maxSubscribers;
+    
+    @Value("${cache.events.subscriber-queue-size:30}")
+    private int subscriberQueueSize;
+    
+    // 서비스가 기록하는 이벤트 (캐시 이름 → [플러시 횟수, 플러시 항목 수, 갱신 횟수])
+    private final ConcurrentHashMap<String, LongAdder[]> serviceEvents = new ConcurrentHashMap<>();
+    
+    // Caffeine 축출 수 직전 값 (증가분 계산용)
+    private final Map<String, Long> lastEvictionCounts = new ConcurrentHashMap<>();
+    
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong droppedFrames = new AtomicLong(0);
+    private final AtomicLong disconnectedSubscribers = new AtomicLong(0);
+    private final AtomicLong rejectedSubscribers = new AtomicLong(0);
+    
+    private CacheEventFrame[] ring;
+    private volatile long head = 0;
+    
+    private final ScheduledExecutorService aggregator = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-event-aggregator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 구독자당 전송 작업은 최대 하나라 스레드 수는 구독자 수로 제한됨
+    private final ExecutorService sender = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "cache-event-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @PostConstruct
+    public void init() {
+        ring = new CacheEventFrame[Math.max(10, bufferSize)];
+        long delay = 1000 - System.currentTimeMillis() % 1000 + 50;
+        aggregator.scheduleAtFixedRate(this::aggregate, delay, 1000, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        aggregator.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+    
+    /**
+     * Write-Back 플러시 기록
+     */
+    public void recordWriteBackFlush(String cacheName, int flushedEntries) {
+        LongAdder[] counters = countersOf(cacheName);
+        counters[0].increment();
+        counters[1].add(flushedEntries);
+    }
+    
+    /**
+     * Refresh-Ahead 백그라운드 갱신 기록
+     */
+    public void recordRefresh(String cacheName) {
+        countersOf(cacheName)[2].increment();
+    }
+    
+    /**
+     * 구독 등록
+     * replay가 true면 링 버퍼에 남아 있는 최근 프레임부터 전송 (구독자 큐 크기까지)
+     * 구독자 수가 최대치면 null 반환
+     */
+    public SseEmitter subscribe(boolean replay) {
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(emitter, Math.max(1, subscriberQueueSize));
+        synchronized (subscribers) {
+            if (subscribers.size() >= maxSubscribers) {
+                rejectedSubscribers.incrementAndGet();
+                return null;
+            }
+            if (replay) {
+                long current = head;
+                long from = Math.max(Math.max(0, current - ring.length), current - subscriberQueueSize);
+                for (long sequence = from; sequence < current; sequence++) {
+                    CacheEventFrame frame = ring[(int) (sequence % ring.length)];
+                    if (frame != null && frame.getSequence() == sequence) {
+                        subscriber.queue.offer(frame);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        log.info("캐시 이벤트 스트림 구독: subscribers={}", subscribers.size());
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+        return emitter;
+    }
+    
+    /**
+     * 직전 1초의 이벤트를 모아 프레임 생성 후 구독자에게 전송 예약
+     */
+    private void aggregate() {
+        try {
+            long second = System.currentTimeMillis() / 1000 - 1;
+            Map<String, CacheEventCounts> caches = new LinkedHashMap<>();
+            for (String cacheName : cacheManager.getCacheNames()) {
+                long[] counts = cacheMetrics.getSecondCounts(cacheName, second);
+                long evictions = evictionDelta(cacheName);
+                long[] service = drainServiceEvents(cacheName);
+                CacheEventCounts eventCounts = new CacheEventCounts(counts[0], counts[1], counts[2], counts[3],
+                    evictions, service[0], service[1], service[2]);
+                if (!eventCounts.isEmpty()) {
+                    caches.put(cacheName, eventCounts);
+                }
+            }
+            
+            long sequence = head;
+            ring[(int) (sequence % ring.length)] = new CacheEventFrame(sequence, second * 1000, caches);
+            head = sequence + 1;
+            
+            CacheEventFrame frame = ring[(int) (sequence % ring.length)];
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.queue.offer(frame)) {
+                    schedule(subscriber);
+                } else {
+                    droppedFrames.incrementAndGet();
+                    disconnect(subscriber);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("캐시 이벤트 집계 실패", e);
+        }
+    }
+    
+    private void schedule(Subscriber subscriber) {
+        // 이전 전송이 끝나지 않았으면 건너뜀 (다음 전송에서 밀린 프레임을 이어서 보냄)
+        if (subscriber.sending.compareAndSet(false, true)) {
+            sender.execute(() -> deliver(subscriber));
+        }
+    }
+    
+    private void deliver(Subscriber subscriber) {
+        try {
+            CacheEventFrame frame;
+            while (subscribers.contains(subscriber) && (frame = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(frame.getSequence()))
+                    .name("cache-events")
+                    .data(frame));
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // 전송 도중 새 프레임이 들어왔으면 바로 이어서 전송
+        if (!subscriber.queue.isEmpty() && subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+    
+    /**
+     * 큐가 가득 찬 느린 구독자 연결 종료
+     * 진행 중인 send와 같은 잠금을 잡을 수 있으므로 집계 스레드가 아닌 전송 풀에서 complete 호출
+     */
+    private void disconnect(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        disconnectedSubscribers.incrementAndGet();
+        droppedFrames.addAndGet(subscriber.queue.size());
+        subscriber.queue.clear();
+        log.warn("느린 캐시 이벤트 구독자 연결 종료: queueSize={}", subscriberQueueSize);
+        sender.execute(subscriber.emitter::complete);
+    }
+    
+    private long evictionDelta(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            return 0;
+        }
+        long evictionCount = nativeCache.stats().evictionCount();
+        Long previous = lastEvictionCounts.put(cacheName, evictionCount);
+        return previous == null ? 0 : Math.max(0, evictionCount - previous);
+    }
+    
+    private long[] drainServiceEvents(String cacheName) {
+        LongAdder[] counters = serviceEvents.get(cacheName);
+        if (counters == null) {
+            return new long[3];
+        }
+        return new long[] {counters[0].sumThenReset(), counters[1].sumThenReset(), counters[2].sumThenReset()};
+    }
+    
+    private LongAdder[] countersOf(String cacheName) {
+        return serviceEvents.computeIfAbsent(cacheName,
+            k -> new LongAdder[] {new LongAdder(), new LongAdder(), new LongAdder()});
+    }
+    
+    public StreamStatus getStatus() {
+        return new StreamStatus(subscribers.size(), head, ring.length, droppedFrames.get(),
+            disconnectedSubscribers.get(), rejectedSubscribers.get());
+    }
+    
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<CacheEventFrame> queue;
+        private final AtomicBoolean sending = new AtomicBoolean(false);
+        
+        Subscriber(SseEmitter emitter, int queueSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+    
+    /**
+     * 1초 단위 이벤트 프레임 DTO
+     */
+    public static class CacheEventFrame {
+        private final long sequence;
+        private final long timestamp;
+        private final Map<String, CacheEventCounts> caches;
+        
+        public CacheEventFrame(long sequence, long timestamp, Map<String, CacheEventCounts> caches) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.caches = caches;
+        }
+        
+        public long getSequence() { return sequence; }
+        public long getTimestamp() { return timestamp; }
+        public Map<String, CacheEventCounts> getCaches() { return caches; }
+    }
+    
+    /**
+     * 캐시별 1초 이벤트 수 DTO
+     */
+    public static class CacheEventCounts {
+        private final long hits;
+        private final long misses;
+        private final long loads;
+        private final long invalidations;
+        private final long evictions;
+        private final long writeBackFlushes;
+        private final long writeBackFlushedEntries;
+        private final long refreshes;
+        
+        public CacheEventCounts(long hits, long misses, long loads, long invalidations, long evictions,
+                                long writeBackFlushes, long writeBackFlushedEntries, long refreshes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.loads = loads;
+            this.invalidations = invalidations;
+            this.evictions = evictions;
+            this.writeBackFlushes = writeBackFlushes;
+            this.writeBackFlushedEntries = writeBackFlushedEntries;
+            this.refreshes = refreshes;
+        }
+        
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getLoads() { return loads; }
+        public long getInvalidations() { return invalidations; }
+        public long getEvictions() { return evictions; }
+        public long getWriteBackFlushes() { return writeBackFlushes; }
+        public long getWriteBackFlushedEntries() { return writeBackFlushedEntries; }
+        public long getRefreshes() { return refreshes; }
+        
+        boolean isEmpty() {
+            return hits + misses + loads + invalidations + evictions + writeBackFlushes + refreshes == 0;
+        }
+    }
+    
+    /**
+     * 스트림 상태 DTO
+     */
+    public static class StreamStatus {
+        private final int subscribers;
+        private final long framesProduced;
+        private final int bufferSize;
+        private final long droppedFrames;
+        private final long disconnectedSubscribers;
+        private final long rejectedSubscribers;
+        
+        public StreamStatus(int subscribers, long framesProduced, int bufferSize, long droppedFrames,
+                            long disconnectedSubscribers, long rejectedSubscribers) {
+            this.subscribers = subscribers;
+            this.framesProduced = framesProduced;
+            this.bufferSize = bufferSize;
+            this.droppedFrames = droppedFrames;
+            this.disconnectedSubscribers = disconnectedSubscribers;
+            this.rejectedSubscribers = rejectedSubscribers;
+        }
+        
+        public int getSubscribers() { return subscribers; }
+        public long getFramesProduced() { return framesProduced; }
+        public int getBufferSize() { return bufferSize; }
+        public long getDroppedFrames() { return droppedFrames; }
+        public long getDisconnectedSubscribers() { return disconnectedSubscribers; }
+        public long getRejectedSubscribers() { return rejectedSubscribers; }
+    }
+}
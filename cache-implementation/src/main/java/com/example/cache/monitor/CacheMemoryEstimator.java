@@ -0,0 +1,265 @@
+package com.example.cache.monitor;
+
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 캐시 항목의 메모리 크기 추정기
+ *
+ * 객체 그래프를 리플렉션으로 따라가며 얕은 크기를 합산 (64비트 JVM, compressed oops 기준 근사치)
+ * - 객체 헤더 12바이트, 참조 4바이트, 8바이트 정렬
+ * - 초기화되지 않은 Hibernate 프록시/컬렉션은 따라가지 않음 (세션 밖 지연 로딩 방지)
+ * - 필드를 따라가는 것은 애플리케이션 클래스뿐이며, JDK 타입은 String/배열/컬렉션/Map만 내용까지 계산
+ *   (그 밖의 라이브러리 객체는 얕은 크기만 반영)
+ *
+ * 클래스별 평균 크기를 유지하여 Caffeine weigher에서 항목마다 그래프를 순회하지 않고 가중치를 계산
+ */
+@Component
+public class CacheMemoryEstimator {
+    
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE_SIZE = 4;
+    private static final int MAX_VISITED_OBJECTS = 10_000;
+    
+    // 캐시 자료구조의 항목당 고정 비용 (Caffeine 노드 + ConcurrentHashMap 노드/슬롯 근사치)
+    public static final long ENTRY_OVERHEAD = 96;
+    
+    private static final int COLLECTION_SLOT = 8;
+    private static final int MAP_ENTRY = 32;
+    
+    private final Map<Class<?>, ClassLayout> layouts = new ConcurrentHashMap<>();
+    private final Map<Class<?>, long[]> classAverages = new ConcurrentHashMap<>(); // [누적 크기, 샘플 수]
+    
+    /**
+     * 객체 그래프의 깊은 크기 추정 (바이트)
+     */
+    public long deepSizeOf(Object root) {
+        if (root == null) {
+            return 0;
+        }
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> stack = new ArrayDeque<>();
+        stack.push(root);
+        long total = 0;
+        
+        while (!stack.isEmpty() && visited.size() < MAX_VISITED_OBJECTS) {
+            Object obj = stack.pop();
+            if (obj == null || !visited.add(obj) || isShared(obj)) {
+                continue;
+            }
+            
+            if (obj instanceof HibernateProxy proxy) {
+                total += shallowSizeOf(obj.getClass());
+                if (!proxy.getHibernateLazyInitializer().isUninitialized()) {
+                    pushIfPresent(stack, proxy.getHibernateLazyInitializer().getImplementation());
+                }
+                continue;
+            }
+            if (!Hibernate.isInitialized(obj)) {
+                total += shallowSizeOf(obj.getClass());
+                continue;
+            }
+            
+            Class<?> type = obj.getClass();
+            if (type.isArray()) {
+                total += arraySizeOf(obj, stack);
+            } else if (obj instanceof String string) {
+                total += align(OBJECT_HEADER + 12) + align(ARRAY_HEADER + (long) string.length() * (isLatin1(string) ? 1 : 2));
+            } else if (obj instanceof Collection<?> collection && !isApplicationClass(type)) {
+                total += shallowSizeOf(type) + align(ARRAY_HEADER + (long) collection.size() * COLLECTION_SLOT);
+                collection.forEach(element -> pushIfPresent(stack, element));
+            } else if (obj instanceof Map<?, ?> map && !isApplicationClass(type)) {
+                total += shallowSizeOf(type) + align(ARRAY_HEADER + (long) map.size() * REFERENCE_SIZE)
+                    + (long) map.size() * MAP_ENTRY;
+                map.forEach((k, v) -> {
+                    pushIfPresent(stack, k);
+                    pushIfPresent(stack, v);
+                });
+            } else if (!isApplicationClass(type)) {
+                total += shallowSizeOf(type);
+            } else {
+                ClassLayout layout = layoutOf(type);
+                total += layout.shallowSize;
+                for (Field field : layout.referenceFields) {
+                    try {
+                        pushIfPresent(stack, field.get(obj));
+                    } catch (IllegalAccessException e) {
+                        // 접근 불가 필드는 얕은 크기만 반영
+                    }
+                }
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * 항목 하나(키 + 값 + 자료구조 비용)의 크기 측정 후 클래스별 평균에 반영
+     */
+    public long measureEntry(Object key, Object value) {
+        long valueSize = deepSizeOf(value);
+        if (value != null) {
+            long[] average = classAverages.computeIfAbsent(averageKeyOf(value), k -> new long[2]);
+            synchronized (average) {
+                average[0] += perElementSize(value, valueSize);
+                average[1]++;
+            }
+        }
+        return deepSizeOf(key) + valueSize + ENTRY_OVERHEAD;
+    }
+    
+    /**
+     * Caffeine weigher용 가중치 (바이트)
+     * 클래스별 평균 크기 × 원소 수 + 항목 고정 비용 + 키 크기 근사치(32바이트), 처음 보는 클래스만 실제로 측정
+     */
+    public int weigh(Object key, Object value) {
+        if (value == null) {
+            return (int) ENTRY_OVERHEAD;
+        }
+        long[] average = classAverages.get(averageKeyOf(value));
+        long estimate;
+        if (average == null || average[1] == 0) {
+            estimate = measureEntry(key, value);
+        } else {
+            long perElement;
+            synchronized (average) {
+                perElement = average[0] / average[1];
+            }
+            int elements = value instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1;
+            estimate = perElement * elements + ENTRY_OVERHEAD + 32;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, estimate));
+    }
+    
+    /**
+     * 컬렉션 값은 원소 클래스 기준으로 평균을 관리 (원소 수에 비례하여 가중치 계산)
+     */
+    private Class<?> averageKeyOf(Object value) {
+        if (value instanceof Collection<?> collection && !collection.isEmpty()) {
+            Object first = collection.iterator().next();
+            if (first != null) {
+                return first.getClass();
+            }
+        }
+        return value.getClass();
+    }
+    
+    private long perElementSize(Object value, long size) {
+        if (value instanceof Collection<?> collection && !collection.isEmpty()) {
+            return size / collection.size();
+        }
+        return size;
+    }
+    
+    private long arraySizeOf(Object array, Deque<Object> stack) {
+        Class<?> component = array.getClass().getComponentType();
+        int length = java.lang.reflect.Array.getLength(array);
+        if (component.isPrimitive()) {
+            return align(ARRAY_HEADER + (long) length * primitiveSize(component));
+        }
+        for (Object element : (Object[]) array) {
+            pushIfPresent(stack, element);
+        }
+        return align(ARRAY_HEADER + (long) length * REFERENCE_SIZE);
+    }
+    
+    /**
+     * ArrayDeque는 null을 허용하지 않으므로 null 참조(크기 0)는 건너뜀
+     */
+    private static void pushIfPresent(Deque<Object> stack, Object obj) {
+        if (obj != null) {
+            stack.push(obj);
+        }
+    }
+    
+    private long shallowSizeOf(Class<?> type) {
+        return layoutOf(type).shallowSize;
+    }
+    
+    private ClassLayout layoutOf(Class<?> type) {
+        return layouts.computeIfAbsent(type, this::computeLayout);
+    }
+    
+    private ClassLayout computeLayout(Class<?> type) {
+        long size = OBJECT_HEADER;
+        List<Field> referenceFields = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Class<?> fieldType = field.getType();
+                if (fieldType.isPrimitive()) {
+                    size += primitiveSize(fieldType);
+                } else {
+                    size += REFERENCE_SIZE;
+                    if (isApplicationClass(type) && field.trySetAccessible()) {
+                        referenceFields.add(field);
+                    }
+                }
+            }
+        }
+        return new ClassLayout(align(size), referenceFields);
+    }
+    
+    /**
+     * 여러 항목이 공유하는 객체는 항목 크기에 포함하지 않음
+     */
+    private boolean isShared(Object obj) {
+        return obj instanceof Class<?> || obj instanceof Enum<?> || obj instanceof Boolean;
+    }
+    
+    private boolean isApplicationClass(Class<?> type) {
+        return type.getName().startsWith("com.example.");
+    }
+    
+    private static boolean isLatin1(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+    
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+    
+    private static class ClassLayout {
+        private final long shallowSize;
+        private final List<Field> referenceFields;
+        
+        ClassLayout(long shallowSize, List<Field> referenceFields) {
+            this.shallowSize = shallowSize;
+            this.referenceFields = referenceFields;
+        }
+    }
+}
@@ -9,6 +9,8 @@ import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 캐시 히트/미스 모니터링을 위한 메트릭 수집기
+ *
+ * 기동 이후 누적 카운트와 함께 초 단위 버킷(RollingCacheStats)으로 최근 1분/5분/15분 구간 통계를 제공
  */
 @Component
 @Getter
@@ -18,15 +20,47 @@ public class CacheMetrics {
     private final ConcurrentHashMap<String, AtomicLong> hitCounts = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, AtomicLong> missCounts = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, AtomicLong> totalRequests = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RollingCacheStats> rollingStats = new ConcurrentHashMap<>();
     
     public void recordHit(String cacheName) {
         hitCounts.computeIfAbsent(cacheName, k -> new AtomicLong(0)).incrementAndGet();
         totalRequests.computeIfAbsent(cacheName, k -> new AtomicLong(0)).incrementAndGet();
+        rollingStats.computeIfAbsent(cacheName, k -> new RollingCacheStats()).recordHit();
     }
     
     public void recordMiss(String cacheName) {
         missCounts.computeIfAbsent(cacheName, k -> new AtomicLong(0)).incrementAndGet();
         totalRequests.computeIfAbsent(cacheName, k -> new AtomicLong(0)).incrementAndGet();
+        rollingStats.computeIfAbsent(cacheName, k -> new RollingCacheStats()).recordMiss();
+    }
+    
+    /**
+     * 미스 처리 시간 기록 (원본 조회 후 캐시 적재까지)
+     */
+    public void recordMissLatency(String cacheName, long nanos) {
+        rollingStats.computeIfAbsent(cacheName, k -> new RollingCacheStats()).recordMissLatency(nanos);
+    }
+    
+    /**
+     * 명시적 무효화(evict/clear) 기록
+     */
+    public void recordInvalidation(String cacheName) {
+        rollingStats.computeIfAbsent(cacheName, k -> new RollingCacheStats()).recordInvalidation();
+    }
+    
+    /**
+     * 특정 초의 카운트 [히트, 미스, 적재, 무효화]
+     */
+    public long[] getSecondCounts(String cacheName, long epochSecond) {
+        RollingCacheStats stats = rollingStats.get(cacheName);
+        return stats == null ? new long[4] : stats.countsAt(epochSecond);
+    }
+    
+    /**
+     * 최근 windowSeconds초 구간 통계 (최대 15분)
+     */
+    public RollingCacheStats.WindowSnapshot getWindowStats(String cacheName, int windowSeconds) {
+        return rollingStats.computeIfAbsent(cacheName, k -> new RollingCacheStats()).snapshot(windowSeconds);
     }
     
     public long getHitCount(String cacheName) {
@@ -53,12 +87,14 @@ public class CacheMetrics {
         hitCounts.remove(cacheName);
         missCounts.remove(cacheName);
         totalRequests.remove(cacheName);
+        rollingStats.remove(cacheName);
     }
     
     public void resetAll() {
         hitCounts.clear();
         missCounts.clear();
         totalRequests.clear();
+        rollingStats.clear();
     }
 }
 
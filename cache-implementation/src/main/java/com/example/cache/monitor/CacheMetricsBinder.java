@@ -0,0 +1,59 @@
+package com.example.cache.monitor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 캐시별 최근 구간(1m/5m/15m) 통계를 Micrometer 게이지로 노출
+ *
+ * - cache.window.hit.rate: 히트율 (%)
+ * - cache.window.request.rate: 초당 요청 수
+ * - cache.window.miss.latency: 평균 미스 처리 시간 (ms)
+ * 태그: cache(캐시 이름), window(구간)
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMetricsBinder implements MeterBinder {
+    
+    private final CacheManager cacheManager;
+    private final CacheMetrics cacheMetrics;
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            for (Map.Entry<String, Integer> window : RollingCacheStats.STANDARD_WINDOWS.entrySet()) {
+                int seconds = window.getValue();
+                
+                Gauge.builder("cache.window.hit.rate", cacheMetrics,
+                        metrics -> metrics.getWindowStats(cacheName, seconds).getHitRate())
+                    .tag("cache", cacheName)
+                    .tag("window", window.getKey())
+                    .baseUnit("percent")
+                    .description("최근 구간 캐시 히트율")
+                    .register(registry);
+                
+                Gauge.builder("cache.window.request.rate", cacheMetrics,
+                        metrics -> metrics.getWindowStats(cacheName, seconds).getRequestsPerSecond())
+                    .tag("cache", cacheName)
+                    .tag("window", window.getKey())
+                    .baseUnit("requests/s")
+                    .description("최근 구간 초당 캐시 요청 수")
+                    .register(registry);
+                
+                Gauge.builder("cache.window.miss.latency", cacheMetrics,
+                        metrics -> metrics.getWindowStats(cacheName, seconds).getAvgMissLatencyMs())
+                    .tag("cache", cacheName)
+                    .tag("window", window.getKey())
+                    .baseUnit("milliseconds")
+                    .description("최근 구간 평균 미스 처리 시간")
+                    .register(registry);
+            }
+        }
+    }
+}
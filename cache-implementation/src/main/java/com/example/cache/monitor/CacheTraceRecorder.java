@@ -0,0 +1,348 @@
+package com.example.cache.monitor;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+
+/**
+ * 캐시 접근 트레이스 기록기
+ *
+ * MetricsCache에서 호출되어 (시각, 캐시, 키 해시, 연산)을 고정 크기 링 버퍼에 넣고,
+ * 백그라운드 스레드가 버퍼를 비우며 바이너리 트레이스 파일에 기록
+ * 요청 스레드는 슬롯 하나를 CAS로 확보해 값만 쓰므로 락/할당이 없고, 버퍼가 가득 차면 기록을 버림(드롭 카운트 증가)
+ * 트레이스 파일은 cache.trace.dir 아래에만 만들 수 있음 (파일 이름만 허용)
+ *
+ * 파일 형식 (빅 엔디언):
+ * - 헤더: MAGIC(int), VERSION(int), 시작 시각 epoch ms(long)
+ * - 캐시 정의: OP_DEFINE(byte), 캐시 ID(short), 캐시 이름(UTF)
+ * - 접근 레코드: 연산(byte), 캐시 ID(short), 시작 이후 경과 ms(int), 키 해시(int) = 11바이트
+ */
+@Component
+@Slf4j
+public class CacheTraceRecorder {
+    
+    public static final int MAGIC = 0x43545243; // "CTRC"
+    public static final int VERSION = 1;
+    
+    public static final byte OP_DEFINE = 0;
+    public static final byte OP_HIT = 1;
+    public static final byte OP_MISS = 2;
+    public static final byte OP_PUT = 3;
+    public static final byte OP_EVICT = 4;
+    public static final byte OP_CLEAR = 5;
+    
+    // 트레이스 파일 이름 (디렉터리 구분자, ".." 불가)
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9._-]{0,127}");
+    
+    @Value("${cache.trace.dir:${java.io.tmpdir}/cache-traces}")
+    private String traceDir;
+    
+    @Value("${cache.trace.enabled:false}")
+    private boolean enabledOnStartup;
+    
+    @Value("${cache.trace.file:cache-trace.bin}")
+    private String defaultTraceFile;
+    
+    @Value("${cache.trace.buffer-size:65536}")
+    private int bufferSize = 65536;
+    
+    // 캐시 이름 ↔ ID (레코드에는 ID만 기록)
+    private final ConcurrentHashMap<String, Integer> cacheIds = new ConcurrentHashMap<>();
+    private final List<String> cacheNames = new ArrayList<>();
+    
+    private final AtomicLong recordedCount = new AtomicLong(0);
+    private final AtomicLong droppedCount = new AtomicLong(0);
+    private final AtomicLong writtenCount = new AtomicLong(0);
+    
+    private volatile boolean recording = false;
+    
+    // recording 확인 후 슬롯에 쓰는 중인 요청 스레드 수 (stop()은 0이 될 때까지 기다린 뒤 파일을 닫음)
+    private final AtomicInteger activeProducers = new AtomicInteger();
+    private volatile Path traceFile;
+    private volatile long startMillis;
+    
+    // 링 버퍼 (생산자 다수, 소비자 1개)
+    // 시퀀스는 세션이 바뀌어도 이어서 증가하므로 슬롯의 발행 표시(seq + 1)가 이전 세션 값과 겹치지 않음
+    private int mask;
+    private byte[] ops;
+    private short[] ids;
+    private int[] offsets;
+    private int[] keyHashes;
+    private AtomicLongArray published;
+    private final AtomicLong head = new AtomicLong(0);
+    private volatile long tail = 0;
+    
+    private final Object drainLock = new Object();
+    private ScheduledExecutorService writer;
+    private DataOutputStream out;
+    private boolean[] defined;
+    
+    @PostConstruct
+    public void init() {
+        if (enabledOnStartup) {
+            start(defaultTraceFile);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        stop();
+    }
+    
+    /**
+     * 접근 기록 (기록 중이 아니면 volatile 읽기 한 번으로 반환)
+     */
+    public void record(String cacheName, Object key, byte op) {
+        if (!recording) {
+            return;
+        }
+        activeProducers.incrementAndGet();
+        try {
+            // 카운트를 올린 뒤 다시 확인: stop()이 이 사이에 끝났다면 쓰지 않음
+            if (!recording) {
+                return;
+            }
+            long seq;
+            do {
+                seq = head.get();
+                if (seq - tail > mask) {
+                    droppedCount.incrementAndGet();
+                    return;
+                }
+            } while (!head.compareAndSet(seq, seq + 1));
+            
+            int index = (int) (seq & mask);
+            ops[index] = op;
+            ids[index] = (short) cacheIdOf(cacheName);
+            offsets[index] = (int) (System.currentTimeMillis() - startMillis);
+            keyHashes[index] = key == null ? 0 : key.hashCode();
+            published.set(index, seq + 1);
+            recordedCount.incrementAndGet();
+        } finally {
+            activeProducers.decrementAndGet();
+        }
+    }
+    
+    /**
+     * 트레이스 파일 이름을 cache.trace.dir 아래 경로로 변환 (절대 경로, 디렉터리, ".." 거부)
+     */
+    public Path resolveTraceFile(String name) {
+        if (name == null || !FILE_NAME.matcher(name).matches() || name.contains("..")) {
+            throw new IllegalArgumentException("트레이스 파일 이름이 올바르지 않습니다: " + name);
+        }
+        Path root = Paths.get(traceDir).toAbsolutePath().normalize();
+        Path file = root.resolve(name).normalize();
+        if (!root.equals(file.getParent())) {
+            throw new IllegalArgumentException("트레이스 파일 이름이 올바르지 않습니다: " + name);
+        }
+        return file;
+    }
+    
+    /**
+     * 트레이스 기록 시작 (파일 이름은 cache.trace.dir 기준)
+     */
+    public void start(String name) {
+        start(resolveTraceFile(name));
+    }
+    
+    /**
+     * 지정한 경로로 트레이스 기록 시작 (요청 값이 아닌 내부/벤치마크용 경로)
+     */
+    public synchronized void start(Path file) {
+        if (recording) {
+            throw new IllegalStateException("이미 트레이스를 기록 중입니다: " + traceFile);
+        }
+        if (ops == null) {
+            allocateBuffer(Integer.highestOneBit(Math.max(1024, bufferSize - 1) << 1));
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+            startMillis = System.currentTimeMillis();
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(startMillis);
+        } catch (IOException e) {
+            throw new IllegalStateException("트레이스 파일을 열 수 없습니다: " + file, e);
+        }
+        
+        defined = new boolean[Short.MAX_VALUE + 1];
+        recordedCount.set(0);
+        droppedCount.set(0);
+        writtenCount.set(0);
+        traceFile = file;
+        
+        writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-trace-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::drain, 10, 10, TimeUnit.MILLISECONDS);
+        recording = true;
+        log.info("캐시 트레이스 기록 시작: file={}, bufferSize={}", file, mask + 1);
+    }
+    
+    /**
+     * 트레이스 기록 중지 (남은 레코드를 모두 쓰고 파일을 닫음)
+     */
+    public synchronized void stop() {
+        if (out == null) {
+            return;
+        }
+        recording = false;
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+            // 슬롯을 확보하고 아직 발행하지 않은 요청 스레드가 끝날 때까지 대기 (값만 쓰므로 짧음)
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (activeProducers.get() > 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (drainLock) {
+            drainBuffer();
+            // 발행되지 않은 슬롯이 남았다면(대기 시간 초과) 다음 세션에 섞이지 않도록 건너뜀
+            long skipped = head.get() - tail;
+            if (skipped > 0) {
+                droppedCount.addAndGet(skipped);
+                tail = head.get();
+            }
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("트레이스 파일 닫기 실패: {}", traceFile, e);
+        }
+        out = null;
+        log.info("캐시 트레이스 기록 종료: file={}, written={}, dropped={}",
+            traceFile, writtenCount.get(), droppedCount.get());
+    }
+    
+    /**
+     * 링 버퍼를 비우며 파일에 기록 (작성 스레드 또는 stop()에서만 호출)
+     */
+    private void drain() {
+        synchronized (drainLock) {
+            drainBuffer();
+        }
+    }
+    
+    private void drainBuffer() {
+        try {
+            long current = tail;
+            while (true) {
+                int index = (int) (current & mask);
+                if (published.get(index) != current + 1) {
+                    break;
+                }
+                short id = ids[index];
+                if (!defined[id]) {
+                    out.writeByte(OP_DEFINE);
+                    out.writeShort(id);
+                    out.writeUTF(cacheNameOf(id));
+                    defined[id] = true;
+                }
+                out.writeByte(ops[index]);
+                out.writeShort(id);
+                out.writeInt(offsets[index]);
+                out.writeInt(keyHashes[index]);
+                current++;
+                tail = current;
+                writtenCount.incrementAndGet();
+            }
+            out.flush();
+        } catch (IOException e) {
+            log.error("트레이스 기록 실패, 기록을 중단합니다: {}", traceFile, e);
+            recording = false;
+        }
+    }
+    
+    private void allocateBuffer(int capacity) {
+        mask = capacity - 1;
+        ops = new byte[capacity];
+        ids = new short[capacity];
+        offsets = new int[capacity];
+        keyHashes = new int[capacity];
+        published = new AtomicLongArray(capacity);
+    }
+    
+    private int cacheIdOf(String cacheName) {
+        Integer id = cacheIds.get(cacheName);
+        if (id != null) {
+            return id;
+        }
+        synchronized (cacheNames) {
+            return cacheIds.computeIfAbsent(cacheName, name -> {
+                cacheNames.add(name);
+                return cacheNames.size() - 1;
+            });
+        }
+    }
+    
+    private String cacheNameOf(int id) {
+        synchronized (cacheNames) {
+            return cacheNames.get(id);
+        }
+    }
+    
+    public boolean isRecording() {
+        return recording;
+    }
+    
+    public TraceStatus getStatus() {
+        return new TraceStatus(recording, traceFile == null ? null : traceFile.toString(),
+            recordedCount.get(), droppedCount.get(), writtenCount.get(), ops == null ? 0 : mask + 1);
+    }
+    
+    /**
+     * 트레이스 기록 상태 DTO
+     */
+    public static class TraceStatus {
+        private final boolean recording;
+        private final String file;
+        private final long recorded;
+        private final long dropped;
+        private final long written;
+        private final int bufferSize;
+        
+        public TraceStatus(boolean recording, String file, long recorded, long dropped, long written, int bufferSize) {
+            this.recording = recording;
+            this.file = file;
+            this.recorded = recorded;
+            this.dropped = dropped;
+            this.written = written;
+            this.bufferSize = bufferSize;
+        }
+        
+        public boolean isRecording() { return recording; }
+        public String getFile() { return file; }
+        public long getRecorded() { return recorded; }
+        public long getDropped() { return dropped; }
+        public long getWritten() { return written; }
+        public int getBufferSize() { return bufferSize; }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.cache.monitor;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 초 단위 버킷 링으로 최근 구간의 캐시 통계를 계산 (최대 15분)
+ *
+ * 버킷 인덱스는 epoch 초 % 버킷 수이며, 버킷에 기록된 초(stamp)가 현재 초와 다르면
+ * CAS로 stamp를 바꾼 스레드가 카운터를 0으로 되돌린 뒤 재사용 (락 없음)
+ * 버킷 교체 순간 동시에 들어온 소수의 기록은 유실될 수 있으므로 값은 근사치로 취급
+ */
+public class RollingCacheStats {
+    
+    public static final int MAX_WINDOW_SECONDS = 15 * 60;
+    
+    /**
+     * 리포트/게이지에 사용하는 표준 구간 (이름 → 초)
+     */
+    public static final Map<String, Integer> STANDARD_WINDOWS = standardWindows();
+    
+    private static final int BUCKET_COUNT = MAX_WINDOW_SECONDS + 1;
+    
+    private final AtomicLongArray stamps = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLongArray hits = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLongArray misses = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLongArray missLatencyCounts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLongArray missLatencyNanos = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLongArray invalidations = new AtomicLongArray(BUCKET_COUNT);
+    private final long createdSecond = currentSecond();
+    
+    public void recordHit() {
+        hits.incrementAndGet(bucket(currentSecond()));
+    }
+    
+    public void recordMiss() {
+        misses.incrementAndGet(bucket(currentSecond()));
+    }
+    
+    /**
+     * 미스 처리 시간 기록 (미스 후 원본 조회를 거쳐 캐시에 적재되기까지)
+     */
+    public void recordMissLatency(long nanos) {
+        int index = bucket(currentSecond());
+        missLatencyCounts.incrementAndGet(index);
+        missLatencyNanos.addAndGet(index, nanos);
+    }
+    
+    /**
+     * 명시적 무효화(evict/clear) 기록
+     */
+    public void recordInvalidation() {
+        invalidations.incrementAndGet(bucket(currentSecond()));
+    }
+    
+    /**
+     * 특정 초의 카운트 [히트, 미스, 적재, 무효화] (해당 초의 기록이 없으면 모두 0)
+     */
+    public long[] countsAt(long epochSecond) {
+        int index = (int) (epochSecond % BUCKET_COUNT);
+        if (stamps.get(index) != epochSecond) {
+            return new long[4];
+        }
+        return new long[] {hits.get(index), misses.get(index), missLatencyCounts.get(index), invalidations.get(index)};
+    }
+    
+    /**
+     * 최근 windowSeconds초 구간의 통계 (현재 진행 중인 초 포함)
+     */
+    public WindowSnapshot snapshot(int windowSeconds) {
+        int window = Math.max(1, Math.min(windowSeconds, MAX_WINDOW_SECONDS));
+        long now = currentSecond();
+        long hitSum = 0;
+        long missSum = 0;
+        long latencyCount = 0;
+        long latencyNanos = 0;
+        for (long second = now - window + 1; second <= now; second++) {
+            int index = (int) (second % BUCKET_COUNT);
+            if (stamps.get(index) != second) {
+                continue;
+            }
+            hitSum += hits.get(index);
+            missSum += misses.get(index);
+            latencyCount += missLatencyCounts.get(index);
+            latencyNanos += missLatencyNanos.get(index);
+        }
+        // 기동 직후에는 실제 경과 시간으로 나눠 요청률이 낮게 보이지 않도록 함
+        long elapsedSeconds = Math.max(1, Math.min(window, now - createdSecond + 1));
+        return new WindowSnapshot(window, hitSum, missSum, (double) (hitSum + missSum) / elapsedSeconds,
+            latencyCount == 0 ? 0.0 : latencyNanos / 1_000_000.0 / latencyCount);
+    }
+    
+    private int bucket(long second) {
+        int index = (int) (second % BUCKET_COUNT);
+        long stamp = stamps.get(index);
+        if (stamp != second && stamps.compareAndSet(index, stamp, second)) {
+            hits.set(index, 0);
+            misses.set(index, 0);
+            missLatencyCounts.set(index, 0);
+            missLatencyNanos.set(index, 0);
+            invalidations.set(index, 0);
+        }
+        return index;
+    }
+    
+    private static Map<String, Integer> standardWindows() {
+        Map<String, Integer> windows = new LinkedHashMap<>();
+        windows.put("1m", 60);
+        windows.put("5m", 5 * 60);
+        windows.put("15m", MAX_WINDOW_SECONDS);
+        return Collections.unmodifiableMap(windows);
+    }
+    
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+    
+    /**
+     * 구간 통계 DTO
+     */
+    public static class WindowSnapshot {
+        private final int windowSeconds;
+        private final long hits;
+        private final long misses;
+        private final double requestsPerSecond;
+        private final double avgMissLatencyMs;
+        
+        public WindowSnapshot(int windowSeconds, long hits, long misses, double requestsPerSecond, double avgMissLatencyMs) {
+            this.windowSeconds = windowSeconds;
+            this.hits = hits;
+            this.misses = misses;
+            this.requestsPerSecond = requestsPerSecond;
+            this.avgMissLatencyMs = avgMissLatencyMs;
+        }
+        
+        public int getWindowSeconds() { return windowSeconds; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getRequests() { return hits + misses; }
+        public double getRequestsPerSecond() { return requestsPerSecond; }
+        public double getAvgMissLatencyMs() { return avgMissLatencyMs; }
+        
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total * 100;
+        }
+    }
+}
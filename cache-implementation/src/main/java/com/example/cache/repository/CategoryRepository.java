@@ -4,7 +4,12 @@ import com.example.cache.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    
+    List<Category> findByUpdatedAtAfter(LocalDateTime updatedAt);
 }
 
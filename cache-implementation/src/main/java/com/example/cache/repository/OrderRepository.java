@@ -1,12 +1,14 @@
 package com.example.cache.repository;
 
 import com.example.cache.entity.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +19,20 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     List<Order> findByUserId(Long userId);
     
+    @Query("SELECT o.id FROM Order o WHERE o.user.id = :userId ORDER BY o.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"user", "items", "items.product"})
+    List<Order> findByIdInOrderByIdAsc(Collection<Long> ids);
+    
+    long countByUserId(Long userId);
+    
+    @Query("SELECT MAX(o.id) FROM Order o WHERE o.user.id = :userId")
+    Long findMaxIdByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT o.user.id FROM Order o WHERE o.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+    
     @EntityGraph(attributePaths = {"user", "items", "items.product"})
     @Override
     List<Order> findAll();
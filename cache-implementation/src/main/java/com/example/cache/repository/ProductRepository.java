@@ -21,5 +21,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     @Query("SELECT p FROM Product p JOIN FETCH p.category ORDER BY p.id ASC")
     List<Product> findTop10ByOrderByIdAsc();
+    
+    @Query("SELECT p.id FROM Product p WHERE p.name LIKE CONCAT(:prefix, '%') ORDER BY p.id ASC")
+    List<Long> findIdsByNamePrefix(@Param("prefix") String prefix);
 }
 
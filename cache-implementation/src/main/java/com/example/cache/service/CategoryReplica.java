@@ -0,0 +1,292 @@
+package com.example.cache.service;
+
+import com.example.cache.entity.Category;
+import com.example.cache.repository.CategoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 카테고리 테이블 전체를 메모리에 복제한 읽기 전용 레플리카
+ *
+ * 카테고리는 건수가 적고 거의 모든 제품 응답에서 읽히므로 키 단위 캐시 대신 테이블 전체를 보관
+ * 불변 스냅샷(Map + 정렬된 List)을 volatile 필드 하나로 교체하는 copy-on-write 방식이라
+ * 읽기는 락 없이 맵 조회 한 번으로 끝나고 TTL 만료로 인한 미스가 없음
+ * Category는 @Setter가 있는 엔티티이므로 조회 결과는 스냅샷 객체가 아닌 복사본으로 반환
+ *
+ * 갱신 경로:
+ * - 쓰기 이벤트: CategoryService에서 변경이 커밋되면 해당 행만 반영
+ * - 폴링: updated_at이 마지막 워터마크 이후인 행만 조회하여 반영 (다른 인스턴스/직접 SQL 변경 대비)
+ * - 전체 재적재: 삭제나 updated_at 없이 들어온 행을 잡기 위해 주기적으로 테이블 전체를 다시 읽음
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryReplica {
+    
+    private final CategoryRepository categoryRepository;
+    
+    @Value("${cache.category-replica.poll-interval-ms:5000}")
+    private long pollIntervalMs;
+    
+    @Value("${cache.category-replica.full-reload-interval-ms:60000}")
+    private long fullReloadIntervalMs;
+    
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final AtomicLong fullReloads = new AtomicLong();
+    private final AtomicLong incrementalUpdates = new AtomicLong();
+    private volatile long lastFullReloadMillis;
+    
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "category-replica-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    /**
+     * data.sql 적재가 끝난 뒤 전체 적재 후 폴링 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reload();
+        if (pollIntervalMs > 0) {
+            poller.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        log.info("카테고리 레플리카 적재: {}건, 폴링 주기 {}ms", snapshot.byId.size(), pollIntervalMs);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+    
+    /**
+     * ID로 조회 (없으면 null, 호출자가 수정해도 스냅샷에 영향이 없도록 복사본 반환)
+     */
+    public Category find(Long id) {
+        reads.increment();
+        Category category = snapshot.byId.get(id);
+        return category == null ? null : copyOf(category);
+    }
+    
+    /**
+     * 전체 목록 (ID 오름차순, 원소는 복사본)
+     */
+    public List<Category> findAll() {
+        reads.increment();
+        return snapshot.all.stream()
+            .map(CategoryReplica::copyOf)
+            .toList();
+    }
+    
+    /**
+     * 아직 적재 전인지 여부 (기동 직후에는 DB로 대체 조회)
+     */
+    public boolean isLoaded() {
+        return snapshot.loaded;
+    }
+    
+    /**
+     * 레플리카에 없어 DB로 대체 조회한 횟수 기록
+     */
+    public void recordFallback() {
+        fallbacks.increment();
+    }
+    
+    /**
+     * 쓰기 이벤트 반영 (트랜잭션 안이면 커밋 후 반영)
+     */
+    public void applyAfterCommit(Category category) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(List.of(category));
+                }
+            });
+        } else {
+            apply(List.of(category));
+        }
+    }
+    
+    /**
+     * 테이블 전체를 다시 읽어 스냅샷 교체
+     */
+    public synchronized void reload() {
+        List<Category> categories = categoryRepository.findAll();
+        Map<Long, Category> byId = new HashMap<>();
+        LocalDateTime watermark = null;
+        for (Category category : categories) {
+            byId.put(category.getId(), copyOf(category));
+            watermark = later(watermark, category.getUpdatedAt());
+        }
+        snapshot = new Snapshot(byId, watermark, true);
+        fullReloads.incrementAndGet();
+        lastFullReloadMillis = System.currentTimeMillis();
+    }
+    
+    /**
+     * 변경된 행만 반영
+     * 내용이 같은 행과 스냅샷보다 updatedAt이 이전인 행(늦게 도착한 커밋 이벤트, 겹쳐 조회한 폴링 결과)은 건너뛰고,
+     * 실제로 바뀐 행이 있을 때만 새 스냅샷으로 교체
+     */
+    synchronized void apply(List<Category> changed) {
+        Snapshot current = snapshot;
+        Map<Long, Category> byId = null;
+        LocalDateTime watermark = current.watermark;
+        for (Category category : changed) {
+            watermark = later(watermark, category.getUpdatedAt());
+            Category existing = current.byId.get(category.getId());
+            if (sameContent(existing, category) || isOlder(category, existing)) {
+                continue;
+            }
+            if (byId == null) {
+                byId = new HashMap<>(current.byId);
+            }
+            byId.put(category.getId(), copyOf(category));
+        }
+        if (byId != null) {
+            snapshot = new Snapshot(byId, watermark, current.loaded);
+            incrementalUpdates.incrementAndGet();
+        } else if (!Objects.equals(watermark, current.watermark)) {
+            snapshot = new Snapshot(current.byId, watermark, current.loaded);
+        }
+    }
+    
+    /**
+     * 폴링: 워터마크 이후 변경된 행 조회
+     * 커밋이 늦게 끝난 트랜잭션의 행을 놓치지 않도록 폴링 주기만큼 겹쳐서 조회 (중복 반영은 내용 비교로 걸러짐)
+     */
+    private void poll() {
+        try {
+            if (System.currentTimeMillis() - lastFullReloadMillis >= fullReloadIntervalMs) {
+                reload();
+                return;
+            }
+            LocalDateTime watermark = snapshot.watermark;
+            if (watermark == null) {
+                return;
+            }
+            List<Category> changed = categoryRepository.findByUpdatedAtAfter(
+                watermark.minusNanos(TimeUnit.MILLISECONDS.toNanos(pollIntervalMs)));
+            if (!changed.isEmpty()) {
+                apply(changed);
+            }
+        } catch (Exception e) {
+            log.warn("카테고리 레플리카 폴링 실패", e);
+        }
+    }
+    
+    /**
+     * 레플리카 상태 조회
+     */
+    public ReplicaStatus getStatus() {
+        Snapshot current = snapshot;
+        return new ReplicaStatus(current.byId.size(), current.loaded,
+            current.watermark == null ? null : current.watermark.toString(),
+            reads.sum(), fallbacks.sum(), fullReloads.get(), incrementalUpdates.get(), pollIntervalMs);
+    }
+    
+    private static Category copyOf(Category category) {
+        return new Category(category.getId(), category.getName(), category.getDescription(), category.getUpdatedAt());
+    }
+    
+    private static boolean sameContent(Category a, Category b) {
+        return a != null && b != null
+            && Objects.equals(a.getName(), b.getName())
+            && Objects.equals(a.getDescription(), b.getDescription())
+            && Objects.equals(a.getUpdatedAt(), b.getUpdatedAt());
+    }
+    
+    /**
+     * 반영하려는 행이 스냅샷의 행보다 먼저 수정된 것인지 (updatedAt이 없으면 비교하지 않음)
+     */
+    private static boolean isOlder(Category candidate, Category existing) {
+        return existing != null && existing.getUpdatedAt() != null && candidate.getUpdatedAt() != null
+            && candidate.getUpdatedAt().isBefore(existing.getUpdatedAt());
+    }
+    
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+    
+    /**
+     * 불변 스냅샷 (교체만 하고 수정하지 않음)
+     */
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), null, false);
+        
+        private final Map<Long, Category> byId;
+        private final List<Category> all;
+        private final LocalDateTime watermark;
+        private final boolean loaded;
+        
+        private Snapshot(Map<Long, Category> byId, LocalDateTime watermark, boolean loaded) {
+            this.byId = Map.copyOf(byId);
+            this.all = byId.values().stream()
+                .sorted(Comparator.comparing(Category::getId))
+                .toList();
+            this.watermark = watermark;
+            this.loaded = loaded;
+        }
+    }
+    
+    /**
+     * 레플리카 상태 DTO
+     */
+    public static class ReplicaStatus {
+        private final int size;
+        private final boolean loaded;
+        private final String watermark;
+        private final long reads;
+        private final long fallbacks;
+        private final long fullReloads;
+        private final long incrementalUpdates;
+        private final long pollIntervalMs;
+        
+        public ReplicaStatus(int size, boolean loaded, String watermark, long reads, long fallbacks,
+                             long fullReloads, long incrementalUpdates, long pollIntervalMs) {
+            this.size = size;
+            this.loaded = loaded;
+            this.watermark = watermark;
+            this.reads = reads;
+            this.fallbacks = fallbacks;
+            this.fullReloads = fullReloads;
+            this.incrementalUpdates = incrementalUpdates;
+            this.pollIntervalMs = pollIntervalMs;
+        }
+        
+        public int getSize() { return size; }
+        public boolean isLoaded() { return loaded; }
+        public String getWatermark() { return watermark; }
+        public long getReads() { return reads; }
+        public long getFallbacks() { return fallbacks; }
+        public long getFullReloads() { return fullReloads; }
+        public long getIncrementalUpdates() { return incrementalUpdates; }
+        public long getPollIntervalMs() { return pollIntervalMs; }
+    }
+}
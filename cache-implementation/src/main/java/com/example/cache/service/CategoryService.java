@@ -5,7 +5,6 @@ import com.example.cache.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,36 +17,69 @@ import java.util.List;
 public class CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final CategoryReplica categoryReplica;
     
     /**
-     * 카테고리 조회 (캐시 사용)
-     * 메트릭은 MetricsCacheManager에서 자동으로 수집됨
+     * 카테고리 조회 (메모리 레플리카 사용)
+     * 레플리카에 없으면(기동 직후, 방금 추가된 행) DB에서 조회하여 레플리카에 반영
      */
-    @Cacheable(value = "categories", key = "#id")
     public Category findById(Long id) {
-        log.debug("DB에서 카테고리 조회: id={}", id);
-        return categoryRepository.findById(id)
+        Category category = categoryReplica.find(id);
+        if (category != null) {
+            return category;
+        }
+        log.debug("DB에서 카테고리 조회 (레플리카 미적재): id={}", id);
+        categoryReplica.recordFallback();
+        Category loaded = categoryRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("카테고리를 찾을 수 없습니다: " + id));
+        categoryReplica.applyAfterCommit(loaded);
+        return loaded;
     }
     
     /**
-     * 모든 카테고리 조회 (캐시 사용)
-     * 메트릭은 MetricsCacheManager에서 자동으로 수집됨
+     * 모든 카테고리 조회 (메모리 레플리카 사용)
      */
-    @Cacheable(value = "categories", key = "'all'")
     public List<Category> findAll() {
-        log.debug("DB에서 모든 카테고리 조회");
-        return categoryRepository.findAll();
+        if (!categoryReplica.isLoaded()) {
+            log.debug("DB에서 모든 카테고리 조회 (레플리카 적재 전)");
+            categoryReplica.recordFallback();
+            return categoryRepository.findAll();
+        }
+        return categoryReplica.findAll();
     }
     
     /**
-     * 카테고리 업데이트 시 캐시 무효화
+     * 카테고리 업데이트
+     * 커밋 후 레플리카에 변경된 행만 반영
+     * (updated_at이 채워진 값을 반영하도록 즉시 flush)
      */
-    @CacheEvict(value = "categories", key = "#category.id")
     @Transactional
     public Category update(Category category) {
-        log.debug("카테고리 업데이트 및 캐시 무효화: id={}", category.getId());
-        return categoryRepository.save(category);
+        log.debug("카테고리 업데이트 및 레플리카 반영: id={}", category.getId());
+        Category saved = categoryRepository.saveAndFlush(category);
+        categoryReplica.applyAfterCommit(saved);
+        return saved;
+    }
+    
+    /**
+     * 카테고리 이름 변경
+     */
+    @Transactional
+    public Category updateName(Long id, String name) {
+        Category category = categoryRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("카테고리를 찾을 수 없습니다: " + id));
+        category.setName(name);
+        log.debug("카테고리 이름 변경 및 레플리카 반영: id={}", id);
+        Category saved = categoryRepository.saveAndFlush(category);
+        categoryReplica.applyAfterCommit(saved);
+        return saved;
+    }
+    
+    /**
+     * 레플리카 상태 조회
+     */
+    public CategoryReplica.ReplicaStatus getReplicaStatus() {
+        return categoryReplica.getStatus();
     }
     
     /**
@@ -55,7 +87,8 @@ public class CategoryService {
      */
     @CacheEvict(value = "categories", allEntries = true)
     public void evictAllCategoriesCache() {
-        log.debug("모든 카테고리 캐시 무효화");
+        log.debug("모든 카테고리 캐시 무효화 및 레플리카 재적재");
+        categoryReplica.reload();
     }
 }
 
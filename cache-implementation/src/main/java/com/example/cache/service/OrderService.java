@@ -1,15 +1,26 @@
 package com.example.cache.service;
 
 import com.example.cache.entity.Order;
+import com.example.cache.monitor.AdaptiveExpiryTracker;
 import com.example.cache.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -17,7 +28,33 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class OrderService {
     
+    private static final String CACHE_NAME = "orders";
+    private static final int LOCK_STRIPES = 64;
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+    
     private final OrderRepository orderRepository;
+    private final CacheManager cacheManager;
+    private final AdaptiveExpiryTracker adaptiveExpiryTracker;
+    
+    @Value("${cache.orders.user-page-size:50}")
+    private int userPageSize;
+    
+    // 사용자별 목록 갱신 직렬화 (사용자 ID 기준 스트라이프 락)
+    private final Object[] userLocks = createLocks();
+    
+    // 스트라이프별 목록 갱신 횟수 (해당 스트라이프 락 안에서만 읽고 씀)
+    // 락 밖에서 DB를 조회하는 동안 갱신이 있었으면 조회 결과를 캐시에 넣지 않음
+    private final long[] stripeVersions = new long[LOCK_STRIPES];
+    
+    // 사용자 목록 인덱스가 새로 적재될 때마다 증가 (이전 세대의 페이지는 무시)
+    private final AtomicLong generations = new AtomicLong();
+    
+    @PostConstruct
+    public void validateConfig() {
+        if (userPageSize <= 0) {
+            throw new IllegalStateException("cache.orders.user-page-size는 1 이상이어야 합니다: " + userPageSize);
+        }
+    }
     
     /**
      * 주문 조회 (캐시 사용)
@@ -43,12 +80,84 @@ public class OrderService {
     
     /**
      * 사용자별 주문 목록 조회 (캐시 사용)
-     * 메트릭은 MetricsCacheManager에서 자동으로 수집됨
+     * 페이지 단위로 캐시된 목록을 이어 붙여 반환하므로 주문이 많은 사용자도 항목 하나가 커지지 않음
      */
-    @Cacheable(value = "orders", key = "'user:' + #userId")
     public List<Order> findByUserId(Long userId) {
-        log.debug("DB에서 사용자별 주문 목록 조회: userId={}", userId);
-        return orderRepository.findByUserId(userId);
+        UserOrderPage first = findPageByUserId(userId, 0);
+        List<Order> orders = new ArrayList<>(first.getOrders());
+        for (int page = 1; page < first.getTotalPages(); page++) {
+            orders.addAll(findPageByUserId(userId, page).getOrders());
+        }
+        return orders;
+    }
+    
+    /**
+     * 사용자별 주문 목록 페이지 조회 (주문 ID 오름차순)
+     *
+     * 캐시 구성:
+     * - 'user:{userId}:index' : 전체 주문 수, 최대 주문 ID, 세대 번호
+     * - 'user:{userId}:page:{n}' : n번째 페이지의 주문 목록과 적재 당시 세대 번호
+     * 인덱스가 축출되어 다시 적재되면 세대가 바뀌어 이전 페이지는 자동으로 다시 조회됨
+     */
+    public UserOrderPage findPageByUserId(Long userId, int page) {
+        if (page < 0) {
+            throw new IllegalArgumentException("페이지 번호는 0 이상이어야 합니다: " + page);
+        }
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            log.warn("캐시를 찾을 수 없습니다: {}", CACHE_NAME);
+            return loadPage(userId, page, countIndex(userId, 0));
+        }
+        
+        // 락 없이 조회 (인덱스와 페이지가 같은 세대이면 그대로 사용)
+        UserOrderIndex index = cache.get(indexKey(userId), UserOrderIndex.class);
+        if (index != null) {
+            CachedOrderPage cached = cache.get(pageKey(userId, page), CachedOrderPage.class);
+            if (cached != null && cached.generation == index.generation) {
+                return toPage(userId, page, index, cached.orders);
+            }
+        }
+        
+        // 미스는 DB 조회를 사용자 락 밖에서 하고, 락 안에서 그 사이 목록 갱신이 없었는지 확인한 뒤에만 캐시에 넣음
+        // (느린 조회가 같은 스트라이프의 다른 사용자 조회와 증분 갱신을 막지 않도록 함)
+        for (int attempt = 1; ; attempt++) {
+            UserOrderIndex base;
+            long version;
+            synchronized (lockFor(userId)) {
+                base = peek(cache, indexKey(userId), UserOrderIndex.class);
+                CachedOrderPage cached = base == null ? null : peek(cache, pageKey(userId, page), CachedOrderPage.class);
+                if (cached != null && cached.generation == base.generation) {
+                    return toPage(userId, page, base, cached.orders);
+                }
+                version = stripeVersions[stripeOf(userId)];
+            }
+            
+            index = base;
+            if (index == null) {
+                log.debug("DB에서 사용자별 주문 인덱스 조회: userId={}", userId);
+                index = countIndex(userId, generations.incrementAndGet());
+            }
+            log.debug("DB에서 사용자별 주문 페이지 조회: userId={}, page={}", userId, page);
+            List<Order> orders = loadOrders(userId, page);
+            
+            synchronized (lockFor(userId)) {
+                UserOrderIndex current = peek(cache, indexKey(userId), UserOrderIndex.class);
+                boolean sameIndex = base == null ? current == null
+                    : current != null && current.generation == base.generation;
+                if (stripeVersions[stripeOf(userId)] == version && sameIndex) {
+                    if (base == null) {
+                        cache.put(indexKey(userId), index);
+                    }
+                    cache.put(pageKey(userId, page), new CachedOrderPage(index.generation, orders));
+                    return toPage(userId, page, index, orders);
+                }
+            }
+            if (attempt >= MAX_LOAD_ATTEMPTS) {
+                // 갱신이 계속 겹치면 조회 결과만 반환하고 캐시는 다음 조회에 맡김
+                log.debug("사용자 목록 갱신과 계속 겹쳐 캐시하지 않고 반환: userId={}, page={}", userId, page);
+                return toPage(userId, page, index, orders);
+            }
+        }
     }
     
     /**
@@ -58,14 +167,99 @@ public class OrderService {
         return orderRepository.findAll();
     }
     
+    /**
+     * 주문 생성
+     * 커밋 후 해당 사용자의 마지막 페이지에만 주문을 추가
+     */
+    @Transactional
+    public Order create(Order order) {
+        Order saved = orderRepository.save(order);
+        Long userId = userIdOf(saved);
+        log.debug("주문 생성 및 사용자 목록 추가: id={}, userId={}", saved.getId(), userId);
+        if (userId != null) {
+            afterCommit(() -> appendToUserPages(userId, saved));
+        }
+        return saved;
+    }
+    
     /**
      * 주문 업데이트 시 캐시 무효화
+     * 사용자 목록은 전체를 버리지 않고 해당 주문만 교체
      */
     @CacheEvict(value = "orders", key = "#order.id")
     @Transactional
     public Order update(Order order) {
         log.debug("주문 업데이트 및 캐시 무효화: id={}", order.getId());
-        return orderRepository.save(order);
+        return applyUpdate(order);
+    }
+    
+    /**
+     * 주문 금액 변경
+     */
+    @Transactional
+    public Order updateTotalAmount(Long id, Double totalAmount) {
+        Order order = orderRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("주문을 찾을 수 없습니다: " + id));
+        order.setTotalAmount(totalAmount);
+        log.debug("주문 금액 변경 및 캐시 무효화: id={}", id);
+        return applyUpdate(order);
+    }
+    
+    /**
+     * 저장 후 단건 캐시(ID, 주문 번호)를 무효화하고 사용자 목록에서는 해당 주문만 교체
+     */
+    private Order applyUpdate(Order order) {
+        adaptiveExpiryTracker.recordUpdate(CACHE_NAME, order.getId());
+        Long previousUserId = order.getId() == null ? null
+            : orderRepository.findUserIdById(order.getId()).orElse(null);
+        Order saved = orderRepository.save(order);
+        Long userId = userIdOf(saved);
+        // 목록 캐시에 넣을 값은 연관관계까지 적재된 상태로 다시 조회
+        Order detailed = orderRepository.findByIdWithDetails(saved.getId()).orElse(saved);
+        
+        afterCommit(() -> {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) {
+                cache.evict(saved.getId());
+                cache.evict("orderNumber:" + saved.getOrderNumber());
+            }
+            if (previousUserId != null && !previousUserId.equals(userId)) {
+                // 주문의 사용자가 바뀌면 페이지 경계가 달라지므로 두 사용자의 목록만 다시 적재
+                resetUserPages(previousUserId);
+                if (userId != null) {
+                    resetUserPages(userId);
+                }
+            } else if (userId != null) {
+                replaceInUserPages(userId, detailed);
+            }
+        });
+        return saved;
+    }
+    
+    /**
+     * 주문 삭제
+     * 단건 캐시를 무효화하고 해당 사용자의 목록에서만 제거
+     */
+    @Transactional
+    public void delete(Long id) {
+        Order order = orderRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("주문을 찾을 수 없습니다: " + id));
+        Long userId = userIdOf(order);
+        String orderNumber = order.getOrderNumber();
+        adaptiveExpiryTracker.recordUpdate(CACHE_NAME, id);
+        orderRepository.delete(order);
+        log.debug("주문 삭제 및 사용자 목록 제거: id={}, userId={}", id, userId);
+        
+        afterCommit(() -> {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) {
+                cache.evict(id);
+                cache.evict("orderNumber:" + orderNumber);
+            }
+            if (userId != null) {
+                removeFromUserPages(userId, id);
+            }
+        });
     }
     
     /**
@@ -75,5 +269,275 @@ public class OrderService {
     public void evictAllOrdersCache() {
         log.debug("모든 주문 캐시 무효화");
     }
+    
+    /**
+     * 새 주문을 마지막 페이지에 추가
+     * 주문 ID가 인덱스의 maxOrderId보다 크면 오름차순 목록의 끝에 위치하므로 그대로 추가
+     * maxOrderId 이하이면 두 경우를 구분할 수 없음
+     * - 인덱스가 이 주문의 커밋 이후에 적재되어 이미 포함된 경우 (마지막 페이지에 있으면 반영하지 않음)
+     * - 더 큰 ID의 주문이 먼저 커밋되어 afterCommit 순서가 뒤바뀐 경우 (목록 중간에 들어가야 함)
+     * 마지막 페이지에서 찾지 못하면 해당 사용자의 인덱스만 무효화하여 다음 조회 때 다시 적재
+     */
+    private void appendToUserPages(Long userId, Order order) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        synchronized (lockFor(userId)) {
+            stripeVersions[stripeOf(userId)]++;
+            UserOrderIndex index = peek(cache, indexKey(userId), UserOrderIndex.class);
+            if (index == null) {
+                return;
+            }
+            if (index.maxOrderId != null && order.getId() <= index.maxOrderId) {
+                int lastPage = index.totalPages(userPageSize) - 1;
+                CachedOrderPage cached = peek(cache, pageKey(userId, lastPage), CachedOrderPage.class);
+                if (cached == null || cached.generation != index.generation || cached.indexOf(order.getId()) < 0) {
+                    log.debug("순서가 뒤바뀐 주문 추가, 사용자 목록 무효화: id={}, userId={}", order.getId(), userId);
+                    cache.evict(indexKey(userId));
+                }
+                return;
+            }
+            UserOrderIndex updated = new UserOrderIndex(index.generation, index.totalElements + 1, order.getId());
+            int lastPage = (int) ((updated.totalElements - 1) / userPageSize);
+            CachedOrderPage cached = peek(cache, pageKey(userId, lastPage), CachedOrderPage.class);
+            
+            if (cached != null && cached.generation == index.generation) {
+                if (cached.orders.stream().noneMatch(o -> Objects.equals(o.getId(), order.getId()))) {
+                    List<Order> orders = new ArrayList<>(cached.orders);
+                    orders.add(order);
+                    cache.put(pageKey(userId, lastPage), new CachedOrderPage(index.generation, orders));
+                }
+            } else if ((long) lastPage * userPageSize == index.totalElements) {
+                // 새 페이지가 시작되는 경우 내용이 이 주문 하나로 확정됨
+                cache.put(pageKey(userId, lastPage), new CachedOrderPage(index.generation, List.of(order)));
+            }
+            cache.put(indexKey(userId), updated);
+        }
+    }
+    
+    /**
+     * 캐시된 페이지에 있는 주문만 새 값으로 교체 (순서와 개수는 변하지 않음)
+     */
+    private void replaceInUserPages(Long userId, Order order) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        synchronized (lockFor(userId)) {
+            stripeVersions[stripeOf(userId)]++;
+            UserOrderIndex index = peek(cache, indexKey(userId), UserOrderIndex.class);
+            if (index == null) {
+                return;
+            }
+            for (int page = 0; page < index.totalPages(userPageSize); page++) {
+                CachedOrderPage cached = peek(cache, pageKey(userId, page), CachedOrderPage.class);
+                if (cached == null || cached.generation != index.generation) {
+                    continue;
+                }
+                int position = cached.indexOf(order.getId());
+                if (position >= 0) {
+                    List<Order> orders = new ArrayList<>(cached.orders);
+                    orders.set(position, order);
+                    cache.put(pageKey(userId, page), new CachedOrderPage(index.generation, orders));
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * 캐시된 페이지에서 주문 제거
+     * 마지막 페이지면 그 자리에서 제거하고, 중간 페이지면 이후 페이지가 한 칸씩 밀리므로
+     * 해당 사용자의 인덱스만 무효화하여 다음 조회 때 다시 적재
+     */
+    private void removeFromUserPages(Long userId, Long orderId) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        synchronized (lockFor(userId)) {
+            stripeVersions[stripeOf(userId)]++;
+            UserOrderIndex index = peek(cache, indexKey(userId), UserOrderIndex.class);
+            if (index == null) {
+                return;
+            }
+            int lastPage = index.totalPages(userPageSize) - 1;
+            CachedOrderPage cached = peek(cache, pageKey(userId, lastPage), CachedOrderPage.class);
+            int position = cached != null && cached.generation == index.generation ? cached.indexOf(orderId) : -1;
+            if (position < 0) {
+                cache.evict(indexKey(userId));
+                return;
+            }
+            List<Order> orders = new ArrayList<>(cached.orders);
+            orders.remove(position);
+            cache.put(pageKey(userId, lastPage), new CachedOrderPage(index.generation, orders));
+            cache.put(indexKey(userId), new UserOrderIndex(index.generation, index.totalElements - 1, index.maxOrderId));
+        }
+    }
+    
+    /**
+     * 한 사용자의 목록만 무효화 (세대가 바뀌어 기존 페이지는 다음 조회 때 다시 적재)
+     */
+    private void resetUserPages(Long userId) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        synchronized (lockFor(userId)) {
+            stripeVersions[stripeOf(userId)]++;
+            cache.evict(indexKey(userId));
+        }
+    }
+    
+    /**
+     * 히트/미스 통계에 잡히지 않도록 조회 (락 안의 재확인과 쓰기 경로 유지보수용)
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T peek(Cache cache, Object key, Class<T> type) {
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?>) {
+            Object value = ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache())
+                .policy().getIfPresentQuietly(key);
+            return type.isInstance(value) ? type.cast(value) : null;
+        }
+        return cache.get(key, type);
+    }
+    
+    private UserOrderIndex countIndex(Long userId, long generation) {
+        return new UserOrderIndex(generation, orderRepository.countByUserId(userId),
+            orderRepository.findMaxIdByUserId(userId));
+    }
+    
+    /**
+     * 페이지에 해당하는 주문 ID를 먼저 구한 뒤 연관 엔티티와 함께 조회
+     * (컬렉션 페치 조인에 페이징을 걸면 메모리에서 페이징되므로 두 단계로 나눔)
+     * 캐시된 주문은 이후 요청에서 지연 로딩할 수 없으므로 필요한 연관관계를 미리 적재
+     */
+    private List<Order> loadOrders(Long userId, int page) {
+        List<Long> ids = orderRepository.findIdsByUserId(userId, PageRequest.of(page, userPageSize));
+        return ids.isEmpty() ? List.of() : orderRepository.findByIdInOrderByIdAsc(ids);
+    }
+    
+    private UserOrderPage loadPage(Long userId, int page, UserOrderIndex index) {
+        return toPage(userId, page, index,
+            loadOrders(userId, page));
+    }
+    
+    private UserOrderPage toPage(Long userId, int page, UserOrderIndex index, List<Order> orders) {
+        return new UserOrderPage(userId, page, userPageSize, index.totalElements, index.totalPages(userPageSize), orders);
+    }
+    
+    /**
+     * 트랜잭션이 있으면 커밋 후, 없으면 즉시 실행
+     * 롤백된 변경이 캐시에 반영되지 않도록 함
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private static Long userIdOf(Order order) {
+        return order.getUser() == null ? null : order.getUser().getId();
+    }
+    
+    private Object lockFor(Long userId) {
+        return userLocks[stripeOf(userId)];
+    }
+    
+    private static int stripeOf(Long userId) {
+        return Math.floorMod(userId.hashCode(), LOCK_STRIPES);
+    }
+    
+    private static Object[] createLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+    
+    private static String indexKey(Long userId) {
+        return "user:" + userId + ":index";
+    }
+    
+    private static String pageKey(Long userId, int page) {
+        return "user:" + userId + ":page:" + page;
+    }
+    
+    /**
+     * 사용자별 주문 목록 인덱스 (캐시 값)
+     */
+    private static final class UserOrderIndex {
+        private final long generation;
+        private final long totalElements;
+        private final Long maxOrderId;
+        
+        private UserOrderIndex(long generation, long totalElements, Long maxOrderId) {
+            this.generation = generation;
+            this.totalElements = totalElements;
+            this.maxOrderId = maxOrderId;
+        }
+        
+        private int totalPages(int pageSize) {
+            return (int) Math.max(1, (totalElements + pageSize - 1) / pageSize);
+        }
+    }
+    
+    /**
+     * 사용자별 주문 목록 한 페이지 (캐시 값, 불변)
+     */
+    private static final class CachedOrderPage {
+        private final long generation;
+        private final List<Order> orders;
+        
+        private CachedOrderPage(long generation, List<Order> orders) {
+            this.generation = generation;
+            this.orders = List.copyOf(orders);
+        }
+        
+        private int indexOf(Long orderId) {
+            for (int i = 0; i < orders.size(); i++) {
+                if (Objects.equals(orders.get(i).getId(), orderId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+    
+    /**
+     * 사용자별 주문 목록 페이지 DTO
+     */
+    public static class UserOrderPage {
+        private final Long userId;
+        private final int page;
+        private final int size;
+        private final long totalElements;
+        private final int totalPages;
+        private final List<Order> orders;
+        
+        public UserOrderPage(Long userId, int page, int size, long totalElements, int totalPages, List<Order> orders) {
+            this.userId = userId;
+            this.page = page;
+            this.size = size;
+            this.totalElements = totalElements;
+            this.totalPages = totalPages;
+            this.orders = orders;
+        }
+        
+        public Long getUserId() { return userId; }
+        public int getPage() { return page; }
+        public int getSize() { return size; }
+        public long getTotalElements() { return totalElements; }
+        public int getTotalPages() { return totalPages; }
+        public List<Order> getOrders() { return orders; }
+    }
 }
-
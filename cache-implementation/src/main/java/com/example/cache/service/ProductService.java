@@ -1,6 +1,7 @@
 package com.example.cache.service;
 
 import com.example.cache.entity.Product;
+import com.example.cache.monitor.AdaptiveExpiryTracker;
 import com.example.cache.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +19,7 @@ import java.util.List;
 public class ProductService {
     
     private final ProductRepository productRepository;
+    private final AdaptiveExpiryTracker adaptiveExpiryTracker;
     
     /**
      * 제품 조회 (캐시 사용)
@@ -71,11 +73,13 @@ public class ProductService {
     
     /**
      * 제품 정보 업데이트 시 캐시 무효화
+     * 갱신 간격은 적응형 만료 정책에 기록되어 다음 적재 시 TTL 산정에 사용됨
      */
     @CacheEvict(value = {"products", "productByCategory"}, key = "#product.id")
     @Transactional
     public Product update(Product product) {
         log.debug("제품 업데이트 및 캐시 무효화: id={}", product.getId());
+        adaptiveExpiryTracker.recordUpdate("products", product.getId());
         return productRepository.save(product);
     }
     
@@ -86,6 +90,7 @@ public class ProductService {
     @Transactional
     public void deleteById(Long id) {
         log.debug("제품 삭제 및 캐시 무효화: id={}", id);
+        adaptiveExpiryTracker.recordUpdate("products", id);
         productRepository.deleteById(id);
     }
     
@@ -1,6 +1,7 @@
 package com.example.cache.service;
 
 import com.example.cache.entity.User;
+import com.example.cache.monitor.AdaptiveExpiryTracker;
 import com.example.cache.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +19,7 @@ import java.util.List;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final AdaptiveExpiryTracker adaptiveExpiryTracker;
     
     /**
      * 사용자 조회 (캐시 사용)
@@ -50,11 +52,13 @@ public class UserService {
     
     /**
      * 사용자 업데이트 시 캐시 무효화
+     * 갱신 간격은 적응형 만료 정책에 기록되어 다음 적재 시 TTL 산정에 사용됨
      */
     @CacheEvict(value = "users", key = "#user.id")
     @Transactional
     public User update(User user) {
         log.debug("사용자 업데이트 및 캐시 무효화: id={}", user.getId());
+        adaptiveExpiryTracker.recordUpdate("users", user.getId());
         return userRepository.save(user);
     }
     
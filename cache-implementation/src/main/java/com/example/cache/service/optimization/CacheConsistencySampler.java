@@ -0,0 +1,314 @@
+package com.example.cache.service.optimization;
+
+import com.example.cache.entity.Category;
+import com.example.cache.entity.Product;
+import com.example.cache.monitor.LatencyHistogram;
+import com.example.cache.repository.ProductRepository;
+import com.example.cache.service.pattern.ProductCachePattern;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 캐시-DB 일관성 샘플러
+ *
+ * 낮은 우선순위의 백그라운드 스레드가 패턴 캐시를 돌아가며 키 하나를 골라
+ * findByIdWithCategory로 DB 값을 다시 읽고 캐시 값과 비교
+ * 초당 샘플 수를 고정하여(기본 2회/초) DB 부하가 거의 늘지 않도록 제한
+ * 키는 캐시별로 유지하는 키 순회 위치에서 하나씩 꺼내므로 샘플당 비용이 캐시 크기와 무관
+ *
+ * 불일치 항목은 캐시에 적재된 지 얼마나 지났는지(Caffeine expireAfterWrite 기준 나이)를 기록
+ * 적재 시점에는 DB와 같았다고 보면 이 값은 불일치가 지속된 시간의 상한이므로 TTL 산정 근거로 사용
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheConsistencySampler {
+    
+    private final List<ProductCachePattern> patterns;
+    private final CacheManager cacheManager;
+    private final ProductRepository productRepository;
+    
+    @Value("${cache.consistency.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${cache.consistency.samples-per-second:2}")
+    private double samplesPerSecond;
+    
+    // 스케줄 간격을 마이크로초 단위로 잡으므로 초당 100만 회가 상한 (넘으면 간격이 0이 됨)
+    private static final double MAX_SAMPLES_PER_SECOND = 1_000_000;
+    
+    // 순회 재시작 시 무작위로 건너뛸 최대 키 수
+    private static final int RESTART_SKIP_LIMIT = 16;
+    
+    private final Map<String, SampleStatistics> statistics = new ConcurrentHashMap<>();
+    private final AtomicLong cursor = new AtomicLong(0);
+    
+    // 캐시 이름 → 키 순회 위치 (샘플러 스레드에서만 사용)
+    private final Map<String, Iterator<Object>> keyCursors = new ConcurrentHashMap<>();
+    
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-consistency-sampler");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    
+    @PostConstruct
+    public void init() {
+        for (ProductCachePattern pattern : patterns) {
+            statistics.put(pattern.getPatternName(), new SampleStatistics());
+        }
+        if (Double.isNaN(samplesPerSecond) || samplesPerSecond > MAX_SAMPLES_PER_SECOND) {
+            throw new IllegalStateException("cache.consistency.samples-per-second는 "
+                + (long) MAX_SAMPLES_PER_SECOND + " 이하여야 합니다 (0 이하면 비활성화): " + samplesPerSecond);
+        }
+        if (!enabled || samplesPerSecond <= 0) {
+            log.info("캐시 일관성 샘플러 비활성화");
+            return;
+        }
+        long intervalMicros = (long) (1_000_000 / samplesPerSecond);
+        scheduler.scheduleWithFixedDelay(this::sampleNext, intervalMicros, intervalMicros, TimeUnit.MICROSECONDS);
+        log.info("캐시 일관성 샘플러 시작: {}회/초", samplesPerSecond);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+    
+    /**
+     * 패턴 캐시를 돌아가며 샘플 하나 검사
+     */
+    private void sampleNext() {
+        try {
+            int size = patterns.size();
+            for (int attempt = 0; attempt < size; attempt++) {
+                ProductCachePattern pattern = patterns.get((int) (cursor.getAndIncrement() % size));
+                if (sample(pattern)) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("캐시 일관성 샘플링 실패", e);
+        }
+    }
+    
+    /**
+     * 패턴 캐시에서 임의의 키 하나를 비교 (캐시가 비어 있으면 false)
+     */
+    private boolean sample(ProductCachePattern pattern) {
+        Cache cache = cacheManager.getCache(pattern.getCacheName());
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?>)) {
+            return false;
+        }
+        @SuppressWarnings("unchecked")
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+            (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+        
+        Object key = nextKey(pattern.getCacheName(), nativeCache);
+        if (key == null) {
+            return false;
+        }
+        // 샘플링이 축출 정책의 접근 빈도/통계에 영향을 주지 않도록 조용히 조회
+        Object cached = nativeCache.policy().getIfPresentQuietly(key);
+        if (!(cached instanceof Product cachedProduct) || !(key instanceof Long id)) {
+            return false;
+        }
+        
+        Product dbProduct = productRepository.findByIdWithCategory(id);
+        if (dbProduct == null) {
+            // 카테고리가 없는 제품은 JOIN FETCH 결과에서 빠지므로 한 번 더 확인
+            dbProduct = productRepository.findById(id).orElse(null);
+        }
+        
+        SampleStatistics stats = statistics.get(pattern.getPatternName());
+        if (dbProduct == null) {
+            stats.recordMissingInDatabase(id, entryAge(nativeCache, key));
+        } else if (!sameContent(cachedProduct, dbProduct)) {
+            stats.recordDivergent(id, entryAge(nativeCache, key));
+        } else {
+            stats.recordConsistent();
+        }
+        return true;
+    }
+    
+    /**
+     * 캐시 키 중 하나를 선택
+     * 키 집합을 매번 처음부터 건너뛰지 않고, 캐시별 순회 위치를 이어서 한 칸씩 진행 (끝에 닿으면 처음부터 다시)
+     * ConcurrentHashMap 기반 약한 일관성 반복자라 순회 중 추가/삭제된 키가 있어도 안전하며,
+     * 시작 위치만 무작위로 정해 재시작 직후 같은 키에 샘플이 몰리지 않도록 함
+     */
+    private Object nextKey(String cacheName, com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache) {
+        Iterator<Object> keys = keyCursors.get(cacheName);
+        if (keys == null || !keys.hasNext()) {
+            keys = nativeCache.asMap().keySet().iterator();
+            int skip = ThreadLocalRandom.current().nextInt(RESTART_SKIP_LIMIT);
+            for (int i = 0; i < skip && keys.hasNext(); i++) {
+                keys.next();
+            }
+            if (!keys.hasNext()) {
+                keys = nativeCache.asMap().keySet().iterator();
+            }
+            keyCursors.put(cacheName, keys);
+        }
+        return keys.hasNext() ? keys.next() : null;
+    }
+    
+    private long entryAge(com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache, Object key) {
+        return nativeCache.policy().expireAfterWrite()
+            .flatMap(policy -> policy.ageOf(key))
+            .map(Duration::toMillis)
+            .orElse(-1L);
+    }
+    
+    private boolean sameContent(Product cached, Product db) {
+        return Objects.equals(cached.getName(), db.getName())
+            && Objects.equals(cached.getPrice(), db.getPrice())
+            && Objects.equals(cached.getDescription(), db.getDescription())
+            && Objects.equals(categoryId(cached.getCategory()), categoryId(db.getCategory()));
+    }
+    
+    private Long categoryId(Category category) {
+        return category == null ? null : category.getId();
+    }
+    
+    /**
+     * 패턴별 일관성 리포트
+     */
+    public Map<String, ConsistencyReport> getReport() {
+        Map<String, ConsistencyReport> report = new LinkedHashMap<>();
+        for (ProductCachePattern pattern : patterns) {
+            report.put(pattern.getPatternName(),
+                statistics.get(pattern.getPatternName()).toReport(pattern.getCacheName()));
+        }
+        return report;
+    }
+    
+    /**
+     * 통계 초기화
+     */
+    public void reset() {
+        statistics.replaceAll((name, stats) -> new SampleStatistics());
+    }
+    
+    /**
+     * 패턴별 샘플 통계 (불일치 항목의 나이는 나노초로 환산해 LatencyHistogram에 기록하고 리포트는 ms로 변환)
+     */
+    private static class SampleStatistics {
+        
+        private static final int RECENT_LIMIT = 10;
+        
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong divergent = new AtomicLong();
+        private final AtomicLong missingInDatabase = new AtomicLong();
+        private final LatencyHistogram staleAge = new LatencyHistogram();
+        private final List<Long> recentDivergentIds = new ArrayList<>();
+        
+        void recordConsistent() {
+            samples.incrementAndGet();
+        }
+        
+        void recordDivergent(Long id, long ageMillis) {
+            samples.incrementAndGet();
+            divergent.incrementAndGet();
+            recordAge(id, ageMillis);
+        }
+        
+        void recordMissingInDatabase(Long id, long ageMillis) {
+            samples.incrementAndGet();
+            missingInDatabase.incrementAndGet();
+            recordAge(id, ageMillis);
+        }
+        
+        private void recordAge(Long id, long ageMillis) {
+            if (ageMillis >= 0) {
+                staleAge.record(TimeUnit.MILLISECONDS.toNanos(ageMillis));
+            }
+            synchronized (recentDivergentIds) {
+                recentDivergentIds.add(id);
+                if (recentDivergentIds.size() > RECENT_LIMIT) {
+                    recentDivergentIds.remove(0);
+                }
+            }
+        }
+        
+        ConsistencyReport toReport(String cacheName) {
+            long sampleCount = samples.get();
+            long divergentCount = divergent.get() + missingInDatabase.get();
+            List<Long> recent;
+            synchronized (recentDivergentIds) {
+                recent = new ArrayList<>(recentDivergentIds);
+            }
+            return new ConsistencyReport(
+                cacheName,
+                sampleCount,
+                divergent.get(),
+                missingInDatabase.get(),
+                sampleCount == 0 ? 0.0 : (double) divergentCount / sampleCount * 100,
+                TimeUnit.NANOSECONDS.toMillis(staleAge.getValueAtPercentile(50)),
+                TimeUnit.NANOSECONDS.toMillis(staleAge.getValueAtPercentile(99)),
+                TimeUnit.NANOSECONDS.toMillis(staleAge.getMaxNanos()),
+                recent
+            );
+        }
+    }
+    
+    /**
+     * 일관성 리포트 DTO
+     */
+    public static class ConsistencyReport {
+        private final String cacheName;
+        private final long samples;
+        private final long divergent;
+        private final long missingInDatabase;
+        private final double divergenceRate;
+        private final long staleAgeP50Ms;
+        private final long staleAgeP99Ms;
+        private final long staleAgeMaxMs;
+        private final List<Long> recentDivergentIds;
+        
+        public ConsistencyReport(String cacheName, long samples, long divergent, long missingInDatabase,
+                                 double divergenceRate, long staleAgeP50Ms, long staleAgeP99Ms, long staleAgeMaxMs,
+                                 List<Long> recentDivergentIds) {
+            this.cacheName = cacheName;
+            this.samples = samples;
+            this.divergent = divergent;
+            this.missingInDatabase = missingInDatabase;
+            this.divergenceRate = divergenceRate;
+            this.staleAgeP50Ms = staleAgeP50Ms;
+            this.staleAgeP99Ms = staleAgeP99Ms;
+            this.staleAgeMaxMs = staleAgeMaxMs;
+            this.recentDivergentIds = recentDivergentIds;
+        }
+        
+        public String getCacheName() { return cacheName; }
+        public long getSamples() { return samples; }
+        public long getDivergent() { return divergent; }
+        public long getMissingInDatabase() { return missingInDatabase; }
+        public double getDivergenceRate() { return divergenceRate; }
+        public long getStaleAgeP50Ms() { return staleAgeP50Ms; }
+        public long getStaleAgeP99Ms() { return staleAgeP99Ms; }
+        public long getStaleAgeMaxMs() { return staleAgeMaxMs; }
+        public List<Long> getRecentDivergentIds() { return recentDivergentIds; }
+    }
+}
@@ -0,0 +1,444 @@
+package com.example.cache.service.optimization;
+
+import com.example.cache.monitor.CacheTraceRecorder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시 트레이스 재생 시뮬레이터
+ *
+ * CacheTraceRecorder가 기록한 트레이스를 후보 정책(LRU, W-TinyLFU) × 크기 × TTL 조합에 재생하여
+ * 캐시별 히트율을 계산 (cache.caffeine.spec 변경 전 용량 산정용)
+ *
+ * 재생 규칙 (스프링 캐시 동작과 동일):
+ * - HIT/MISS: 조회 (미스여도 적재하지 않음, 이후 PUT 레코드로 적재)
+ * - PUT: 적재/갱신, EVICT: 제거, CLEAR: 해당 캐시 비우기
+ * 트레이스는 한 번만 읽고 모든 후보에 동시에 적용하며, 시각은 트레이스 시각으로 진행
+ * 후보 수는 MAX_CANDIDATES개까지, 기록 중인 트레이스의 마지막 레코드가 잘려 있으면 그 레코드는 건너뜀
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheTraceSimulator {
+    
+    private final CacheTraceRecorder cacheTraceRecorder;
+    
+    public static final String POLICY_LRU = "LRU";
+    public static final String POLICY_W_TINY_LFU = "W-TinyLFU";
+    
+    // 요청 하나로 재생할 수 있는 후보(정책 × 크기 × TTL) 수 상한
+    static final int MAX_CANDIDATES = 64;
+    
+    // 후보 크기 / TTL 상한 (TTL 0은 만료 없음)
+    static final int MAX_SIZE = 10_000_000;
+    static final long MAX_TTL_SECONDS = TimeUnit.DAYS.toSeconds(365);
+    
+    /**
+     * 트레이스 재생
+     */
+    public SimulationReport simulate(SimulationRequest request) {
+        // 기록기와 같은 트레이스 디렉터리의 파일만 읽음
+        Path file = cacheTraceRecorder.resolveTraceFile(request.getFile());
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("트레이스 파일이 없습니다: " + request.getFile());
+        }
+        validate(request);
+        List<Candidate> candidates = new ArrayList<>();
+        for (String policy : request.getPolicies()) {
+            for (int size : request.getSizes()) {
+                for (long ttlSeconds : request.getTtlSeconds()) {
+                    candidates.add(new Candidate(policy, size, ttlSeconds));
+                }
+            }
+        }
+        log.info("트레이스 재생 시작: file={}, candidates={}", file, candidates.size());
+        
+        Map<Integer, String> cacheNames = new HashMap<>();
+        Map<String, long[]> observed = new TreeMap<>(); // 캐시별 [조회, 실제 히트]
+        long records = 0;
+        long lastOffset = 0;
+        boolean truncated = false;
+        
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            if (in.readInt() != CacheTraceRecorder.MAGIC) {
+                throw new IllegalArgumentException("캐시 트레이스 파일이 아닙니다: " + file);
+            }
+            int version = in.readInt();
+            if (version != CacheTraceRecorder.VERSION) {
+                throw new IllegalArgumentException("지원하지 않는 트레이스 버전입니다: " + version);
+            }
+            in.readLong(); // 기록 시작 시각
+            
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    break;
+                }
+                int cacheId;
+                long offsetMillis;
+                int keyHash;
+                try {
+                    cacheId = in.readShort();
+                    if (op == CacheTraceRecorder.OP_DEFINE) {
+                        cacheNames.put(cacheId, in.readUTF());
+                        continue;
+                    }
+                    offsetMillis = in.readInt();
+                    keyHash = in.readInt();
+                } catch (EOFException e) {
+                    // 기록 중인 파일의 마지막 레코드가 아직 다 쓰이지 않음
+                    truncated = true;
+                    break;
+                }
+                String cacheName = cacheNames.getOrDefault(cacheId, "cache-" + cacheId);
+                if (request.getCacheNames() != null && !request.getCacheNames().contains(cacheName)) {
+                    continue;
+                }
+                records++;
+                lastOffset = offsetMillis;
+                
+                if (op == CacheTraceRecorder.OP_HIT || op == CacheTraceRecorder.OP_MISS) {
+                    long[] counts = observed.computeIfAbsent(cacheName, k -> new long[2]);
+                    counts[0]++;
+                    if (op == CacheTraceRecorder.OP_HIT) {
+                        counts[1]++;
+                    }
+                }
+                for (Candidate candidate : candidates) {
+                    candidate.apply(cacheName, op, keyHash, offsetMillis);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("트레이스 파일을 읽을 수 없습니다: " + file, e);
+        }
+        
+        Map<String, Double> observedHitRates = new TreeMap<>();
+        long totalReads = 0;
+        long totalHits = 0;
+        for (Map.Entry<String, long[]> entry : observed.entrySet()) {
+            long[] counts = entry.getValue();
+            observedHitRates.put(entry.getKey(), hitRate(counts[1], counts[0]));
+            totalReads += counts[0];
+            totalHits += counts[1];
+        }
+        
+        List<CandidateResult> results = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            results.add(candidate.toResult());
+        }
+        results.sort((a, b) -> Double.compare(b.getHitRate(), a.getHitRate()));
+        
+        log.info("트레이스 재생 완료: records={}, reads={}, candidates={}{}", records, totalReads, candidates.size(),
+            truncated ? " (마지막 불완전 레코드 제외)" : "");
+        return new SimulationReport(file.toString(), records, lastOffset, totalReads,
+            hitRate(totalHits, totalReads), observedHitRates, results);
+    }
+    
+    /**
+     * 후보 목록 검증 (비어 있지 않고, 알려진 정책, 양수 크기, 0 이상 TTL, 후보 수 MAX_CANDIDATES 이하)
+     */
+    private static void validate(SimulationRequest request) {
+        List<String> policies = request.getPolicies();
+        List<Integer> sizes = request.getSizes();
+        List<Long> ttlSeconds = request.getTtlSeconds();
+        if (policies == null || policies.isEmpty() || sizes == null || sizes.isEmpty()
+                || ttlSeconds == null || ttlSeconds.isEmpty()) {
+            throw new IllegalArgumentException("policies, sizes, ttlSeconds는 비어 있을 수 없습니다");
+        }
+        for (String policy : policies) {
+            if (!POLICY_LRU.equals(policy) && !POLICY_W_TINY_LFU.equals(policy)) {
+                throw new IllegalArgumentException("지원하지 않는 정책입니다: " + policy
+                    + " (" + POLICY_LRU + ", " + POLICY_W_TINY_LFU + ")");
+            }
+        }
+        for (Integer size : sizes) {
+            if (size == null || size < 1 || size > MAX_SIZE) {
+                throw new IllegalArgumentException("sizes는 1 이상 " + MAX_SIZE + " 이하여야 합니다: " + size);
+            }
+        }
+        for (Long ttl : ttlSeconds) {
+            if (ttl == null || ttl < 0 || ttl > MAX_TTL_SECONDS) {
+                throw new IllegalArgumentException("ttlSeconds는 0(만료 없음) 이상 " + MAX_TTL_SECONDS + " 이하여야 합니다: " + ttl);
+            }
+        }
+        long candidates = (long) policies.size() * sizes.size() * ttlSeconds.size();
+        if (candidates > MAX_CANDIDATES) {
+            throw new IllegalArgumentException("후보 수(정책 × 크기 × TTL)는 " + MAX_CANDIDATES + "개 이하여야 합니다: " + candidates);
+        }
+    }
+    
+    private static double hitRate(long hits, long reads) {
+        return reads == 0 ? 0.0 : (double) hits / reads * 100;
+    }
+    
+    /**
+     * 정책 × 크기 × TTL 후보 하나 (캐시 이름마다 별도 인스턴스, 스프링 CaffeineCacheManager와 동일)
+     */
+    private static class Candidate {
+        
+        private final String policy;
+        private final int maximumSize;
+        private final long ttlSeconds;
+        private final Map<String, SimulatedCache> caches = new HashMap<>();
+        private final Map<String, long[]> counts = new TreeMap<>(); // 캐시별 [조회, 히트]
+        private final TraceTicker ticker = new TraceTicker();
+        
+        Candidate(String policy, int maximumSize, long ttlSeconds) {
+            if (!POLICY_LRU.equals(policy) && !POLICY_W_TINY_LFU.equals(policy)) {
+                throw new IllegalArgumentException("지원하지 않는 정책입니다: " + policy);
+            }
+            this.policy = policy;
+            this.maximumSize = maximumSize;
+            this.ttlSeconds = ttlSeconds;
+        }
+        
+        void apply(String cacheName, byte op, int keyHash, long offsetMillis) {
+            ticker.nanos = offsetMillis * 1_000_000L;
+            SimulatedCache cache = caches.computeIfAbsent(cacheName, k -> create());
+            switch (op) {
+                case CacheTraceRecorder.OP_HIT:
+                case CacheTraceRecorder.OP_MISS:
+                    long[] c = counts.computeIfAbsent(cacheName, k -> new long[2]);
+                    c[0]++;
+                    if (cache.get(keyHash, offsetMillis)) {
+                        c[1]++;
+                    }
+                    break;
+                case CacheTraceRecorder.OP_PUT:
+                    cache.put(keyHash, offsetMillis);
+                    break;
+                case CacheTraceRecorder.OP_EVICT:
+                    cache.evict(keyHash);
+                    break;
+                case CacheTraceRecorder.OP_CLEAR:
+                    cache.clear();
+                    break;
+                default:
+                    break;
+            }
+        }
+        
+        private SimulatedCache create() {
+            long ttlMillis = ttlSeconds * 1000;
+            return POLICY_LRU.equals(policy)
+                ? new LruCache(maximumSize, ttlMillis)
+                : new TinyLfuCache(maximumSize, ttlMillis, ticker);
+        }
+        
+        CandidateResult toResult() {
+            Map<String, Double> perCache = new TreeMap<>();
+            long reads = 0;
+            long hits = 0;
+            for (Map.Entry<String, long[]> entry : counts.entrySet()) {
+                long[] c = entry.getValue();
+                perCache.put(entry.getKey(), hitRate(c[1], c[0]));
+                reads += c[0];
+                hits += c[1];
+            }
+            return new CandidateResult(policy, maximumSize, ttlSeconds, reads, hits, hitRate(hits, reads), perCache);
+        }
+    }
+    
+    private interface SimulatedCache {
+        boolean get(int key, long nowMillis);
+        void put(int key, long nowMillis);
+        void evict(int key);
+        void clear();
+    }
+    
+    /**
+     * 접근 순서 LinkedHashMap 기반 LRU (TTL은 쓰기 시각 기준)
+     */
+    private static class LruCache implements SimulatedCache {
+        
+        private final long ttlMillis;
+        private final LinkedHashMap<Integer, Long> entries;
+        
+        LruCache(int maximumSize, long ttlMillis) {
+            this.ttlMillis = ttlMillis;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Long> eldest) {
+                    return size() > maximumSize;
+                }
+            };
+        }
+        
+        @Override
+        public boolean get(int key, long nowMillis) {
+            Long writtenAt = entries.get(key);
+            if (writtenAt == null) {
+                return false;
+            }
+            if (ttlMillis > 0 && nowMillis - writtenAt >= ttlMillis) {
+                entries.remove(key);
+                return false;
+            }
+            return true;
+        }
+        
+        @Override
+        public void put(int key, long nowMillis) {
+            entries.put(key, nowMillis);
+        }
+        
+        @Override
+        public void evict(int key) {
+            entries.remove(key);
+        }
+        
+        @Override
+        public void clear() {
+            entries.clear();
+        }
+    }
+    
+    /**
+     * 실제 Caffeine(W-TinyLFU)에 트레이스 시각을 따르는 Ticker를 연결
+     * 유지보수 작업은 호출 스레드에서 바로 실행하여 재생 결과가 결정적이 되도록 함
+     */
+    private static class TinyLfuCache implements SimulatedCache {
+        
+        private final Cache<Integer, Boolean> cache;
+        
+        TinyLfuCache(int maximumSize, long ttlMillis, Ticker ticker) {
+            Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .ticker(ticker)
+                .executor(Runnable::run);
+            if (ttlMillis > 0) {
+                builder.expireAfterWrite(Duration.ofMillis(ttlMillis));
+            }
+            this.cache = builder.build();
+        }
+        
+        @Override
+        public boolean get(int key, long nowMillis) {
+            return cache.getIfPresent(key) != null;
+        }
+        
+        @Override
+        public void put(int key, long nowMillis) {
+            cache.put(key, Boolean.TRUE);
+        }
+        
+        @Override
+        public void evict(int key) {
+            cache.invalidate(key);
+        }
+        
+        @Override
+        public void clear() {
+            cache.invalidateAll();
+        }
+    }
+    
+    private static class TraceTicker implements Ticker {
+        private long nanos;
+        
+        @Override
+        public long read() {
+            return nanos;
+        }
+    }
+    
+    /**
+     * 시뮬레이션 요청 DTO (ttlSeconds 0은 만료 없음)
+     */
+    @Getter
+    @Setter
+    public static class SimulationRequest {
+        private String file = "cache-trace.bin";
+        private List<String> policies = List.of(POLICY_LRU, POLICY_W_TINY_LFU);
+        private List<Integer> sizes = List.of(100, 500, 1000, 5000);
+        private List<Long> ttlSeconds = List.of(0L, 60L, 600L);
+        private List<String> cacheNames;
+    }
+    
+    /**
+     * 시뮬레이션 결과 DTO
+     */
+    public static class SimulationReport {
+        private final String file;
+        private final long records;
+        private final long durationMillis;
+        private final long reads;
+        private final double observedHitRate;
+        private final Map<String, Double> observedHitRateByCache;
+        private final List<CandidateResult> candidates;
+        
+        public SimulationReport(String file, long records, long durationMillis, long reads, double observedHitRate,
+                                Map<String, Double> observedHitRateByCache, List<CandidateResult> candidates) {
+            this.file = file;
+            this.records = records;
+            this.durationMillis = durationMillis;
+            this.reads = reads;
+            this.observedHitRate = observedHitRate;
+            this.observedHitRateByCache = observedHitRateByCache;
+            this.candidates = candidates;
+        }
+        
+        public String getFile() { return file; }
+        public long getRecords() { return records; }
+        public long getDurationMillis() { return durationMillis; }
+        public long getReads() { return reads; }
+        public double getObservedHitRate() { return observedHitRate; }
+        public Map<String, Double> getObservedHitRateByCache() { return observedHitRateByCache; }
+        public List<CandidateResult> getCandidates() { return candidates; }
+    }
+    
+    /**
+     * 후보별 결과 DTO
+     */
+    public static class CandidateResult {
+        private final String policy;
+        private final int maximumSize;
+        private final long ttlSeconds;
+        private final long reads;
+        private final long hits;
+        private final double hitRate;
+        private final Map<String, Double> hitRateByCache;
+        
+        public CandidateResult(String policy, int maximumSize, long ttlSeconds, long reads, long hits,
+                               double hitRate, Map<String, Double> hitRateByCache) {
+            this.policy = policy;
+            this.maximumSize = maximumSize;
+            this.ttlSeconds = ttlSeconds;
+            this.reads = reads;
+            this.hits = hits;
+            this.hitRate = hitRate;
+            this.hitRateByCache = hitRateByCache;
+        }
+        
+        public String getPolicy() { return policy; }
+        public int getMaximumSize() { return maximumSize; }
+        public long getTtlSeconds() { return ttlSeconds; }
+        public long getReads() { return reads; }
+        public long getHits() { return hits; }
+        public double getHitRate() { return hitRate; }
+        public Map<String, Double> getHitRateByCache() { return hitRateByCache; }
+    }
+}
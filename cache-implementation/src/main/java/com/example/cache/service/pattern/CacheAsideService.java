@@ -6,9 +6,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Cache-Aside 패턴 구현
  * 
@@ -27,15 +30,21 @@ import org.springframework.transaction.annotation.Transactional;
  * - 동시성 문제 가능성 (두 요청이 동시에 캐시 미스 발생 시)
  */
 @Service
+@Order(1)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
-public class CacheAsideService {
+public class CacheAsideService implements ProductCachePattern {
     
     private final ProductRepository productRepository;
     private final CacheManager cacheManager;
     
     private static final String CACHE_NAME = "cacheAsideProducts";
+    private static final String PATTERN_NAME = "cache-aside";
+    
+    // DB 접근 통계
+    private final AtomicLong dbReadCount = new AtomicLong();
+    private final AtomicLong dbWriteCount = new AtomicLong();
     
     /**
      * Cache-Aside 패턴으로 제품 조회
@@ -43,6 +52,7 @@ public class CacheAsideService {
      * 2. 캐시 미스 시 DB 조회
      * 3. 조회 결과를 캐시에 저장
      */
+    @Override
     public Product findById(Long id) {
         Cache cache = cacheManager.getCache(CACHE_NAME);
         if (cache == null) {
@@ -75,12 +85,15 @@ public class CacheAsideService {
      * 1. DB 업데이트
      * 2. 캐시 무효화
      */
+    @Override
     @Transactional
     public Product update(Product product) {
         log.debug("Cache-Aside: 제품 업데이트 - productId={}", product.getId());
         
         // 1. DB 업데이트
         Product updatedProduct = productRepository.save(product);
+        dbWriteCount.incrementAndGet();
+        DbAccessScope.recordWrite();
         
         // 2. 캐시 무효화
         Cache cache = cacheManager.getCache(CACHE_NAME);
@@ -96,12 +109,15 @@ public class CacheAsideService {
      * DB에서 직접 조회
      */
     private Product findByIdFromDatabase(Long id) {
+        dbReadCount.incrementAndGet();
+        DbAccessScope.recordRead();
         return productRepository.findByIdWithCategory(id);
     }
     
     /**
      * 캐시 초기화
      */
+    @Override
     public void clearCache() {
         Cache cache = cacheManager.getCache(CACHE_NAME);
         if (cache != null) {
@@ -109,5 +125,37 @@ public class CacheAsideService {
             log.debug("Cache-Aside: 캐시 초기화");
         }
     }
+    
+    /**
+     * 패턴 이름 조회
+     */
+    @Override
+    public String getPatternName() {
+        return PATTERN_NAME;
+    }
+    
+    /**
+     * 캐시 이름 조회
+     */
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+    
+    /**
+     * DB 조회 횟수 조회
+     */
+    @Override
+    public long getDbReadCount() {
+        return dbReadCount.get();
+    }
+    
+    /**
+     * DB 쓰기 횟수 조회
+     */
+    @Override
+    public long getDbWriteCount() {
+        return dbWriteCount.get();
+    }
 }
 
@@ -0,0 +1,84 @@
+package com.example.cache.service.pattern;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 호출 단위 DB 접근 집계
+ *
+ * 패턴 서비스의 DB 접근 횟수는 서비스 전체 누적값이라 다른 요청(패턴별 API, 워크로드 벤치마크 등)의
+ * 접근도 함께 늘어남. 호출 스레드에 스코프를 연결해 두면 패턴 서비스가 DB에 접근할 때 이 스코프도 함께 증가
+ * - 지연 쓰기(Write-Back flush)나 주기 갱신(Refresh-Ahead)처럼 다른 스레드에서 일어나는 접근은
+ *   요청 시점의 스코프(current)를 키별로 기억해 두었다가 record*(scope)로 집계
+ */
+public final class DbAccessScope {
+    
+    private static final ThreadLocal<DbAccessScope> CURRENT = new ThreadLocal<>();
+    
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    
+    /**
+     * 이 스코프를 호출 스레드에 연결한 상태로 작업 실행
+     */
+    public <T> T call(Supplier<T> operation) {
+        DbAccessScope previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return operation.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+    
+    public void run(Runnable operation) {
+        call(() -> {
+            operation.run();
+            return null;
+        });
+    }
+    
+    /**
+     * 호출 스레드에 연결된 스코프 (없으면 null)
+     */
+    public static DbAccessScope current() {
+        return CURRENT.get();
+    }
+    
+    static void recordRead() {
+        recordRead(CURRENT.get());
+    }
+    
+    static void recordWrite() {
+        recordWrite(CURRENT.get());
+    }
+    
+    static void recordRead(DbAccessScope scope) {
+        if (scope != null) {
+            scope.reads.increment();
+        }
+    }
+    
+    static void recordWrite(DbAccessScope scope) {
+        if (scope != null) {
+            scope.writes.increment();
+        }
+    }
+    
+    public long getReads() {
+        return reads.sum();
+    }
+    
+    public long getWrites() {
+        return writes.sum();
+    }
+    
+    public void reset() {
+        reads.reset();
+        writes.reset();
+    }
+}
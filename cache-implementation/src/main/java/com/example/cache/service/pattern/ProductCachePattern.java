@@ -0,0 +1,49 @@
+package com.example.cache.service.pattern;
+
+import com.example.cache.entity.Product;
+
+/**
+ * 제품 캐싱 패턴 공통 인터페이스
+ * 
+ * 패턴별 서비스를 한 곳에서 선택해 사용할 수 있도록
+ * 조회/업데이트와 DB 접근 횟수를 공통으로 노출
+ * 구현체는 @Order로 순서를 고정 (cache-aside, write-through, write-back, refresh-ahead)하여
+ * List로 주입받는 곳(A/B 버킷 배정, 벤치마크 비교 순서)의 결과가 실행마다 달라지지 않도록 함
+ */
+public interface ProductCachePattern {
+    
+    /**
+     * 패턴 이름 (URL 경로와 동일: cache-aside, write-through, write-back, refresh-ahead)
+     */
+    String getPatternName();
+    
+    /**
+     * 패턴이 사용하는 캐시 이름
+     */
+    String getCacheName();
+    
+    /**
+     * 제품 조회
+     */
+    Product findById(Long id);
+    
+    /**
+     * 제품 업데이트
+     */
+    Product update(Product product);
+    
+    /**
+     * 패턴 캐시 초기화 (지연 쓰기 데이터가 있으면 먼저 DB에 반영)
+     */
+    void clearCache();
+    
+    /**
+     * DB 조회 횟수 (백그라운드 갱신 포함)
+     */
+    long getDbReadCount();
+    
+    /**
+     * DB 쓰기 횟수 (지연 쓰기 포함)
+     */
+    long getDbWriteCount();
+}
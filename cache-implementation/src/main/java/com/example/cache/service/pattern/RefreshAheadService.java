@@ -1,12 +1,14 @@
 package com.example.cache.service.pattern;
 
 import com.example.cache.entity.Product;
+import com.example.cache.monitor.CacheEventStream;
 import com.example.cache.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +19,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Refresh-Ahead 패턴 구현
@@ -37,25 +40,35 @@ import java.util.concurrent.TimeUnit;
  * - 리소스 사용 증가
  */
 @Service
+@Order(4)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
-public class RefreshAheadService {
+public class RefreshAheadService implements ProductCachePattern {
     
     private final ProductRepository productRepository;
     private final CacheManager cacheManager;
+    private final CacheEventStream cacheEventStream;
     
     private static final String CACHE_NAME = "refreshAheadProducts";
+    private static final String PATTERN_NAME = "refresh-ahead";
     
     // 각 항목의 마지막 접근 시간 추적
     private final ConcurrentMap<Long, Long> lastAccessTime = new ConcurrentHashMap<>();
     
+    // 각 항목을 마지막으로 조회한 호출의 DB 접근 스코프 (주기 갱신을 해당 호출에 집계)
+    private final ConcurrentMap<Long, DbAccessScope> accessScopes = new ConcurrentHashMap<>();
+    
     // 갱신 중인 항목 추적 (중복 갱신 방지)
     private final ConcurrentMap<Long, Boolean> refreshing = new ConcurrentHashMap<>();
     
     // 배치 갱신을 위한 스케줄러
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
     
+    // DB 접근 통계
+    private final AtomicLong dbReadCount = new AtomicLong();
+    private final AtomicLong dbWriteCount = new AtomicLong();
+    
     // TTL의 80% 지점에서 갱신 (예: 10분 TTL이면 8분 후 갱신)
     private static final long REFRESH_THRESHOLD_PERCENT = 80;
     private static final long CACHE_TTL_MS = 10 * 60 * 1000; // 10분
@@ -76,7 +89,9 @@ public class RefreshAheadService {
      * 2. 캐시 미스 시 DB 조회 후 캐시에 저장
      * 3. 만료 임박 시 백그라운드에서 갱신
      */
+    @Override
     public Product findById(Long id) {
+        rememberScope(id);
         Cache cache = cacheManager.getCache(CACHE_NAME);
         if (cache == null) {
             log.warn("캐시를 찾을 수 없습니다: {}", CACHE_NAME);
@@ -109,6 +124,15 @@ public class RefreshAheadService {
         return product;
     }
     
+    private void rememberScope(Long id) {
+        DbAccessScope scope = DbAccessScope.current();
+        if (scope != null) {
+            accessScopes.put(id, scope);
+        } else {
+            accessScopes.remove(id);
+        }
+    }
+    
     /**
      * 만료 임박 여부 확인 및 백그라운드 갱신
      */
@@ -150,6 +174,7 @@ public class RefreshAheadService {
                 if (cache != null) {
                     cache.put(id, product);
                     lastAccessTime.put(id, System.currentTimeMillis());
+                    cacheEventStream.recordRefresh(CACHE_NAME);
                     log.debug("Refresh-Ahead: 백그라운드 갱신 완료 - productId={}", id);
                 }
             }
@@ -173,7 +198,12 @@ public class RefreshAheadService {
                 // 캐시에 항목이 있는지 확인
                 Cache cache = cacheManager.getCache(CACHE_NAME);
                 if (cache != null && cache.get(id) != null) {
-                    refreshInBackground(id);
+                    DbAccessScope scope = accessScopes.get(id);
+                    if (scope != null) {
+                        scope.run(() -> refreshInBackground(id));
+                    } else {
+                        refreshInBackground(id);
+                    }
                 }
             }
         });
@@ -184,18 +214,22 @@ public class RefreshAheadService {
      * 1. DB 업데이트
      * 2. 캐시 무효화 (다음 읽기 시 최신 데이터 로드)
      */
+    @Override
     @Transactional
     public Product update(Product product) {
         log.debug("Refresh-Ahead: 제품 업데이트 - productId={}", product.getId());
         
         // 1. DB 업데이트
         Product updatedProduct = productRepository.save(product);
+        dbWriteCount.incrementAndGet();
+        DbAccessScope.recordWrite();
         
         // 2. 캐시 무효화
         Cache cache = cacheManager.getCache(CACHE_NAME);
         if (cache != null) {
             cache.evict(product.getId());
             lastAccessTime.remove(product.getId());
+            accessScopes.remove(product.getId());
             refreshing.remove(product.getId());
             log.debug("Refresh-Ahead: 캐시 무효화 - productId={}", product.getId());
         }
@@ -207,20 +241,56 @@ public class RefreshAheadService {
      * DB에서 직접 조회
      */
     private Product findByIdFromDatabase(Long id) {
+        dbReadCount.incrementAndGet();
+        DbAccessScope.recordRead();
         return productRepository.findByIdWithCategory(id);
     }
     
     /**
      * 캐시 초기화
      */
+    @Override
     public void clearCache() {
         Cache cache = cacheManager.getCache(CACHE_NAME);
         if (cache != null) {
             cache.clear();
             lastAccessTime.clear();
+            accessScopes.clear();
             refreshing.clear();
             log.debug("Refresh-Ahead: 캐시 초기화");
         }
     }
+    
+    /**
+     * 패턴 이름 조회
+     */
+    @Override
+    public String getPatternName() {
+        return PATTERN_NAME;
+    }
+    
+    /**
+     * 캐시 이름 조회
+     */
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+    
+    /**
+     * DB 조회 횟수 조회
+     */
+    @Override
+    public long getDbReadCount() {
+        return dbReadCount.get();
+    }
+    
+    /**
+     * DB 쓰기 횟수 조회
+     */
+    @Override
+    public long getDbWriteCount() {
+        return dbWriteCount.get();
+    }
 }
 
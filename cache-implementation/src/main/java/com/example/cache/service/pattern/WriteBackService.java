@@ -1,12 +1,14 @@
 package com.example.cache.service.pattern;
 
 import com.example.cache.entity.Product;
+import com.example.cache.monitor.CacheEventStream;
 import com.example.cache.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +19,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Write-Back (Write-Behind) 패턴 구현
@@ -37,22 +40,32 @@ import java.util.concurrent.TimeUnit;
  * - 일관성 보장 어려움
  */
 @Service
+@Order(3)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
-public class WriteBackService {
+public class WriteBackService implements ProductCachePattern {
     
     private final ProductRepository productRepository;
     private final CacheManager cacheManager;
+    private final CacheEventStream cacheEventStream;
     
     private static final String CACHE_NAME = "writeBackProducts";
+    private static final String PATTERN_NAME = "write-back";
     
     // 변경된 데이터를 추적하는 맵 (실제로는 더 정교한 큐 구조 사용 가능)
     private final ConcurrentMap<Long, Product> dirtyProducts = new ConcurrentHashMap<>();
     
+    // dirty 항목을 등록한 호출의 DB 접근 스코프 (flush 시 지연 쓰기를 해당 호출에 집계)
+    private final ConcurrentMap<Long, DbAccessScope> dirtyScopes = new ConcurrentHashMap<>();
+    
     // 배치 쓰기를 위한 스케줄러
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
     
+    // DB 접근 통계
+    private final AtomicLong dbReadCount = new AtomicLong();
+    private final AtomicLong dbWriteCount = new AtomicLong();
+    
     /**
      * 초기화: 주기적으로 dirty 데이터를 DB에 쓰기
      */
@@ -67,6 +80,7 @@ public class WriteBackService {
      * 1. 캐시 확인
      * 2. 캐시 미스 시 DB 조회 후 캐시에 저장
      */
+    @Override
     public Product findById(Long id) {
         Cache cache = cacheManager.getCache(CACHE_NAME);
         if (cache == null) {
@@ -99,6 +113,7 @@ public class WriteBackService {
      * 1. 캐시에만 업데이트 (즉시 반환)
      * 2. dirty 맵에 추가 (나중에 DB에 쓰기)
      */
+    @Override
     @Transactional
     public Product update(Product product) {
         log.debug("Write-Back: 제품 업데이트 시작 - productId={}", product.getId());
@@ -106,6 +121,8 @@ public class WriteBackService {
         Cache cache = cacheManager.getCache(CACHE_NAME);
         if (cache == null) {
             log.warn("캐시를 찾을 수 없습니다: {}", CACHE_NAME);
+            dbWriteCount.incrementAndGet();
+            DbAccessScope.recordWrite();
             return productRepository.save(product);
         }
         
@@ -115,6 +132,7 @@ public class WriteBackService {
         
         // 2. dirty 맵에 추가 (나중에 DB에 쓰기)
         dirtyProducts.put(product.getId(), product);
+        rememberScope(product.getId());
         log.debug("Write-Back: dirty 맵에 추가 - productId={}, 총 {}개 대기 중", 
             product.getId(), dirtyProducts.size());
         
@@ -140,6 +158,8 @@ public class WriteBackService {
         
         // 1. DB에 먼저 저장 (ID 생성 필요)
         Product savedProduct = productRepository.save(newProduct);
+        dbWriteCount.incrementAndGet();
+        DbAccessScope.recordWrite();
         log.debug("Write-Back: DB 저장 완료 (ID 생성) - productId={}", savedProduct.getId());
         
         // 2. 캐시에 저장
@@ -152,6 +172,15 @@ public class WriteBackService {
         return savedProduct;
     }
     
+    private void rememberScope(Long id) {
+        DbAccessScope scope = DbAccessScope.current();
+        if (scope != null) {
+            dirtyScopes.put(id, scope);
+        } else {
+            dirtyScopes.remove(id);
+        }
+    }
+    
     /**
      * Dirty 데이터를 DB에 쓰기 (배치 처리)
      */
@@ -167,6 +196,8 @@ public class WriteBackService {
             dirtyProducts.forEach((id, product) -> {
                 try {
                     productRepository.save(product);
+                    dbWriteCount.incrementAndGet();
+                    DbAccessScope.recordWrite(dirtyScopes.remove(id));
                     log.debug("Write-Back: 배치 쓰기 완료 - productId={}", id);
                 } catch (Exception e) {
                     log.error("Write-Back: 배치 쓰기 실패 - productId={}", id, e);
@@ -176,6 +207,7 @@ public class WriteBackService {
             // 쓰기 완료 후 dirty 맵 초기화
             int flushedCount = dirtyProducts.size();
             dirtyProducts.clear();
+            cacheEventStream.recordWriteBackFlush(CACHE_NAME, flushedCount);
             log.info("Write-Back: 배치 쓰기 완료 - {}개 항목 처리", flushedCount);
         } catch (Exception e) {
             log.error("Write-Back: 배치 쓰기 중 오류 발생", e);
@@ -193,12 +225,15 @@ public class WriteBackService {
      * DB에서 직접 조회
      */
     private Product findByIdFromDatabase(Long id) {
+        dbReadCount.incrementAndGet();
+        DbAccessScope.recordRead();
         return productRepository.findByIdWithCategory(id);
     }
     
     /**
      * 캐시 초기화 (dirty 데이터도 먼저 flush)
      */
+    @Override
     public void clearCache() {
         // dirty 데이터를 먼저 DB에 쓰기
         flushDirtyData();
@@ -216,5 +251,37 @@ public class WriteBackService {
     public int getDirtyCount() {
         return dirtyProducts.size();
     }
+    
+    /**
+     * 패턴 이름 조회
+     */
+    @Override
+    public String getPatternName() {
+        return PATTERN_NAME;
+    }
+    
+    /**
+     * 캐시 이름 조회
+     */
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+    
+    /**
+     * DB 조회 횟수 조회
+     */
+    @Override
+    public long getDbReadCount() {
+        return dbReadCount.get();
+    }
+    
+    /**
+     * DB 쓰기 횟수 조회
+     */
+    @Override
+    public long getDbWriteCount() {
+        return dbWriteCount.get();
+    }
 }
 
@@ -0,0 +1,366 @@
+package com.example.cache.service.pattern;
+
+import com.example.cache.entity.Product;
+import com.example.cache.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-Through 그룹 커밋 처리기
+ *
+ * 특징:
+ * - 동시에 들어온 쓰기 요청을 큐에 모아 하나의 트랜잭션으로 커밋
+ * - 최대 대기 시간(N ms) 또는 최대 건수(M개) 중 먼저 도달하는 조건으로 배치 구성
+ * - 같은 배치 안의 같은 키 업데이트는 마지막 값 하나로 병합
+ * - 커밋이 끝난 뒤 캐시에 반영하고 호출자의 Future를 완료 (Write-Through 보장 유지)
+ *
+ * 배치 트랜잭션이 실패하면 요청별 트랜잭션으로 다시 시도하여
+ * 한 건의 실패가 같은 배치의 다른 요청을 실패시키지 않도록 함
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WriteThroughGroupCommitter {
+    
+    private final ProductRepository productRepository;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${cache.write-through.group-commit.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${cache.write-through.group-commit.max-wait-ms:5}")
+    private long maxWaitMs;
+    
+    @Value("${cache.write-through.group-commit.max-batch-size:100}")
+    private int maxBatchSize;
+    
+    // 커밋 대기 중인 쓰기 요청 큐
+    private final BlockingQueue<WriteRequest> queue = new LinkedBlockingQueue<>();
+    
+    // 배치 커밋 전용 스레드
+    private final ExecutorService committer = Executors.newSingleThreadExecutor();
+    
+    // running 확인과 큐 등록을 원자적으로 처리 (종료 후 등록되어 완료되지 않는 요청 방지)
+    private final Object submitLock = new Object();
+    private volatile boolean running;
+    
+    // 그룹 커밋 통계
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong commitCount = new AtomicLong();
+    private final AtomicLong writeCount = new AtomicLong();
+    private final AtomicLong fallbackCount = new AtomicLong();
+    
+    /**
+     * 초기화: 그룹 커밋이 활성화된 경우에만 커밋 스레드 시작
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        committer.submit(this::commitLoop);
+        log.info("Write-Through 그룹 커밋 활성화: maxWaitMs={}, maxBatchSize={}", maxWaitMs, maxBatchSize);
+    }
+    
+    /**
+     * 종료: 남은 요청을 커밋한 뒤 스레드 종료
+     */
+    @PreDestroy
+    public void shutdown() {
+        synchronized (submitLock) {
+            running = false;
+        }
+        committer.shutdown();
+        try {
+            if (!committer.awaitTermination(5, TimeUnit.SECONDS)) {
+                committer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            committer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 업데이트 요청 등록 (커밋 완료 후 Future 완료)
+     */
+    public CompletableFuture<Product> submitUpdate(Product product) {
+        return submit(new WriteRequest(product, false));
+    }
+    
+    /**
+     * 생성 요청 등록 (커밋 완료 후 Future 완료, ID는 커밋 시 생성)
+     */
+    public CompletableFuture<Product> submitCreate(Product product) {
+        return submit(new WriteRequest(product, true));
+    }
+    
+    private CompletableFuture<Product> submit(WriteRequest request) {
+        synchronized (submitLock) {
+            if (!running) {
+                request.result.completeExceptionally(
+                    new IllegalStateException("Write-Through 그룹 커밋이 실행 중이 아닙니다."));
+                return request.result;
+            }
+            requestCount.incrementAndGet();
+            queue.add(request);
+        }
+        return request.result;
+    }
+    
+    /**
+     * 큐에서 배치를 모아 커밋하는 루프
+     */
+    private void commitLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                List<WriteRequest> batch = collectBatch();
+                if (!batch.isEmpty()) {
+                    commitBatchSafely(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Write-Through: 그룹 커밋 루프 오류", e);
+            }
+        }
+        
+        // 종료 시 남은 요청은 실패 처리
+        WriteRequest remaining;
+        while ((remaining = queue.poll()) != null) {
+            remaining.result.completeExceptionally(
+                new IllegalStateException("Write-Through 그룹 커밋이 종료되었습니다."));
+        }
+    }
+    
+    /**
+     * 첫 요청 도착 후 최대 대기 시간 또는 최대 건수까지 요청 수집
+     */
+    private List<WriteRequest> collectBatch() throws InterruptedException {
+        List<WriteRequest> batch = new ArrayList<>();
+        WriteRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        while (batch.size() < maxBatchSize) {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                break;
+            }
+            WriteRequest next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+    
+    /**
+     * 배치 커밋 후 완료되지 않은 요청이 남으면 실패 처리 (호출자가 무한히 대기하지 않도록)
+     */
+    private void commitBatchSafely(List<WriteRequest> batch) {
+        try {
+            commitBatch(batch);
+        } finally {
+            for (WriteRequest request : batch) {
+                if (!request.result.isDone()) {
+                    request.result.completeExceptionally(
+                        new IllegalStateException("Write-Through 그룹 커밋 처리 중 오류가 발생했습니다."));
+                }
+            }
+        }
+    }
+    
+    /**
+     * 배치를 하나의 트랜잭션으로 커밋한 뒤 캐시 반영 및 Future 완료
+     */
+    private void commitBatch(List<WriteRequest> batch) {
+        // 같은 키의 업데이트는 마지막 값으로 병합 (생성 요청은 각각 저장)
+        Map<Long, List<WriteRequest>> updatesById = new LinkedHashMap<>();
+        List<WriteRequest> creates = new ArrayList<>();
+        for (WriteRequest request : batch) {
+            if (request.create) {
+                creates.add(request);
+            } else {
+                updatesById.computeIfAbsent(request.product.getId(), id -> new ArrayList<>()).add(request);
+            }
+        }
+        
+        List<Product> toSave = new ArrayList<>();
+        List<List<WriteRequest>> owners = new ArrayList<>();
+        for (List<WriteRequest> requests : updatesById.values()) {
+            toSave.add(requests.get(requests.size() - 1).product);
+            owners.add(requests);
+        }
+        for (WriteRequest request : creates) {
+            toSave.add(newProductFrom(request.product));
+            owners.add(List.of(request));
+        }
+        
+        List<Product> saved;
+        try {
+            // 하나의 트랜잭션에서 저장 (hibernate.jdbc.batch_size로 JDBC 배치 전송)
+            saved = transactionTemplate.execute(status -> productRepository.saveAll(toSave));
+            commitCount.incrementAndGet();
+            writeCount.addAndGet(toSave.size());
+            log.debug("Write-Through: 그룹 커밋 완료 - 요청 {}개, 저장 {}개", batch.size(), toSave.size());
+        } catch (Exception e) {
+            log.warn("Write-Through: 그룹 커밋 실패, 요청별 커밋으로 재시도 - {}개", toSave.size(), e);
+            commitIndividually(owners);
+            return;
+        }
+        
+        Cache cache = cacheManager.getCache(WriteThroughService.CACHE_NAME);
+        for (int i = 0; i < saved.size(); i++) {
+            complete(cache, saved.get(i), owners.get(i));
+        }
+    }
+    
+    /**
+     * 배치 커밋 실패 시 요청별 트랜잭션으로 커밋
+     */
+    private void commitIndividually(List<List<WriteRequest>> owners) {
+        Cache cache = cacheManager.getCache(WriteThroughService.CACHE_NAME);
+        for (List<WriteRequest> requests : owners) {
+            WriteRequest last = requests.get(requests.size() - 1);
+            // 롤백된 배치에서 할당된 ID를 피하기 위해 생성 요청은 새 객체로 저장
+            Product product = last.create ? newProductFrom(last.product) : last.product;
+            try {
+                Product saved = transactionTemplate.execute(status -> productRepository.save(product));
+                fallbackCount.incrementAndGet();
+                writeCount.incrementAndGet();
+                complete(cache, saved, requests);
+            } catch (Exception e) {
+                log.error("Write-Through: 개별 커밋 실패 - productId={}", product.getId(), e);
+                if (cache != null && product.getId() != null) {
+                    cache.evict(product.getId());
+                }
+                requests.forEach(request -> request.result.completeExceptionally(e));
+            }
+        }
+    }
+    
+    /**
+     * 커밋된 결과를 캐시에 반영하고 대기 중인 호출자에게 전달
+     * 캐시 반영에 실패해도 DB 커밋은 끝났으므로 해당 키를 무효화하고 결과는 그대로 전달
+     */
+    private void complete(Cache cache, Product saved, List<WriteRequest> requests) {
+        try {
+            if (cache != null) {
+                cache.put(saved.getId(), saved);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Write-Through: 커밋 후 캐시 반영 실패, 캐시 무효화 - productId={}", saved.getId(), e);
+            evictQuietly(cache, saved.getId());
+        }
+        // 병합된 요청은 DB 쓰기 한 번이므로 마지막 요청의 호출에 집계
+        DbAccessScope.recordWrite(requests.get(requests.size() - 1).scope);
+        requests.forEach(request -> request.result.complete(saved));
+    }
+    
+    private void evictQuietly(Cache cache, Long id) {
+        try {
+            cache.evict(id);
+        } catch (RuntimeException e) {
+            log.warn("Write-Through: 캐시 무효화 실패 - productId={}", id, e);
+        }
+    }
+    
+    private Product newProductFrom(Product product) {
+        Product newProduct = new Product();
+        newProduct.setName(product.getName());
+        newProduct.setPrice(product.getPrice());
+        newProduct.setDescription(product.getDescription());
+        newProduct.setCategory(product.getCategory());
+        return newProduct;
+    }
+    
+    /**
+     * 그룹 커밋 통계 조회
+     */
+    public GroupCommitStatistics getStatistics() {
+        long requests = requestCount.get();
+        long commits = commitCount.get();
+        double avgBatchSize = commits == 0 ? 0.0 : (double) requests / commits;
+        return new GroupCommitStatistics(enabled, requests, commits, writeCount.get(),
+            fallbackCount.get(), queue.size(), avgBatchSize);
+    }
+    
+    /**
+     * 커밋 대기 중인 쓰기 요청
+     */
+    private static class WriteRequest {
+        private final Product product;
+        private final boolean create;
+        private final CompletableFuture<Product> result = new CompletableFuture<>();
+        private final DbAccessScope scope = DbAccessScope.current();
+        
+        private WriteRequest(Product product, boolean create) {
+            this.product = product;
+            this.create = create;
+        }
+    }
+    
+    /**
+     * 그룹 커밋 통계 DTO
+     */
+    public static class GroupCommitStatistics {
+        private final boolean enabled;
+        private final long requests;
+        private final long commits;
+        private final long writes;
+        private final long fallbackWrites;
+        private final int queued;
+        private final double avgRequestsPerCommit;
+        
+        public GroupCommitStatistics(boolean enabled, long requests, long commits, long writes,
+                                     long fallbackWrites, int queued, double avgRequestsPerCommit) {
+            this.enabled = enabled;
+            this.requests = requests;
+            this.commits = commits;
+            this.writes = writes;
+            this.fallbackWrites = fallbackWrites;
+            this.queued = queued;
+            this.avgRequestsPerCommit = avgRequestsPerCommit;
+        }
+        
+        public boolean isEnabled() { return enabled; }
+        public long getRequests() { return requests; }
+        public long getCommits() { return commits; }
+        public long getWrites() { return writes; }
+        public long getFallbackWrites() { return fallbackWrites; }
+        public int getQueued() { return queued; }
+        public double getAvgRequestsPerCommit() { return avgRequestsPerCommit; }
+    }
+}
@@ -5,9 +5,22 @@ import com.example.cache.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Write-Through 패턴 구현
@@ -25,23 +38,57 @@ import org.springframework.transaction.annotation.Transactional;
  * 단점:
  * - 쓰기 성능이 느림 (캐시 + DB 두 번 쓰기)
  * - DB 쓰기 실패 시 캐시 롤백 필요
+ * 
+ * 동시성 처리:
+ * - 스트라이프 락(id 해시로 고정 크기 락 배열 선택)으로 같은 키의 쓰기를 직렬화
+ * - 같은 키에 대한 동시 업데이트는 하나의 DB 쓰기로 병합 (마지막 값 기준)
+ * - 그룹 커밋 모드(cache.write-through.group-commit.enabled)에서는 동시 쓰기를
+ *   하나의 트랜잭션으로 묶어 커밋 (WriteThroughGroupCommitter)
  */
 @Service
+@Order(2)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
-public class WriteThroughService {
+public class WriteThroughService implements ProductCachePattern {
     
     private final ProductRepository productRepository;
     private final CacheManager cacheManager;
     
-    private static final String CACHE_NAME = "writeThroughProducts";
+    private final TransactionTemplate transactionTemplate;
+    private final WriteThroughGroupCommitter groupCommitter;
+    
+    static final String CACHE_NAME = "writeThroughProducts";
+    private static final String PATTERN_NAME = "write-through";
+    
+    // 스트라이프 락 개수 (2의 거듭제곱)
+    private static final int LOCK_STRIPES = 64;
+    
+    // 키별 순서 보장을 위한 스트라이프 락 (전역 락 대신 키 해시로 분산)
+    private final ReentrantLock[] locks = createLocks();
+    
+    // 락 대기 중 병합될 키별 쓰기 요청
+    private final ConcurrentMap<Long, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    
+    // 병합 대기 시간 (락 획득 전에 추가 요청을 모으는 시간, 0이면 대기 없음)
+    @Value("${cache.write-through.coalesce-window-ms:0}")
+    private long coalesceWindowMs;
+    
+    // 쓰기 결과 최대 대기 시간 (그룹 커밋 / 병합 쓰기 결과를 기다리는 호출자)
+    @Value("${cache.write-through.await-timeout-ms:10000}")
+    private long awaitTimeoutMs;
+    
+    // 쓰기 통계
+    private final AtomicLong dbReadCount = new AtomicLong();
+    private final AtomicLong updateRequestCount = new AtomicLong();
+    private final AtomicLong dbWriteCount = new AtomicLong();
     
     /**
      * Write-Through 패턴으로 제품 조회
      * 1. 캐시 확인
      * 2. 캐시 미스 시 DB 조회 후 캐시에 저장
      */
+    @Override
     public Product findById(Long id) {
         Cache cache = cacheManager.getCache(CACHE_NAME);
         if (cache == null) {
@@ -71,50 +118,165 @@ public class WriteThroughService {
     
     /**
      * Write-Through 패턴으로 제품 업데이트
-     * 1. 캐시 업데이트
-     * 2. DB 업데이트
-     * 3. 실패 시 롤백 처리
+     * 1. 키별 대기 요청에 등록 (이미 대기 중인 요청이 있으면 최신 값으로 병합하고 그 결과를 기다림)
+     * 2. 대기 요청을 만든 스레드만 병합 대기 시간만큼 기다린 뒤(락 밖에서) 키의 스트라이프 락 획득
+     * 3. 대기 요청을 꺼내 캐시 업데이트 → DB 업데이트
+     * 4. 실패 시 캐시 롤백 처리
+     * 
+     * DB 트랜잭션은 락 안에서 커밋되므로 캐시와 DB의 쓰기 순서가 일치함
+     * 그룹 커밋 모드에서는 공유 트랜잭션 커밋이 끝난 뒤 반환
      */
-    @Transactional
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Product update(Product product) {
-        log.debug("Write-Through: 제품 업데이트 시작 - productId={}", product.getId());
+        Long id = product.getId();
+        log.debug("Write-Through: 제품 업데이트 시작 - productId={}", id);
+        updateRequestCount.incrementAndGet();
         
-        Cache cache = cacheManager.getCache(CACHE_NAME);
-        if (cache == null) {
-            log.warn("캐시를 찾을 수 없습니다: {}", CACHE_NAME);
-            return productRepository.save(product);
+        if (groupCommitter.isEnabled()) {
+            return await(groupCommitter.submitUpdate(product));
+        }
+        
+        // 1. 대기 요청에 등록 (같은 키의 대기 요청이 있으면 값만 교체)
+        Thread caller = Thread.currentThread();
+        PendingWrite pending = pendingWrites.compute(id, (key, existing) -> {
+            PendingWrite write = existing != null ? existing : new PendingWrite(caller);
+            write.product = product;
+            return write;
+        });
+        
+        if (pending.owner == caller) {
+            // 2. 락을 잡기 전에 병합 대기 (같은 스트라이프의 다른 키는 기다리지 않음)
+            awaitCoalesceWindow();
+            ReentrantLock lock = lockFor(id);
+            lock.lock();
+            try {
+                // 3. 대기 요청을 꺼내 쓰기 (이후 요청은 새 대기 요청을 만듦)
+                if (pendingWrites.remove(id, pending)) {
+                    writeThrough(pending);
+                }
+            } finally {
+                lock.unlock();
+            }
         }
         
+        // 병합된 요청은 대기 요청을 만든 스레드의 쓰기 결과를 공유
+        return await(pending.result);
+    }
+    
+    /**
+     * 쓰기 결과 대기 (실패 시 원래 예외를 그대로 전달)
+     * await-timeout-ms를 넘기면 공유 결과(다른 병합 요청도 기다리는 future)는 건드리지 않고 이 호출만 포기함
+     * 쓰기는 대기열에 남아 나중에 커밋될 수 있으므로 실패가 아니라 결과 미확정으로 알림
+     */
+    private Product await(CompletableFuture<Product> result) {
         try {
+            return result.get(awaitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Write-Through: 쓰기 실패", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Write-Through: 쓰기 결과 대기 시간 초과 (" + awaitTimeoutMs
+                + "ms), 결과 미확정 - 쓰기는 아직 진행 중이며 나중에 반영될 수 있음", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Write-Through: 쓰기 결과 대기 중 인터럽트, 결과 미확정", e);
+        }
+    }
+    
+    /**
+     * 락을 보유한 상태에서 캐시와 DB에 쓰기
+     */
+    private void writeThrough(PendingWrite pending) {
+        Product product = pending.product;
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        
+        try {
+            if (cache == null) {
+                log.warn("캐시를 찾을 수 없습니다: {}", CACHE_NAME);
+                pending.result.complete(saveInTransaction(product));
+                return;
+            }
+            
             // 1. 캐시에 먼저 저장
             cache.put(product.getId(), product);
             log.debug("Write-Through: 캐시 업데이트 완료 - productId={}", product.getId());
             
-            // 2. DB 업데이트
-            Product updatedProduct = productRepository.save(product);
+            // 2. DB 업데이트 (락 안에서 커밋)
+            Product updatedProduct = saveInTransaction(product);
             log.debug("Write-Through: DB 업데이트 완료 - productId={}", product.getId());
             
             // 3. 캐시에 최종 결과 저장 (DB에서 조회한 최신 데이터)
             cache.put(product.getId(), updatedProduct);
             
-            return updatedProduct;
-        } catch (Exception e) {
+            pending.result.complete(updatedProduct);
+        } catch (RuntimeException e) {
             // DB 업데이트 실패 시 캐시 롤백
             log.error("Write-Through: DB 업데이트 실패, 캐시 롤백 - productId={}", product.getId(), e);
-            cache.evict(product.getId());
-            throw e;
+            if (cache != null) {
+                cache.evict(product.getId());
+            }
+            pending.result.completeExceptionally(e);
+        }
+    }
+    
+    /**
+     * 별도 트랜잭션으로 저장 (호출 스레드가 락을 보유한 동안 커밋)
+     */
+    private Product saveInTransaction(Product product) {
+        Product saved = transactionTemplate.execute(status -> productRepository.save(product));
+        dbWriteCount.incrementAndGet();
+        DbAccessScope.recordWrite();
+        return saved;
+    }
+    
+    /**
+     * 병합 대기 시간 동안 같은 키의 추가 요청을 모음
+     */
+    private void awaitCoalesceWindow() {
+        if (coalesceWindowMs <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(coalesceWindowMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
     
+    /**
+     * 키에 해당하는 스트라이프 락 선택
+     */
+    private ReentrantLock lockFor(Long id) {
+        int hash = id.hashCode();
+        hash ^= (hash >>> 16);
+        return locks[hash & (LOCK_STRIPES - 1)];
+    }
+    
+    private static ReentrantLock[] createLocks() {
+        ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
+    }
+    
     /**
      * Write-Through 패턴으로 제품 생성
-     * 1. DB에 저장
+     * 1. DB에 저장 (커밋)
      * 2. 캐시에 저장
+     * 그룹 커밋 모드에서는 다른 쓰기와 함께 하나의 트랜잭션으로 커밋
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Product create(Product product) {
         log.debug("Write-Through: 제품 생성 시작");
         
+        if (groupCommitter.isEnabled()) {
+            return await(groupCommitter.submitCreate(product));
+        }
+        
         // 새로운 Product 객체를 생성하여 ID가 없는 상태로 저장
         Product newProduct = new Product();
         newProduct.setName(product.getName());
@@ -124,7 +286,7 @@ public class WriteThroughService {
         // ID는 명시적으로 설정하지 않음 (자동 생성)
         
         // 1. DB에 저장
-        Product savedProduct = productRepository.save(newProduct);
+        Product savedProduct = transactionTemplate.execute(status -> productRepository.save(newProduct));
         log.debug("Write-Through: DB 저장 완료 - productId={}", savedProduct.getId());
         
         // 2. 캐시에 저장
@@ -141,12 +303,15 @@ public class WriteThroughService {
      * DB에서 직접 조회
      */
     private Product findByIdFromDatabase(Long id) {
+        dbReadCount.incrementAndGet();
+        DbAccessScope.recordRead();
         return productRepository.findByIdWithCategory(id);
     }
     
     /**
      * 캐시 초기화
      */
+    @Override
     public void clearCache() {
         Cache cache = cacheManager.getCache(CACHE_NAME);
         if (cache != null) {
@@ -154,5 +319,64 @@ public class WriteThroughService {
             log.debug("Write-Through: 캐시 초기화");
         }
     }
+    
+    /**
+     * 패턴 이름 조회
+     */
+    @Override
+    public String getPatternName() {
+        return PATTERN_NAME;
+    }
+    
+    /**
+     * 캐시 이름 조회
+     */
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+    
+    /**
+     * DB 조회 횟수 조회
+     */
+    @Override
+    public long getDbReadCount() {
+        return dbReadCount.get();
+    }
+    
+    /**
+     * 업데이트 요청 수 조회
+     */
+    public long getUpdateRequestCount() {
+        return updateRequestCount.get();
+    }
+    
+    /**
+     * 실제 DB 쓰기 수 조회 (병합된 요청은 제외, 그룹 커밋으로 저장된 행 포함)
+     */
+    @Override
+    public long getDbWriteCount() {
+        return dbWriteCount.get() + groupCommitter.getStatistics().getWrites();
+    }
+    
+    /**
+     * 그룹 커밋 통계 조회
+     */
+    public WriteThroughGroupCommitter.GroupCommitStatistics getGroupCommitStatistics() {
+        return groupCommitter.getStatistics();
+    }
+    
+    /**
+     * 병합 대기 중인 쓰기 요청
+     */
+    private static class PendingWrite {
+        private final Thread owner;
+        private volatile Product product;
+        private final CompletableFuture<Product> result = new CompletableFuture<>();
+        
+        PendingWrite(Thread owner) {
+            this.owner = owner;
+        }
+    }
 }
 
@@ -1,6 +1,7 @@
 package com.example.cache.service.performance;
 
 import com.example.cache.monitor.CacheMetrics;
+import com.example.cache.monitor.RollingCacheStats;
 import com.example.cache.service.performance.PerformanceAnalysisService.PerformanceComparison;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +25,11 @@ import java.util.Map;
 @Slf4j
 public class OptimizationReportService {
     
+    // 등급 판정 기준 구간 (최근 5분, 요청이 없으면 누적 통계 사용)
+    private static final int GRADING_WINDOW_SECONDS = 5 * 60;
+    private static final int RECENT_WINDOW_SECONDS = 60;
+    private static final int BASELINE_WINDOW_SECONDS = RollingCacheStats.MAX_WINDOW_SECONDS;
+    
     private final CacheMetrics cacheMetrics;
     private final PerformanceMetricsService performanceMetricsService;
     
@@ -57,15 +64,24 @@ public class OptimizationReportService {
     
     /**
      * 캐시 메트릭 분석
+     * 기동 이후 누적 값은 최근 변화를 가리므로 최근 5분 구간으로 등급을 판정
+     * 한 번도 조회되지 않은 캐시는 히트율 0%로 오판되지 않도록 제외
      */
     private Map<String, CacheAnalysis> analyzeCacheMetrics() {
         Map<String, CacheAnalysis> analysis = new HashMap<>();
-        String[] cacheNames = {"products", "categories", "users", "orders", "productByCategory"};
         
-        for (String cacheName : cacheNames) {
-            long hits = cacheMetrics.getHitCount(cacheName);
-            long misses = cacheMetrics.getMissCount(cacheName);
-            double hitRate = cacheMetrics.getHitRate(cacheName);
+        for (String cacheName : performanceMetricsService.getCacheNames()) {
+            if (cacheMetrics.getTotalRequests(cacheName) == 0) {
+                continue;
+            }
+            RollingCacheStats.WindowSnapshot graded = cacheMetrics.getWindowStats(cacheName, GRADING_WINDOW_SECONDS);
+            RollingCacheStats.WindowSnapshot recent = cacheMetrics.getWindowStats(cacheName, RECENT_WINDOW_SECONDS);
+            RollingCacheStats.WindowSnapshot baseline = cacheMetrics.getWindowStats(cacheName, BASELINE_WINDOW_SECONDS);
+            double cumulativeHitRate = cacheMetrics.getHitRate(cacheName);
+            
+            boolean hasRecentTraffic = graded.getRequests() > 0;
+            double hitRate = hasRecentTraffic ? graded.getHitRate() : cumulativeHitRate;
+            String basis = hasRecentTraffic ? "최근 5분" : "누적";
             
             String status;
             if (hitRate >= 90.0) {
@@ -78,7 +94,10 @@ public class OptimizationReportService {
                 status = "개선 필요";
             }
             
-            analysis.put(cacheName, new CacheAnalysis(hitRate, status));
+            analysis.put(cacheName, new CacheAnalysis(hitRate, status, basis, cumulativeHitRate,
+                recent.getRequests() > 0 ? recent.getHitRate() : null,
+                baseline.getRequests() > 0 ? baseline.getHitRate() : null,
+                graded.getRequestsPerSecond(), graded.getAvgMissLatencyMs()));
         }
         
         return analysis;
@@ -97,8 +116,18 @@ public class OptimizationReportService {
         cacheAnalysis.forEach((cacheName, analysis) -> {
             if (analysis.getHitRate() < 70.0) {
                 recommendations.add(String.format(
-                    "[%s] 캐시 히트율이 %.2f%%로 낮습니다. 캐시 워밍업이나 TTL 조정을 고려하세요.",
-                    cacheName, analysis.getHitRate()
+                    "[%s] 캐시 히트율(%s)이 %.2f%%로 낮습니다. 캐시 워밍업이나 TTL 조정을 고려하세요.",
+                    cacheName, analysis.getBasis(), analysis.getHitRate()
+                ));
+            }
+            
+            // 최근 1분 히트율이 15분 평균보다 크게 떨어지면 급락으로 판단
+            Double recent = analysis.getRecentHitRate();
+            Double baseline = analysis.getBaselineHitRate();
+            if (recent != null && baseline != null && baseline - recent >= 20.0) {
+                recommendations.add(String.format(
+                    "[%s] 최근 1분 히트율이 %.2f%%로 15분 평균(%.2f%%)보다 급락했습니다. 대량 무효화나 키 패턴 변화를 확인하세요.",
+                    cacheName, recent, baseline
                 ));
             }
         });
@@ -112,6 +141,19 @@ public class OptimizationReportService {
                 "메모리 사용률이 %.2f%%로 높습니다. 캐시 크기를 조정하거나 메모리 할당을 늘리세요.",
                 memoryUsagePercent
             ));
+            
+            // 추정 크기가 큰 캐시부터 조정 대상으로 제시
+            systemMetrics.getCacheMemory().entrySet().stream()
+                .filter(entry -> entry.getValue().getEstimatedBytes() > 0)
+                .sorted(Comparator.comparingLong(
+                    (Map.Entry<String, PerformanceMetricsService.CacheMemoryEstimate> entry) -> entry.getValue().getEstimatedBytes())
+                    .reversed())
+                .limit(3)
+                .forEach(entry -> recommendations.add(String.format(
+                    "[%s] 캐시가 약 %.1fMB(힙 사용량의 %.1f%%, %d개 항목)를 차지합니다. maximum-weight-bytes로 크기 기준 축출을 고려하세요.",
+                    entry.getKey(), entry.getValue().getEstimatedBytes() / 1024.0 / 1024.0,
+                    entry.getValue().getHeapUsedPercent(), entry.getValue().getEntries()
+                )));
         }
         
         // 기본 권장사항
@@ -177,14 +219,34 @@ public class OptimizationReportService {
     public static class CacheAnalysis {
         private final double hitRate;
         private final String status;
-        
-        public CacheAnalysis(double hitRate, String status) {
+        private final String basis;
+        private final double cumulativeHitRate;
+        private final Double recentHitRate;
+        private final Double baselineHitRate;
+        private final double requestsPerSecond;
+        private final double avgMissLatencyMs;
+        
+        public CacheAnalysis(double hitRate, String status, String basis, double cumulativeHitRate,
+                             Double recentHitRate, Double baselineHitRate,
+                             double requestsPerSecond, double avgMissLatencyMs) {
             this.hitRate = hitRate;
             this.status = status;
+            this.basis = basis;
+            this.cumulativeHitRate = cumulativeHitRate;
+            this.recentHitRate = recentHitRate;
+            this.baselineHitRate = baselineHitRate;
+            this.requestsPerSecond = requestsPerSecond;
+            this.avgMissLatencyMs = avgMissLatencyMs;
         }
         
         public double getHitRate() { return hitRate; }
         public String getStatus() { return status; }
+        public String getBasis() { return basis; }
+        public double getCumulativeHitRate() { return cumulativeHitRate; }
+        public Double getRecentHitRate() { return recentHitRate; }
+        public Double getBaselineHitRate() { return baselineHitRate; }
+        public double getRequestsPerSecond() { return requestsPerSecond; }
+        public double getAvgMissLatencyMs() { return avgMissLatencyMs; }
     }
 }
 
@@ -4,6 +4,7 @@ import com.example.cache.entity.Product;
 import com.example.cache.monitor.CacheMetrics;
 import com.example.cache.repository.ProductRepository;
 import com.example.cache.service.ProductService;
+import com.example.cache.service.pattern.WriteThroughService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,7 +28,14 @@ public class PerformanceAnalysisService {
     private final ProductService productService;
     private final ProductRepository productRepository;
     private final CacheMetrics cacheMetrics;
-    private final ExecutorService executorService = Executors.newFixedThreadPool(20);
+    private final WriteThroughService writeThroughService;
+    private static final int EXECUTOR_THREADS = 20;
+    
+    // 핫키 쓰기 측정 상한 (스레드 수는 공유 풀 크기까지, 요청 하나가 만드는 쓰기 수를 제한)
+    public static final int MAX_HOT_KEY_THREADS = EXECUTOR_THREADS;
+    public static final int MAX_HOT_KEY_WRITES_PER_THREAD = 1_000;
+    
+    private final ExecutorService executorService = Executors.newFixedThreadPool(EXECUTOR_THREADS);
     
     /**
      * 캐싱 전후 성능 비교 분석
@@ -183,6 +191,80 @@ public class PerformanceAnalysisService {
         );
     }
     
+    /**
+     * Write-Through 핫키 쓰기 처리량 측정
+     * 여러 스레드가 같은 제품을 동시에 업데이트하여 스트라이프 락과 쓰기 병합 효과를 확인
+     * threads는 1 ~ MAX_HOT_KEY_THREADS, writesPerThread는 1 ~ MAX_HOT_KEY_WRITES_PER_THREAD (범위 밖이면 IllegalArgumentException)
+     */
+    public HotKeyWriteBenchmark measureHotKeyWriteThroughput(Long productId, int threads, int writesPerThread) {
+        if (threads < 1 || threads > MAX_HOT_KEY_THREADS) {
+            throw new IllegalArgumentException("threads는 1 이상 " + MAX_HOT_KEY_THREADS + " 이하여야 합니다: " + threads);
+        }
+        if (writesPerThread < 1 || writesPerThread > MAX_HOT_KEY_WRITES_PER_THREAD) {
+            throw new IllegalArgumentException("writesPerThread는 1 이상 " + MAX_HOT_KEY_WRITES_PER_THREAD
+                + " 이하여야 합니다: " + writesPerThread);
+        }
+        log.info("핫키 쓰기 처리량 측정 시작: productId={}, threads={}, writesPerThread={}",
+            productId, threads, writesPerThread);
+        
+        Product base = productRepository.findByIdWithCategory(productId);
+        if (base == null) {
+            throw new RuntimeException("제품을 찾을 수 없습니다: " + productId);
+        }
+        
+        long requestsBefore = writeThroughService.getUpdateRequestCount();
+        long dbWritesBefore = writeThroughService.getDbWriteCount();
+        
+        List<CompletableFuture<List<Long>>> futures = new ArrayList<>();
+        long startTime = System.currentTimeMillis();
+        
+        for (int t = 0; t < threads; t++) {
+            final int threadIndex = t;
+            CompletableFuture<List<Long>> future = CompletableFuture.supplyAsync(() -> {
+                List<Long> times = new ArrayList<>(writesPerThread);
+                for (int i = 0; i < writesPerThread; i++) {
+                    Product update = new Product(base.getId(), base.getName(),
+                        base.getPrice() + threadIndex * writesPerThread + i,
+                        base.getCategory(), base.getDescription());
+                    
+                    long requestStart = System.nanoTime();
+                    writeThroughService.update(update);
+                    long requestEnd = System.nanoTime();
+                    times.add((requestEnd - requestStart) / 1_000_000);
+                }
+                return times;
+            }, executorService);
+            futures.add(future);
+        }
+        
+        List<Long> responseTimes = futures.stream()
+            .map(CompletableFuture::join)
+            .flatMap(List::stream)
+            .sorted()
+            .collect(Collectors.toList());
+        
+        long totalTime = System.currentTimeMillis() - startTime;
+        int totalWrites = responseTimes.size();
+        
+        PerformanceMetrics metrics = new PerformanceMetrics(
+            "Write-Through Hot Key",
+            totalWrites,
+            totalTime,
+            responseTimes.stream().mapToLong(Long::longValue).average().orElse(0.0),
+            responseTimes.stream().mapToLong(Long::longValue).min().orElse(0),
+            responseTimes.stream().mapToLong(Long::longValue).max().orElse(0),
+            getPercentile(responseTimes, 50),
+            getPercentile(responseTimes, 95),
+            getPercentile(responseTimes, 99),
+            (double) totalWrites / (Math.max(totalTime, 1) / 1000.0)
+        );
+        
+        long updateRequests = writeThroughService.getUpdateRequestCount() - requestsBefore;
+        long dbWrites = writeThroughService.getDbWriteCount() - dbWritesBefore;
+        
+        return new HotKeyWriteBenchmark(metrics, threads, updateRequests, dbWrites);
+    }
+    
     /**
      * 병목 지점 분석
      */
@@ -329,5 +411,29 @@ public class PerformanceAnalysisService {
         public double getAvgTotalTimeMs() { return avgTotalTimeMs; }
         public String getBottleneck() { return bottleneck; }
     }
+    
+    /**
+     * 핫키 쓰기 벤치마크 DTO
+     */
+    public static class HotKeyWriteBenchmark {
+        private final PerformanceMetrics metrics;
+        private final int threads;
+        private final long updateRequests;
+        private final long dbWrites;
+        private final long coalescedWrites;
+        
+        public HotKeyWriteBenchmark(PerformanceMetrics metrics, int threads, long updateRequests, long dbWrites) {
+            this.metrics = metrics;
+            this.threads = threads;
+            this.updateRequests = updateRequests;
+            this.dbWrites = dbWrites;
+            this.coalescedWrites = Math.max(0, updateRequests - dbWrites);
+        }
+        
+        public PerformanceMetrics getMetrics() { return metrics; }
+        public int getThreads() { return threads; }
+        public long getUpdateRequests() { return updateRequests; }
+        public long getDbWrites() { return dbWrites; }
+        public long getCoalescedWrites() { return coalescedWrites; }
+    }
 }
-
@@ -1,15 +1,25 @@
 package com.example.cache.service.performance;
 
+import com.example.cache.monitor.CacheMemoryEstimator;
 import com.example.cache.monitor.CacheMetrics;
+import com.example.cache.monitor.RollingCacheStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 성능 메트릭 수집 서비스
@@ -22,23 +32,18 @@ import java.util.Map;
 public class PerformanceMetricsService {
     
     private final CacheMetrics cacheMetrics;
+    private final CacheManager cacheManager;
+    private final CacheMemoryEstimator cacheMemoryEstimator;
+    
+    @Value("${cache.memory.sample-size:32}")
+    private int memorySampleSize;
     
     /**
      * 전체 성능 메트릭 수집
      */
     public SystemMetrics collectSystemMetrics() {
         // 캐시 메트릭
-        Map<String, CacheMetricsData> cacheMetricsMap = new HashMap<>();
-        String[] cacheNames = {"products", "categories", "users", "orders", "productByCategory"};
-        
-        for (String cacheName : cacheNames) {
-            long hits = cacheMetrics.getHitCount(cacheName);
-            long misses = cacheMetrics.getMissCount(cacheName);
-            long total = cacheMetrics.getTotalRequests(cacheName);
-            double hitRate = cacheMetrics.getHitRate(cacheName);
-            
-            cacheMetricsMap.put(cacheName, new CacheMetricsData(hits, misses, total, hitRate));
-        }
+        Map<String, CacheMetricsData> cacheMetricsMap = getAllCacheMetrics();
         
         // 메모리 메트릭
         MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
@@ -54,6 +59,7 @@ public class PerformanceMetricsService {
         
         return new SystemMetrics(
             cacheMetricsMap,
+            getCacheMemoryEstimates(heapMemory.getUsed()),
             new MemoryMetrics(
                 heapMemory.getUsed(),
                 heapMemory.getMax(),
@@ -78,7 +84,18 @@ public class PerformanceMetricsService {
         long total = cacheMetrics.getTotalRequests(cacheName);
         double hitRate = cacheMetrics.getHitRate(cacheName);
         
-        return new CacheMetricsData(hits, misses, total, hitRate);
+        return new CacheMetricsData(hits, misses, total, hitRate, getWindowStats(cacheName));
+    }
+    
+    /**
+     * 캐시별 최근 구간(1m/5m/15m) 통계
+     * 누적 통계로는 드러나지 않는 최근 히트율 하락, 요청률, 미스 처리 시간을 확인
+     */
+    public Map<String, RollingCacheStats.WindowSnapshot> getWindowStats(String cacheName) {
+        Map<String, RollingCacheStats.WindowSnapshot> windows = new LinkedHashMap<>();
+        RollingCacheStats.STANDARD_WINDOWS.forEach((name, seconds) ->
+            windows.put(name, cacheMetrics.getWindowStats(cacheName, seconds)));
+        return windows;
     }
     
     /**
@@ -86,31 +103,101 @@ public class PerformanceMetricsService {
      */
     public Map<String, CacheMetricsData> getAllCacheMetrics() {
         Map<String, CacheMetricsData> metricsMap = new HashMap<>();
-        String[] cacheNames = {"products", "categories", "users", "orders", "productByCategory"};
         
-        for (String cacheName : cacheNames) {
+        for (String cacheName : getCacheNames()) {
             metricsMap.put(cacheName, getCacheMetrics(cacheName));
         }
         
         return metricsMap;
     }
     
+    /**
+     * CacheManager에 등록된 모든 캐시 이름
+     */
+    public Collection<String> getCacheNames() {
+        return cacheManager.getCacheNames();
+    }
+    
+    /**
+     * 캐시별 메모리 사용량 추정
+     * 캐시 전체를 한 번 순회하며 무작위로 고른 sampleSize개의 깊은 크기만 측정하고
+     * 평균에 항목 수를 곱해 전체 크기를 추정 (비용이 큰 깊은 크기 측정 횟수는 캐시 크기와 무관하게 일정)
+     * 측정값은 CacheMemoryEstimator의 클래스별 평균에도 반영되어 weigher 가중치에 사용됨
+     */
+    public Map<String, CacheMemoryEstimate> getCacheMemoryEstimates() {
+        return getCacheMemoryEstimates(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+    }
+    
+    private Map<String, CacheMemoryEstimate> getCacheMemoryEstimates(long heapUsed) {
+        Map<String, CacheMemoryEstimate> estimates = new LinkedHashMap<>();
+        for (String cacheName : getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+                // 원격 캐시(Redis 등)는 JVM 힙을 사용하지 않음
+                continue;
+            }
+            
+            long entries = nativeCache.estimatedSize();
+            List<Map.Entry<?, ?>> samples = sampleEntries(nativeCache.asMap(), memorySampleSize);
+            long sampledBytes = 0;
+            for (Map.Entry<?, ?> entry : samples) {
+                sampledBytes += cacheMemoryEstimator.measureEntry(entry.getKey(), entry.getValue());
+            }
+            long avgEntryBytes = samples.isEmpty() ? 0 : sampledBytes / samples.size();
+            long estimatedBytes = avgEntryBytes * entries;
+            Long weightedSize = nativeCache.policy().eviction()
+                .filter(eviction -> eviction.isWeighted())
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(null);
+            
+            estimates.put(cacheName, new CacheMemoryEstimate(entries, samples.size(), avgEntryBytes, estimatedBytes,
+                heapUsed <= 0 ? 0.0 : (double) estimatedBytes / heapUsed * 100, weightedSize));
+        }
+        return estimates;
+    }
+    
+    /**
+     * 저수지 샘플링으로 전체 항목 중 최대 sampleSize개를 균등하게 선택
+     * 순회 앞부분만 보면 해시 테이블 앞쪽 버킷의 키에 치우치므로 끝까지 순회함 (순회 자체는 참조만 따라가므로 저렴)
+     */
+    private List<Map.Entry<?, ?>> sampleEntries(Map<?, ?> map, int sampleSize) {
+        List<Map.Entry<?, ?>> samples = new ArrayList<>(sampleSize);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long seen = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            seen++;
+            if (samples.size() < sampleSize) {
+                samples.add(Map.entry(entry.getKey(), entry.getValue()));
+            } else {
+                long index = random.nextLong(seen);
+                if (index < sampleSize) {
+                    samples.set((int) index, Map.entry(entry.getKey(), entry.getValue()));
+                }
+            }
+        }
+        return samples;
+    }
+    
     /**
      * 시스템 메트릭 DTO
      */
     public static class SystemMetrics {
         private final Map<String, CacheMetricsData> cacheMetrics;
+        private final Map<String, CacheMemoryEstimate> cacheMemory;
         private final MemoryMetrics memoryMetrics;
         private final long uptimeMs;
         
-        public SystemMetrics(Map<String, CacheMetricsData> cacheMetrics, 
+        public SystemMetrics(Map<String, CacheMetricsData> cacheMetrics,
+                           Map<String, CacheMemoryEstimate> cacheMemory,
                            MemoryMetrics memoryMetrics, long uptimeMs) {
             this.cacheMetrics = cacheMetrics;
+            this.cacheMemory = cacheMemory;
             this.memoryMetrics = memoryMetrics;
             this.uptimeMs = uptimeMs;
         }
         
         public Map<String, CacheMetricsData> getCacheMetrics() { return cacheMetrics; }
+        public Map<String, CacheMemoryEstimate> getCacheMemory() { return cacheMemory; }
         public MemoryMetrics getMemoryMetrics() { return memoryMetrics; }
         public long getUptimeMs() { return uptimeMs; }
     }
@@ -123,18 +210,52 @@ public class PerformanceMetricsService {
         private final long misses;
         private final long totalRequests;
         private final double hitRate;
+        private final Map<String, RollingCacheStats.WindowSnapshot> windows;
         
-        public CacheMetricsData(long hits, long misses, long totalRequests, double hitRate) {
+        public CacheMetricsData(long hits, long misses, long totalRequests, double hitRate,
+                                Map<String, RollingCacheStats.WindowSnapshot> windows) {
             this.hits = hits;
             this.misses = misses;
             this.totalRequests = totalRequests;
             this.hitRate = hitRate;
+            this.windows = windows;
         }
         
         public long getHits() { return hits; }
         public long getMisses() { return misses; }
         public long getTotalRequests() { return totalRequests; }
         public double getHitRate() { return hitRate; }
+        public Map<String, RollingCacheStats.WindowSnapshot> getWindows() { return windows; }
+    }
+    
+    /**
+     * 캐시 메모리 추정 DTO
+     * weightedSize는 weigher가 설정된 경우 Caffeine이 관리하는 가중치 합계 (바이트)
+     */
+    public static class CacheMemoryEstimate {
+        private final long entries;
+        private final int sampledEntries;
+        private final long avgEntryBytes;
+        private final long estimatedBytes;
+        private final double heapUsedPercent;
+        private final Long weightedSize;
+        
+        public CacheMemoryEstimate(long entries, int sampledEntries, long avgEntryBytes, long estimatedBytes,
+                                   double heapUsedPercent, Long weightedSize) {
+            this.entries = entries;
+            this.sampledEntries = sampledEntries;
+            this.avgEntryBytes = avgEntryBytes;
+            this.estimatedBytes = estimatedBytes;
+            this.heapUsedPercent = heapUsedPercent;
+            this.weightedSize = weightedSize;
+        }
+        
+        public long getEntries() { return entries; }
+        public int getSampledEntries() { return sampledEntries; }
+        public long getAvgEntryBytes() { return avgEntryBytes; }
+        public long getEstimatedBytes() { return estimatedBytes; }
+        public double getHeapUsedPercent() { return heapUsedPercent; }
+        public Long getWeightedSize() { return weightedSize; }
     }
     
     /**
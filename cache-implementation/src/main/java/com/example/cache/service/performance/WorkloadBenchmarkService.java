@@ -0,0 +1,481 @@
+package com.example.cache.service.performance;
+
+import com.example.cache.entity.Category;
+import com.example.cache.entity.Product;
+import com.example.cache.monitor.LatencyHistogram;
+import com.example.cache.repository.CategoryRepository;
+import com.example.cache.repository.ProductRepository;
+import com.example.cache.service.pattern.ProductCachePattern;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Zipf 분포 워크로드 벤치마크 서비스
+ *
+ * 2일차 8교시: 성능 측정 및 최적화 실습
+ *
+ * 키 공간 크기, Zipf 편향도, 읽기/쓰기 비율, 스레드 수, 실행 시간을 지정하여
+ * 네 가지 캐싱 패턴을 같은 조건(같은 시드)으로 부하 테스트
+ *
+ * 측정 항목:
+ * - 처리량, 읽기/쓰기 지연 시간 p50/p99/p999
+ * - 패턴별 DB 조회/쓰기 횟수
+ * - 오래된 값 읽기(staleness): 읽기 시작 전에 완료된 쓰기보다 오래된 값을 받은 경우
+ *
+ * 쓰기는 전역 순번을 가격으로 기록하므로 가격 비교만으로 값의 신구를 판단할 수 있음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkloadBenchmarkService {
+    
+    private final List<ProductCachePattern> patterns;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    
+    private static final String PRODUCT_PREFIX = "workload-product-";
+    
+    // 요청으로 받는 설정의 상한 (벤치마크용 제품 생성량과 스레드 수가 무제한으로 늘지 않도록)
+    private static final int MAX_KEY_SPACE = 100_000;
+    private static final int MAX_THREADS = 64;
+    private static final int MAX_DURATION_SECONDS = 600;
+    
+    // 결과 파일 저장 디렉터리 (outputFile은 이 디렉터리 기준 상대 경로만 허용)
+    @Value("${cache.workload.report-dir:${java.io.tmpdir}/cache-workload-reports}")
+    private String reportDir;
+    
+    // 쓰기 순번 (가격으로 기록, 이전 실행보다 항상 커지도록 유지)
+    private final AtomicLong priceSequence = new AtomicLong();
+    
+    /**
+     * 워크로드 벤치마크 실행
+     */
+    public WorkloadReport run(WorkloadConfig config) {
+        validate(config);
+        Path reportFile = config.getOutputFile() != null && !config.getOutputFile().isBlank()
+            ? resolveReportFile(config.getOutputFile()) : null;
+        log.info("워크로드 벤치마크 시작: keySpace={}, skew={}, readRatio={}, threads={}, duration={}s",
+            config.getKeySpace(), config.getZipfSkew(), config.getReadRatio(),
+            config.getThreads(), config.getDurationSeconds());
+        
+        List<Product> templates = seedProducts(config.getKeySpace());
+        long[] keys = templates.stream().mapToLong(Product::getId).toArray();
+        Map<Long, Product> templateById = templates.stream()
+            .collect(Collectors.toMap(Product::getId, product -> product));
+        ZipfianGenerator generator = new ZipfianGenerator(keys, config.getZipfSkew(), config.getSeed());
+        
+        List<PatternResult> results = new ArrayList<>();
+        for (ProductCachePattern pattern : patterns) {
+            if (config.getPatterns() != null && !config.getPatterns().isEmpty()
+                    && !config.getPatterns().contains(pattern.getPatternName())) {
+                continue;
+            }
+            results.add(runPattern(pattern, generator, templateById, config));
+        }
+        
+        WorkloadReport report = new WorkloadReport(
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+            config,
+            results
+        );
+        
+        if (reportFile != null) {
+            writeReport(report, reportFile);
+        }
+        return report;
+    }
+    
+    /**
+     * 설정 값 검증 (범위를 벗어나면 IllegalArgumentException)
+     */
+    private void validate(WorkloadConfig config) {
+        requireRange("keySpace", config.getKeySpace(), 1, MAX_KEY_SPACE);
+        requireRange("threads", config.getThreads(), 1, MAX_THREADS);
+        requireRange("durationSeconds", config.getDurationSeconds(), 1, MAX_DURATION_SECONDS);
+        requireRange("warmupSeconds", config.getWarmupSeconds(), 0, MAX_DURATION_SECONDS);
+        if (!(config.getReadRatio() >= 0.0 && config.getReadRatio() <= 1.0)) {
+            throw new IllegalArgumentException("readRatio는 0~1 사이여야 합니다: " + config.getReadRatio());
+        }
+        if (!(config.getZipfSkew() >= 0.0 && config.getZipfSkew() <= 10.0)) {
+            throw new IllegalArgumentException("zipfSkew는 0~10 사이여야 합니다: " + config.getZipfSkew());
+        }
+        if (config.getPatterns() != null) {
+            for (String name : config.getPatterns()) {
+                if (patterns.stream().noneMatch(pattern -> pattern.getPatternName().equals(name))) {
+                    throw new IllegalArgumentException("알 수 없는 캐싱 패턴입니다: " + name);
+                }
+            }
+        }
+    }
+    
+    private static void requireRange(String name, int value, int min, int max) {
+        if (value < min || value > max) {
+            throw new IllegalArgumentException(name + "는 " + min + "~" + max + " 사이여야 합니다: " + value);
+        }
+    }
+    
+    /**
+     * 결과 파일 경로를 report-dir 아래로 제한 (절대 경로, ".." 거부)
+     */
+    private Path resolveReportFile(String outputFile) {
+        Path relative = Paths.get(outputFile).normalize();
+        if (relative.isAbsolute() || relative.startsWith("..") || outputFile.contains("..")) {
+            throw new IllegalArgumentException("outputFile은 결과 디렉터리 기준 상대 경로여야 합니다: " + outputFile);
+        }
+        Path root = Paths.get(reportDir).toAbsolutePath().normalize();
+        Path resolved = root.resolve(relative).normalize();
+        if (!resolved.startsWith(root) || resolved.equals(root)) {
+            throw new IllegalArgumentException("잘못된 outputFile입니다: " + outputFile);
+        }
+        return resolved;
+    }
+    
+    /**
+     * 벤치마크용 제품 데이터 준비 (부족한 만큼만 생성)
+     */
+    private List<Product> seedProducts(int keySpace) {
+        List<Long> ids = productRepository.findIdsByNamePrefix(PRODUCT_PREFIX);
+        if (ids.size() < keySpace) {
+            Category category = categoryRepository.findAll().stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("벤치마크용 카테고리가 없습니다."));
+            
+            List<Product> newProducts = new ArrayList<>();
+            for (int i = ids.size(); i < keySpace; i++) {
+                newProducts.add(new Product(null, PRODUCT_PREFIX + i, 0.0, category, "workload benchmark"));
+            }
+            productRepository.saveAll(newProducts);
+            log.info("벤치마크용 제품 {}개 생성", newProducts.size());
+            ids = productRepository.findIdsByNamePrefix(PRODUCT_PREFIX);
+        }
+        
+        List<Product> templates = new ArrayList<>();
+        for (Long id : ids.subList(0, keySpace)) {
+            Product product = productRepository.findByIdWithCategory(id);
+            priceSequence.accumulateAndGet(product.getPrice().longValue(), Math::max);
+            templates.add(product);
+        }
+        return templates;
+    }
+    
+    /**
+     * 단일 패턴에 대해 워밍업 후 측정
+     */
+    private PatternResult runPattern(ProductCachePattern pattern, ZipfianGenerator generator,
+                                     Map<Long, Product> templates, WorkloadConfig config) {
+        pattern.clearCache();
+        
+        if (config.getWarmupSeconds() > 0) {
+            execute(pattern, generator, templates, config, config.getWarmupSeconds(), new RunState());
+        }
+        
+        long dbReadsBefore = pattern.getDbReadCount();
+        long dbWritesBefore = pattern.getDbWriteCount();
+        
+        RunState state = new RunState();
+        long elapsedNanos = execute(pattern, generator, templates, config, config.getDurationSeconds(), state);
+        
+        // 지연 쓰기(Write-Back) 데이터까지 DB에 반영한 뒤 DB 접근 횟수 집계
+        pattern.clearCache();
+        long dbReads = pattern.getDbReadCount() - dbReadsBefore;
+        long dbWrites = pattern.getDbWriteCount() - dbWritesBefore;
+        
+        long reads = state.readLatency.getCount();
+        long writes = state.writeLatency.getCount();
+        long operations = reads + writes;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long staleReads = state.staleReads.get();
+        
+        PatternResult result = new PatternResult(
+            pattern.getPatternName(),
+            operations,
+            reads,
+            writes,
+            state.errors.get(),
+            seconds == 0 ? 0.0 : operations / seconds,
+            LatencyPercentiles.from(state.readLatency),
+            LatencyPercentiles.from(state.writeLatency),
+            dbReads,
+            dbWrites,
+            operations == 0 ? 0.0 : (double) (dbReads + dbWrites) / operations,
+            staleReads,
+            reads == 0 ? 0.0 : (double) staleReads / reads * 100,
+            staleReads == 0 ? 0.0 : state.staleAgeNanos.get() / (double) staleReads / 1_000_000.0,
+            state.maxStaleAgeNanos.get() / 1_000_000.0
+        );
+        
+        log.info("워크로드 벤치마크 완료: pattern={}, throughput={}/s, staleReads={}",
+            pattern.getPatternName(), String.format("%.1f", result.getThroughput()), staleReads);
+        return result;
+    }
+    
+    /**
+     * 지정 시간 동안 스레드별로 읽기/쓰기 요청 반복
+     * 스레드별 난수 시드를 고정하여 같은 설정이면 같은 요청 순서를 재현
+     */
+    private long execute(ProductCachePattern pattern, ZipfianGenerator generator, Map<Long, Product> templates,
+                         WorkloadConfig config, int durationSeconds, RunState state) {
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreads());
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < config.getThreads(); t++) {
+            SplittableRandom random = new SplittableRandom(config.getSeed() + t);
+            futures.add(executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long key = generator.next(random);
+                    if (random.nextDouble() < config.getReadRatio()) {
+                        read(pattern, key, state);
+                    } else {
+                        write(pattern, templates.get(key), state);
+                    }
+                }
+            }));
+        }
+        
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (Exception e) {
+            log.error("워크로드 실행 중 오류 발생", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+    
+    private void read(ProductCachePattern pattern, long key, RunState state) {
+        WrittenVersion before = state.versions.get(key);
+        long start = System.nanoTime();
+        try {
+            Product product = pattern.findById(key);
+            state.readLatency.record(System.nanoTime() - start);
+            
+            // 읽기 시작 전에 완료된 쓰기보다 오래된 값이면 stale
+            if (before != null && product != null && product.getPrice() < before.sequence) {
+                long age = System.nanoTime() - before.completedAt;
+                state.staleReads.incrementAndGet();
+                state.staleAgeNanos.addAndGet(age);
+                state.maxStaleAgeNanos.accumulateAndGet(age, Math::max);
+            }
+        } catch (RuntimeException e) {
+            state.errors.incrementAndGet();
+        }
+    }
+    
+    private void write(ProductCachePattern pattern, Product template, RunState state) {
+        long sequence = priceSequence.incrementAndGet();
+        Product product = new Product(template.getId(), template.getName(), (double) sequence,
+            template.getCategory(), template.getDescription());
+        
+        long start = System.nanoTime();
+        try {
+            pattern.update(product);
+            long completedAt = System.nanoTime();
+            state.writeLatency.record(completedAt - start);
+            state.versions.merge(template.getId(), new WrittenVersion(sequence, completedAt),
+                (current, next) -> next.sequence > current.sequence ? next : current);
+        } catch (RuntimeException e) {
+            state.errors.incrementAndGet();
+        }
+    }
+    
+    private void writeReport(WorkloadReport report, Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+            log.info("워크로드 벤치마크 결과 저장: {}", path.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("워크로드 벤치마크 결과 저장 실패: {}", path, e);
+        }
+    }
+    
+    /**
+     * 실행 중 상태 (패턴별로 새로 생성)
+     */
+    private static class RunState {
+        private final LatencyHistogram readLatency = new LatencyHistogram();
+        private final LatencyHistogram writeLatency = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong staleReads = new AtomicLong();
+        private final AtomicLong staleAgeNanos = new AtomicLong();
+        private final AtomicLong maxStaleAgeNanos = new AtomicLong();
+        private final ConcurrentMap<Long, WrittenVersion> versions = new ConcurrentHashMap<>();
+    }
+    
+    /**
+     * 키별로 완료된 최신 쓰기 (순번 = 가격)
+     */
+    private static class WrittenVersion {
+        private final long sequence;
+        private final long completedAt;
+        
+        private WrittenVersion(long sequence, long completedAt) {
+            this.sequence = sequence;
+            this.completedAt = completedAt;
+        }
+    }
+    
+    /**
+     * 워크로드 설정
+     */
+    @Getter
+    @Setter
+    public static class WorkloadConfig {
+        private List<String> patterns;
+        private int keySpace = 1000;
+        private double zipfSkew = 0.99;
+        private double readRatio = 0.9;
+        private int threads = 8;
+        private int durationSeconds = 10;
+        private int warmupSeconds = 2;
+        private long seed = 42L;
+        private String outputFile;
+    }
+    
+    /**
+     * 워크로드 벤치마크 리포트 DTO
+     */
+    public static class WorkloadReport {
+        private final String generatedAt;
+        private final WorkloadConfig config;
+        private final List<PatternResult> results;
+        
+        public WorkloadReport(String generatedAt, WorkloadConfig config, List<PatternResult> results) {
+            this.generatedAt = generatedAt;
+            this.config = config;
+            this.results = results;
+        }
+        
+        public String getGeneratedAt() { return generatedAt; }
+        public WorkloadConfig getConfig() { return config; }
+        public List<PatternResult> getResults() { return results; }
+    }
+    
+    /**
+     * 패턴별 결과 DTO
+     */
+    public static class PatternResult {
+        private final String pattern;
+        private final long operations;
+        private final long reads;
+        private final long writes;
+        private final long errors;
+        private final double throughput;
+        private final LatencyPercentiles readLatency;
+        private final LatencyPercentiles writeLatency;
+        private final long dbReads;
+        private final long dbWrites;
+        private final double dbOpsPerOperation;
+        private final long staleReads;
+        private final double staleReadPercent;
+        private final double avgStaleAgeMs;
+        private final double maxStaleAgeMs;
+        
+        public PatternResult(String pattern, long operations, long reads, long writes, long errors,
+                             double throughput, LatencyPercentiles readLatency, LatencyPercentiles writeLatency,
+                             long dbReads, long dbWrites, double dbOpsPerOperation,
+                             long staleReads, double staleReadPercent, double avgStaleAgeMs, double maxStaleAgeMs) {
+            this.pattern = pattern;
+            this.operations = operations;
+            this.reads = reads;
+            this.writes = writes;
+            this.errors = errors;
+            this.throughput = throughput;
+            this.readLatency = readLatency;
+            this.writeLatency = writeLatency;
+            this.dbReads = dbReads;
+            this.dbWrites = dbWrites;
+            this.dbOpsPerOperation = dbOpsPerOperation;
+            this.staleReads = staleReads;
+            this.staleReadPercent = staleReadPercent;
+            this.avgStaleAgeMs = avgStaleAgeMs;
+            this.maxStaleAgeMs = maxStaleAgeMs;
+        }
+        
+        public String getPattern() { return pattern; }
+        public long getOperations() { return operations; }
+        public long getReads() { return reads; }
+        public long getWrites() { return writes; }
+        public long getErrors() { return errors; }
+        public double getThroughput() { return throughput; }
+        public LatencyPercentiles getReadLatency() { return readLatency; }
+        public LatencyPercentiles getWriteLatency() { return writeLatency; }
+        public long getDbReads() { return dbReads; }
+        public long getDbWrites() { return dbWrites; }
+        public double getDbOpsPerOperation() { return dbOpsPerOperation; }
+        public long getStaleReads() { return staleReads; }
+        public double getStaleReadPercent() { return staleReadPercent; }
+        public double getAvgStaleAgeMs() { return avgStaleAgeMs; }
+        public double getMaxStaleAgeMs() { return maxStaleAgeMs; }
+    }
+    
+    /**
+     * 지연 시간 백분위수 DTO (마이크로초)
+     */
+    public static class LatencyPercentiles {
+        private final long count;
+        private final double meanUs;
+        private final double p50Us;
+        private final double p99Us;
+        private final double p999Us;
+        private final double maxUs;
+        
+        public LatencyPercentiles(long count, double meanUs, double p50Us, double p99Us, double p999Us, double maxUs) {
+            this.count = count;
+            this.meanUs = meanUs;
+            this.p50Us = p50Us;
+            this.p99Us = p99Us;
+            this.p999Us = p999Us;
+            this.maxUs = maxUs;
+        }
+        
+        static LatencyPercentiles from(LatencyHistogram histogram) {
+            return new LatencyPercentiles(
+                histogram.getCount(),
+                histogram.getMeanNanos() / 1_000.0,
+                histogram.getValueAtPercentile(50) / 1_000.0,
+                histogram.getValueAtPercentile(99) / 1_000.0,
+                histogram.getValueAtPercentile(99.9) / 1_000.0,
+                histogram.getMaxNanos() / 1_000.0
+            );
+        }
+        
+        public long getCount() { return count; }
+        public double getMeanUs() { return meanUs; }
+        public double getP50Us() { return p50Us; }
+        public double getP99Us() { return p99Us; }
+        public double getP999Us() { return p999Us; }
+        public double getMaxUs() { return maxUs; }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.cache.service.performance;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zipf 분포 키 생성기
+ *
+ * 순위 i의 선택 확률이 1 / i^skew 에 비례하도록 누적 분포(CDF)를 미리 계산하고
+ * 이진 탐색으로 샘플링 (skew가 클수록 소수의 핫키에 요청이 집중)
+ *
+ * 순위와 실제 키의 대응은 시드 기반으로 섞어서 ID 순서와 인기도가 겹치지 않도록 함
+ * CDF와 대응 표는 불변이므로 여러 스레드가 공유하고, 난수 생성기만 스레드별로 사용
+ */
+public final class ZipfianGenerator {
+    
+    private final double[] cdf;
+    private final long[] keysByRank;
+    
+    public ZipfianGenerator(long[] keys, double skew, long seed) {
+        int n = keys.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("키 공간이 비어 있습니다.");
+        }
+        
+        // 누적 분포 계산
+        this.cdf = new double[n];
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        cdf[n - 1] = 1.0;
+        
+        // 순위 → 키 대응을 시드 기반으로 섞기 (Fisher-Yates)
+        this.keysByRank = keys.clone();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = keysByRank[i];
+            keysByRank[i] = keysByRank[j];
+            keysByRank[j] = tmp;
+        }
+    }
+    
+    /**
+     * 다음 키 샘플링
+     */
+    public long next(SplittableRandom random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cdf[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return keysByRank[low];
+    }
+    
+    public int size() {
+        return keysByRank.length;
+    }
+}
@@ -0,0 +1,376 @@
+package com.example.cache.service.strategy;
+
+import com.example.cache.entity.Product;
+import com.example.cache.monitor.LatencyHistogram;
+import com.example.cache.service.pattern.DbAccessScope;
+import com.example.cache.service.pattern.ProductCachePattern;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 캐싱 전략 A/B 실험 엔진
+ *
+ * 특징:
+ * - 하나의 엔드포인트로 들어온 제품 조회/업데이트를 설정된 비율에 따라 패턴별로 분배
+ * - 키(제품 ID) 해시로 버킷을 정하므로 같은 키는 항상 같은 패턴을 사용 (sticky)
+ * - 비율은 실행 중에 변경 가능
+ * - 패턴(arm)별로 지연 시간 히스토그램과 DB 접근 횟수를 따로 기록
+ *   (DB 접근은 이 엔진을 거친 호출만 DbAccessScope로 집계하여 다른 API의 트래픽이 섞이지 않음)
+ * - 패턴 순서는 @Order로 고정되어 같은 비율이면 항상 같은 버킷 배정
+ * - 실제 읽기/쓰기 비율을 기준으로 가장 유리한 패턴을 리포트
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheStrategyEngine {
+    
+    private final List<ProductCachePattern> patterns;
+    
+    // 패턴별 트래픽 비율 (예: cache-aside:25,write-through:25,write-back:25,refresh-ahead:25)
+    @Value("${cache.strategy.split:cache-aside:25,write-through:25,write-back:25,refresh-ahead:25}")
+    private String initialSplit;
+    
+    // 승자 판정에 필요한 최소 요청 수
+    @Value("${cache.strategy.min-samples:30}")
+    private long minSamples;
+    
+    private static final int BUCKETS = 100;
+    
+    private final Map<String, ProductCachePattern> patternsByName = new LinkedHashMap<>();
+    private final ConcurrentMap<String, ArmStatistics> statistics = new ConcurrentHashMap<>();
+    
+    // 버킷(0~99) → 패턴 이름, 비율 변경 시 배열 전체를 교체
+    private volatile String[] bucketToArm = new String[0];
+    private volatile Map<String, Integer> currentSplit = Map.of();
+    
+    /**
+     * 초기화: 패턴 등록 및 초기 비율 적용
+     */
+    @PostConstruct
+    public void init() {
+        for (ProductCachePattern pattern : patterns) {
+            patternsByName.put(pattern.getPatternName(), pattern);
+            statistics.put(pattern.getPatternName(), new ArmStatistics(pattern));
+        }
+        updateSplit(parseSplit(initialSplit));
+    }
+    
+    /**
+     * 제품 조회 (키에 배정된 패턴 사용)
+     */
+    public Product findById(Long id) {
+        String arm = armFor(id);
+        ArmStatistics stats = statistics.get(arm);
+        return stats.recordRead(() -> patternsByName.get(arm).findById(id));
+    }
+    
+    /**
+     * 제품 업데이트 (키에 배정된 패턴 사용)
+     */
+    public Product update(Product product) {
+        String arm = armFor(product.getId());
+        ArmStatistics stats = statistics.get(arm);
+        return stats.recordWrite(() -> patternsByName.get(arm).update(product));
+    }
+    
+    /**
+     * 키에 배정된 패턴 이름 조회
+     */
+    public String armFor(Long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        int bucket = (int) Math.floorMod(hash ^ (hash >>> 32), (long) BUCKETS);
+        return bucketToArm[bucket];
+    }
+    
+    /**
+     * 트래픽 비율 변경 (합계 100)
+     */
+    public synchronized void updateSplit(Map<String, Integer> split) {
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : split.entrySet()) {
+            if (!patternsByName.containsKey(entry.getKey())) {
+                throw new IllegalArgumentException("알 수 없는 캐싱 패턴입니다: " + entry.getKey());
+            }
+            if (entry.getValue() == null || entry.getValue() < 0) {
+                throw new IllegalArgumentException("비율은 0 이상이어야 합니다: " + entry.getKey());
+            }
+            total += entry.getValue();
+        }
+        if (total != BUCKETS) {
+            throw new IllegalArgumentException("비율의 합은 100이어야 합니다: " + total);
+        }
+        
+        // 패턴 등록 순서대로 연속된 버킷 구간을 배정 (비율 조정 시 이동하는 키 최소화)
+        String[] buckets = new String[BUCKETS];
+        int index = 0;
+        Map<String, Integer> applied = new LinkedHashMap<>();
+        for (String name : patternsByName.keySet()) {
+            int weight = split.getOrDefault(name, 0);
+            for (int i = 0; i < weight; i++) {
+                buckets[index++] = name;
+            }
+            applied.put(name, weight);
+        }
+        
+        bucketToArm = buckets;
+        currentSplit = applied;
+        log.info("캐싱 전략 비율 변경: {}", applied);
+    }
+    
+    public Map<String, Integer> getSplit() {
+        return currentSplit;
+    }
+    
+    /**
+     * 통계 초기화
+     */
+    public void resetStatistics() {
+        statistics.values().forEach(ArmStatistics::reset);
+    }
+    
+    /**
+     * 패턴별 성능 리포트 생성
+     * 실제 읽기/쓰기 비율로 가중한 평균 지연 시간이 가장 낮은 패턴을 승자로 판정
+     */
+    public StrategyReport getReport() {
+        long totalReads = 0;
+        long totalWrites = 0;
+        for (ArmStatistics stats : statistics.values()) {
+            totalReads += stats.reads.getCount();
+            totalWrites += stats.writes.getCount();
+        }
+        long totalRequests = totalReads + totalWrites;
+        double readRatio = totalRequests == 0 ? 1.0 : (double) totalReads / totalRequests;
+        
+        List<ArmReport> arms = new ArrayList<>();
+        ArmReport fastest = null;
+        ArmReport leastDbLoad = null;
+        for (String name : patternsByName.keySet()) {
+            ArmReport arm = statistics.get(name).toReport(readRatio, currentSplit.getOrDefault(name, 0));
+            arms.add(arm);
+            if (arm.getRequests() < minSamples) {
+                continue;
+            }
+            if (fastest == null || arm.getWeightedMeanLatencyMs() < fastest.getWeightedMeanLatencyMs()) {
+                fastest = arm;
+            }
+            if (leastDbLoad == null || arm.getDbOpsPerRequest() < leastDbLoad.getDbOpsPerRequest()) {
+                leastDbLoad = arm;
+            }
+        }
+        
+        return new StrategyReport(
+            currentSplit,
+            readRatio * 100,
+            arms,
+            fastest != null ? fastest.getPattern() : null,
+            leastDbLoad != null ? leastDbLoad.getPattern() : null
+        );
+    }
+    
+    private Map<String, Integer> parseSplit(String split) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String part : split.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("잘못된 비율 설정입니다: " + part);
+            }
+            result.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return result;
+    }
+    
+    /**
+     * 패턴(arm)별 통계
+     */
+    private static class ArmStatistics {
+        private final ProductCachePattern pattern;
+        private final LatencyHistogram reads = new LatencyHistogram();
+        private final LatencyHistogram writes = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+        private final DbAccessScope dbAccess = new DbAccessScope();
+        
+        private ArmStatistics(ProductCachePattern pattern) {
+            this.pattern = pattern;
+        }
+        
+        private Product recordRead(Supplier<Product> operation) {
+            return record(reads, operation);
+        }
+        
+        private Product recordWrite(Supplier<Product> operation) {
+            return record(writes, operation);
+        }
+        
+        private Product record(LatencyHistogram histogram, Supplier<Product> operation) {
+            long start = System.nanoTime();
+            try {
+                return dbAccess.call(operation);
+            } catch (RuntimeException e) {
+                errors.incrementAndGet();
+                throw e;
+            } finally {
+                histogram.record(System.nanoTime() - start);
+            }
+        }
+        
+        private void reset() {
+            reads.reset();
+            writes.reset();
+            errors.set(0);
+            dbAccess.reset();
+        }
+        
+        private ArmReport toReport(double readRatio, int splitPercent) {
+            long readCount = reads.getCount();
+            long writeCount = writes.getCount();
+            long requests = readCount + writeCount;
+            long dbReads = dbAccess.getReads();
+            long dbWrites = dbAccess.getWrites();
+            
+            double meanReadMs = reads.getMeanNanos() / 1_000_000.0;
+            double meanWriteMs = writes.getMeanNanos() / 1_000_000.0;
+            double weightedMeanMs = readRatio * meanReadMs + (1 - readRatio) * meanWriteMs;
+            
+            return new ArmReport(
+                pattern.getPatternName(),
+                splitPercent,
+                requests,
+                readCount,
+                writeCount,
+                errors.get(),
+                toLatency(reads),
+                toLatency(writes),
+                weightedMeanMs,
+                dbReads,
+                dbWrites,
+                readCount == 0 ? 0.0 : Math.max(0.0, 1 - (double) dbReads / readCount) * 100,
+                requests == 0 ? 0.0 : (double) (dbReads + dbWrites) / requests
+            );
+        }
+        
+        private static LatencySummary toLatency(LatencyHistogram histogram) {
+            return new LatencySummary(
+                histogram.getMeanNanos() / 1_000_000.0,
+                histogram.getValueAtPercentile(50) / 1_000_000.0,
+                histogram.getValueAtPercentile(95) / 1_000_000.0,
+                histogram.getValueAtPercentile(99) / 1_000_000.0,
+                histogram.getMaxNanos() / 1_000_000.0
+            );
+        }
+    }
+    
+    /**
+     * 전략 리포트 DTO
+     */
+    public static class StrategyReport {
+        private final Map<String, Integer> split;
+        private final double readPercent;
+        private final List<ArmReport> arms;
+        private final String fastestPattern;
+        private final String leastDbLoadPattern;
+        
+        public StrategyReport(Map<String, Integer> split, double readPercent, List<ArmReport> arms,
+                              String fastestPattern, String leastDbLoadPattern) {
+            this.split = split;
+            this.readPercent = readPercent;
+            this.arms = arms;
+            this.fastestPattern = fastestPattern;
+            this.leastDbLoadPattern = leastDbLoadPattern;
+        }
+        
+        public Map<String, Integer> getSplit() { return split; }
+        public double getReadPercent() { return readPercent; }
+        public List<ArmReport> getArms() { return arms; }
+        public String getFastestPattern() { return fastestPattern; }
+        public String getLeastDbLoadPattern() { return leastDbLoadPattern; }
+    }
+    
+    /**
+     * 패턴별 리포트 DTO
+     */
+    public static class ArmReport {
+        private final String pattern;
+        private final int splitPercent;
+        private final long requests;
+        private final long reads;
+        private final long writes;
+        private final long errors;
+        private final LatencySummary readLatency;
+        private final LatencySummary writeLatency;
+        private final double weightedMeanLatencyMs;
+        private final long dbReads;
+        private final long dbWrites;
+        private final double readHitRate;
+        private final double dbOpsPerRequest;
+        
+        public ArmReport(String pattern, int splitPercent, long requests, long reads, long writes, long errors,
+                         LatencySummary readLatency, LatencySummary writeLatency, double weightedMeanLatencyMs,
+                         long dbReads, long dbWrites, double readHitRate, double dbOpsPerRequest) {
+            this.pattern = pattern;
+            this.splitPercent = splitPercent;
+            this.requests = requests;
+            this.reads = reads;
+            this.writes = writes;
+            this.errors = errors;
+            this.readLatency = readLatency;
+            this.writeLatency = writeLatency;
+            this.weightedMeanLatencyMs = weightedMeanLatencyMs;
+            this.dbReads = dbReads;
+            this.dbWrites = dbWrites;
+            this.readHitRate = readHitRate;
+            this.dbOpsPerRequest = dbOpsPerRequest;
+        }
+        
+        public String getPattern() { return pattern; }
+        public int getSplitPercent() { return splitPercent; }
+        public long getRequests() { return requests; }
+        public long getReads() { return reads; }
+        public long getWrites() { return writes; }
+        public long getErrors() { return errors; }
+        public LatencySummary getReadLatency() { return readLatency; }
+        public LatencySummary getWriteLatency() { return writeLatency; }
+        public double getWeightedMeanLatencyMs() { return weightedMeanLatencyMs; }
+        public long getDbReads() { return dbReads; }
+        public long getDbWrites() { return dbWrites; }
+        public double getReadHitRate() { return readHitRate; }
+        public double getDbOpsPerRequest() { return dbOpsPerRequest; }
+    }
+    
+    /**
+     * 지연 시간 요약 DTO (밀리초)
+     */
+    public static class LatencySummary {
+        private final double meanMs;
+        private final double p50Ms;
+        private final double p95Ms;
+        private final double p99Ms;
+        private final double maxMs;
+        
+        public LatencySummary(double meanMs, double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+            this.meanMs = meanMs;
+            this.p50Ms = p50Ms;
+            this.p95Ms = p95Ms;
+            this.p99Ms = p99Ms;
+            this.maxMs = maxMs;
+        }
+        
+        public double getMeanMs() { return meanMs; }
+        public double getP50Ms() { return p50Ms; }
+        public double getP95Ms() { return p95Ms; }
+        public double getP99Ms() { return p99Ms; }
+        public double getMaxMs() { return maxMs; }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.performance.benchmark;
+
+import com.example.performance.logging.AsyncLogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 줄 기록 비용: println vs AsyncLogSink (호출 스레드 기준)
+ *
+ * - println: System.out과 같은 구성(autoflush PrintStream)을 임시 파일에 연결, 줄마다 락 + 인코딩 + write
+ * - async-block: 링 버퍼가 차면 대기 (writer 처리량이 상한)
+ * - async-drop: 링 버퍼가 차면 버림 (호출 스레드 비용만, 드롭 수는 종료 시 출력)
+ * 스레드 수별 결과는 하위 클래스(Threads1/Threads4)로 구분
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public abstract class LogSinkBenchmark {
+    
+    @Param({"println", "async-block", "async-drop"})
+    public String sink;
+    
+    private final Date now = new Date();
+    private Path logFile;
+    private PrintStream printStream;
+    private AsyncLogSink asyncLogSink;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("log-sink-benchmark", ".log");
+        switch (sink) {
+            case "println":
+                printStream = new PrintStream(new BufferedOutputStream(new FileOutputStream(logFile.toFile()), 8192),
+                    true, StandardCharsets.UTF_8);
+                break;
+            case "async-block":
+                asyncLogSink = AsyncLogSink.toFile(logFile, 1 << 16, 1 << 18, AsyncLogSink.OverflowPolicy.BLOCK);
+                break;
+            case "async-drop":
+                asyncLogSink = AsyncLogSink.toFile(logFile, 1 << 16, 1 << 18, AsyncLogSink.OverflowPolicy.DROP);
+                break;
+            default:
+                throw new IllegalArgumentException("지원하지 않는 sink: " + sink);
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (printStream != null) {
+            printStream.close();
+        } else {
+            asyncLogSink.close();
+            AsyncLogSink.LogSinkStats stats = asyncLogSink.getStats();
+            System.out.println(sink + ": published=" + stats.getPublished() + ", dropped=" + stats.getDropped()
+                + ", batches=" + stats.getBatches());
+        }
+        Files.deleteIfExists(logFile);
+    }
+    
+    @Benchmark
+    public void logLine() {
+        if (printStream != null) {
+            printStream.println(now + ": item");
+        } else {
+            asyncLogSink.log(now, "item");
+        }
+    }
+    
+    @Threads(1)
+    public static class Threads1 extends LogSinkBenchmark {
+    }
+    
+    @Threads(4)
+    public static class Threads4 extends LogSinkBenchmark {
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.performance.benchmark;
+
+import com.example.performance.PerformanceOptimizationApplication;
+import com.example.performance.dto.OrderDTO;
+import com.example.performance.entity.Order;
+import com.example.performance.repository.OrderRepository;
+import com.example.performance.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실습 2 OrderService의 주문 조회 + DTO 변환 비용 측정 (주문 수별)
+ *
+ * 웹 서버 없이 스프링 컨텍스트를 띄우고 인메모리 H2에 주문 size건(주문당 항목 5개)을 채워서 측정
+ * - repositoryFindAll: 엔티티 조회만 (@EntityGraph findAll), 서비스 결과와의 차이가 DTO 변환 비용
+ * - getOrdersWithItems / getOrdersWithItemsOptimized: 서비스 메서드 전체 (트랜잭션 + 조회 + 변환)
+ * data.sql 대신 직접 데이터를 채우고, SQL 로그는 측정을 왜곡하므로 끔
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class OrderServiceBenchmark {
+    
+    private static final int CUSTOMER_COUNT = 10;
+    private static final int PRODUCT_COUNT = 50;
+    private static final int ITEMS_PER_ORDER = 5;
+    
+    @Param({"10", "100", "1000"})
+    public int size;
+    
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        // application.yml보다 우선하도록 명령행 인자로 전달 (data.sql 비활성화, SQL 로그 끔)
+        String[] args = {
+            "--spring.datasource.url=jdbc:h2:mem:order-benchmark",
+            "--spring.sql.init.mode=never",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            "--spring.jpa.properties.hibernate.use_sql_comments=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.example.performance=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+            "--performance.allocation.with-timing=false"
+        };
+        SpringApplication application = new SpringApplication(PerformanceOptimizationApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(args);
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    /**
+     * 고객/상품/주문/주문 항목을 배치 INSERT로 생성
+     */
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> customers = new ArrayList<>();
+        for (long id = 1; id <= CUSTOMER_COUNT; id++) {
+            customers.add(new Object[]{id, "고객" + id, "customer" + id + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customers (id, name, email) VALUES (?, ?, ?)", customers);
+        
+        List<Object[]> products = new ArrayList<>();
+        for (long id = 1; id <= PRODUCT_COUNT; id++) {
+            products.add(new Object[]{id, "상품" + id, 1_000.0 * id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, price) VALUES (?, ?, ?)", products);
+        
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        long itemId = 1;
+        for (long id = 1; id <= size; id++) {
+            orders.add(new Object[]{id, String.format("ORD-%06d", id), id % CUSTOMER_COUNT + 1});
+            for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                items.add(new Object[]{itemId, id, (id + i) % PRODUCT_COUNT + 1, i + 1});
+                itemId++;
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, order_number, customer_id) VALUES (?, ?, ?)", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO order_items (id, order_id, product_id, quantity) VALUES (?, ?, ?, ?)", items);
+    }
+    
+    @Benchmark
+    public List<Order> repositoryFindAll() {
+        return orderRepository.findAll();
+    }
+    
+    @Benchmark
+    public List<OrderDTO> getOrdersWithItems() {
+        return orderService.getOrdersWithItems();
+    }
+    
+    @Benchmark
+    public List<OrderDTO> getOrdersWithItemsOptimized() {
+        return orderService.getOrdersWithItemsOptimized();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.performance.benchmark;
+
+import com.example.performance.bottleneck.PerformanceBottleneck;
+import com.example.performance.logging.AsyncLogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실습 1 병목 코드와 개선 코드의 비용 측정 (입력 크기별)
+ *
+ * PerformanceController의 비교는 워밍업 없는 1회 측정이라 JIT 컴파일 시점에 따라 결과가 바뀜
+ * 여기서는 포크된 JVM에서 워밍업 후 측정하고, -prof gc로 B/op(gc.alloc.rate.norm)를 함께 확인
+ * - concatenate*: 문자열 연결 (O(n^2) 복사 vs StringBuilder)
+ * - findDuplicates*: 중첩 루프 O(n*m) vs HashSet O(n+m), 두 리스트는 값의 절반 정도가 겹치도록 생성
+ * - processData*: 루프 안/밖 Date 생성, 출력은 임시 파일로 쓰는 AsyncLogSink(BLOCK)로 기록
+ *   (writer 스레드가 따라가지 못하면 대기하므로 지속 처리량 기준의 비용)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PerformanceBottleneckBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    public int size;
+    
+    private AsyncLogSink logSink;
+    private PerformanceBottleneck bottleneck;
+    
+    private List<String> strings;
+    private List<Integer> list1;
+    private List<Integer> list2;
+    private Path logFile;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        strings = new ArrayList<>(size);
+        list1 = new ArrayList<>(size);
+        list2 = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            strings.add("String" + i);
+            list1.add(random.nextInt(size * 2));
+            list2.add(random.nextInt(size * 2));
+        }
+        logFile = Files.createTempFile("bottleneck-benchmark", ".log");
+        logSink = AsyncLogSink.toFile(logFile, 1 << 16, 1 << 18, AsyncLogSink.OverflowPolicy.BLOCK);
+        bottleneck = new PerformanceBottleneck(logSink);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        logSink.close();
+        Files.deleteIfExists(logFile);
+    }
+    
+    @Benchmark
+    public String concatenateStrings() {
+        return bottleneck.concatenateStrings(strings);
+    }
+    
+    @Benchmark
+    public String concatenateStringsOptimized() {
+        return bottleneck.concatenateStringsOptimized(strings);
+    }
+    
+    @Benchmark
+    public List<Integer> findDuplicates() {
+        return bottleneck.findDuplicates(list1, list2);
+    }
+    
+    @Benchmark
+    public List<Integer> findDuplicatesOptimized() {
+        return bottleneck.findDuplicatesOptimized(list1, list2);
+    }
+    
+    @Benchmark
+    public void processData() {
+        bottleneck.processData(strings);
+    }
+    
+    @Benchmark
+    public void processDataOptimized() {
+        bottleneck.processDataOptimized(strings);
+    }
+}
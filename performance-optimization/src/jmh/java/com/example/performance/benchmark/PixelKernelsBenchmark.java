@@ -0,0 +1,97 @@
+package com.example.performance.benchmark;
+
+import com.example.performance.image.PixelKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 픽셀 커널: 스칼라 vs Vector API 비교 (1920x1080 TYPE_INT_RGB 한 장 기준)
+ *
+ * - grayscale / brightness: 화소 배열 전체를 한 번 순회
+ * - boxResize: 썸네일 파이프라인처럼 긴 변 256으로 축소
+ * - graphics2dBilinear: 기존 Graphics2D 보간 축소 (kernels 값과 무관, 비교 기준)
+ * 포크된 JVM에 --add-modules jdk.incubator.vector를 넘기므로 kernels=vector가 항상 실행 가능
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class PixelKernelsBenchmark {
+    
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final int THUMBNAIL_WIDTH = 256;
+    private static final int THUMBNAIL_HEIGHT = 144;
+    
+    @Param({"scalar", "vector"})
+    public String kernels;
+    
+    private PixelKernels pixelKernels;
+    private BufferedImage source;
+    private int[] pixels;
+    private int[] out;
+    private int[] thumbnail;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        pixelKernels = PixelKernels.select(kernels);
+        source = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        pixels = ((DataBufferInt) source.getRaster().getDataBuffer()).getData();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = random.nextInt(0x1000000);
+        }
+        out = new int[pixels.length];
+        thumbnail = new int[THUMBNAIL_WIDTH * THUMBNAIL_HEIGHT];
+    }
+    
+    @Benchmark
+    public int[] grayscale() {
+        pixelKernels.grayscale(pixels, out, pixels.length);
+        return out;
+    }
+    
+    @Benchmark
+    public int[] brightness() {
+        pixelKernels.brightness(pixels, out, pixels.length, 40);
+        return out;
+    }
+    
+    @Benchmark
+    public int[] boxResize() {
+        pixelKernels.boxResize(pixels, WIDTH, HEIGHT, thumbnail, THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT);
+        return thumbnail;
+    }
+    
+    @Benchmark
+    public BufferedImage graphics2dBilinear() {
+        BufferedImage target = new BufferedImage(THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.performance.benchmark;
+
+import com.example.performance.bottleneck.PerformanceBottleneck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 중복 값 찾기: 박싱 컬렉션 vs 기본형 컬렉션 비교 (입력 크기별)
+ *
+ * - boxedHashSet: List<Integer> + HashSet<Integer> (findDuplicatesOptimized)
+ * - intHashSet: int[] + IntHashSet / IntArrayList
+ * - sortMerge: int[] 정렬 사본 병합
+ * 입력 리스트/배열은 미리 만들어 두므로 gc.alloc.rate.norm(B/op)은 집합과 결과 리스트의 할당량
+ * (박싱 버전은 원소마다 HashMap.Node, 결과 리스트 확장분, 캐시 범위 밖 Integer 포함)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PrimitiveCollectionsBenchmark {
+    
+    @Param({"10000", "1000000"})
+    public int size;
+    
+    private final PerformanceBottleneck bottleneck = new PerformanceBottleneck();
+    
+    private List<Integer> list1;
+    private List<Integer> list2;
+    private int[] array1;
+    private int[] array2;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        array1 = new int[size];
+        array2 = new int[size];
+        list1 = new ArrayList<>(size);
+        list2 = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            array1[i] = random.nextInt(size * 2);
+            array2[i] = random.nextInt(size * 2);
+            list1.add(array1[i]);
+            list2.add(array2[i]);
+        }
+    }
+    
+    @Benchmark
+    public List<Integer> boxedHashSet() {
+        return bottleneck.findDuplicatesOptimized(list1, list2);
+    }
+    
+    @Benchmark
+    public int[] intHashSet() {
+        return bottleneck.findDuplicatesOptimized(array1, array2);
+    }
+    
+    @Benchmark
+    public int[] sortMerge() {
+        return bottleneck.findDuplicatesSortMerge(array1, array2);
+    }
+}
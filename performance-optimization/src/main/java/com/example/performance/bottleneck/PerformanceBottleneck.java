@@ -1,6 +1,11 @@
 package com.example.performance.bottleneck;
 
+import com.example.performance.collection.IntArrayList;
+import com.example.performance.collection.IntHashSet;
+import com.example.performance.logging.AsyncLogSink;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -14,6 +19,19 @@ import java.util.Set;
  */
 public class PerformanceBottleneck {
     
+    private final AsyncLogSink logSink;
+    
+    /**
+     * processData 출력은 표준 출력 비동기 싱크로 기록
+     */
+    public PerformanceBottleneck() {
+        this(AsyncLogSink.stdout());
+    }
+    
+    public PerformanceBottleneck(AsyncLogSink logSink) {
+        this.logSink = logSink;
+    }
+    
     /**
      * 문제 1: 비효율적인 문자열 연결
      * 매번 새로운 String 객체를 생성하여 성능 저하 발생
@@ -69,26 +87,74 @@ public class PerformanceBottleneck {
         return duplicates;
     }
     
+    /**
+     * 개선된 버전 2: 기본형 배열 + IntHashSet
+     * 박싱 없이 int[]에 직접 저장하여 원소당 할당(Integer, HashMap.Node)과 GC 부담이 없음
+     * 결과는 findDuplicatesOptimized와 같음 (list1 순서, list1의 중복 유지)
+     */
+    public int[] findDuplicatesOptimized(int[] list1, int[] list2) {
+        IntHashSet set2 = new IntHashSet(list2.length);
+        for (int num : list2) {
+            set2.add(num);
+        }
+        IntArrayList duplicates = new IntArrayList();
+        for (int num : list1) {
+            if (set2.contains(num)) {
+                duplicates.add(num);
+            }
+        }
+        return duplicates.toArray();
+    }
+    
+    /**
+     * 개선된 버전 3: 정렬 후 병합
+     * 해시 테이블 없이 두 배열의 정렬 사본만 사용 (O(n log n + m log m), 순차 접근이라 캐시 친화적)
+     * 결과는 오름차순 (list1의 중복은 유지), 입력 배열은 변경하지 않음
+     */
+    public int[] findDuplicatesSortMerge(int[] list1, int[] list2) {
+        int[] sorted1 = Arrays.copyOf(list1, list1.length);
+        int[] sorted2 = Arrays.copyOf(list2, list2.length);
+        Arrays.sort(sorted1);
+        Arrays.sort(sorted2);
+        
+        IntArrayList duplicates = new IntArrayList();
+        int i = 0;
+        int j = 0;
+        while (i < sorted1.length && j < sorted2.length) {
+            if (sorted1[i] < sorted2[j]) {
+                i++;
+            } else if (sorted1[i] > sorted2[j]) {
+                j++;
+            } else {
+                // list2 쪽은 그대로 두어 list1의 같은 값이 모두 매칭되도록 함
+                duplicates.add(sorted1[i++]);
+            }
+        }
+        return duplicates.toArray();
+    }
+    
     /**
      * 문제 3: 불필요한 객체 생성
      * 루프 내에서 매번 새로운 Date 객체 생성
+     * (출력은 System.out.println 대신 AsyncLogSink로 기록하여 콘솔 락에서 스레드가 직렬화되지 않음)
      */
     public void processData(List<String> data) {
         for (int i = 0; i < data.size(); i++) {
             String item = data.get(i);
             // 매번 새로운 Date 객체 생성
             Date now = new Date();
-            System.out.println(now + ": " + item);
+            logSink.log(now, item);
         }
     }
     
     /**
      * 개선된 버전: 루프 밖으로 객체 생성 이동
+     * Date 문자열 변환과 줄 조립은 싱크의 writer 스레드에서 처리
      */
     public void processDataOptimized(List<String> data) {
         Date now = new Date();  // 루프 밖에서 한 번만 생성
         for (String item : data) {
-            System.out.println(now + ": " + item);
+            logSink.log(now, item);
         }
     }
 }
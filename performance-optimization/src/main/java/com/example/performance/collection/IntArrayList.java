@@ -0,0 +1,61 @@
+package com.example.performance.collection;
+
+import java.util.Arrays;
+
+/**
+ * int 전용 가변 길이 리스트
+ *
+ * ArrayList<Integer>와 달리 int[]에 값을 직접 저장하여 박싱과 원소별 객체 할당이 없음
+ * 용량이 부족하면 1.5배로 확장, 스레드 안전하지 않음
+ */
+public class IntArrayList {
+    
+    private static final int DEFAULT_CAPACITY = 10;
+    
+    private int[] elements;
+    private int size;
+    
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity는 0 이상이어야 합니다: " + initialCapacity);
+        }
+        this.elements = new int[initialCapacity];
+    }
+    
+    public void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(DEFAULT_CAPACITY, size + (size >> 1)));
+        }
+        elements[size++] = value;
+    }
+    
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return elements[index];
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public void clear() {
+        size = 0;
+    }
+    
+    /**
+     * 현재 원소만 담은 새 배열
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
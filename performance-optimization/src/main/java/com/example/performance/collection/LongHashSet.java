@@ -0,0 +1,151 @@
+package com.example.performance.collection;
+
+import java.util.Arrays;
+
+/**
+ * long 전용 오픈 어드레싱 해시 집합
+ *
+ * HashSet<Long>은 원소마다 Long 객체(16B)와 HashMap.Node(32B), 참조가 필요하지만
+ * 이 집합은 long[] 하나에 값을 직접 저장하여 원소당 약 8 / loadFactor 바이트만 사용하고 GC 대상 객체를 만들지 않음
+ * - 선형 탐사(linear probing), 용량은 2의 거듭제곱, 적재율 0.5를 넘으면 두 배로 확장
+ * - 최대 용량(2^30)에서는 더 확장하지 않고 빈 슬롯이 하나 남을 때까지 채우며, 그 이상은 IllegalStateException
+ * - 0은 빈 슬롯 표시로 쓰므로 별도 플래그로 관리
+ * - 스레드 안전하지 않음
+ */
+public class LongHashSet {
+    
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final int MAX_CAPACITY = 1 << 30;
+    
+    private long[] slots;
+    private int mask;
+    private int shift;
+    private int size;
+    private boolean containsZero;
+    private int resizeThreshold;
+    
+    public LongHashSet() {
+        this(16);
+    }
+    
+    /**
+     * 예상 원소 수만큼 넣어도 확장되지 않는 크기로 생성
+     */
+    public LongHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+    
+    /**
+     * 값 추가 (이미 있으면 false)
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int index = indexOf(value);
+        while (slots[index] != EMPTY) {
+            if (slots[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size + 1 > resizeThreshold && slots.length == MAX_CAPACITY) {
+            throw new IllegalStateException("최대 용량을 초과했습니다: " + size);
+        }
+        slots[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(slots.length << 1);
+        }
+        return true;
+    }
+    
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int index = indexOf(value);
+        long slot;
+        while ((slot = slots[index]) != EMPTY) {
+            if (slot == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public void clear() {
+        Arrays.fill(slots, EMPTY);
+        containsZero = false;
+        size = 0;
+    }
+    
+    /**
+     * 원소 배열 (순서 없음)
+     */
+    public long[] toArray() {
+        long[] values = new long[size];
+        int count = 0;
+        if (containsZero) {
+            values[count++] = EMPTY;
+        }
+        for (long slot : slots) {
+            if (slot != EMPTY) {
+                values[count++] = slot;
+            }
+        }
+        return values;
+    }
+    
+    private int indexOf(long value) {
+        // 피보나치 해싱: 연속된 id도 테이블 전체에 고르게 퍼지도록 상위 비트를 사용
+        return (int) ((value * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+    
+    private void rehash(int capacity) {
+        long[] old = slots;
+        allocate(capacity);
+        for (long value : old) {
+            if (value != EMPTY) {
+                int index = indexOf(value);
+                while (slots[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                slots[index] = value;
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        slots = new long[capacity];
+        mask = capacity - 1;
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+        // 최대 용량에서는 탐사가 끝나도록 빈 슬롯 하나만 남기고 채움
+        resizeThreshold = capacity == MAX_CAPACITY ? capacity - 1 : (int) (capacity * LOAD_FACTOR);
+    }
+    
+    private static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize는 0 이상이어야 합니다: " + expectedSize);
+        }
+        long required = (long) Math.ceil(Math.max(expectedSize, 2) / (double) LOAD_FACTOR) + 1;
+        if (required > MAX_CAPACITY) {
+            throw new IllegalArgumentException("expectedSize가 너무 큽니다: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+}
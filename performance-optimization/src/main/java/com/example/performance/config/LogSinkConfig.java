@@ -0,0 +1,35 @@
+package com.example.performance.config;
+
+import com.example.performance.logging.AsyncLogSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * 항목별 처리 결과를 기록하는 비동기 로그 싱크 설정
+ * 종료 시 close()로 남은 줄을 모두 파일에 씀
+ */
+@Configuration
+public class LogSinkConfig {
+    
+    @Value("${performance.log-sink.path:logs/processing.log}")
+    private String path;
+    
+    @Value("${performance.log-sink.capacity:65536}")
+    private int capacity;
+    
+    @Value("${performance.log-sink.buffer-bytes:262144}")
+    private int bufferBytes;
+    
+    @Value("${performance.log-sink.policy:block}")
+    private String policy;
+    
+    @Bean(destroyMethod = "close")
+    public AsyncLogSink processingLogSink() {
+        return AsyncLogSink.toFile(Path.of(path), capacity, bufferBytes,
+            AsyncLogSink.OverflowPolicy.valueOf(policy.toUpperCase(Locale.ROOT)));
+    }
+}
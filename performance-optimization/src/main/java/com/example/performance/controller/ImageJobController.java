@@ -0,0 +1,105 @@
+package com.example.performance.controller;
+
+import com.example.performance.image.ImageSourceRoots;
+import com.example.performance.image.SampleImageGenerator;
+import com.example.performance.service.ImageJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 실습 4: 이미지 일괄 처리 작업 API
+ *
+ * 등록하면 202와 작업 id(Location 헤더)를 바로 반환하고, 진행 상태는 조회 또는 SSE로 확인
+ */
+@RestController
+@RequestMapping("/api/performance/parallel/jobs")
+@RequiredArgsConstructor
+public class ImageJobController {
+    
+    private final ImageJobService imageJobService;
+    private final ImageSourceRoots imageSourceRoots;
+    
+    /**
+     * 작업 등록: path가 있으면 해당 디렉터리(허용된 입력 디렉터리 안), 없으면 샘플 이미지 fileCount개
+     * fileCount는 1 ~ SampleImageGenerator.MAX_SAMPLE_COUNT (범위 밖이면 400), 없는 샘플은 작업 스레드에서 생성
+     */
+    @PostMapping
+    public ResponseEntity<?> submit(@RequestParam(required = false) String path,
+                                    @RequestParam(defaultValue = "100") int fileCount) {
+        ImageJobService.JobStatus status;
+        if (path != null) {
+            Path root;
+            try {
+                root = imageSourceRoots.resolve(path);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+            if (!Files.isDirectory(root)) {
+                return ResponseEntity.badRequest().body("디렉터리가 아닙니다: " + root);
+            }
+            status = imageJobService.submitDirectory(root);
+        } else {
+            if (fileCount < 1 || fileCount > SampleImageGenerator.MAX_SAMPLE_COUNT) {
+                return ResponseEntity.badRequest()
+                    .body("fileCount는 1 이상 " + SampleImageGenerator.MAX_SAMPLE_COUNT + " 이하여야 합니다: " + fileCount);
+            }
+            status = imageJobService.submitSamples(fileCount);
+        }
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/performance/parallel/jobs/" + status.getId()))
+            .body(status);
+    }
+    
+    @GetMapping
+    public List<ImageJobService.JobStatus> list() {
+        return imageJobService.listJobs();
+    }
+    
+    /**
+     * 작업 상태 (끝난 작업이면 files=true일 때 파일별 처리 시간 포함)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ImageJobService.JobStatus> get(@PathVariable String id,
+                                                         @RequestParam(defaultValue = "true") boolean files) {
+        ImageJobService.JobStatus status = imageJobService.getStatus(id, files);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+    
+    /**
+     * 진행 상태 SSE 스트림 (progress 이벤트 반복, 끝나면 done 이벤트 후 종료)
+     */
+    @GetMapping("/{id}/events")
+    public ResponseEntity<SseEmitter> events(@PathVariable String id) {
+        SseEmitter emitter = imageJobService.streamProgress(id);
+        return emitter != null ? ResponseEntity.ok(emitter) : ResponseEntity.notFound().build();
+    }
+    
+    /**
+     * 작업 취소 (이미 끝난 작업이면 409)
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ImageJobService.JobStatus> cancel(@PathVariable String id) {
+        ImageJobService.JobStatus current = imageJobService.getStatus(id, false);
+        if (current == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (current.isDone()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(current);
+        }
+        return ResponseEntity.accepted().body(imageJobService.cancel(id));
+    }
+}
@@ -1,18 +1,32 @@
 package com.example.performance.controller;
 
 import com.example.performance.bottleneck.PerformanceBottleneck;
+import com.example.performance.image.ImageBatch;
+import com.example.performance.image.ImagePipeline;
+import com.example.performance.image.ImageSourceRoots;
+import com.example.performance.image.SampleImageGenerator;
+import com.example.performance.logging.AsyncLogSink;
+import com.example.performance.monitor.AllocationRecorderRegistry;
+import com.example.performance.monitor.LatencyRecorderRegistry;
 import com.example.performance.monitor.PerformanceMonitor;
 import com.example.performance.service.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
 
 /**
  * 성능 최적화 실습을 위한 REST API 컨트롤러
@@ -22,10 +36,23 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PerformanceController {
     
+    // 중복 찾기 실습의 최대 원소 수 (박싱 목록 두 개 + HashSet<Integer>가 힙에 함께 올라가므로 제한)
+    private static final int MAX_DUPLICATES_COUNT = 2_000_000;
+    
+    // 항목 처리 실습의 최대 항목 수 (항목마다 로그 한 줄을 두 번 기록)
+    private static final int MAX_PROCESS_DATA_COUNT = 1_000_000;
+    
     private final PerformanceMonitor performanceMonitor;
+    private final LatencyRecorderRegistry latencyRecorderRegistry;
+    private final AllocationRecorderRegistry allocationRecorderRegistry;
     private final OrderService orderService;
     private final AsyncDataCollectorService asyncDataCollectorService;
     private final ParallelImageProcessor parallelImageProcessor;
+    private final AsyncLogSink processingLogSink;
+    private final ImagePipeline imagePipeline;
+    private final SampleImageGenerator sampleImageGenerator;
+    private final ImageSourceRoots imageSourceRoots;
+    private final ImageJobService imageJobService;
     
     /**
      * 실습 1: 성능 병목 코드 테스트
@@ -37,7 +64,7 @@ public class PerformanceController {
             strings.add("String" + i);
         }
         
-        PerformanceBottleneck bottleneck = new PerformanceBottleneck();
+        PerformanceBottleneck bottleneck = new PerformanceBottleneck(processingLogSink);
         
         // 비효율적인 방법
         String result1 = performanceMonitor.measureExecutionTime(
@@ -54,6 +81,79 @@ public class PerformanceController {
         return "비효율: " + result1.length() + " chars, 최적화: " + result2.length() + " chars";
     }
     
+    /**
+     * 실습 1: 중복 값 찾기 (박싱 HashSet vs 기본형 IntHashSet vs 정렬 병합)
+     * 실행 시간과 할당량은 /api/performance/latency, /api/performance/allocations에서 비교
+     * count는 1 ~ MAX_DUPLICATES_COUNT (범위 밖이면 400)
+     */
+    @GetMapping("/bottleneck/duplicates")
+    public ResponseEntity<String> testFindDuplicates(@RequestParam(defaultValue = "1000000") int count) {
+        if (count < 1 || count > MAX_DUPLICATES_COUNT) {
+            return ResponseEntity.badRequest().body("count는 1 이상 " + MAX_DUPLICATES_COUNT + " 이하여야 합니다: " + count);
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        int[] array1 = new int[count];
+        int[] array2 = new int[count];
+        List<Integer> list1 = new ArrayList<>(count);
+        List<Integer> list2 = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            array1[i] = random.nextInt(count * 2);
+            array2[i] = random.nextInt(count * 2);
+            list1.add(array1[i]);
+            list2.add(array2[i]);
+        }
+        
+        PerformanceBottleneck bottleneck = new PerformanceBottleneck(processingLogSink);
+        
+        List<Integer> boxed = performanceMonitor.measureExecutionTime(
+            "중복 찾기 (HashSet<Integer>)",
+            () -> bottleneck.findDuplicatesOptimized(list1, list2)
+        );
+        
+        int[] primitive = performanceMonitor.measureExecutionTime(
+            "중복 찾기 (IntHashSet)",
+            () -> bottleneck.findDuplicatesOptimized(array1, array2)
+        );
+        
+        int[] sortMerge = performanceMonitor.measureExecutionTime(
+            "중복 찾기 (정렬 병합)",
+            () -> bottleneck.findDuplicatesSortMerge(array1, array2)
+        );
+        
+        return ResponseEntity.ok("HashSet<Integer>: " + boxed.size() + "개, IntHashSet: " + primitive.length
+            + "개, 정렬 병합: " + sortMerge.length + "개");
+    }
+    
+    /**
+     * 실습 1: 항목별 처리 결과 기록 (루프 안 Date 생성 vs 루프 밖 Date 생성)
+     * 출력은 비동기 로그 싱크(performance.log-sink.path)로 기록되며, 싱크 상태는 /api/performance/log-sink에서 확인
+     * count는 1 ~ MAX_PROCESS_DATA_COUNT (범위 밖이면 400)
+     */
+    @GetMapping("/bottleneck/process-data")
+    public ResponseEntity<String> testProcessData(@RequestParam(defaultValue = "100000") int count) {
+        if (count < 1 || count > MAX_PROCESS_DATA_COUNT) {
+            return ResponseEntity.badRequest().body("count는 1 이상 " + MAX_PROCESS_DATA_COUNT + " 이하여야 합니다: " + count);
+        }
+        List<String> data = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            data.add("item-" + i);
+        }
+        
+        PerformanceBottleneck bottleneck = new PerformanceBottleneck(processingLogSink);
+        
+        performanceMonitor.measureExecutionTime(
+            "항목 처리 (루프 안 Date 생성)",
+            () -> bottleneck.processData(data)
+        );
+        
+        performanceMonitor.measureExecutionTime(
+            "항목 처리 (루프 밖 Date 생성)",
+            () -> bottleneck.processDataOptimized(data)
+        );
+        
+        return ResponseEntity.ok("항목 처리 테스트 완료. /api/performance/latency, /api/performance/log-sink에서 결과를 확인하세요.");
+    }
+    
     /**
      * 실습 2: N+1 문제 테스트
      */
@@ -71,7 +171,7 @@ public class PerformanceController {
             () -> orderService.getOrdersWithItemsOptimized()
         );
         
-        return "N+1 문제 테스트 완료. 로그를 확인하세요.";
+        return "N+1 문제 테스트 완료. /api/performance/latency에서 결과를 확인하세요.";
     }
     
     /**
@@ -91,20 +191,23 @@ public class PerformanceController {
             () -> asyncDataCollectorService.collectDataAsync(userId)
         );
         
-        return "비동기 처리 테스트 완료. 로그를 확인하세요.";
+        return "비동기 처리 테스트 완료. /api/performance/latency에서 결과를 확인하세요.";
     }
     
     /**
      * 실습 4: 병렬 처리 테스트
+     * fileCount는 1 ~ SampleImageGenerator.MAX_SAMPLE_COUNT (범위 밖이면 400)
      */
     @GetMapping("/parallel")
-    public String testParallel(@RequestParam(defaultValue = "100") int fileCount) {
-        // 더미 파일 리스트 생성
-        List<File> files = new ArrayList<>();
-        for (int i = 0; i < fileCount; i++) {
-            files.add(new File("dummy-" + i + ".jpg"));
+    public ResponseEntity<String> testParallel(@RequestParam(defaultValue = "100") int fileCount) {
+        if (fileCount < 1 || fileCount > SampleImageGenerator.MAX_SAMPLE_COUNT) {
+            return ResponseEntity.badRequest()
+                .body("fileCount는 1 이상 " + SampleImageGenerator.MAX_SAMPLE_COUNT + " 이하여야 합니다: " + fileCount);
         }
         
+        // 샘플 이미지 준비 (없는 파일만 생성)
+        List<Path> files = sampleImageGenerator.ensureSamples(fileCount);
+        
         // 순차 처리
         performanceMonitor.measureExecutionTime(
             "순차 처리",
@@ -112,8 +215,8 @@ public class PerformanceController {
         );
         
         // 병렬 처리
-        performanceMonitor.measureExecutionTime(
-            "병렬 처리 (ExecutorService)",
+        ImageBatch batch = performanceMonitor.measureExecutionTime(
+            "병렬 처리 (파이프라인)",
             () -> parallelImageProcessor.processImagesParallel(files)
         );
         
@@ -123,6 +226,78 @@ public class PerformanceController {
             () -> parallelImageProcessor.processImagesWithStream(files)
         );
         
-        return "병렬 처리 테스트 완료. 로그를 확인하세요.";
+        return ResponseEntity.ok("병렬 처리 테스트 완료 (파이프라인: " + batch + "). /api/performance/latency에서 결과를 확인하세요.");
+    }
+    
+    /**
+     * 실습 4: 디렉터리 스트리밍 처리 (기본값은 샘플 디렉터리)
+     * 요청 스레드를 붙잡지 않도록 작업으로 등록하고 바로 반환 (진행 상태는 /parallel/jobs/{id})
+     * 작업을 만드는 요청이므로 POST, path는 허용된 입력 디렉터리 안만 가능
+     */
+    @PostMapping("/parallel/directory")
+    public ResponseEntity<?> testParallelDirectory(@RequestParam(required = false) String path) {
+        Path root;
+        try {
+            root = path != null ? imageSourceRoots.resolve(path) : sampleImageGenerator.getSampleDir();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (!Files.isDirectory(root)) {
+            return ResponseEntity.badRequest().body("디렉터리가 아닙니다: " + root);
+        }
+        ImageJobService.JobStatus status = imageJobService.submitDirectory(root);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/performance/parallel/jobs/" + status.getId()))
+            .body(status);
+    }
+    
+    /**
+     * 실습 4: 파이프라인 단계별 처리량 / 큐 깊이
+     */
+    @GetMapping("/parallel/pipeline")
+    public ImagePipeline.PipelineStats getPipelineStats() {
+        return imagePipeline.getStats();
+    }
+    
+    /**
+     * 실습 5: 작업별 실행 시간 백분위수 (최근 구간 / 누적, 마이크로초)
+     */
+    @GetMapping("/latency")
+    public Map<String, LatencyRecorderRegistry.LatencyReport> getLatency() {
+        return latencyRecorderRegistry.getReports();
+    }
+    
+    /**
+     * 실행 시간 기록 초기화
+     */
+    @DeleteMapping("/latency")
+    public String resetLatency() {
+        latencyRecorderRegistry.reset();
+        return "실행 시간 기록을 초기화했습니다.";
+    }
+    
+    /**
+     * 실습 5: 작업별 힙 할당량 (호출 스레드 / 작업 스레드, 바이트)
+     */
+    @GetMapping("/allocations")
+    public Map<String, AllocationRecorderRegistry.AllocationReport> getAllocations() {
+        return allocationRecorderRegistry.getReports();
+    }
+    
+    /**
+     * 할당량 기록 초기화
+     */
+    @DeleteMapping("/allocations")
+    public String resetAllocations() {
+        allocationRecorderRegistry.reset();
+        return "할당량 기록을 초기화했습니다.";
+    }
+    
+    /**
+     * 비동기 로그 싱크 상태 (기록/드롭/대기 중인 줄 수, 배치 수)
+     */
+    @GetMapping("/log-sink")
+    public AsyncLogSink.LogSinkStats getLogSinkStats() {
+        return processingLogSink.getStats();
     }
 }
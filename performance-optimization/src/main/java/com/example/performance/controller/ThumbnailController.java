@@ -0,0 +1,188 @@
+package com.example.performance.controller;
+
+import com.example.performance.image.ImagePipeline;
+import com.example.performance.image.ImageSourceRoots;
+import com.example.performance.image.ThumbnailCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 실습 4: 썸네일 캐시 조회 / 전송
+ *
+ * 캐시 파일은 내용 주소(키)로 저장되어 바뀌지 않으므로 ETag = 키, 장기 캐시 헤더를 붙임
+ * 본문은 요청 처리 중에 연 FileChannel에서 transferTo로 응답 스트림에 씀
+ * (Tomcat의 지연 sendfile은 요청 처리 후 경로로 파일을 다시 열어 그 사이 LRU 삭제되면 응답이 깨지므로 사용하지 않음,
+ *  먼저 열어 둔 채널은 파일이 삭제되어도 끝까지 읽을 수 있음)
+ * 원본 경로 조회는 허용된 입력 디렉터리(ImageSourceRoots) 안만 가능하고, 캐시 파일이 사라졌으면 원본을 다시 디코딩
+ * Range 요청(한 구간)은 206 응답으로 해당 구간만 전송
+ */
+@RestController
+@RequestMapping("/api/performance/parallel")
+@RequiredArgsConstructor
+public class ThumbnailController {
+    
+    private final ThumbnailCache thumbnailCache;
+    private final ImagePipeline imagePipeline;
+    private final ImageSourceRoots imageSourceRoots;
+    
+    /**
+     * 캐시 키로 썸네일 전송
+     */
+    @GetMapping("/thumbnails/{key}")
+    public void getThumbnail(@PathVariable String key, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (sendCached(key, request, response) != CacheResult.SENT) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "캐시에 없는 썸네일: " + key);
+        }
+    }
+    
+    /**
+     * 원본 경로로 썸네일 전송 (현재 변환 설정 기준, 아직 처리되지 않았으면 404)
+     * 허용된 입력 디렉터리 밖이면 400, 기억한 해시가 없는 큰 원본은 요청 스레드에서 해시하지 않고 404
+     */
+    @GetMapping("/thumbnail")
+    public void getThumbnailBySource(@RequestParam String path, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path source;
+        try {
+            source = imageSourceRoots.resolve(path);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        if (!Files.isRegularFile(source)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "파일이 없습니다: " + source);
+            return;
+        }
+        String key = thumbnailCache.findKeyFor(source, imagePipeline.getTransformSpec());
+        if (key == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "아직 처리되지 않은 원본입니다: " + source);
+            return;
+        }
+        CacheResult result = sendCached(key, request, response);
+        if (result == CacheResult.FILE_MISSING) {
+            // 색인에 있던 캐시 파일이 삭제된 경우: 원본을 다시 디코딩해 캐시에 저장하고 전송
+            byte[] rebuilt = imagePipeline.rebuild(source, key);
+            send(key, rebuilt.length, "thumbnail." + imagePipeline.getFormat(), request, response,
+                (start, end) -> response.getOutputStream().write(rebuilt, (int) start, (int) (end - start + 1)));
+        } else if (result == CacheResult.NOT_CACHED) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "아직 처리되지 않은 원본입니다: " + source);
+        }
+    }
+    
+    @GetMapping("/cache")
+    public ThumbnailCache.CacheStats getCacheStats() {
+        return thumbnailCache.getStats();
+    }
+    
+    @DeleteMapping("/cache")
+    public String clearCache() {
+        thumbnailCache.clear();
+        return "썸네일 캐시를 비웠습니다.";
+    }
+    
+    /**
+     * 캐시 파일 전송 (색인에 없거나 여는 사이 파일이 사라졌으면 응답은 건드리지 않음)
+     */
+    private CacheResult sendCached(String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = thumbnailCache.find(key);
+        if (file == null) {
+            return CacheResult.NOT_CACHED;
+        }
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file);
+        } catch (NoSuchFileException e) {
+            // 색인에는 있지만 LRU 삭제, clear, 외부 삭제로 파일이 사라진 경우
+            thumbnailCache.invalidate(key, file);
+            return CacheResult.FILE_MISSING;
+        }
+        try (channel) {
+            send(key, channel.size(), file.getFileName().toString(), request, response, (start, end) -> {
+                WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+                long position = start;
+                while (position <= end) {
+                    position += channel.transferTo(position, end + 1 - position, out);
+                }
+            });
+        }
+        return CacheResult.SENT;
+    }
+    
+    /**
+     * 캐시 헤더 / 조건부 요청 / Range 처리 후 본문의 [start, end] 구간 전송
+     */
+    private void send(String key, long length, String fileName, HttpServletRequest request, HttpServletResponse response,
+                      BodyWriter body) throws IOException {
+        String etag = "\"" + key + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            if (ranges.size() != 1 || !isSatisfiable(ranges.get(0), length)) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = ranges.get(0).getRangeStart(length);
+            end = ranges.get(0).getRangeEnd(length);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentType(MediaTypeFactory.getMediaType(fileName)
+            .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(end - start + 1);
+        body.write(start, end);
+    }
+    
+    private static boolean isSatisfiable(HttpRange range, long length) {
+        try {
+            return range.getRangeStart(length) <= range.getRangeEnd(length);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+    
+    private enum CacheResult {
+        SENT, NOT_CACHED, FILE_MISSING
+    }
+    
+    @FunctionalInterface
+    private interface BodyWriter {
+        void write(long start, long end) throws IOException;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.performance.image;
+
+import java.util.Arrays;
+
+/**
+ * 박스 필터 축소의 공통 흐름 (구현별로 다른 부분은 행 누적 accumulateRow뿐)
+ *
+ * 대상 행마다 덮는 원본 행들을 채널별 int[] 누적 배열에 더한 뒤(세로, 원본 폭 전체를 연속 접근),
+ * 대상 열마다 덮는 누적 값의 합을 화소 수로 나눔(가로, 대상 폭만큼이라 비용이 작음)
+ */
+abstract class AbstractPixelKernels implements PixelKernels {
+    
+    @Override
+    public void boxResize(int[] source, int sourceWidth, int sourceHeight, int[] target, int targetWidth, int targetHeight) {
+        if (targetWidth > sourceWidth || targetHeight > sourceHeight) {
+            throw new IllegalArgumentException("박스 필터는 축소만 지원합니다: "
+                + sourceWidth + "x" + sourceHeight + " -> " + targetWidth + "x" + targetHeight);
+        }
+        int[] columnBounds = boxBounds(sourceWidth, targetWidth);
+        int[] rowBounds = boxBounds(sourceHeight, targetHeight);
+        int[] red = new int[sourceWidth];
+        int[] green = new int[sourceWidth];
+        int[] blue = new int[sourceWidth];
+        for (int y = 0; y < targetHeight; y++) {
+            Arrays.fill(red, 0);
+            Arrays.fill(green, 0);
+            Arrays.fill(blue, 0);
+            for (int row = rowBounds[y]; row < rowBounds[y + 1]; row++) {
+                accumulateRow(source, row * sourceWidth, sourceWidth, red, green, blue);
+            }
+            int rows = rowBounds[y + 1] - rowBounds[y];
+            int base = y * targetWidth;
+            for (int x = 0; x < targetWidth; x++) {
+                int r = 0;
+                int g = 0;
+                int b = 0;
+                for (int column = columnBounds[x]; column < columnBounds[x + 1]; column++) {
+                    r += red[column];
+                    g += green[column];
+                    b += blue[column];
+                }
+                int count = rows * (columnBounds[x + 1] - columnBounds[x]);
+                int half = count >> 1;
+                target[base + x] = ((r + half) / count << 16) | ((g + half) / count << 8) | ((b + half) / count);
+            }
+        }
+    }
+    
+    /**
+     * 원본 한 행(offset부터 width개)의 채널 값을 누적 배열에 더함
+     */
+    protected abstract void accumulateRow(int[] source, int offset, int width, int[] red, int[] green, int[] blue);
+    
+    /**
+     * 대상 i번째 칸이 덮는 원본 범위 [bounds[i], bounds[i + 1]) (축소이므로 모든 칸이 1개 이상)
+     */
+    private static int[] boxBounds(int sourceLength, int targetLength) {
+        int[] bounds = new int[targetLength + 1];
+        for (int i = 0; i <= targetLength; i++) {
+            bounds[i] = (int) ((long) i * sourceLength / targetLength);
+        }
+        return bounds;
+    }
+}
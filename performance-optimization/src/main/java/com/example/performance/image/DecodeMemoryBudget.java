@@ -0,0 +1,57 @@
+package com.example.performance.image;
+
+/**
+ * 디코딩된 이미지가 동시에 차지할 수 있는 메모리 상한
+ *
+ * 디코딩 전에 예상 바이트(ThumbnailDecoder.getDecodedBytes)만큼 예약하고, 리사이즈가 끝나 원본을 버릴 때 반납
+ * 남은 예산이 부족하면 디코딩 워커가 대기하므로 큰 이미지일수록 동시에 처리되는 수가 줄어듦
+ * 예산보다 큰 이미지 한 장은 예산 전체를 예약하여 단독으로 처리
+ */
+class DecodeMemoryBudget {
+    
+    private final long capacityBytes;
+    private long inUseBytes;
+    private long peakBytes;
+    private long waits;
+    
+    DecodeMemoryBudget(long capacityBytes) {
+        this.capacityBytes = capacityBytes;
+    }
+    
+    /**
+     * 예산 예약 (부족하면 반납될 때까지 대기), 실제 예약한 바이트 수를 반환
+     */
+    synchronized long acquire(long bytes) throws InterruptedException {
+        long reserved = Math.min(bytes, capacityBytes);
+        if (inUseBytes + reserved > capacityBytes) {
+            waits++;
+            do {
+                wait();
+            } while (inUseBytes + reserved > capacityBytes);
+        }
+        inUseBytes += reserved;
+        peakBytes = Math.max(peakBytes, inUseBytes);
+        return reserved;
+    }
+    
+    synchronized void release(long reserved) {
+        inUseBytes -= reserved;
+        notifyAll();
+    }
+    
+    long getCapacityBytes() {
+        return capacityBytes;
+    }
+    
+    synchronized long getInUseBytes() {
+        return inUseBytes;
+    }
+    
+    synchronized long getPeakBytes() {
+        return peakBytes;
+    }
+    
+    synchronized long getWaits() {
+        return waits;
+    }
+}
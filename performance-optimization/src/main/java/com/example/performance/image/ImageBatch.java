@@ -0,0 +1,265 @@
+package com.example.performance.image;
+
+import com.example.performance.monitor.AllocationScope;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 파이프라인에 제출된 이미지 묶음의 진행 상태
+ *
+ * 디렉터리 순회 중에는 전체 개수를 모르므로 순회가 끝나고(finishSubmitting) 제출된 작업이
+ * 모두 완료/실패/취소되어야 끝난 것으로 봄
+ * 취소(cancel)하면 더 이상 제출하지 않고, 큐에 남은 작업은 꺼낼 때 버리며, 처리 중인 작업은
+ * 워커 스레드 인터럽트 + 디코딩 중단(ImageReader.abort)으로 멈춤
+ * 파일별 결과(단계별 처리 시간)는 maxFileResults개까지 기록
+ */
+public class ImageBatch {
+    
+    private static final int MAX_ERRORS = 20;
+    
+    private final Path outputDir;
+    private final int maxFileResults;
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong cancelledTasks = new AtomicLong();
+    private final AtomicLong cached = new AtomicLong();
+    private final List<String> errors = new ArrayList<>();
+    private final List<FileResult> fileResults = new ArrayList<>();
+    private final Map<ImageTask, Thread> inFlight = new ConcurrentHashMap<>();
+    private final Consumer<Runnable> scopedRunner;
+    private volatile boolean submitting = true;
+    private volatile boolean cancelled;
+    private volatile long endNanos;
+    
+    ImageBatch(Path outputDir, int maxFileResults) {
+        this.outputDir = outputDir;
+        this.maxFileResults = maxFileResults;
+        // 배치를 만든 스레드의 할당량 측정 구간을 파이프라인 워커로 전달
+        this.scopedRunner = AllocationScope.propagateConsumer(Runnable::run);
+    }
+    
+    Path getOutputDir() {
+        return outputDir;
+    }
+    
+    void run(Runnable stageWork) {
+        scopedRunner.accept(stageWork);
+    }
+    
+    void taskSubmitted() {
+        submitted.incrementAndGet();
+    }
+    
+    void taskCompleted(ImageTask task) {
+        completed.incrementAndGet();
+        record(task, "COMPLETED", null);
+        signalIfDone();
+    }
+    
+    /**
+     * 썸네일 캐시에서 가져온 작업 (완료 처리는 taskCompleted로 따로 함)
+     */
+    void taskCached() {
+        cached.incrementAndGet();
+    }
+    
+    void taskFailed(ImageTask task, String stage, Throwable error) {
+        failed.incrementAndGet();
+        String message = stage + " " + task.source + ": "
+            + (error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName());
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(message);
+            }
+        }
+        record(task, "FAILED", message);
+        signalIfDone();
+    }
+    
+    void taskCancelled(ImageTask task) {
+        cancelledTasks.incrementAndGet();
+        record(task, "CANCELLED", null);
+        signalIfDone();
+    }
+    
+    private void record(ImageTask task, String status, String error) {
+        synchronized (fileResults) {
+            if (fileResults.size() < maxFileResults) {
+                fileResults.add(new FileResult(task, status, error));
+            }
+        }
+    }
+    
+    /**
+     * 더 이상 제출할 작업이 없음을 알림 (이후 남은 작업이 끝나면 배치 완료)
+     */
+    void finishSubmitting() {
+        submitting = false;
+        signalIfDone();
+    }
+    
+    // ========== 취소 ==========
+    
+    /**
+     * 워커가 작업을 처리하는 동안 등록 (취소 시 인터럽트 대상)
+     */
+    void enter(ImageTask task) {
+        inFlight.put(task, Thread.currentThread());
+    }
+    
+    /**
+     * 처리 종료, 취소로 받은 인터럽트가 남아 있으면 지워서 같은 워커의 다음 작업에 영향을 주지 않음
+     */
+    void exit(ImageTask task) {
+        synchronized (inFlight) {
+            inFlight.remove(task);
+            if (cancelled) {
+                Thread.interrupted();
+            }
+        }
+    }
+    
+    /**
+     * 취소 요청 (이미 끝난 배치면 false)
+     */
+    boolean cancel() {
+        if (isDone() || cancelled) {
+            return false;
+        }
+        synchronized (inFlight) {
+            cancelled = true;
+            inFlight.forEach((task, worker) -> {
+                worker.interrupt();
+                task.abort();
+            });
+        }
+        return true;
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    private void signalIfDone() {
+        if (isDone()) {
+            synchronized (this) {
+                if (endNanos == 0) {
+                    endNanos = System.nanoTime();
+                }
+                notifyAll();
+            }
+        }
+    }
+    
+    public boolean isDone() {
+        return !submitting && completed.get() + failed.get() + cancelledTasks.get() == submitted.get();
+    }
+    
+    public boolean isSubmitting() {
+        return submitting;
+    }
+    
+    /**
+     * 배치 완료까지 대기 (timeout 안에 끝나면 true)
+     */
+    public synchronized boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isDone()) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0) {
+                return false;
+            }
+            wait(remainingMs);
+        }
+        return true;
+    }
+    
+    public long getSubmitted() {
+        return submitted.get();
+    }
+    
+    public long getCompleted() {
+        return completed.get();
+    }
+    
+    public long getFailed() {
+        return failed.get();
+    }
+    
+    public long getCancelledTasks() {
+        return cancelledTasks.get();
+    }
+    
+    public long getCached() {
+        return cached.get();
+    }
+    
+    public long getElapsedMs() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+    
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+    
+    /**
+     * 끝난 파일별 결과 (완료 순서, 최대 maxFileResults개)
+     */
+    public List<FileResult> getFileResults() {
+        synchronized (fileResults) {
+            return new ArrayList<>(fileResults);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "제출 " + getSubmitted() + "개, 완료 " + getCompleted() + "개 (캐시 " + getCached() + "개), 실패 "
+            + getFailed() + "개" + (cancelled ? ", 취소 " + getCancelledTasks() + "개" : "") + ", " + getElapsedMs() + "ms";
+    }
+    
+    /**
+     * 파일별 처리 결과 DTO (totalMs는 제출부터 끝날 때까지, 큐 대기 포함)
+     */
+    public static class FileResult {
+        private final String source;
+        private final String status;
+        private final boolean cached;
+        private final double totalMs;
+        private final double decodeMs;
+        private final double transformMs;
+        private final double writeMs;
+        private final String error;
+        
+        FileResult(ImageTask task, String status, String error) {
+            this.source = task.source.toString();
+            this.status = status;
+            this.cached = task.cached != null;
+            this.totalMs = (System.nanoTime() - task.submittedNanos) / 1_000_000.0;
+            this.decodeMs = task.stageNanos[ImageTask.DECODE] / 1_000_000.0;
+            this.transformMs = task.stageNanos[ImageTask.TRANSFORM] / 1_000_000.0;
+            this.writeMs = task.stageNanos[ImageTask.WRITE] / 1_000_000.0;
+            this.error = error;
+        }
+        
+        public String getSource() { return source; }
+        public String getStatus() { return status; }
+        public boolean isCached() { return cached; }
+        public double getTotalMs() { return totalMs; }
+        public double getDecodeMs() { return decodeMs; }
+        public double getTransformMs() { return transformMs; }
+        public double getWriteMs() { return writeMs; }
+        public String getError() { return error; }
+    }
+}
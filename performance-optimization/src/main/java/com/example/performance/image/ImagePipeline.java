@@ -0,0 +1,599 @@
+package com.example.performance.image;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 썸네일 생성 파이프라인 (디코딩 → 리사이즈/인코딩 → 쓰기)
+ *
+ * 단계마다 전용 스레드 풀과 크기가 제한된 입력 큐를 두어 단계별 병목이 앞 단계로 전파되도록 함 (back-pressure)
+ * - decode (I/O 풀): 헤더를 읽고 썸네일 크기에 맞춰 서브샘플링 디코딩 (ThumbnailDecoder), 입력 큐는 경로뿐이라 넉넉하게
+ *   디코딩 전에 예상 크기만큼 메모리 예산(decode-memory-budget-mb)을 예약하고 리사이즈 후 반납하므로
+ *   큰 이미지가 몰리면 동시에 디코딩되는 수가 줄어듦
+ * - transform (CPU 풀, 코어 수): 리사이즈 + 인코딩, 입력 큐는 디코딩된 이미지라 작게 유지
+ * - write (I/O 풀): 인코딩된 썸네일 저장 + 캐시에 추가
+ * ThumbnailCache가 켜져 있으면 decode 단계에서 원본 내용 + 변환 설정의 키로 먼저 조회하여,
+ * 적중하면 디코딩/변환 없이 write 단계에서 캐시 파일을 복사만 함
+ * (조회 후 복사 전에 캐시 파일이 삭제되었으면 write 워커에서 다시 디코딩/변환)
+ * 디렉터리는 Files.walk 스트림으로 순회하며 한 건씩 제출하므로 파일 목록 전체를 메모리에 올리지 않음
+ * (큐가 가득 차면 순회 스레드가 대기)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImagePipeline {
+    
+    private final MeterRegistry meterRegistry;
+    private final ThumbnailCache thumbnailCache;
+    
+    @Value("${performance.image.output-dir:${java.io.tmpdir}/performance-thumbnails}")
+    private String outputDir;
+    
+    @Value("${performance.image.thumbnail-size:256}")
+    private int thumbnailSize;
+    
+    @Value("${performance.image.format:jpg}")
+    private String format;
+    
+    @Value("${performance.image.io-threads:4}")
+    private int ioThreads;
+    
+    @Value("${performance.image.cpu-threads:0}")
+    private int cpuThreads;
+    
+    @Value("${performance.image.decode-queue-capacity:256}")
+    private int decodeQueueCapacity;
+    
+    @Value("${performance.image.transform-queue-capacity:16}")
+    private int transformQueueCapacity;
+    
+    @Value("${performance.image.write-queue-capacity:64}")
+    private int writeQueueCapacity;
+    
+    @Value("${performance.image.decode-memory-budget-mb:0}")
+    private long decodeMemoryBudgetMb;
+    
+    @Value("${performance.image.pixel-kernels:auto}")
+    private String pixelKernels;
+    
+    @Value("${performance.image.grayscale:false}")
+    private boolean grayscale;
+    
+    @Value("${performance.image.brightness:0}")
+    private int brightness;
+    
+    @Value("${performance.image.max-file-results:10000}")
+    private int maxFileResults;
+    
+    private final List<Stage> stages = new ArrayList<>();
+    private Stage decodeStage;
+    private DecodeMemoryBudget decodeBudget;
+    private PixelKernels kernels;
+    private String transformSpec;
+    private volatile boolean running = true;
+    
+    @PostConstruct
+    public void start() {
+        int cpuWorkers = cpuThreads > 0 ? cpuThreads : Runtime.getRuntime().availableProcessors();
+        kernels = PixelKernels.select(pixelKernels);
+        transformSpec = "box:" + thumbnailSize + ":" + format + ":gray=" + grayscale + ":brightness=" + brightness;
+        // 0이면 최대 힙의 1/4
+        long budgetBytes = decodeMemoryBudgetMb > 0
+            ? decodeMemoryBudgetMb * 1024 * 1024 : Runtime.getRuntime().maxMemory() / 4;
+        decodeBudget = new DecodeMemoryBudget(budgetBytes);
+        Gauge.builder("performance.image.decode.memory", decodeBudget, DecodeMemoryBudget::getInUseBytes)
+            .description("디코딩된 이미지가 예약한 메모리")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Stage writeStage = new Stage("write", ImageTask.WRITE, "io", ioThreads, writeQueueCapacity, null, this::write);
+        Stage transformStage = new Stage("transform", ImageTask.TRANSFORM, "cpu", cpuWorkers, transformQueueCapacity, writeStage,
+            this::transform);
+        decodeStage = new Stage("decode", ImageTask.DECODE, "io", ioThreads, decodeQueueCapacity, transformStage,
+            this::lookupOrDecode);
+        stages.add(decodeStage);
+        stages.add(transformStage);
+        stages.add(writeStage);
+        stages.forEach(Stage::startWorkers);
+        log.info("이미지 파이프라인 시작: io {}개, cpu {}개 스레드, 픽셀 커널 {}, 디코딩 예산 {}MB, 출력 {}",
+            ioThreads, cpuWorkers, kernels.name(), budgetBytes / 1024 / 1024, outputDir);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        stages.forEach(Stage::interruptWorkers);
+    }
+    
+    // ========== 제출 ==========
+    
+    /**
+     * 빈 배치 생성 (submitDirectory / submitFiles로 채움, 제출 중에도 진행 상태 조회 / 취소 가능)
+     */
+    public ImageBatch createBatch() {
+        return new ImageBatch(Path.of(outputDir), maxFileResults);
+    }
+    
+    /**
+     * 디렉터리 아래의 이미지 파일을 스트리밍 순회하며 제출 (호출 스레드에서 순회, 큐가 차면 대기)
+     * 결과는 출력 디렉터리 아래에 원본과 같은 상대 경로로 저장, 배치가 취소되면 순회 중단
+     * 순회 중 I/O 오류(읽을 수 없는 디렉터리 등)는 이미 제출한 작업은 그대로 두고 UncheckedIOException으로 전달
+     */
+    public ImageBatch submitDirectory(ImageBatch batch, Path root) throws InterruptedException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            Iterator<Path> iterator = paths.filter(Files::isRegularFile).filter(ImageTransforms::isImageFile).iterator();
+            while (iterator.hasNext() && !batch.isCancelled()) {
+                Path source = iterator.next();
+                submit(batch, source, targetFor(batch, root.relativize(source)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("디렉터리 순회 실패: " + root + " (" + e + ")", e);
+        } catch (UncheckedIOException e) {
+            throw new UncheckedIOException("디렉터리 순회 실패: " + root + " (" + e.getCause() + ")", e.getCause());
+        } finally {
+            batch.finishSubmitting();
+        }
+        return batch;
+    }
+    
+    /**
+     * 파일 목록 제출 (결과는 출력 디렉터리 바로 아래에 저장), 배치가 취소되면 제출 중단
+     */
+    public ImageBatch submitFiles(ImageBatch batch, Iterable<Path> sources) throws InterruptedException {
+        try {
+            for (Path source : sources) {
+                if (batch.isCancelled()) {
+                    break;
+                }
+                submit(batch, source, targetFor(batch, source.getFileName()));
+            }
+        } finally {
+            batch.finishSubmitting();
+        }
+        return batch;
+    }
+    
+    public ImageBatch processDirectory(Path root) throws InterruptedException {
+        return submitDirectory(createBatch(), root);
+    }
+    
+    public ImageBatch processFiles(Iterable<Path> sources) throws InterruptedException {
+        return submitFiles(createBatch(), sources);
+    }
+    
+    /**
+     * 배치 취소: 제출 중단, 큐에 남은 작업 제거, 처리 중인 작업 인터럽트 (이미 끝났으면 false)
+     */
+    public boolean cancel(ImageBatch batch) {
+        if (!batch.cancel()) {
+            return false;
+        }
+        stages.forEach(stage -> stage.purge(batch));
+        return true;
+    }
+    
+    private static void discard(ImageTask task) {
+        task.releaseImage();
+        task.batch.taskCancelled(task);
+    }
+    
+    /**
+     * 파이프라인을 거치지 않고 호출 스레드에서 모든 단계를 실행 (순차 / 병렬 스트림 비교용)
+     * 처리 비용 자체를 비교하기 위해 썸네일 캐시를 사용하지 않음
+     */
+    public void processInline(Path source) {
+        ImageTask task = new ImageTask(source, targetFor(null, source.getFileName()), null);
+        decodeAndTransform(task);
+        write(task);
+    }
+    
+    /**
+     * 캐시 파일이 사라진 썸네일을 호출 스레드에서 다시 만들어 캐시에 저장하고 인코딩된 바이트 반환
+     */
+    public byte[] rebuild(Path source, String cacheKey) {
+        ImageTask task = new ImageTask(source, null, null);
+        decodeAndTransform(task);
+        thumbnailCache.put(cacheKey, format, task.encoded);
+        return task.encoded;
+    }
+    
+    /**
+     * 캐시 키 (썸네일 크기, 형식, 필터, 후처리 설정), 설정이 바뀌면 다른 키가 되어 새로 처리
+     */
+    public String getTransformSpec() {
+        return transformSpec;
+    }
+    
+    public String getFormat() {
+        return format;
+    }
+    
+    // ========== 단계 작업 ==========
+    
+    /**
+     * decode 단계: 캐시에 있으면 건너뛰고, 없으면 서브샘플링 디코딩
+     */
+    private void lookupOrDecode(ImageTask task) {
+        if (thumbnailCache.isEnabled()) {
+            task.cacheKey = thumbnailCache.keyFor(task.source, transformSpec);
+            task.cached = thumbnailCache.lookup(task.cacheKey);
+            if (task.cached != null) {
+                return;
+            }
+        }
+        decode(task);
+    }
+    
+    /**
+     * transform 단계: 리사이즈 + 후처리 + 인코딩 후 원본 해제 (캐시 적중이면 없음)
+     */
+    private void transform(ImageTask task) {
+        if (task.cached != null) {
+            return;
+        }
+        task.encoded = ImageTransforms.encode(thumbnail(task.image), format);
+        task.releaseImage();
+    }
+    
+    /**
+     * write 단계: 캐시 적중이면 캐시 파일 복사(커널 내 복사), 아니면 저장 후 캐시에 추가
+     */
+    private void write(ImageTask task) {
+        if (task.cached != null) {
+            try {
+                ImageTransforms.copy(task.cached, task.target);
+                if (task.batch != null) {
+                    task.batch.taskCached();
+                }
+                return;
+            } catch (UncheckedIOException e) {
+                if (!(e.getCause() instanceof NoSuchFileException)) {
+                    throw e;
+                }
+                // 조회 후 LRU 삭제 / clear로 캐시 파일이 사라진 경우: 캐시 없이 처리한 것과 같게 다시 만듦
+                log.debug("캐시 파일이 사라져 다시 처리: {} ({})", task.source, task.cached);
+                thumbnailCache.invalidate(task.cacheKey, task.cached);
+                task.cached = null;
+                decodeAndTransform(task);
+            }
+        }
+        ImageTransforms.write(task.target, task.encoded);
+        if (task.cacheKey != null) {
+            thumbnailCache.put(task.cacheKey, format, task.encoded);
+        }
+    }
+    
+    private void decodeAndTransform(ImageTask task) {
+        try {
+            decode(task);
+            transform(task);
+        } finally {
+            task.releaseImage();
+        }
+    }
+    
+    /**
+     * 리사이즈 + 회색조/밝기 조정 (픽셀 커널 사용)
+     * 원본이 썸네일보다 작으면 디코딩된 이미지를 그대로 조정하지만, 작업마다 새로 디코딩한 이미지라 공유되지 않음
+     */
+    private BufferedImage thumbnail(BufferedImage image) {
+        BufferedImage thumbnail = ImageTransforms.resize(image, thumbnailSize, kernels);
+        ImageTransforms.adjust(thumbnail, grayscale, brightness, kernels);
+        return thumbnail;
+    }
+    
+    /**
+     * 헤더로 디코딩 크기를 계산해 메모리 예산을 예약한 뒤 서브샘플링 디코딩 (예산이 부족하면 대기)
+     */
+    private void decode(ImageTask task) {
+        try (ThumbnailDecoder decoder = ThumbnailDecoder.open(task.source, thumbnailSize)) {
+            task.decoder = decoder;
+            task.reserve(decodeBudget, decoder.getDecodedBytes());
+            task.image = decoder.read();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("메모리 예산 대기 중 인터럽트: " + task.source, e);
+        } finally {
+            task.decoder = null;
+        }
+    }
+    
+    private void submit(ImageBatch batch, Path source, Path target) throws InterruptedException {
+        if (!running) {
+            throw new IllegalStateException("이미지 파이프라인이 종료되었습니다");
+        }
+        batch.taskSubmitted();
+        decodeStage.put(new ImageTask(source, target, batch));
+    }
+    
+    private Path targetFor(ImageBatch batch, Path relative) {
+        Path base = batch != null ? batch.getOutputDir() : Path.of(outputDir);
+        String name = relative.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String thumbnailName = (dot > 0 ? name.substring(0, dot) : name) + "." + format;
+        Path parent = relative.getParent();
+        return parent != null ? base.resolve(parent).resolve(thumbnailName) : base.resolve(thumbnailName);
+    }
+    
+    // ========== 통계 ==========
+    
+    /**
+     * 단계별 처리량 / 큐 깊이 / 처리 시간 조회
+     * 처리량은 직전 조회 이후 구간 기준 (초당 처리 수)
+     */
+    public synchronized PipelineStats getStats() {
+        List<StageStats> stageStats = new ArrayList<>();
+        for (Stage stage : stages) {
+            stageStats.add(stage.snapshot());
+        }
+        return new PipelineStats(thumbnailSize, format, outputDir, kernels.name(), stageStats,
+            decodeBudget.getCapacityBytes(), decodeBudget.getInUseBytes(), decodeBudget.getPeakBytes(),
+            decodeBudget.getWaits());
+    }
+    
+    /**
+     * 파이프라인 한 단계 (워커 스레드 + 크기 제한 입력 큐)
+     */
+    private class Stage {
+        private final String name;
+        private final int index;
+        private final String pool;
+        private final int threads;
+        private final BlockingQueue<ImageTask> queue;
+        private final Stage next;
+        private final Consumer<ImageTask> work;
+        private final List<Thread> workers = new ArrayList<>();
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+        private final Timer timer;
+        private long lastSnapshotCount;
+        private long lastSnapshotNanos = System.nanoTime();
+        
+        Stage(String name, int index, String pool, int threads, int queueCapacity, Stage next, Consumer<ImageTask> work) {
+            this.name = name;
+            this.index = index;
+            this.pool = pool;
+            this.threads = threads;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.next = next;
+            this.work = work;
+            this.timer = Timer.builder("performance.image.stage.duration")
+                .description("이미지 파이프라인 단계별 처리 시간")
+                .tag("stage", name)
+                .register(meterRegistry);
+            Gauge.builder("performance.image.queue.depth", queue, BlockingQueue::size)
+                .description("이미지 파이프라인 단계별 입력 큐 깊이")
+                .tag("stage", name)
+                .register(meterRegistry);
+        }
+        
+        void startWorkers() {
+            for (int i = 0; i < threads; i++) {
+                Thread worker = new Thread(this::runWorker, "image-" + name + "-" + i);
+                worker.setDaemon(true);
+                workers.add(worker);
+                worker.start();
+            }
+        }
+        
+        void interruptWorkers() {
+            workers.forEach(Thread::interrupt);
+        }
+        
+        void put(ImageTask task) throws InterruptedException {
+            queue.put(task);
+        }
+        
+        /**
+         * 취소된 배치의 대기 중인 작업을 큐에서 제거 (앞 단계/제출 스레드가 큐 자리를 기다리지 않도록)
+         */
+        void purge(ImageBatch batch) {
+            List<ImageTask> removed = new ArrayList<>();
+            queue.removeIf(task -> {
+                if (task.batch == batch) {
+                    removed.add(task);
+                    return true;
+                }
+                return false;
+            });
+            removed.forEach(ImagePipeline::discard);
+        }
+        
+        private void runWorker() {
+            while (running) {
+                ImageTask task;
+                try {
+                    task = queue.take();
+                } catch (InterruptedException e) {
+                    continue;  // 종료면 running 확인 후 빠져나감
+                }
+                ImageBatch batch = task.batch;
+                batch.enter(task);
+                try {
+                    if (batch.isCancelled()) {
+                        discard(task);
+                    } else if (process(task)) {
+                        handOff(task);
+                    }
+                } catch (Throwable e) {
+                    // 작업 실패는 process에서 처리하므로 여기는 완료/전달 처리 중 오류뿐 - 워커는 계속 실행
+                    log.error("이미지 파이프라인 워커 오류 [{}] {}", name, task.source, e);
+                } finally {
+                    batch.exit(task);
+                }
+            }
+        }
+        
+        /**
+         * 단계 작업 실행 (실패하면 배치에 기록하고 다음 단계로 넘기지 않음, 취소된 배치면 버림)
+         * OutOfMemoryError 같은 Error도 이 작업의 실패로 처리하여 워커 스레드가 죽지 않도록 함
+         * (디코딩 중 메모리 부족이면 이미지를 놓아 주므로 다음 작업은 계속 처리 가능)
+         */
+        private boolean process(ImageTask task) {
+            long start = System.nanoTime();
+            Throwable error = null;
+            try {
+                task.batch.run(() -> work.accept(task));
+            } catch (Throwable e) {
+                error = e;
+                task.releaseImage();
+            }
+            // 파일별 결과에 이 단계 시간이 들어가도록 완료/실패/취소 처리 전에 기록
+            long elapsed = System.nanoTime() - start;
+            task.stageNanos[index] = elapsed;
+            busyNanos.add(elapsed);
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            
+            if (task.batch.isCancelled()) {
+                discard(task);
+                return false;
+            }
+            if (error != null) {
+                failed.increment();
+                task.batch.taskFailed(task, name, error);
+                if (error instanceof Error) {
+                    log.warn("이미지 처리 중 오류 [{}] {}", name, task.source, error);
+                } else {
+                    log.debug("이미지 처리 실패 [{}] {}: {}", name, task.source, error.getMessage());
+                }
+                return false;
+            }
+            processed.increment();
+            return true;
+        }
+        
+        /**
+         * 다음 단계 큐에 넣음 (가득 차면 대기하여 이 단계도 느려짐), 마지막 단계면 완료 처리
+         */
+        private void handOff(ImageTask task) {
+            if (next == null) {
+                task.batch.taskCompleted(task);
+                return;
+            }
+            try {
+                next.put(task);
+            } catch (InterruptedException e) {
+                if (task.batch.isCancelled()) {
+                    discard(task);
+                    return;
+                }
+                // 파이프라인 종료: 인터럽트 상태를 유지하여 워커 루프가 끝나도록 함
+                Thread.currentThread().interrupt();
+                task.batch.taskFailed(task, name, e);
+            }
+        }
+        
+        StageStats snapshot() {
+            long now = System.nanoTime();
+            long count = processed.sum();
+            double seconds = (now - lastSnapshotNanos) / 1_000_000_000.0;
+            double throughput = seconds > 0 ? (count - lastSnapshotCount) / seconds : 0;
+            lastSnapshotCount = count;
+            lastSnapshotNanos = now;
+            long total = count + failed.sum();
+            return new StageStats(name, pool, threads, queue.size(), queue.size() + queue.remainingCapacity(),
+                count, failed.sum(), throughput,
+                total > 0 ? busyNanos.sum() / 1_000_000.0 / total : 0);
+        }
+    }
+    
+    /**
+     * 단계별 통계 DTO
+     */
+    public static class StageStats {
+        private final String stage;
+        private final String pool;
+        private final int threads;
+        private final int queueDepth;
+        private final int queueCapacity;
+        private final long processed;
+        private final long failed;
+        private final double throughputPerSec;
+        private final double avgMs;
+        
+        public StageStats(String stage, String pool, int threads, int queueDepth, int queueCapacity,
+                          long processed, long failed, double throughputPerSec, double avgMs) {
+            this.stage = stage;
+            this.pool = pool;
+            this.threads = threads;
+            this.queueDepth = queueDepth;
+            this.queueCapacity = queueCapacity;
+            this.processed = processed;
+            this.failed = failed;
+            this.throughputPerSec = throughputPerSec;
+            this.avgMs = avgMs;
+        }
+        
+        public String getStage() { return stage; }
+        public String getPool() { return pool; }
+        public int getThreads() { return threads; }
+        public int getQueueDepth() { return queueDepth; }
+        public int getQueueCapacity() { return queueCapacity; }
+        public long getProcessed() { return processed; }
+        public long getFailed() { return failed; }
+        public double getThroughputPerSec() { return throughputPerSec; }
+        public double getAvgMs() { return avgMs; }
+    }
+    
+    /**
+     * 파이프라인 통계 DTO
+     */
+    public static class PipelineStats {
+        private final int thumbnailSize;
+        private final String format;
+        private final String outputDir;
+        private final String pixelKernels;
+        private final List<StageStats> stages;
+        private final long decodeBudgetBytes;
+        private final long decodeInUseBytes;
+        private final long decodePeakBytes;
+        private final long decodeBudgetWaits;
+        
+        public PipelineStats(int thumbnailSize, String format, String outputDir, String pixelKernels, List<StageStats> stages,
+                             long decodeBudgetBytes, long decodeInUseBytes, long decodePeakBytes,
+                             long decodeBudgetWaits) {
+            this.thumbnailSize = thumbnailSize;
+            this.format = format;
+            this.outputDir = outputDir;
+            this.pixelKernels = pixelKernels;
+            this.stages = stages;
+            this.decodeBudgetBytes = decodeBudgetBytes;
+            this.decodeInUseBytes = decodeInUseBytes;
+            this.decodePeakBytes = decodePeakBytes;
+            this.decodeBudgetWaits = decodeBudgetWaits;
+        }
+        
+        public int getThumbnailSize() { return thumbnailSize; }
+        public String getFormat() { return format; }
+        public String getOutputDir() { return outputDir; }
+        public String getPixelKernels() { return pixelKernels; }
+        public List<StageStats> getStages() { return stages; }
+        public long getDecodeBudgetBytes() { return decodeBudgetBytes; }
+        public long getDecodeInUseBytes() { return decodeInUseBytes; }
+        public long getDecodePeakBytes() { return decodePeakBytes; }
+        public long getDecodeBudgetWaits() { return decodeBudgetWaits; }
+    }
+}
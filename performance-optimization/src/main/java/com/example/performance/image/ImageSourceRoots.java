@@ -0,0 +1,81 @@
+package com.example.performance.image;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요청 파라미터로 받은 원본 경로를 허용된 입력 디렉터리(샘플 디렉터리 + input-roots) 안으로 제한
+ *
+ * 경로를 정규화한 뒤 루트 밖이면 존재 여부와 관계없이 거부하므로 서버의 다른 파일 존재 여부가 드러나지 않음
+ * 루트 안의 심볼릭 링크가 밖을 가리키는 경우도 실제 경로로 다시 확인하여 거부
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageSourceRoots {
+    
+    private final SampleImageGenerator sampleImageGenerator;
+    
+    @Value("${performance.image.input-roots:}")
+    private List<String> inputRoots;
+    
+    private final List<Path> roots = new ArrayList<>();
+    
+    @PostConstruct
+    public void load() {
+        roots.add(normalize(sampleImageGenerator.getSampleDir()));
+        for (String root : inputRoots) {
+            if (!root.isBlank()) {
+                roots.add(normalize(Path.of(root.trim())));
+            }
+        }
+    }
+    
+    /**
+     * 허용된 루트 안의 경로 (밖이면 IllegalArgumentException, 존재 여부는 호출하는 쪽에서 확인)
+     */
+    public Path resolve(String path) {
+        Path candidate;
+        try {
+            candidate = normalize(Path.of(path));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 경로입니다: " + path);
+        }
+        for (Path root : roots) {
+            if (candidate.startsWith(root) && staysInside(root, candidate)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("허용된 입력 디렉터리 밖의 경로입니다: " + path + " (허용: " + roots + ")");
+    }
+    
+    public List<Path> getRoots() {
+        return List.copyOf(roots);
+    }
+    
+    /**
+     * 심볼릭 링크를 따라간 실제 경로도 루트 안인지 확인 (아직 없는 경로는 정규화 결과로 판단)
+     */
+    private static boolean staysInside(Path root, Path candidate) {
+        if (!Files.exists(candidate)) {
+            return true;
+        }
+        try {
+            Path realRoot = Files.exists(root) ? root.toRealPath() : root;
+            return candidate.toRealPath().startsWith(realRoot);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+    
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.performance.image;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+
+/**
+ * 파이프라인을 통과하는 이미지 한 장의 작업 상태
+ * 단계 사이에서는 큐를 통해 한 스레드씩 순서대로 접근하므로 별도 동기화 없음 (취소 시 접근하는 decoder 제외)
+ */
+class ImageTask {
+    
+    static final int DECODE = 0;
+    static final int TRANSFORM = 1;
+    static final int WRITE = 2;
+    
+    final Path source;
+    final Path target;
+    final ImageBatch batch;
+    final long submittedNanos = System.nanoTime();
+    final long[] stageNanos = new long[3];
+    
+    String cacheKey;
+    Path cached;
+    BufferedImage image;
+    byte[] encoded;
+    volatile ThumbnailDecoder decoder;
+    private DecodeMemoryBudget budget;
+    private long reservedBytes;
+    
+    ImageTask(Path source, Path target, ImageBatch batch) {
+        this.source = source;
+        this.target = target;
+        this.batch = batch;
+    }
+    
+    /**
+     * 진행 중인 디코딩 중단 요청 (배치 취소 시 다른 스레드에서 호출, ImageIO 파일 읽기는 인터럽트로 멈추지 않음)
+     */
+    void abort() {
+        ThumbnailDecoder current = decoder;
+        if (current != null) {
+            current.abort();
+        }
+    }
+    
+    /**
+     * 디코딩 결과가 사용할 메모리 예산 예약 (releaseImage에서 반납)
+     */
+    void reserve(DecodeMemoryBudget budget, long bytes) throws InterruptedException {
+        this.reservedBytes = budget.acquire(bytes);
+        this.budget = budget;
+    }
+    
+    /**
+     * 다음 단계로 넘기기 전에 더 이상 필요 없는 중간 결과를 해제 (예약한 메모리 예산도 반납)
+     */
+    void releaseImage() {
+        image = null;
+        if (budget != null) {
+            budget.release(reservedBytes);
+            budget = null;
+            reservedBytes = 0;
+        }
+    }
+}
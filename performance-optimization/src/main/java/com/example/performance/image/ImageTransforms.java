@@ -0,0 +1,157 @@
+package com.example.performance.image;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 썸네일 파이프라인의 단계별 변환 (리사이즈 → 인코딩 → 쓰기, 디코딩은 ThumbnailDecoder)
+ *
+ * 각 단계는 ImagePipeline의 스테이지 워커에서 호출되며 I/O 오류는 UncheckedIOException으로 전달
+ */
+public final class ImageTransforms {
+    
+    static {
+        // 스트림 디코딩 시 임시 파일 캐시를 쓰지 않음 (메모리 캐시 사용, 디스크 I/O 감소)
+        ImageIO.setUseCache(false);
+    }
+    
+    private ImageTransforms() {
+    }
+    
+    /**
+     * 비율을 유지하여 긴 변이 maxSize 이하가 되도록 박스 필터로 축소 (이미 작으면 RGB 변환만)
+     * JPEG로 인코딩할 수 있도록 결과는 항상 TYPE_INT_RGB
+     */
+    public static BufferedImage resize(BufferedImage source, int maxSize, PixelKernels kernels) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        
+        BufferedImage rgb = toRgb(source);
+        if (targetWidth == width && targetHeight == height) {
+            return rgb;
+        }
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        kernels.boxResize(pixels(rgb), width, height, pixels(target), targetWidth, targetHeight);
+        return target;
+    }
+    
+    /**
+     * 회색조 / 밝기 조정 (TYPE_INT_RGB 이미지를 제자리에서 변경)
+     */
+    public static void adjust(BufferedImage image, boolean grayscale, int brightness, PixelKernels kernels) {
+        int[] pixels = pixels(image);
+        if (grayscale) {
+            kernels.grayscale(pixels, pixels, pixels.length);
+        }
+        if (brightness != 0) {
+            kernels.brightness(pixels, pixels, pixels.length, brightness);
+        }
+    }
+    
+    /**
+     * 래스터가 int[] 하나에 행 간격 없이 담긴 TYPE_INT_RGB면 그대로, 아니면 한 번 변환
+     */
+    static BufferedImage toRgb(BufferedImage image) {
+        if (isPackedRgb(image)) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+    
+    /**
+     * TYPE_INT_RGB 래스터의 화소 배열 (복사하지 않음)
+     */
+    static int[] pixels(BufferedImage image) {
+        if (!isPackedRgb(image)) {
+            throw new IllegalArgumentException("TYPE_INT_RGB 래스터가 아닙니다: " + image);
+        }
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+    
+    private static boolean isPackedRgb(BufferedImage image) {
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            return false;
+        }
+        WritableRaster raster = image.getRaster();
+        return raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0
+            && raster.getDataBuffer().getOffset() == 0
+            && ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride() == image.getWidth();
+    }
+    
+    /**
+     * 지정 형식(jpg, png 등)으로 인코딩
+     */
+    public static byte[] encode(BufferedImage image, String format) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(32 * 1024);
+        try {
+            if (!ImageIO.write(image, format, output)) {
+                throw new IOException("지원하지 않는 출력 형식: " + format);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+    
+    /**
+     * 인코딩된 결과를 파일로 저장 (상위 디렉터리가 없으면 생성)
+     */
+    public static void write(Path target, byte[] bytes) {
+        try {
+            Files.createDirectories(target.getParent());
+            Files.write(target, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * 파일 복사 (FileChannel.transferTo, 리눅스에서는 커널 안에서 복사되어 힙을 거치지 않음)
+     */
+    public static void copy(Path source, Path target) {
+        try {
+            Files.createDirectories(target.getParent());
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+                long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * ImageIO로 읽을 수 있는 확장자인지 여부 (디렉터리 순회 시 필터)
+     */
+    public static boolean isImageFile(Path path) {
+        String name = path.getFileName().toString().toLowerCase();
+        return name.endsWith(".jpg") || name.endsWith(".jpeg") || name.endsWith(".png")
+            || name.endsWith(".bmp") || name.endsWith(".gif") || name.endsWith(".tif") || name.endsWith(".tiff");
+    }
+}
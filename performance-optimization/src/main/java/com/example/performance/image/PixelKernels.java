@@ -0,0 +1,71 @@
+package com.example.performance.image;
+
+/**
+ * 썸네일 변환의 픽셀 단위 연산 (TYPE_INT_RGB 래스터의 int[]를 직접 다룸)
+ *
+ * 화소당 연산이 CPU 시간을 대부분 차지하므로 Vector API(SIMD) 구현과 스칼라 구현을 두고 시작 시 선택
+ * - vector: jdk.incubator.vector 모듈이 로드되어 있고(--add-modules jdk.incubator.vector) SIMD 레인이 4개 이상일 때
+ * - scalar: 그 외 (모듈 없이 실행된 경우 등), C2의 자동 벡터화에 맡김
+ * 각 연산은 0xRRGGBB로 패킹된 화소 배열을 받으며 out은 입력과 같은 배열이어도 됨 (resize 제외)
+ */
+public interface PixelKernels {
+    
+    String VECTOR_MODULE = "jdk.incubator.vector";
+    
+    /**
+     * 구현 이름 (scalar / vector-<비트 수>)
+     */
+    String name();
+    
+    /**
+     * 회색조 변환 (Y = (77R + 150G + 29B) / 256)
+     */
+    void grayscale(int[] pixels, int[] out, int length);
+    
+    /**
+     * 채널별 밝기 조정 (delta를 더하고 0~255로 자름)
+     */
+    void brightness(int[] pixels, int[] out, int length, int delta);
+    
+    /**
+     * 박스 필터 축소 (대상 화소 하나가 덮는 원본 영역의 평균, 확대는 지원하지 않음)
+     */
+    void boxResize(int[] source, int sourceWidth, int sourceHeight, int[] target, int targetWidth, int targetHeight);
+    
+    static PixelKernels scalar() {
+        return ScalarPixelKernels.INSTANCE;
+    }
+    
+    /**
+     * Vector API 구현 (사용할 수 없으면 IllegalStateException)
+     */
+    static PixelKernels vector() {
+        if (!isVectorAvailable()) {
+            throw new IllegalStateException(VECTOR_MODULE + " 모듈을 사용할 수 없습니다 (--add-modules " + VECTOR_MODULE + " 필요)");
+        }
+        return VectorPixelKernels.INSTANCE;
+    }
+    
+    /**
+     * 설정값(auto / vector / scalar)에 따라 구현 선택, auto는 가속 가능한 경우에만 vector
+     */
+    static PixelKernels select(String preference) {
+        switch (preference.toLowerCase()) {
+            case "scalar":
+                return scalar();
+            case "vector":
+                return vector();
+            case "auto":
+                return isVectorAvailable() && VectorPixelKernels.isAccelerated() ? VectorPixelKernels.INSTANCE : scalar();
+            default:
+                throw new IllegalArgumentException("알 수 없는 픽셀 커널: " + preference + " (auto, vector, scalar)");
+        }
+    }
+    
+    /**
+     * Vector API 모듈이 부트 레이어에 있는지 (없으면 VectorPixelKernels 클래스를 로드하지 않음)
+     */
+    static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.performance.image;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 병렬 처리 실습용 샘플 이미지 생성기
+ *
+ * 실습 4는 실제 파일을 디코딩하므로 샘플 디렉터리에 sample-N.jpg가 없으면 생성 (이미 있으면 재사용)
+ */
+@Component
+@Slf4j
+public class SampleImageGenerator {
+    
+    // 요청으로 만들 수 있는 샘플 수 상한 (1920x1080 JPEG를 디스크에 쓰므로 제한)
+    public static final int MAX_SAMPLE_COUNT = 1_000;
+    
+    @Value("${performance.image.sample-dir:${java.io.tmpdir}/performance-samples}")
+    private String sampleDir;
+    
+    @Value("${performance.image.sample-width:1920}")
+    private int width;
+    
+    @Value("${performance.image.sample-height:1080}")
+    private int height;
+    
+    /**
+     * 샘플 이미지 count개의 경로 (없는 파일만 생성, count는 1 ~ MAX_SAMPLE_COUNT)
+     */
+    public synchronized List<Path> ensureSamples(int count) {
+        if (count < 1 || count > MAX_SAMPLE_COUNT) {
+            throw new IllegalArgumentException("fileCount는 1 이상 " + MAX_SAMPLE_COUNT + " 이하여야 합니다: " + count);
+        }
+        Path dir = Path.of(sampleDir);
+        List<Path> samples = new ArrayList<>(count);
+        int created = 0;
+        try {
+            Files.createDirectories(dir);
+            for (int i = 0; i < count; i++) {
+                Path sample = dir.resolve("sample-" + i + ".jpg");
+                if (!Files.exists(sample)) {
+                    ImageIO.write(render(i), "jpg", sample.toFile());
+                    created++;
+                }
+                samples.add(sample);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("샘플 이미지를 생성할 수 없습니다: " + dir, e);
+        }
+        if (created > 0) {
+            log.info("샘플 이미지 {}개 생성: {}", created, dir);
+        }
+        return samples;
+    }
+    
+    public Path getSampleDir() {
+        return Path.of(sampleDir);
+    }
+    
+    /**
+     * 그라데이션 배경 + 임의의 도형 (JPEG 압축률이 실제 사진과 비슷하도록 단색을 피함)
+     */
+    private BufferedImage render(int seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int r = (x * 255 / width + seed * 37) & 0xFF;
+                int g = (y * 255 / height + seed * 91) & 0xFF;
+                int b = (random.nextInt(64) + (x + y) / 16) & 0xFF;
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        Graphics2D graphics = image.createGraphics();
+        try {
+            for (int i = 0; i < 40; i++) {
+                graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+                graphics.fillOval(random.nextInt(width), random.nextInt(height),
+                    random.nextInt(width / 4) + 10, random.nextInt(height / 4) + 10);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.performance.image;
+
+/**
+ * 스칼라 픽셀 커널 (Vector API를 쓸 수 없을 때, VectorPixelKernels의 나머지 구간 처리에도 사용)
+ */
+final class ScalarPixelKernels extends AbstractPixelKernels {
+    
+    static final ScalarPixelKernels INSTANCE = new ScalarPixelKernels();
+    
+    private ScalarPixelKernels() {
+    }
+    
+    @Override
+    public String name() {
+        return "scalar";
+    }
+    
+    @Override
+    public void grayscale(int[] pixels, int[] out, int length) {
+        grayscale(pixels, out, 0, length);
+    }
+    
+    @Override
+    public void brightness(int[] pixels, int[] out, int length, int delta) {
+        brightness(pixels, out, 0, length, delta);
+    }
+    
+    @Override
+    protected void accumulateRow(int[] source, int offset, int width, int[] red, int[] green, int[] blue) {
+        accumulateRow(source, offset, 0, width, red, green, blue);
+    }
+    
+    static void grayscale(int[] pixels, int[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int p = pixels[i];
+            int y = (((p >>> 16) & 0xFF) * 77 + ((p >>> 8) & 0xFF) * 150 + (p & 0xFF) * 29) >>> 8;
+            out[i] = (y << 16) | (y << 8) | y;
+        }
+    }
+    
+    static void brightness(int[] pixels, int[] out, int from, int to, int delta) {
+        for (int i = from; i < to; i++) {
+            int p = pixels[i];
+            int r = clamp(((p >>> 16) & 0xFF) + delta);
+            int g = clamp(((p >>> 8) & 0xFF) + delta);
+            int b = clamp((p & 0xFF) + delta);
+            out[i] = (r << 16) | (g << 8) | b;
+        }
+    }
+    
+    static void accumulateRow(int[] source, int offset, int from, int to, int[] red, int[] green, int[] blue) {
+        for (int x = from; x < to; x++) {
+            int p = source[offset + x];
+            red[x] += (p >>> 16) & 0xFF;
+            green[x] += (p >>> 8) & 0xFF;
+            blue[x] += p & 0xFF;
+        }
+    }
+    
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
@@ -0,0 +1,432 @@
+package com.example.performance.image;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 내용 주소 기반 썸네일 디스크 캐시
+ *
+ * 키 = SHA-256(원본 파일 내용의 SHA-256 + 변환 설정), 같은 내용이면 경로가 달라도 같은 썸네일을 재사용
+ * - 원본 해시는 (경로, 크기, 수정 시각)이 바뀌지 않았으면 메모리에 기억한 값을 사용하므로 변경 없는 파일은 다시 읽지 않음
+ *   (기억하는 원본 수는 max-source-digests개, 넘으면 가장 오래 사용하지 않은 것부터 잊음)
+ * - 저장 위치: cache-dir/키 앞 2자리/키.확장자 (임시 파일에 쓴 뒤 이동하므로 읽는 쪽에서 쓰다 만 파일을 보지 않음)
+ * - 전체 크기가 max-size-mb를 넘으면 가장 오래 사용하지 않은 항목부터 삭제 (LRU)
+ *   사용 순서는 메모리에서만 관리하고 종료 시 파일 수정 시각으로 기록하여 재시작 후에도 유지 (적중마다 파일 시스템을 건드리지 않음)
+ *   비정상 종료 시에는 마지막으로 기록된 수정 시각(저장 시각 또는 이전 종료 시각) 순서로 복원됨
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ThumbnailCache {
+    
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${performance.image.cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${performance.image.cache.dir:${java.io.tmpdir}/performance-thumbnail-cache}")
+    private String cacheDir;
+    
+    @Value("${performance.image.cache.max-size-mb:256}")
+    private long maxSizeMb;
+    
+    @Value("${performance.image.cache.max-source-digests:10000}")
+    private int maxSourceDigests;
+    
+    @Value("${performance.image.cache.request-hash-max-mb:16}")
+    private long requestHashMaxMb;
+    
+    // 접근 순서 LinkedHashMap (처음 항목이 가장 오래 사용하지 않은 항목), this로 동기화
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    
+    // 접근 순서 LinkedHashMap, sourceDigests로 동기화 (해시 계산은 잠금 밖에서)
+    private Map<Path, SourceDigest> sourceDigests;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder hashedBytes = new LongAdder();
+    
+    private Path root;
+    private long maxBytes;
+    
+    @PostConstruct
+    public void load() {
+        root = Path.of(cacheDir);
+        maxBytes = maxSizeMb * 1024 * 1024;
+        int digestLimit = Math.max(1, maxSourceDigests);
+        sourceDigests = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, SourceDigest> eldest) {
+                return size() > digestLimit;
+            }
+        };
+        Gauge.builder("performance.image.cache.size", this, ThumbnailCache::getTotalBytes)
+            .description("썸네일 캐시 디스크 사용량")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        if (!enabled) {
+            return;
+        }
+        // 기존 캐시 파일을 수정 시각(마지막 사용) 순으로 색인
+        List<Path> files = new ArrayList<>();
+        try {
+            Files.createDirectories(root);
+            try (Stream<Path> paths = Files.walk(root, 2)) {
+                paths.filter(Files::isRegularFile).filter(path -> !path.getFileName().toString().startsWith(".")).forEach(files::add);
+            }
+            files.sort(Comparator.comparing(ThumbnailCache::lastModified));
+        } catch (IOException e) {
+            throw new UncheckedIOException("썸네일 캐시 디렉터리를 읽을 수 없습니다: " + root, e);
+        }
+        List<Path> victims;
+        synchronized (this) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int dot = name.lastIndexOf('.');
+                index(dot > 0 ? name.substring(0, dot) : name, file, size(file));
+            }
+            victims = evictIfNeeded();
+        }
+        victims.forEach(ThumbnailCache::delete);
+        log.info("썸네일 캐시: {}개, {}KB / {}MB ({})", entries.size(), totalBytes / 1024, maxSizeMb, root);
+    }
+    
+    /**
+     * 메모리의 사용 순서를 수정 시각으로 기록 (오래된 항목부터 1ms씩 증가, 가장 최근 항목이 현재 시각)
+     * 다음 기동 시 load가 수정 시각 순으로 색인하므로 LRU 순서가 이어짐
+     */
+    @PreDestroy
+    public void persistRecency() {
+        if (!enabled) {
+            return;
+        }
+        List<Path> files;
+        synchronized (this) {
+            files = new ArrayList<>(entries.size());
+            entries.values().forEach(entry -> files.add(entry.file));
+        }
+        long base = System.currentTimeMillis() - files.size();
+        for (int i = 0; i < files.size(); i++) {
+            try {
+                Files.setLastModifiedTime(files.get(i), FileTime.fromMillis(base + i + 1));
+            } catch (IOException e) {
+                // 이미 삭제된 파일은 다음 기동 시 색인되지 않으므로 무시
+                log.debug("썸네일 캐시 사용 순서 기록 실패: {}", files.get(i), e);
+            }
+        }
+        log.info("썸네일 캐시 사용 순서 기록: {}개", files.size());
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 원본 내용과 변환 설정으로 캐시 키 계산 (원본이 바뀌지 않았으면 파일을 다시 읽지 않음)
+     */
+    public String keyFor(Path source, String transform) {
+        MessageDigest digest = sha256();
+        digest.update(contentDigest(source));
+        digest.update(transform.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    /**
+     * 요청 처리용 캐시 키: 기억한 원본 해시가 있거나 request-hash-max-mb 이하일 때만 계산, 아니면 null
+     * (큰 원본을 요청 스레드에서 읽지 않음, 파이프라인으로 처리된 원본은 해시가 기억되어 있음)
+     */
+    public String findKeyFor(Path source, String transform) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            if (rememberedDigest(source, attributes) == null && attributes.size() > requestHashMaxMb * 1024 * 1024) {
+                return null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return keyFor(source, transform);
+    }
+    
+    /**
+     * 파이프라인 처리 전 조회 (적중/실패 횟수 집계), 없으면 null
+     */
+    public Path lookup(String key) {
+        Path file = find(key);
+        if (file != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return file;
+    }
+    
+    /**
+     * 캐시 파일 경로 (없으면 null), 메모리의 사용 순서에서 최근 사용으로 표시
+     * 파일 존재 여부는 확인하지 않으므로 읽을 때 NoSuchFileException이면 invalidate로 색인에서 제거
+     */
+    public synchronized Path find(String key) {
+        CacheEntry entry = entries.get(key);
+        return entry != null ? entry.file : null;
+    }
+    
+    /**
+     * find로 받은 파일이 읽기 전에 사라진 경우(LRU 삭제, clear, 외부 삭제) 색인에서 제거
+     */
+    public synchronized void invalidate(String key, Path file) {
+        CacheEntry entry = entries.get(key);
+        if (entry != null && entry.file.equals(file)) {
+            remove(key, entry);
+        }
+    }
+    
+    /**
+     * 인코딩된 썸네일 저장 후 크기 상한을 넘으면 LRU 삭제
+     */
+    public void put(String key, String extension, byte[] bytes) {
+        Path file = root.resolve(key.substring(0, 2)).resolve(key + "." + extension);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), ".tmp-", "." + extension);
+            try {
+                Files.write(temp, bytes);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            // 캐시 저장 실패는 썸네일 처리 결과에 영향을 주지 않음
+            log.warn("썸네일 캐시 저장 실패: {} ({})", file, e.getMessage());
+            return;
+        }
+        List<Path> victims;
+        synchronized (this) {
+            index(key, file, bytes.length);
+            victims = evictIfNeeded();
+        }
+        victims.forEach(ThumbnailCache::delete);
+    }
+    
+    /**
+     * 캐시 전체 삭제
+     */
+    public void clear() {
+        List<CacheEntry> removed;
+        synchronized (this) {
+            removed = new ArrayList<>(entries.values());
+            entries.clear();
+            totalBytes = 0;
+        }
+        removed.forEach(entry -> delete(entry.file));
+    }
+    
+    private void index(String key, Path file, long size) {
+        CacheEntry previous = entries.put(key, new CacheEntry(file, size));
+        if (previous != null) {
+            totalBytes -= previous.size;
+        }
+        totalBytes += size;
+    }
+    
+    /**
+     * 크기 상한을 넘은 만큼 LRU 항목을 색인에서 제거하고 삭제할 파일 반환
+     * 파일 삭제는 호출하는 쪽에서 잠금을 놓은 뒤 수행 (삭제 전에 읽는 쪽은 파일을 받고, 삭제 후면 NoSuchFileException으로 처리)
+     */
+    private List<Path> evictIfNeeded() {
+        List<Path> victims = new ArrayList<>();
+        Iterator<CacheEntry> iterator = entries.values().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            CacheEntry eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.size;
+            evictions.increment();
+            victims.add(eldest.file);
+        }
+        return victims;
+    }
+    
+    private void remove(String key, CacheEntry entry) {
+        if (entries.remove(key, entry)) {
+            totalBytes -= entry.size;
+        }
+    }
+    
+    // ========== 원본 해시 ==========
+    
+    private byte[] contentDigest(Path source) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            byte[] remembered = rememberedDigest(source, attributes);
+            if (remembered != null) {
+                return remembered;
+            }
+            MessageDigest digest = sha256();
+            byte[] buffer = new byte[HASH_BUFFER_SIZE];
+            try (InputStream input = Files.newInputStream(source)) {
+                int read;
+                while ((read = input.read(buffer)) > 0) {
+                    digest.update(buffer, 0, read);
+                    hashedBytes.add(read);
+                }
+            }
+            SourceDigest computed = new SourceDigest(attributes, digest.digest());
+            synchronized (sourceDigests) {
+                sourceDigests.put(source.toAbsolutePath().normalize(), computed);
+            }
+            return computed.digest;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private byte[] rememberedDigest(Path source, BasicFileAttributes attributes) {
+        SourceDigest cached;
+        synchronized (sourceDigests) {
+            cached = sourceDigests.get(source.toAbsolutePath().normalize());
+        }
+        return cached != null && cached.matches(attributes) ? cached.digest : null;
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+    
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+    
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("썸네일 캐시 파일 삭제 실패: {}", file, e);
+        }
+    }
+    
+    // ========== 통계 ==========
+    
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+    
+    public synchronized CacheStats getStats() {
+        return new CacheStats(enabled, root.toString(), entries.size(), totalBytes, maxBytes,
+            hits.sum(), misses.sum(), evictions.sum(), hashedBytes.sum());
+    }
+    
+    private static class CacheEntry {
+        private final Path file;
+        private final long size;
+        
+        CacheEntry(Path file, long size) {
+            this.file = file;
+            this.size = size;
+        }
+    }
+    
+    /**
+     * 원본 파일의 해시 (크기/수정 시각/파일 키가 같으면 재사용)
+     */
+    private static class SourceDigest {
+        private final long size;
+        private final FileTime lastModified;
+        private final Object fileKey;
+        private final byte[] digest;
+        
+        SourceDigest(BasicFileAttributes attributes, byte[] digest) {
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime();
+            this.fileKey = attributes.fileKey();
+            this.digest = digest;
+        }
+        
+        boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModified.equals(attributes.lastModifiedTime())
+                && Objects.equals(fileKey, attributes.fileKey());
+        }
+    }
+    
+    /**
+     * 캐시 통계 DTO
+     */
+    public static class CacheStats {
+        private final boolean enabled;
+        private final String dir;
+        private final int entries;
+        private final long sizeBytes;
+        private final long maxSizeBytes;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long hashedBytes;
+        
+        public CacheStats(boolean enabled, String dir, int entries, long sizeBytes, long maxSizeBytes,
+                          long hits, long misses, long evictions, long hashedBytes) {
+            this.enabled = enabled;
+            this.dir = dir;
+            this.entries = entries;
+            this.sizeBytes = sizeBytes;
+            this.maxSizeBytes = maxSizeBytes;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.hashedBytes = hashedBytes;
+        }
+        
+        public boolean isEnabled() { return enabled; }
+        public String getDir() { return dir; }
+        public int getEntries() { return entries; }
+        public long getSizeBytes() { return sizeBytes; }
+        public long getMaxSizeBytes() { return maxSizeBytes; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getHashedBytes() { return hashedBytes; }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.performance.image;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.event.IIOReadProgressListener;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.SampleModel;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * 썸네일용 서브샘플링 디코더
+ *
+ * ImageIO.read는 원본 해상도 전체를 BufferedImage로 디코딩하므로 1억 화소 이미지는 한 장에 수백 MB가 필요함
+ * 이 디코더는 헤더만 먼저 읽어 크기를 확인한 뒤(open), ImageReadParam 소스 서브샘플링으로
+ * 긴 변이 썸네일 크기의 약 2배가 되도록 줄여서 디코딩(read)하므로 원본 크기와 관계없이 메모리 사용량이 일정함
+ * - 타일 구조인 이미지(TIFF 등)는 타일 단위 영역(source region)으로 나누어 같은 결과 이미지에 채워 넣음
+ * - 타일이 없는 이미지(JPEG/PNG)는 타일 = 이미지 전체라 한 번에 읽음 (리더가 스캔라인 단위로 읽으며 버리므로 결과 크기만큼만 사용)
+ * open과 read 사이에 getDecodedBytes로 예상 메모리를 확인하여 동시 디코딩 수를 조절할 수 있음
+ */
+public final class ThumbnailDecoder implements AutoCloseable {
+    
+    // 서브샘플링은 최근접 화소 선택이므로 최종 리사이즈(bilinear)를 위해 목표 크기의 2배 이상을 남김
+    private static final int OVERSAMPLE = 2;
+    
+    private final Path source;
+    private final ImageInputStream input;
+    private final ImageReader reader;
+    private final ImageTypeSpecifier imageType;
+    private final int width;
+    private final int height;
+    private final int subsampling;
+    private volatile boolean aborted;
+    
+    private ThumbnailDecoder(Path source, ImageInputStream input, ImageReader reader, int maxSize) throws IOException {
+        this.source = source;
+        this.input = input;
+        this.reader = reader;
+        this.width = reader.getWidth(0);
+        this.height = reader.getHeight(0);
+        this.imageType = selectImageType(source, reader);
+        this.subsampling = Math.max(1, Math.max(width, height) / (maxSize * OVERSAMPLE));
+        reader.addIIOReadProgressListener(new AbortListener());
+    }
+    
+    /**
+     * 파일을 열고 헤더(크기, 색 형식)만 읽음 (긴 변이 maxSize인 썸네일 기준으로 서브샘플링 비율 결정)
+     */
+    public static ThumbnailDecoder open(Path source, int maxSize) {
+        ImageInputStream input = null;
+        ImageReader reader = null;
+        try {
+            input = ImageIO.createImageInputStream(source.toFile());
+            if (input == null) {
+                throw new IOException("파일을 열 수 없습니다: " + source);
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("지원하지 않는 이미지 형식: " + source);
+            }
+            reader = readers.next();
+            // 파일 기반 스트림이라 되돌아가기(seek) 비용이 없으므로 타일을 여러 번 읽을 수 있게 seekForwardOnly = false
+            reader.setInput(input, false, true);
+            return new ThumbnailDecoder(source, input, reader, maxSize);
+        } catch (IOException e) {
+            if (reader != null) {
+                reader.dispose();
+            }
+            closeQuietly(input);
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * 리더가 지원하면 TYPE_INT_RGB로 디코딩 (픽셀 커널이 변환 없이 int[] 래스터를 바로 사용), 아니면 첫 번째 형식
+     */
+    private static ImageTypeSpecifier selectImageType(Path source, ImageReader reader) throws IOException {
+        Iterator<ImageTypeSpecifier> types = reader.getImageTypes(0);
+        if (types == null || !types.hasNext()) {
+            throw new IIOException("디코딩할 수 없는 색 공간: " + source);
+        }
+        ImageTypeSpecifier first = types.next();
+        for (ImageTypeSpecifier type = first; ; type = types.next()) {
+            if (type.getBufferedImageType() == BufferedImage.TYPE_INT_RGB) {
+                return type;
+            }
+            if (!types.hasNext()) {
+                return first;
+            }
+        }
+    }
+    
+    /**
+     * 서브샘플링된 이미지 디코딩 (타일 단위로 읽어 결과 이미지 한 장에 채움)
+     */
+    public BufferedImage read() {
+        try {
+            BufferedImage destination = imageType.createBufferedImage(getDecodedWidth(), getDecodedHeight());
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setDestination(destination);
+            int tileWidth = reader.getTileWidth(0);
+            int tileHeight = reader.getTileHeight(0);
+            for (int tileY = 0; tileY < height; tileY += tileHeight) {
+                for (int tileX = 0; tileX < width; tileX += tileWidth) {
+                    checkAborted();
+                    readRegion(param, tileX, tileY, Math.min(tileWidth, width - tileX), Math.min(tileHeight, height - tileY));
+                }
+            }
+            checkAborted();  // 중단된 read는 일부만 채운 이미지를 반환하므로 결과로 쓰지 않음
+            return destination;
+        } catch (IOException e) {
+            throw new UncheckedIOException("이미지 디코딩 실패: " + source, e);
+        }
+    }
+    
+    /**
+     * 한 영역을 읽어 결과 이미지의 대응 위치에 씀
+     * 영역마다 서브샘플링 시작점을 맞춰 전체 이미지 기준으로 subsampling 배수 위치의 화소만 선택
+     */
+    private void readRegion(ImageReadParam param, int x, int y, int regionWidth, int regionHeight) throws IOException {
+        int offsetX = (subsampling - x % subsampling) % subsampling;
+        int offsetY = (subsampling - y % subsampling) % subsampling;
+        if (offsetX >= regionWidth || offsetY >= regionHeight) {
+            return;  // 이 영역에는 선택되는 화소가 없음
+        }
+        param.setSourceRegion(new Rectangle(x, y, regionWidth, regionHeight));
+        param.setSourceSubsampling(subsampling, subsampling, offsetX, offsetY);
+        param.setDestinationOffset(new Point((x + offsetX) / subsampling, (y + offsetY) / subsampling));
+        reader.read(0, param);
+    }
+    
+    public int getWidth() {
+        return width;
+    }
+    
+    public int getHeight() {
+        return height;
+    }
+    
+    public int getSubsampling() {
+        return subsampling;
+    }
+    
+    public int getDecodedWidth() {
+        return (width + subsampling - 1) / subsampling;
+    }
+    
+    public int getDecodedHeight() {
+        return (height + subsampling - 1) / subsampling;
+    }
+    
+    /**
+     * read 결과 이미지가 차지할 예상 바이트 수 (화소당 데이터 요소 수 x 요소 크기)
+     */
+    public long getDecodedBytes() {
+        SampleModel sampleModel = imageType.getSampleModel(1, 1);
+        int bytesPerPixel = Math.max(1,
+            DataBuffer.getDataTypeSize(sampleModel.getDataType()) / 8 * sampleModel.getNumDataElements());
+        return (long) getDecodedWidth() * getDecodedHeight() * bytesPerPixel;
+    }
+    
+    /**
+     * 다른 스레드에서 진행 중인 read 중단 요청 (이후 read는 IIOException)
+     * JPEG 리더 등은 다른 스레드의 ImageReader.abort 호출을 거부하므로 표시만 하고,
+     * 디코딩 스레드가 진행 콜백(AbortListener)이나 영역 사이에서 확인하여 중단
+     */
+    public void abort() {
+        aborted = true;
+    }
+    
+    private void checkAborted() throws IIOException {
+        if (aborted || Thread.currentThread().isInterrupted()) {
+            throw new IIOException("디코딩 중단: " + source);
+        }
+    }
+    
+    /**
+     * 리더가 스캔라인/타일을 읽을 때마다 호출 (디코딩 스레드), 중단 요청이나 인터럽트가 있으면 리더 중단
+     */
+    private class AbortListener implements IIOReadProgressListener {
+        
+        @Override
+        public void imageProgress(ImageReader source, float percentageDone) {
+            if (aborted || Thread.currentThread().isInterrupted()) {
+                source.abort();
+            }
+        }
+        
+        @Override
+        public void sequenceStarted(ImageReader source, int minIndex) {
+        }
+        
+        @Override
+        public void sequenceComplete(ImageReader source) {
+        }
+        
+        @Override
+        public void imageStarted(ImageReader source, int imageIndex) {
+        }
+        
+        @Override
+        public void imageComplete(ImageReader source) {
+        }
+        
+        @Override
+        public void thumbnailStarted(ImageReader source, int imageIndex, int thumbnailIndex) {
+        }
+        
+        @Override
+        public void thumbnailProgress(ImageReader source, float percentageDone) {
+        }
+        
+        @Override
+        public void thumbnailComplete(ImageReader source) {
+        }
+        
+        @Override
+        public void readAborted(ImageReader source) {
+        }
+    }
+    
+    @Override
+    public void close() {
+        reader.dispose();
+        closeQuietly(input);
+    }
+    
+    private static void closeQuietly(ImageInputStream input) {
+        if (input == null) {
+            return;
+        }
+        try {
+            input.close();
+        } catch (IOException ignored) {
+            // 읽기 전용 스트림이라 닫기 실패는 무시
+        }
+    }
+}
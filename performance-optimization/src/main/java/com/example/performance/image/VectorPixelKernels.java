@@ -0,0 +1,82 @@
+package com.example.performance.image;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API(SIMD) 픽셀 커널
+ *
+ * 패킹된 화소를 레인 단위로 시프트/마스크하여 채널을 분리하고 한 번에 SPECIES.length()개씩 처리
+ * 루프 경계(loopBound) 이후의 나머지는 ScalarPixelKernels로 처리
+ * jdk.incubator.vector 모듈이 없으면 이 클래스를 로드할 수 없으므로 PixelKernels.vector()/select()를 통해서만 접근
+ */
+final class VectorPixelKernels extends AbstractPixelKernels {
+    
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    
+    static final VectorPixelKernels INSTANCE = new VectorPixelKernels();
+    
+    private VectorPixelKernels() {
+    }
+    
+    /**
+     * 하드웨어 SIMD 레인이 4개(128비트) 이상인지 (아니면 Vector API가 스칼라보다 느림)
+     */
+    static boolean isAccelerated() {
+        return SPECIES.length() >= 4;
+    }
+    
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+    
+    @Override
+    public void grayscale(int[] pixels, int[] out, int length) {
+        int upper = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            IntVector p = IntVector.fromArray(SPECIES, pixels, i);
+            IntVector r = p.lanewise(VectorOperators.LSHR, 16).and(0xFF);
+            IntVector g = p.lanewise(VectorOperators.LSHR, 8).and(0xFF);
+            IntVector b = p.and(0xFF);
+            IntVector y = r.mul(77).add(g.mul(150)).add(b.mul(29)).lanewise(VectorOperators.LSHR, 8);
+            y.lanewise(VectorOperators.LSHL, 16)
+                .or(y.lanewise(VectorOperators.LSHL, 8))
+                .or(y)
+                .intoArray(out, i);
+        }
+        ScalarPixelKernels.grayscale(pixels, out, i, length);
+    }
+    
+    @Override
+    public void brightness(int[] pixels, int[] out, int length, int delta) {
+        int upper = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            IntVector p = IntVector.fromArray(SPECIES, pixels, i);
+            IntVector r = p.lanewise(VectorOperators.LSHR, 16).and(0xFF).add(delta).max(0).min(255);
+            IntVector g = p.lanewise(VectorOperators.LSHR, 8).and(0xFF).add(delta).max(0).min(255);
+            IntVector b = p.and(0xFF).add(delta).max(0).min(255);
+            r.lanewise(VectorOperators.LSHL, 16)
+                .or(g.lanewise(VectorOperators.LSHL, 8))
+                .or(b)
+                .intoArray(out, i);
+        }
+        ScalarPixelKernels.brightness(pixels, out, i, length, delta);
+    }
+    
+    @Override
+    protected void accumulateRow(int[] source, int offset, int width, int[] red, int[] green, int[] blue) {
+        int upper = SPECIES.loopBound(width);
+        int x = 0;
+        for (; x < upper; x += SPECIES.length()) {
+            IntVector p = IntVector.fromArray(SPECIES, source, offset + x);
+            IntVector.fromArray(SPECIES, red, x).add(p.lanewise(VectorOperators.LSHR, 16).and(0xFF)).intoArray(red, x);
+            IntVector.fromArray(SPECIES, green, x).add(p.lanewise(VectorOperators.LSHR, 8).and(0xFF)).intoArray(green, x);
+            IntVector.fromArray(SPECIES, blue, x).add(p.and(0xFF)).intoArray(blue, x);
+        }
+        ScalarPixelKernels.accumulateRow(source, offset, x, width, red, green, blue);
+    }
+}
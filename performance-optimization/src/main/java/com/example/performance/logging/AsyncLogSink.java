@@ -0,0 +1,434 @@
+package com.example.performance.logging;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 배치 로그 싱크
+ *
+ * System.out.println은 PrintStream 내부 락을 잡고 줄마다 인코딩 + write 시스템 콜을 수행하므로
+ * 여러 스레드가 출력하면 모두 한 줄로 직렬화됨
+ * 이 싱크는 호출 스레드에서 링 버퍼 슬롯에 참조만 저장하고, 전용 writer 스레드 하나가 모아서
+ * 문자열 변환 / UTF-8 인코딩 / 버퍼링된 채널 쓰기를 처리
+ * - 링 버퍼: 다중 생산자 / 단일 소비자(MPSC), 슬롯별 시퀀스 번호로 락 없이 동작 (용량은 2의 거듭제곱)
+ * - 가득 찼을 때: DROP(버리고 카운트) 또는 BLOCK(자리가 날 때까지 대기)
+ * - writer는 꺼낸 만큼(최대 capacity줄)을 버퍼에 모아 한 번에 채널에 씀 (줄 단위 시스템 콜 없음)
+ * - writer는 링 버퍼가 비면 타임아웃 없이 잠들고, 잠든 writer는 다음 줄을 넣은 생산자가 깨움 (유휴 시 주기적으로 깨어나지 않음)
+ * - writer가 예기치 않게 종료되면 싱크를 닫힌 상태로 바꿔 BLOCK 생산자가 무한 대기하지 않도록 함
+ * - close는 기록 중인 생산자가 모두 빠져나간 뒤 writer가 마지막으로 비우도록 하여 종료 직전 줄이 유실되지 않음
+ */
+public class AsyncLogSink implements AutoCloseable {
+    
+    private static final byte[] SEPARATOR = ": ".getBytes(StandardCharsets.UTF_8);
+    private static final byte NEWLINE = '\n';
+    // 생산자(BLOCK/flush)와 종료 중인 writer가 짧게 기다릴 때의 대기 시간
+    private static final long WAIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    
+    /**
+     * 링 버퍼가 가득 찼을 때의 동작
+     */
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+    
+    private final String name;
+    private final WritableByteChannel channel;
+    private final boolean closeChannel;
+    private final OverflowPolicy policy;
+    
+    // 링 버퍼 (슬롯 i의 시퀀스가 위치 p와 같으면 생산자가 쓸 차례, p + 1이면 소비자가 읽을 차례)
+    private final int capacity;
+    private final int mask;
+    private final Object[] prefixes;
+    private final Object[] messages;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+    
+    private final ByteBuffer buffer;
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile long writtenSequence;
+    
+    // writer가 빈 링 버퍼에서 잠들려는 중인지 (생산자는 이 값이 true일 때만 unpark 호출)
+    private volatile boolean writerParked;
+    
+    // log() 안에서 running 확인 후 슬롯을 채우는 중인 생산자 수 (close가 마지막 줄까지 기다리는 데 사용)
+    private final AtomicInteger activeProducers = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private volatile Throwable lastError;
+    
+    public AsyncLogSink(String name, WritableByteChannel channel, boolean closeChannel,
+                        int capacity, int bufferBytes, OverflowPolicy policy) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity는 2 이상의 2의 거듭제곱이어야 합니다: " + capacity);
+        }
+        this.name = name;
+        this.channel = channel;
+        this.closeChannel = closeChannel;
+        this.policy = policy;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.prefixes = new Object[capacity];
+        this.messages = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.buffer = ByteBuffer.allocateDirect(bufferBytes);
+        this.writer = new Thread(this::drainLoop, "log-sink-" + name);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+    
+    /**
+     * 파일에 추가 기록하는 싱크 (FileChannel, 상위 디렉터리가 없으면 생성)
+     */
+    public static AsyncLogSink toFile(Path path, int capacity, int bufferBytes, OverflowPolicy policy) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            return new AsyncLogSink(path.getFileName().toString(), channel, true, capacity, bufferBytes, policy);
+        } catch (IOException e) {
+            throw new UncheckedIOException("로그 파일을 열 수 없습니다: " + path, e);
+        }
+    }
+    
+    /**
+     * 표준 출력으로 쓰는 공용 싱크 (콘솔 출력이 빠지지 않도록 BLOCK, JVM 종료 시 남은 줄을 씀)
+     */
+    public static AsyncLogSink stdout() {
+        return StdoutHolder.INSTANCE;
+    }
+    
+    private static class StdoutHolder {
+        private static final AsyncLogSink INSTANCE = createStdout();
+        
+        private static AsyncLogSink createStdout() {
+            WritableByteChannel channel = Channels.newChannel(new FileOutputStream(FileDescriptor.out));
+            AsyncLogSink sink = new AsyncLogSink("stdout", channel, false, 1 << 14, 1 << 16, OverflowPolicy.BLOCK);
+            Runtime.getRuntime().addShutdownHook(new Thread(sink::close, "log-sink-stdout-shutdown"));
+            return sink;
+        }
+    }
+    
+    // ========== 생산자 (호출 스레드) ==========
+    
+    /**
+     * 한 줄 기록 (링 버퍼에 넣지 못하면 false)
+     */
+    public boolean log(String message) {
+        return log(null, message);
+    }
+    
+    /**
+     * "prefix: message" 한 줄 기록
+     * prefix의 문자열 변환(예: Date.toString)도 writer 스레드에서 하므로 호출 스레드 비용은 슬롯 저장뿐
+     * prefix 객체는 기록 후 변경하지 않아야 함
+     */
+    public boolean log(Object prefix, Object message) {
+        activeProducers.incrementAndGet();
+        try {
+            return publish(prefix, message);
+        } finally {
+            activeProducers.decrementAndGet();
+        }
+    }
+    
+    private boolean publish(Object prefix, Object message) {
+        if (!running) {
+            dropped.increment();
+            return false;
+        }
+        if (offer(prefix, message)) {
+            published.increment();
+            signalWriter();
+            return true;
+        }
+        if (policy == OverflowPolicy.DROP) {
+            dropped.increment();
+            return false;
+        }
+        // BLOCK: writer를 깨우고 자리가 날 때까지 짧게 대기
+        int spins = 0;
+        while (!offer(prefix, message)) {
+            if (!running || !writer.isAlive()) {
+                dropped.increment();
+                return false;
+            }
+            LockSupport.unpark(writer);
+            if (++spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(WAIT_PARK_NANOS / 10);
+            }
+        }
+        published.increment();
+        signalWriter();
+        return true;
+    }
+    
+    /**
+     * writer가 잠들어 있으면 깨움 (깨어 있는 동안에는 unpark 비용을 들이지 않음)
+     */
+    private void signalWriter() {
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+    
+    private boolean offer(Object prefix, Object message) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.getAcquire(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    prefixes[index] = prefix;
+                    messages[index] = message;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+    
+    /**
+     * 지금까지 기록 요청된 줄이 채널에 쓰일 때까지 대기 (최대 timeout)
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (writtenSequence < target && writer.isAlive()) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(WAIT_PARK_NANOS);
+        }
+        return writtenSequence >= target;
+    }
+    
+    /**
+     * 남은 줄을 모두 쓰고 writer 종료 (파일 싱크면 채널도 닫음)
+     * writer는 running이 false이고 기록 중인 생산자가 없을 때 링 버퍼를 마지막으로 비운 뒤 종료
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (closeChannel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                lastError = e;
+            }
+        }
+    }
+    
+    // ========== 소비자 (writer 스레드) ==========
+    
+    private void drainLoop() {
+        try {
+            while (true) {
+                int drained = drain();
+                writeBuffer();
+                writtenSequence = head;
+                if (drained > 0) {
+                    continue;
+                }
+                // 생산자 수를 먼저 확인해야 그 사이 들어온 줄을 isEmpty가 놓치지 않음
+                if (!running && activeProducers.get() == 0 && isEmpty()) {
+                    return;
+                }
+                // 잠들기 전에 표시를 먼저 남기고 tail을 다시 확인
+                // 생산자는 tail을 CAS로 올린 뒤 표시를 읽으므로 둘 중 한쪽은 반드시 상대의 변경을 봄 (깨움 누락 없음)
+                writerParked = true;
+                if (tail.get() != head) {
+                    // 자리를 잡은 생산자가 아직 슬롯을 채우는 중
+                    Thread.onSpinWait();
+                } else if (running) {
+                    LockSupport.park(this);
+                } else {
+                    // 종료 중: 기록 중인 생산자가 빠져나가기를 짧게 기다림 (버려진 줄은 깨우지 않으므로 타임아웃 사용)
+                    LockSupport.parkNanos(this, WAIT_PARK_NANOS);
+                }
+                writerParked = false;
+            }
+        } catch (Throwable e) {
+            // writer가 죽으면 더 이상 비울 스레드가 없으므로 닫힌 상태로 전환 (이후 기록은 버림)
+            lastError = e;
+            running = false;
+            throw e;
+        }
+    }
+    
+    /**
+     * 링 버퍼에서 최대 capacity개를 꺼내 인코딩 버퍼에 담음 (버퍼가 차면 채널에 씀)
+     */
+    private int drain() {
+        int count = 0;
+        while (count < capacity) {
+            int index = (int) head & mask;
+            if (sequences.getAcquire(index) != head + 1) {
+                break;
+            }
+            Object prefix = prefixes[index];
+            Object message = messages[index];
+            prefixes[index] = null;
+            messages[index] = null;
+            sequences.setRelease(index, head + capacity);
+            head++;
+            count++;
+            try {
+                encode(prefix, message);
+            } catch (RuntimeException e) {
+                // toString 실패 등 한 줄의 문제로 writer가 멈추지 않도록 해당 줄만 버림
+                lastError = e;
+                dropped.increment();
+            }
+        }
+        return count;
+    }
+    
+    private boolean isEmpty() {
+        return sequences.getAcquire((int) head & mask) != head + 1;
+    }
+    
+    private void encode(Object prefix, Object message) {
+        // 문자열 변환을 먼저 끝내 변환이 실패해도 버퍼에 일부만 쓰인 줄이 남지 않도록 함
+        byte[] prefixBytes = prefix != null ? String.valueOf(prefix).getBytes(StandardCharsets.UTF_8) : null;
+        byte[] messageBytes = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        if (prefixBytes != null) {
+            put(prefixBytes);
+            put(SEPARATOR);
+        }
+        put(messageBytes);
+        if (!buffer.hasRemaining()) {
+            writeBuffer();
+        }
+        buffer.put(NEWLINE);
+    }
+    
+    private void put(byte[] bytes) {
+        if (bytes.length > buffer.remaining()) {
+            writeBuffer();
+            if (bytes.length > buffer.capacity()) {
+                write(ByteBuffer.wrap(bytes));
+                return;
+            }
+        }
+        buffer.put(bytes);
+    }
+    
+    private void writeBuffer() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+        batches.incrementAndGet();
+    }
+    
+    private void write(ByteBuffer source) {
+        try {
+            while (source.hasRemaining()) {
+                bytesWritten.addAndGet(channel.write(source));
+            }
+        } catch (IOException e) {
+            // 쓰기 실패는 호출 스레드로 전달하지 않고 기록만 함 (해당 배치는 버림)
+            lastError = e;
+            source.position(source.limit());
+        }
+    }
+    
+    // ========== 통계 ==========
+    
+    public LogSinkStats getStats() {
+        Throwable error = lastError;
+        return new LogSinkStats(name, policy.name(), capacity, published.sum(), dropped.sum(),
+            writtenSequence, tail.get() - writtenSequence, batches.get(), bytesWritten.get(),
+            error != null ? error.toString() : null);
+    }
+    
+    /**
+     * 싱크 통계 DTO
+     */
+    public static class LogSinkStats {
+        private final String name;
+        private final String policy;
+        private final int capacity;
+        private final long published;
+        private final long dropped;
+        private final long written;
+        private final long pending;
+        private final long batches;
+        private final long bytesWritten;
+        private final String lastError;
+        
+        public LogSinkStats(String name, String policy, int capacity, long published, long dropped,
+                            long written, long pending, long batches, long bytesWritten, String lastError) {
+            this.name = name;
+            this.policy = policy;
+            this.capacity = capacity;
+            this.published = published;
+            this.dropped = dropped;
+            this.written = written;
+            this.pending = pending;
+            this.batches = batches;
+            this.bytesWritten = bytesWritten;
+            this.lastError = lastError;
+        }
+        
+        public String getName() { return name; }
+        public String getPolicy() { return policy; }
+        public int getCapacity() { return capacity; }
+        public long getPublished() { return published; }
+        public long getDropped() { return dropped; }
+        public long getWritten() { return written; }
+        public long getPending() { return pending; }
+        public long getBatches() { return batches; }
+        public long getBytesWritten() { return bytesWritten; }
+        public String getLastError() { return lastError; }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.performance.monitor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 작업 이름별 힙 할당량 기록 레지스트리
+ *
+ * AllocationScope로 측정한 호출 스레드 / 작업 스레드 할당 바이트를 작업별로 누적
+ * 같은 값을 Micrometer DistributionSummary로도 기록하여 Prometheus에서 조회할 수 있도록 함
+ */
+@Component
+@RequiredArgsConstructor
+public class AllocationRecorderRegistry {
+    
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<String, OperationAllocations> operations = new ConcurrentHashMap<>();
+    
+    /**
+     * 닫힌 측정 구간의 할당량 기록 (측정 불가 JVM이면 무시)
+     */
+    public void record(String operation, AllocationScope scope) {
+        if (scope.getTotalBytes() < 0) {
+            return;
+        }
+        operations.computeIfAbsent(operation, this::newOperation).record(scope);
+    }
+    
+    /**
+     * 작업별 할당량 리포트 조회
+     */
+    public Map<String, AllocationReport> getReports() {
+        Map<String, AllocationReport> reports = new TreeMap<>();
+        operations.forEach((operation, allocations) -> reports.put(operation, allocations.report()));
+        return reports;
+    }
+    
+    /**
+     * 모든 기록 초기화 (Prometheus DistributionSummary는 누적 카운터이므로 유지)
+     */
+    public void reset() {
+        operations.values().forEach(OperationAllocations::reset);
+    }
+    
+    private OperationAllocations newOperation(String operation) {
+        DistributionSummary summary = DistributionSummary.builder("performance.operation.allocated")
+            .description("PerformanceMonitor로 측정한 작업당 힙 할당량 (작업 스레드 포함)")
+            .baseUnit("bytes")
+            .tag("operation", operation)
+            .register(meterRegistry);
+        return new OperationAllocations(summary);
+    }
+    
+    /**
+     * 작업 하나의 누적 할당량
+     */
+    private static class OperationAllocations {
+        private final DistributionSummary summary;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder callerBytes = new LongAdder();
+        private final LongAdder workerBytes = new LongAdder();
+        private final LongAdder workerTasks = new LongAdder();
+        private final AtomicLong maxBytes = new AtomicLong();
+        private final AtomicLong lastBytes = new AtomicLong();
+        
+        OperationAllocations(DistributionSummary summary) {
+            this.summary = summary;
+        }
+        
+        void record(AllocationScope scope) {
+            long total = scope.getTotalBytes();
+            count.increment();
+            callerBytes.add(scope.getCallerBytes());
+            workerBytes.add(scope.getWorkerBytes());
+            workerTasks.add(scope.getWorkerTasks());
+            maxBytes.accumulateAndGet(total, Math::max);
+            lastBytes.set(total);
+            summary.record(total);
+        }
+        
+        void reset() {
+            count.reset();
+            callerBytes.reset();
+            workerBytes.reset();
+            workerTasks.reset();
+            maxBytes.set(0);
+            lastBytes.set(0);
+        }
+        
+        AllocationReport report() {
+            long n = count.sum();
+            long caller = callerBytes.sum();
+            long worker = workerBytes.sum();
+            return new AllocationReport(n, caller, worker, workerTasks.sum(),
+                n > 0 ? (caller + worker) / n : 0, maxBytes.get(), lastBytes.get());
+        }
+    }
+    
+    /**
+     * 작업별 할당량 리포트 DTO (바이트)
+     */
+    public static class AllocationReport {
+        private final long count;
+        private final long callerBytes;
+        private final long workerBytes;
+        private final long workerTasks;
+        private final long meanBytes;
+        private final long maxBytes;
+        private final long lastBytes;
+        
+        public AllocationReport(long count, long callerBytes, long workerBytes, long workerTasks,
+                                long meanBytes, long maxBytes, long lastBytes) {
+            this.count = count;
+            this.callerBytes = callerBytes;
+            this.workerBytes = workerBytes;
+            this.workerTasks = workerTasks;
+            this.meanBytes = meanBytes;
+            this.maxBytes = maxBytes;
+            this.lastBytes = lastBytes;
+        }
+        
+        public long getCount() { return count; }
+        public long getCallerBytes() { return callerBytes; }
+        public long getWorkerBytes() { return workerBytes; }
+        public long getWorkerTasks() { return workerTasks; }
+        public long getMeanBytes() { return meanBytes; }
+        public long getMaxBytes() { return maxBytes; }
+        public long getLastBytes() { return lastBytes; }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.performance.monitor;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 측정 구간 동안 할당된 힙 바이트 수 집계
+ *
+ * com.sun.management.ThreadMXBean의 스레드별 누적 할당량(TLAB 할당 포함)을 구간 시작/끝에 읽어 차이를 계산
+ * System.gc()나 Runtime 여유 메모리 비교와 달리 JVM을 멈추지 않고, 다른 스레드의 할당이 섞이지 않아 운영 환경에서도 사용 가능
+ *
+ * 작업이 다른 스레드로 퍼지는 경우(ExecutorService, 병렬 스트림, @Async) propagate로 감싼 작업만
+ * 실행 스레드의 할당량을 구간에 더함 (구간이 닫힌 뒤 끝난 작업은 집계되지 않음)
+ */
+public final class AllocationScope implements AutoCloseable {
+    
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+    private static final ThreadLocal<AllocationScope> CURRENT = new ThreadLocal<>();
+    
+    private final AllocationScope parent;
+    private final Thread owner = Thread.currentThread();
+    private final long startBytes;
+    private final LongAdder workerBytes = new LongAdder();
+    private final LongAdder workerTasks = new LongAdder();
+    private volatile boolean closed;
+    private long callerBytes = -1;
+    
+    private AllocationScope(AllocationScope parent) {
+        this.parent = parent;
+        this.startBytes = currentThreadAllocatedBytes();
+    }
+    
+    /**
+     * 현재 스레드에서 측정 구간 시작 (구간 안에서 다시 열면 중첩 구간)
+     */
+    public static AllocationScope open() {
+        AllocationScope scope = new AllocationScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+    
+    /**
+     * 스레드별 할당량 측정을 지원하는 JVM인지 여부 (HotSpot 계열)
+     */
+    public static boolean isSupported() {
+        return THREAD_MX_BEAN != null;
+    }
+    
+    /**
+     * 측정 구간 종료
+     * 작업 스레드의 할당량은 상위 구간에도 더해짐 (호출 스레드의 할당량은 상위 구간이 직접 측정)
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        long endBytes = currentThreadAllocatedBytes();
+        callerBytes = startBytes < 0 || endBytes < 0 ? -1 : endBytes - startBytes;
+        closed = true;
+        if (CURRENT.get() == this) {
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+        if (parent != null) {
+            parent.workerBytes.add(workerBytes.sum());
+            parent.workerTasks.add(workerTasks.sum());
+        }
+    }
+    
+    /**
+     * 호출 스레드에서 할당된 바이트 (측정 불가면 -1)
+     */
+    public long getCallerBytes() {
+        return callerBytes;
+    }
+    
+    /**
+     * propagate로 감싼 작업이 다른 스레드에서 할당한 바이트
+     */
+    public long getWorkerBytes() {
+        return workerBytes.sum();
+    }
+    
+    public long getWorkerTasks() {
+        return workerTasks.sum();
+    }
+    
+    public long getTotalBytes() {
+        return callerBytes < 0 ? -1 : callerBytes + workerBytes.sum();
+    }
+    
+    // ========== 작업 스레드로 구간 전파 ==========
+    
+    /**
+     * 현재 측정 구간을 작업과 함께 전달 (측정 중이 아니면 작업을 그대로 반환하여 비용 없음)
+     */
+    public static Runnable propagate(Runnable task) {
+        AllocationScope scope = CURRENT.get();
+        if (scope == null) {
+            return task;
+        }
+        return () -> scope.runUnchecked(() -> {
+            task.run();
+            return null;
+        });
+    }
+    
+    public static <T> Callable<T> propagateCallable(Callable<T> task) {
+        AllocationScope scope = CURRENT.get();
+        if (scope == null) {
+            return task;
+        }
+        return () -> scope.runInWorker(task);
+    }
+    
+    public static <T> Supplier<T> propagateSupplier(Supplier<T> task) {
+        AllocationScope scope = CURRENT.get();
+        if (scope == null) {
+            return task;
+        }
+        return () -> scope.runUnchecked(task::get);
+    }
+    
+    public static <T> Consumer<T> propagateConsumer(Consumer<T> task) {
+        AllocationScope scope = CURRENT.get();
+        if (scope == null) {
+            return task;
+        }
+        return item -> scope.runUnchecked(() -> {
+            task.accept(item);
+            return null;
+        });
+    }
+    
+    private <T> T runUnchecked(Callable<T> task) {
+        try {
+            return runInWorker(task);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * 작업 스레드에서 실행하며 할당량을 구간에 더함
+     * 호출 스레드가 직접 실행하는 경우(병렬 스트림의 호출 스레드 등)는 호출 스레드 측정에 이미 포함되므로 그대로 실행
+     */
+    private <T> T runInWorker(Callable<T> task) throws Exception {
+        if (Thread.currentThread() == owner) {
+            return task.call();
+        }
+        AllocationScope previous = CURRENT.get();
+        CURRENT.set(this);
+        long before = currentThreadAllocatedBytes();
+        try {
+            return task.call();
+        } finally {
+            long after = currentThreadAllocatedBytes();
+            if (!closed && before >= 0 && after >= 0) {
+                workerBytes.add(after - before);
+                workerTasks.increment();
+            }
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+    
+    private static long currentThreadAllocatedBytes() {
+        return THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : -1;
+    }
+    
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return bean;
+    }
+}
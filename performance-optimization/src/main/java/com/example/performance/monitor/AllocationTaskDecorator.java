@@ -0,0 +1,17 @@
+package com.example.performance.monitor;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Async 작업에 호출 스레드의 할당량 측정 구간을 전달
+ * Spring Boot가 TaskDecorator 빈을 기본 비동기 실행기(applicationTaskExecutor)에 자동으로 적용
+ */
+@Component
+public class AllocationTaskDecorator implements TaskDecorator {
+    
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return AllocationScope.propagate(runnable);
+    }
+}
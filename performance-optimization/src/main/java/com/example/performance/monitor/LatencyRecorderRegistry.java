@@ -0,0 +1,237 @@
+package com.example.performance.monitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 작업 이름별 지연 시간 기록기 레지스트리
+ *
+ * 작업마다 HdrHistogram Recorder를 두고 nanoTime 기준 지연 시간을 기록
+ * Recorder는 기록 경로가 wait-free라서 여러 스레드가 동시에 기록해도 락 경합이 없고,
+ * 주기적으로 구간 히스토그램을 떼어 내어 최근 구간 / 누적 백분위수를 계산
+ * 같은 값을 Micrometer Timer로도 기록하여 Prometheus에서 백분위수를 조회할 수 있도록 함
+ */
+@Component
+@RequiredArgsConstructor
+public class LatencyRecorderRegistry {
+    
+    // 1ns ~ 1시간, 유효 숫자 3자리 (상대 오차 0.1%)
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.HOURS.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${performance.latency.interval-ms:10000}")
+    private long intervalMs;
+    
+    private final Map<String, OperationRecorder> recorders = new ConcurrentHashMap<>();
+    
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "latency-interval-roller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleAtFixedRate(this::rollIntervals, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+    
+    /**
+     * 지연 시간 기록 (나노초)
+     */
+    public void record(String operation, long nanos) {
+        recorders.computeIfAbsent(operation, this::newRecorder).record(nanos);
+    }
+    
+    /**
+     * 작업별 최근 구간 / 누적 백분위수 조회
+     * 조회 시점까지 기록된 값을 반영하기 위해 현재 구간을 먼저 마감
+     */
+    public Map<String, LatencyReport> getReports() {
+        rollIntervals();
+        Map<String, LatencyReport> reports = new TreeMap<>();
+        recorders.forEach((operation, recorder) -> reports.put(operation, recorder.report()));
+        return reports;
+    }
+    
+    /**
+     * 모든 기록 초기화 (Prometheus Timer는 누적 카운터이므로 유지)
+     */
+    public void reset() {
+        recorders.values().forEach(OperationRecorder::reset);
+    }
+    
+    private void rollIntervals() {
+        recorders.values().forEach(OperationRecorder::roll);
+    }
+    
+    private OperationRecorder newRecorder(String operation) {
+        Timer timer = Timer.builder("performance.operation.latency")
+            .description("PerformanceMonitor로 측정한 작업 실행 시간")
+            .tag("operation", operation)
+            .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        return new OperationRecorder(timer);
+    }
+    
+    /**
+     * 작업 하나의 기록기
+     * 기록은 Recorder로 wait-free, 구간 마감(roll)과 조회는 synchronized로 한 스레드씩 처리
+     */
+    private static class OperationRecorder {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        private final Histogram cumulative = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        private final Timer timer;
+        private Histogram interval;
+        private Histogram lastInterval;
+        
+        OperationRecorder(Timer timer) {
+            this.timer = timer;
+        }
+        
+        void record(long nanos) {
+            long value = Math.max(1, Math.min(nanos, HIGHEST_TRACKABLE_NANOS));
+            recorder.recordValue(value);
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        
+        /**
+         * 현재 구간을 마감하여 누적 히스토그램에 합산
+         * 이전 구간 히스토그램을 재사용하여 마감할 때마다 배열을 새로 만들지 않음
+         */
+        synchronized void roll() {
+            interval = recorder.getIntervalHistogram(interval);
+            if (interval.getTotalCount() == 0) {
+                return;
+            }
+            cumulative.add(interval);
+            if (cumulative.getStartTimeStamp() == Long.MAX_VALUE) {
+                cumulative.setStartTimeStamp(interval.getStartTimeStamp());
+            }
+            cumulative.setEndTimeStamp(interval.getEndTimeStamp());
+            Histogram completed = interval;
+            interval = lastInterval;
+            lastInterval = completed;
+        }
+        
+        synchronized void reset() {
+            recorder.reset();
+            cumulative.reset();
+            cumulative.setStartTimeStamp(Long.MAX_VALUE);
+            lastInterval = null;
+        }
+        
+        synchronized LatencyReport report() {
+            return new LatencyReport(
+                lastInterval != null ? LatencySnapshot.of(lastInterval) : LatencySnapshot.EMPTY,
+                LatencySnapshot.of(cumulative));
+        }
+    }
+    
+    /**
+     * 작업별 지연 시간 리포트 DTO (최근 구간 + 누적)
+     */
+    public static class LatencyReport {
+        private final LatencySnapshot lastInterval;
+        private final LatencySnapshot cumulative;
+        
+        public LatencyReport(LatencySnapshot lastInterval, LatencySnapshot cumulative) {
+            this.lastInterval = lastInterval;
+            this.cumulative = cumulative;
+        }
+        
+        public LatencySnapshot getLastInterval() { return lastInterval; }
+        public LatencySnapshot getCumulative() { return cumulative; }
+    }
+    
+    /**
+     * 히스토그램 요약 DTO (마이크로초)
+     */
+    public static class LatencySnapshot {
+        static final LatencySnapshot EMPTY = new LatencySnapshot(0, null, null, 0, 0, 0, 0, 0, 0, 0);
+        
+        private final long count;
+        private final String startTime;
+        private final String endTime;
+        private final double minUs;
+        private final double meanUs;
+        private final double p50Us;
+        private final double p90Us;
+        private final double p99Us;
+        private final double p999Us;
+        private final double maxUs;
+        
+        public LatencySnapshot(long count, String startTime, String endTime, double minUs, double meanUs,
+                               double p50Us, double p90Us, double p99Us, double p999Us, double maxUs) {
+            this.count = count;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.minUs = minUs;
+            this.meanUs = meanUs;
+            this.p50Us = p50Us;
+            this.p90Us = p90Us;
+            this.p99Us = p99Us;
+            this.p999Us = p999Us;
+            this.maxUs = maxUs;
+        }
+        
+        static LatencySnapshot of(Histogram histogram) {
+            if (histogram.getTotalCount() == 0) {
+                return EMPTY;
+            }
+            return new LatencySnapshot(
+                histogram.getTotalCount(),
+                toInstant(histogram.getStartTimeStamp()),
+                toInstant(histogram.getEndTimeStamp()),
+                toMicros(histogram.getMinValue()),
+                histogram.getMean() / 1_000.0,
+                toMicros(histogram.getValueAtPercentile(50)),
+                toMicros(histogram.getValueAtPercentile(90)),
+                toMicros(histogram.getValueAtPercentile(99)),
+                toMicros(histogram.getValueAtPercentile(99.9)),
+                toMicros(histogram.getMaxValue())
+            );
+        }
+        
+        private static double toMicros(long nanos) {
+            return nanos / 1_000.0;
+        }
+        
+        private static String toInstant(long epochMillis) {
+            return epochMillis > 0 && epochMillis != Long.MAX_VALUE ? Instant.ofEpochMilli(epochMillis).toString() : null;
+        }
+        
+        public long getCount() { return count; }
+        public String getStartTime() { return startTime; }
+        public String getEndTime() { return endTime; }
+        public double getMinUs() { return minUs; }
+        public double getMeanUs() { return meanUs; }
+        public double getP50Us() { return p50Us; }
+        public double getP90Us() { return p90Us; }
+        public double getP99Us() { return p99Us; }
+        public double getP999Us() { return p999Us; }
+        public double getMaxUs() { return maxUs; }
+    }
+}
@@ -1,73 +1,98 @@
 package com.example.performance.monitor;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 /**
  * 실습 5: 성능 측정 및 분석
  * 
  * 실행 시간과 메모리 사용량을 측정하는 유틸리티
+ * 실행 시간은 LatencyRecorderRegistry에 기록하여 백분위수로 집계
+ * 메모리는 GC 없이 스레드별 할당 바이트(AllocationScope)로 측정하여 AllocationRecorderRegistry에 집계
  */
 @Component
+@RequiredArgsConstructor
+@Slf4j
 public class PerformanceMonitor {
     
+    private final LatencyRecorderRegistry latencyRecorderRegistry;
+    private final AllocationRecorderRegistry allocationRecorderRegistry;
+    
+    @Value("${performance.allocation.with-timing:true}")
+    private boolean allocationWithTiming;
+    
     /**
      * 실행 시간 측정
+     * nanoTime으로 측정하여 작업 이름별 히스토그램에 기록 (결과는 /api/performance/latency에서 조회)
+     * performance.allocation.with-timing이면 할당량도 함께 기록 (결과는 /api/performance/allocations에서 조회)
      */
     public <T> T measureExecutionTime(String operationName, Supplier<T> operation) {
-        long startTime = System.currentTimeMillis();
-        T result = operation.get();
-        long endTime = System.currentTimeMillis();
-        
-        long duration = endTime - startTime;
-        System.out.println(operationName + " 실행 시간: " + duration + "ms");
-        
-        return result;
+        AllocationScope scope = allocationWithTiming ? AllocationScope.open() : null;
+        long startTime = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            long durationNanos = System.nanoTime() - startTime;
+            // 기록 과정의 할당(Timer 등록 등)이 섞이지 않도록 할당량 측정을 먼저 마감
+            recordAllocation(operationName, scope);
+            record(operationName, durationNanos);
+        }
     }
     
     /**
      * 실행 시간 측정 (Runnable)
      */
     public void measureExecutionTime(String operationName, Runnable operation) {
-        long startTime = System.currentTimeMillis();
-        operation.run();
-        long endTime = System.currentTimeMillis();
-        
-        long duration = endTime - startTime;
-        System.out.println(operationName + " 실행 시간: " + duration + "ms");
+        measureExecutionTime(operationName, () -> {
+            operation.run();
+            return null;
+        });
+    }
+    
+    private void record(String operationName, long durationNanos) {
+        latencyRecorderRegistry.record(operationName, durationNanos);
+        log.debug("{} 실행 시간: {}μs", operationName, TimeUnit.NANOSECONDS.toMicros(durationNanos));
     }
     
     /**
-     * 메모리 사용량 측정
+     * 할당량 측정
+     * 측정 구간 동안 호출 스레드와 AllocationScope.propagate로 감싼 작업 스레드가 할당한 힙 바이트를 기록
+     * GC를 유도하지 않으므로 운영 환경에서도 사용 가능
      */
-    public void measureMemoryUsage(String operationName, Runnable operation) {
-        Runtime runtime = Runtime.getRuntime();
-        
-        // GC 실행
-        System.gc();
+    public <T> T measureAllocation(String operationName, Supplier<T> operation) {
+        AllocationScope scope = AllocationScope.open();
         try {
-            Thread.sleep(100);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            return operation.get();
+        } finally {
+            recordAllocation(operationName, scope);
         }
-        
-        long beforeMemory = runtime.totalMemory() - runtime.freeMemory();
-        
-        operation.run();
-        
-        // GC 실행
-        System.gc();
-        try {
-            Thread.sleep(100);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    }
+    
+    /**
+     * 메모리 사용량 측정
+     * 예전에는 System.gc() 전후의 Runtime 사용량을 비교했으나, GC 유도는 stop-the-world를 일으키고
+     * 다른 스레드의 할당과 섞여 값이 흔들리므로 스레드별 할당량 측정으로 대체
+     */
+    public void measureMemoryUsage(String operationName, Runnable operation) {
+        measureAllocation(operationName, () -> {
+            operation.run();
+            return null;
+        });
+    }
+    
+    private void recordAllocation(String operationName, AllocationScope scope) {
+        if (scope == null) {
+            return;
         }
-        
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
-        long usedMemory = afterMemory - beforeMemory;
-        
-        System.out.println(operationName + " 메모리 사용량: " + 
-            (usedMemory / 1024 / 1024) + "MB");
+        scope.close();
+        allocationRecorderRegistry.record(operationName, scope);
+        log.debug("{} 할당량: {}KB (호출 스레드 {}KB, 작업 스레드 {}KB / {}개 작업)", operationName,
+            scope.getTotalBytes() / 1024, scope.getCallerBytes() / 1024,
+            scope.getWorkerBytes() / 1024, scope.getWorkerTasks());
     }
 }
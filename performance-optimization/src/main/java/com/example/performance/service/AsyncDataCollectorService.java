@@ -1,5 +1,6 @@
 package com.example.performance.service;
 
+import com.example.performance.monitor.AllocationScope;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -35,26 +36,27 @@ public class AsyncDataCollectorService {
     /**
      * 비동기 방식 (빠름)
      * 모든 API 호출을 병렬로 실행
+     * 할당량 측정 구간은 @Async 실행기(AllocationTaskDecorator)와 supplyAsync 작업으로 전달됨
      */
     @Async
     public CompletableFuture<UserData> getUserAsync(String userId) {
-        return CompletableFuture.supplyAsync(() -> 
+        return CompletableFuture.supplyAsync(AllocationScope.propagateSupplier(() -> 
             externalApiClient.getUser(userId)
-        );
+        ));
     }
     
     @Async
     public CompletableFuture<OrderData> getOrdersAsync(String userId) {
-        return CompletableFuture.supplyAsync(() -> 
+        return CompletableFuture.supplyAsync(AllocationScope.propagateSupplier(() -> 
             externalApiClient.getOrders(userId)
-        );
+        ));
     }
     
     @Async
     public CompletableFuture<PaymentData> getPaymentsAsync(String userId) {
-        return CompletableFuture.supplyAsync(() -> 
+        return CompletableFuture.supplyAsync(AllocationScope.propagateSupplier(() -> 
             externalApiClient.getPayments(userId)
-        );
+        ));
     }
     
     /**
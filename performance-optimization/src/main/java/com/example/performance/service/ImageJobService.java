@@ -0,0 +1,380 @@
+package com.example.performance.service;
+
+import com.example.performance.image.ImageBatch;
+import com.example.performance.image.ImagePipeline;
+import com.example.performance.image.SampleImageGenerator;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 실습 4: 이미지 일괄 처리 작업(job) 관리
+ *
+ * 요청 스레드는 작업을 등록하고 id만 받아 바로 반환하고, 파일 제출(샘플 생성, 디렉터리 순회 포함)은 전용 스레드에서 수행
+ * - 진행 상태: 조회(getStatus) 또는 SSE 스트림(streamProgress)으로 완료/실패 수, 처리량, 남은 시간 추정
+ *   SSE 전송은 스트림마다 전송 풀에서 한 건씩 하므로 느린 클라이언트가 다른 스트림을 지연시키지 않음
+ *   (이전 전송이 끝나지 않은 스트림은 그 주기를 건너뛰고 다음 주기에 최신 상태를 보냄)
+ * - 제출 실패(순회 중 I/O 오류, 샘플 생성 실패)는 FAILED로 보고
+ * - 취소: 제출 중단 + 큐에 남은 작업 제거 + 처리 중인 작업 인터럽트 (ImagePipeline.cancel)
+ * - 끝난 작업은 파일별 단계 처리 시간을 포함하며, retention-minutes가 지나거나 max-jobs를 넘으면 오래된 것부터 삭제
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageJobService {
+    
+    private final ImagePipeline imagePipeline;
+    private final SampleImageGenerator sampleImageGenerator;
+    
+    @Value("${performance.image.jobs.retention-minutes:30}")
+    private long retentionMinutes;
+    
+    @Value("${performance.image.jobs.max-jobs:100}")
+    private int maxJobs;
+    
+    @Value("${performance.image.jobs.progress-interval-ms:500}")
+    private long progressIntervalMs;
+    
+    private final Map<String, ImageJob> jobs = new ConcurrentHashMap<>();
+    
+    private final ExecutorService submitter = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "image-job-submitter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final ScheduledExecutorService progressScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "image-job-progress");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final ExecutorService progressSender = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "image-job-progress-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(job -> cancel(job.id));
+        submitter.shutdownNow();
+        progressScheduler.shutdownNow();
+        progressSender.shutdownNow();
+    }
+    
+    /**
+     * 디렉터리 처리 작업 등록 (순회도 작업 스레드에서 하므로 전체 개수는 순회가 끝나야 확정)
+     */
+    public JobStatus submitDirectory(Path root) {
+        return submit("디렉터리 " + root, -1, batch -> imagePipeline.submitDirectory(batch, root));
+    }
+    
+    /**
+     * 파일 목록 처리 작업 등록
+     */
+    public JobStatus submitFiles(String description, List<Path> files) {
+        return submit(description, files.size(), batch -> imagePipeline.submitFiles(batch, files));
+    }
+    
+    /**
+     * 샘플 이미지 fileCount개 처리 작업 등록 (없는 샘플 생성도 작업 스레드에서)
+     */
+    public JobStatus submitSamples(int fileCount) {
+        return submit("샘플 이미지 " + fileCount + "개", fileCount,
+            batch -> imagePipeline.submitFiles(batch, sampleImageGenerator.ensureSamples(fileCount)));
+    }
+    
+    private JobStatus submit(String description, long expectedTotal, BatchSubmission submission) {
+        pruneFinished();
+        ImageBatch batch = imagePipeline.createBatch();
+        ImageJob job = new ImageJob(UUID.randomUUID().toString(), description, expectedTotal, batch);
+        // 제출 작업이 끝나기 전(submissionError 기록 전)에는 배치가 끝나도 작업은 진행 중으로 보이도록 먼저 연결
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                submission.submit(batch);
+            } catch (InterruptedException e) {
+                // 취소로 제출 스레드가 인터럽트됨 (배치는 finishSubmitting으로 이미 마감)
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                job.submissionError = e.getMessage();
+                log.warn("이미지 작업 제출 실패 [{}] {}", job.id, description, e);
+            }
+            return null;
+        });
+        job.submission = task;
+        jobs.put(job.id, job);
+        submitter.execute(task);
+        log.info("이미지 작업 등록 [{}] {}", job.id, description);
+        return job.status(false);
+    }
+    
+    /**
+     * 작업 상태 (끝난 작업이면 includeFiles일 때 파일별 결과 포함), 없으면 null
+     */
+    public JobStatus getStatus(String id, boolean includeFiles) {
+        ImageJob job = jobs.get(id);
+        return job != null ? job.status(includeFiles) : null;
+    }
+    
+    /**
+     * 전체 작업 목록 (최근 등록 순, 파일별 결과 제외)
+     */
+    public List<JobStatus> listJobs() {
+        List<ImageJob> snapshot = new ArrayList<>(jobs.values());
+        snapshot.sort(Comparator.comparingLong((ImageJob job) -> job.createdMillis).reversed());
+        List<JobStatus> statuses = new ArrayList<>(snapshot.size());
+        for (ImageJob job : snapshot) {
+            statuses.add(job.status(false));
+        }
+        return statuses;
+    }
+    
+    /**
+     * 작업 취소 (없는 작업이면 null, 이미 끝난 작업이면 상태만 반환)
+     */
+    public JobStatus cancel(String id) {
+        ImageJob job = jobs.get(id);
+        if (job == null) {
+            return null;
+        }
+        if (imagePipeline.cancel(job.batch)) {
+            Future<?> submission = job.submission;
+            if (submission != null) {
+                submission.cancel(true);  // 큐 자리를 기다리는 제출 스레드 깨움
+            }
+            log.info("이미지 작업 취소 [{}] {}", job.id, job.batch);
+        }
+        return job.status(false);
+    }
+    
+    /**
+     * 진행 상태를 progress-interval-ms마다 SSE로 전송, 작업이 끝나면 마지막 상태("done")를 보내고 종료
+     * 없는 작업이면 null
+     */
+    public SseEmitter streamProgress(String id) {
+        ImageJob job = jobs.get(id);
+        if (job == null) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(0L);  // 시간 제한 없음 (작업 종료 시 complete)
+        ProgressStream stream = new ProgressStream(job, emitter);
+        stream.schedule = progressScheduler.scheduleAtFixedRate(() -> {
+            // 이전 전송이 아직 끝나지 않았으면 이번 주기는 건너뜀 (스케줄러 스레드는 전송을 기다리지 않음)
+            if (stream.sending.compareAndSet(false, true)) {
+                progressSender.execute(stream::deliver);
+            }
+        }, 0, progressIntervalMs, TimeUnit.MILLISECONDS);
+        emitter.onCompletion(stream::stop);
+        emitter.onTimeout(stream::stop);
+        emitter.onError(e -> stream.stop());
+        return emitter;
+    }
+    
+    /**
+     * 보존 기간이 지난 작업과 max-jobs를 넘는 오래된 완료 작업 삭제 (진행 중인 작업은 유지)
+     */
+    private void pruneFinished() {
+        long expireBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(retentionMinutes);
+        jobs.values().removeIf(job -> job.isDone() && job.finishedMillis() < expireBefore);
+        if (jobs.size() < maxJobs) {
+            return;
+        }
+        List<ImageJob> finished = new ArrayList<>();
+        for (ImageJob job : jobs.values()) {
+            if (job.isDone()) {
+                finished.add(job);
+            }
+        }
+        finished.sort(Comparator.comparingLong(job -> job.createdMillis));
+        for (int i = 0; i < finished.size() && jobs.size() >= maxJobs; i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface BatchSubmission {
+        void submit(ImageBatch batch) throws InterruptedException;
+    }
+    
+    /**
+     * 작업 하나의 SSE 스트림 (전송은 한 번에 하나씩, sending으로 표시)
+     */
+    private static class ProgressStream {
+        private final ImageJob job;
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean(false);
+        private volatile ScheduledFuture<?> schedule;
+        
+        ProgressStream(ImageJob job, SseEmitter emitter) {
+            this.job = job;
+            this.emitter = emitter;
+        }
+        
+        void deliver() {
+            try {
+                boolean done = job.isDone();
+                emitter.send(SseEmitter.event().name(done ? "done" : "progress").data(job.status(false)));
+                if (done) {
+                    stop();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트 연결 종료
+                stop();
+            } finally {
+                sending.set(false);
+            }
+        }
+        
+        void stop() {
+            ScheduledFuture<?> future = schedule;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+    
+    private static class ImageJob {
+        private final String id;
+        private final String description;
+        private final long expectedTotal;
+        private final ImageBatch batch;
+        private final long createdMillis = System.currentTimeMillis();
+        private Future<?> submission;
+        private volatile String submissionError;
+        
+        ImageJob(String id, String description, long expectedTotal, ImageBatch batch) {
+            this.id = id;
+            this.description = description;
+            this.expectedTotal = expectedTotal;
+            this.batch = batch;
+        }
+        
+        /**
+         * 배치가 끝났고 제출 작업도 끝남 (제출 실패가 submissionError에 기록된 뒤)
+         */
+        boolean isDone() {
+            return batch.isDone() && submission.isDone();
+        }
+        
+        long finishedMillis() {
+            return createdMillis + batch.getElapsedMs();
+        }
+        
+        JobStatus status(boolean includeFiles) {
+            boolean done = isDone();
+            String state;
+            if (!done) {
+                state = batch.isCancelled() ? "CANCELLING" : "RUNNING";
+            } else if (batch.isCancelled()) {
+                state = "CANCELLED";
+            } else if (submissionError != null) {
+                state = "FAILED";
+            } else {
+                state = "COMPLETED";
+            }
+            
+            long elapsedMs = batch.getElapsedMs();
+            long finished = batch.getCompleted() + batch.getFailed();
+            double throughput = elapsedMs > 0 ? finished * 1000.0 / elapsedMs : 0;
+            // 전체 개수를 알 때(파일 목록 또는 순회 종료 후)만 남은 시간 추정
+            long total = batch.isSubmitting() ? expectedTotal : batch.getSubmitted();
+            Long etaMs = null;
+            if (!done && !batch.isCancelled() && total >= 0 && throughput > 0) {
+                long remaining = Math.max(0, total - finished - batch.getCancelledTasks());
+                etaMs = (long) (remaining * 1000 / throughput);
+            }
+            
+            List<String> errors = batch.getErrors();
+            if (submissionError != null) {
+                errors.add(0, "제출 실패: " + submissionError);
+            }
+            return new JobStatus(id, description, state, batch.isSubmitting(), total, batch.getSubmitted(),
+                batch.getCompleted(), batch.getFailed(), batch.getCancelledTasks(), batch.getCached(),
+                elapsedMs, throughput, etaMs, errors, done && includeFiles ? batch.getFileResults() : null);
+        }
+    }
+    
+    /**
+     * 작업 상태 DTO (total은 알 수 없으면 -1, etaMs는 추정할 수 없으면 null, files는 끝난 작업 조회 시에만)
+     */
+    public static class JobStatus {
+        private final String id;
+        private final String description;
+        private final String state;
+        private final boolean submitting;
+        private final long total;
+        private final long submitted;
+        private final long completed;
+        private final long failed;
+        private final long cancelled;
+        private final long cached;
+        private final long elapsedMs;
+        private final double throughputPerSec;
+        private final Long etaMs;
+        private final List<String> errors;
+        private final List<ImageBatch.FileResult> files;
+        
+        public JobStatus(String id, String description, String state, boolean submitting, long total,
+                         long submitted, long completed, long failed, long cancelled, long cached,
+                         long elapsedMs, double throughputPerSec, Long etaMs, List<String> errors,
+                         List<ImageBatch.FileResult> files) {
+            this.id = id;
+            this.description = description;
+            this.state = state;
+            this.submitting = submitting;
+            this.total = total;
+            this.submitted = submitted;
+            this.completed = completed;
+            this.failed = failed;
+            this.cancelled = cancelled;
+            this.cached = cached;
+            this.elapsedMs = elapsedMs;
+            this.throughputPerSec = throughputPerSec;
+            this.etaMs = etaMs;
+            this.errors = errors;
+            this.files = files;
+        }
+        
+        public String getId() { return id; }
+        public String getDescription() { return description; }
+        public String getState() { return state; }
+        public boolean isSubmitting() { return submitting; }
+        public long getTotal() { return total; }
+        public long getSubmitted() { return submitted; }
+        public long getCompleted() { return completed; }
+        public long getFailed() { return failed; }
+        public long getCancelled() { return cancelled; }
+        public long getCached() { return cached; }
+        public long getElapsedMs() { return elapsedMs; }
+        public double getThroughputPerSec() { return throughputPerSec; }
+        public Long getEtaMs() { return etaMs; }
+        public List<String> getErrors() { return errors; }
+        public List<ImageBatch.FileResult> getFiles() { return files; }
+        
+        public boolean isDone() {
+            return state.equals("COMPLETED") || state.equals("CANCELLED") || state.equals("FAILED");
+        }
+    }
+}
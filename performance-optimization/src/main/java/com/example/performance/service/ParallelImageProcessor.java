@@ -1,93 +1,74 @@
 package com.example.performance.service;
 
-import jakarta.annotation.PreDestroy;
+import com.example.performance.image.ImageBatch;
+import com.example.performance.image.ImagePipeline;
+import com.example.performance.monitor.AllocationScope;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
-import java.util.ArrayList;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.concurrent.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 실습 4: 병렬 처리 시나리오 설계
- * 
- * 대용량 이미지 파일 처리를 병렬로 수행
+ *
+ * 대용량 이미지 파일 처리를 병렬로 수행 (디코딩 → 썸네일 리사이즈 → 인코딩 → 저장)
+ * 여기의 메서드는 처리 방식 비교용으로 끝날 때까지 대기하며, 큰 일괄 처리는 ImageJobService로 비동기 실행
  */
 @Service
+@RequiredArgsConstructor
 public class ParallelImageProcessor {
     
-    private final ExecutorService executorService;
+    private final ImagePipeline imagePipeline;
     
-    public ParallelImageProcessor() {
-        // CPU 코어 수에 맞춰 스레드 풀 크기 설정
-        int threadCount = Runtime.getRuntime().availableProcessors();
-        this.executorService = Executors.newFixedThreadPool(threadCount);
-    }
+    @Value("${performance.image.batch-timeout-seconds:600}")
+    private long batchTimeoutSeconds;
     
     /**
      * 순차 처리 (느림)
      */
-    public void processImagesSequential(List<File> imageFiles) {
-        for (File imageFile : imageFiles) {
+    public void processImagesSequential(List<Path> imageFiles) {
+        for (Path imageFile : imageFiles) {
             processImage(imageFile);  // 각 이미지를 순차적으로 처리
         }
     }
     
     /**
-     * 병렬 처리: ExecutorService 사용
+     * 병렬 처리: 단계별 스레드 풀 파이프라인
+     * 모든 파일을 한 풀에 한꺼번에 제출하지 않고, I/O(디코딩/저장)와 CPU(리사이즈/인코딩) 단계를
+     * 크기가 제한된 큐로 연결하여 느린 단계가 앞 단계의 제출 속도를 조절하도록 함
      */
-    public void processImagesParallel(List<File> imageFiles) {
-        List<Future<Void>> futures = new ArrayList<>();
-        
-        for (File imageFile : imageFiles) {
-            Future<Void> future = executorService.submit(() -> {
-                processImage(imageFile);
-                return null;
-            });
-            futures.add(future);
-        }
-        
-        // 모든 작업 완료 대기
-        for (Future<Void> future : futures) {
-            try {
-                future.get();
-            } catch (Exception e) {
-                // 예외 처리
-                e.printStackTrace();
+    public ImageBatch processImagesParallel(List<Path> imageFiles) {
+        ImageBatch batch = imagePipeline.createBatch();
+        try {
+            imagePipeline.submitFiles(batch, imageFiles);
+            if (!batch.await(batchTimeoutSeconds, TimeUnit.SECONDS)) {
+                imagePipeline.cancel(batch);
+                throw new IllegalStateException("이미지 처리 시간 초과 (취소함): " + batch);
             }
+            return batch;
+        } catch (InterruptedException e) {
+            // 호출 스레드가 중단되면 남은 작업도 취소 (파이프라인에서 계속 처리되지 않도록)
+            imagePipeline.cancel(batch);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("이미지 처리 대기 중 인터럽트", e);
         }
     }
     
     /**
-     * 병렬 처리: Java 8 Stream 사용
+     * 병렬 처리: Java 8 Stream 사용 (공용 ForkJoinPool에서 모든 단계를 실행)
      */
-    public void processImagesWithStream(List<File> imageFiles) {
+    public void processImagesWithStream(List<Path> imageFiles) {
         imageFiles.parallelStream()
-            .forEach(this::processImage);
+            .forEach(AllocationScope.propagateConsumer(this::processImage));
     }
     
     /**
-     * 이미지 처리 로직 (시뮬레이션)
+     * 이미지 처리 로직 (디코딩 → 썸네일 → 인코딩 → 저장을 호출 스레드에서 실행)
      */
-    private void processImage(File imageFile) {
-        try {
-            // 이미지 처리 로직 (각각 100ms 소요 시뮬레이션)
-            Thread.sleep(100);
-            // 썸네일 생성, 리사이징 등
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-    
-    @PreDestroy
-    public void shutdown() {
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-        }
+    private void processImage(Path imageFile) {
+        imagePipeline.processInline(imageFile);
     }
 }